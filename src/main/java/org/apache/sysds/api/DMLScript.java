@@ -52,6 +52,7 @@ import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.hops.codegen.SpoofCompiler;
 import org.apache.sysds.hops.codegen.SpoofCompiler.GeneratorAPI;
+import org.apache.sysds.hops.cost.HardwareProfile;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.parser.DMLProgram;
 import org.apache.sysds.parser.DMLTranslator;
@@ -114,6 +115,8 @@ public class DMLScript
 	public static String      DML_FILE_PATH_ANTLR_PARSER = DMLOptions.defaultOptions.filePath;
 	// Set data type to use internally
 	public static String      FLOATING_POINT_PRECISION   = "double";
+	// Enable/disable single-precision storage of dense CP matrices
+	public static boolean     CP_FP32                    = false;
 	// Enable/disable to print GPU memory-related information
 	public static boolean     PRINT_GPU_MEMORY_INFO      = false;
 	// Set maximum number of bytes to use for shadow buffer
@@ -409,6 +412,7 @@ public class DMLScript
 		ConfigurationManager.setGlobalConfig(cconf);
 		LOG.debug("\nDML config: \n" + dmlconf.getConfigInfo());
 		setGlobalFlags(dmlconf);
+		HardwareProfile.initFromConfig(dmlconf);
 	}
 
 	/**
@@ -514,6 +518,7 @@ public class DMLScript
 		}
 		DMLScript.USE_LOCAL_SPARK_CONFIG |= dmlconf.getBooleanValue(DMLConfig.USE_LOCAL_SPARK_CONFIG);
 		DMLScript.FLOATING_POINT_PRECISION = dmlconf.getTextValue(DMLConfig.FLOATING_POINT_PRECISION);
+		DMLScript.CP_FP32 = dmlconf.getTextValue(DMLConfig.CP_FLOATING_POINT_PRECISION).equalsIgnoreCase("single");
 		org.apache.sysds.runtime.matrix.data.LibMatrixCUDA.resetFloatingPointPrecision();
 		if(DMLScript.FLOATING_POINT_PRECISION.equals("double")) {
 			DMLScript.EVICTION_SHADOW_BUFFER_MAX_BYTES = 0;
@@ -22,12 +22,15 @@ package org.apache.sysds.api;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.mlcontext.ScriptExecutor;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.codegen.SpoofCompiler;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.Program;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteService;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.cp.Data;
@@ -37,8 +40,10 @@ import org.apache.sysds.runtime.instructions.gpu.context.GPUObject;
 import org.apache.sysds.runtime.lineage.LineageEstimatorStatistics;
 import org.apache.sysds.runtime.lineage.LineageGPUCacheEviction;
 import org.apache.sysds.utils.Statistics;
+import org.apache.sysds.utils.stats.ExecutionProfiler;
 
 public class ScriptExecutorUtils {
+	private static final Log LOG = LogFactory.getLog(ScriptExecutorUtils.class.getName());
 
 	/**
 	 * Execute the runtime program. This involves execution of the program
@@ -75,6 +80,8 @@ public class ScriptExecutorUtils {
 	 */
 	public static void executeRuntimeProgram(Program rtprog, ExecutionContext ec, DMLConfig dmlconf, int statisticsMaxHeavyHitters, Set<String> outputVariables) {
 		Statistics.startRunTimer();
+		ExecutionProfiler.startFromConfig();
+		boolean failed = false;
 		try {
 			// run execute (w/ exception handling to ensure proper shutdown)
 			if (DMLScript.USE_ACCELERATOR && ec != null) {
@@ -88,8 +95,19 @@ public class ScriptExecutorUtils {
 			}
 			rtprog.execute(ec);
 		} catch (Throwable e) {
+			failed = true;
 			throw e;
 		} finally { // ensure cleanup/shutdown
+			// ensure durability of asynchronous writes (also on failures,
+			// but without masking the original exception)
+			try {
+				AsyncWriteService.waitForAll();
+			}
+			catch(DMLRuntimeException ex) {
+				if( !failed )
+					throw ex;
+				LOG.error("Failed asynchronous write after runtime error.", ex);
+			}
 			if (DMLScript.USE_ACCELERATOR && !ec.getGPUContexts().isEmpty()) {
 				// -----------------------------------------------------------------
 				// The below code pulls the output variables on the GPU to the host. This is required especially when:
@@ -120,6 +138,9 @@ public class ScriptExecutorUtils {
 			if( ConfigurationManager.isCodegenEnabled() )
 				SpoofCompiler.cleanupCodeGenerator();
 			
+			// export recorded execution profile (if enabled)
+			ExecutionProfiler.stopAndExportFromConfig();
+
 			// display statistics (incl caching stats if enabled)
 			Statistics.stopRunTimer();
 			System.out.println(Statistics.display(statisticsMaxHeavyHitters > 0 ?
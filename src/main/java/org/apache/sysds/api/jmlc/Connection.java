@@ -42,6 +42,7 @@ import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.conf.CompilerConfig.ConfigType;
 import org.apache.sysds.hops.codegen.SpoofCompiler;
+import org.apache.sysds.hops.cost.HardwareProfile;
 import org.apache.sysds.hops.rewrite.ProgramRewriter;
 import org.apache.sysds.hops.rewrite.RewriteRemovePersistentReadWrite;
 import org.apache.sysds.parser.DMLProgram;
@@ -66,6 +67,7 @@ import org.apache.sysds.runtime.transform.TfUtils;
 import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysds.runtime.util.CollectionUtils;
 import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.utils.stats.MetricsServer;
 
 /**
  * Interaction with SystemDS using the JMLC (Java Machine Learning Connector) API is initiated with
@@ -159,6 +161,12 @@ public class Connection implements Closeable
 		_dmlconf = dmlconfig;
 		
 		setLocalConfigs();
+		
+		//expose runtime metrics of the embedding process (if configured)
+		MetricsServer.startFromConfig(dmlconfig);
+		
+		//hardware profile for compiler cost models (if configured)
+		HardwareProfile.initFromConfig(dmlconfig);
 	}
 
 	/**
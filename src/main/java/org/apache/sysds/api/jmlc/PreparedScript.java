@@ -41,7 +41,11 @@ import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.data.DenseBlockFP64;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.columns.ColumnMetadata;
 import org.apache.sysds.runtime.instructions.cp.BooleanObject;
 import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.DoubleObject;
@@ -80,7 +84,7 @@ public class PreparedScript implements ConfigurableAPI
 	private final CompilerConfig _cconf;
 	private HashMap<String, String> _outVarLineage;
 	
-	private PreparedScript(PreparedScript that) {
+	private PreparedScript(PreparedScript that, CompilerConfig cconf) {
 		//shallow copy, except for a separate symbol table
 		//and related meta data of reused inputs
 		_prog = that._prog.clone(false);
@@ -92,7 +96,7 @@ public class PreparedScript implements ConfigurableAPI
 		_outVarnames = that._outVarnames;
 		_inVarReuse = new LocalVariableMap(that._inVarReuse);
 		_dmlconf = that._dmlconf;
-		_cconf = that._cconf;
+		_cconf = cconf;
 	}
 	
 	/**
@@ -279,6 +283,51 @@ public class PreparedScript implements ConfigurableAPI
 		setMatrix(varname, DataConverter.convertToMatrixBlock(matrix), reuse);
 	}
 	
+	/**
+	 * Binds a caller-owned, row-major double array as a dense matrix to a
+	 * registered input variable without copying. The runtime treats the array
+	 * as read-only, but the caller must not modify it while it is bound (i.e.,
+	 * until the end of the next <code>executeScript</code> call, or until
+	 * the pinned data is cleared if reuse is requested).
+	 * 
+	 * @param varname input variable name
+	 * @param data row-major matrix values of length rows*cols
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param reuse if {@code true}, preserve value over multiple {@code executeScript} calls
+	 */
+	public void setMatrix(String varname, double[] data, int rows, int cols, boolean reuse) {
+		if( data == null || (long)rows * cols != data.length )
+			throw new DMLException("Invalid matrix buffer for input variable "+varname
+				+": expected length "+((long)rows*cols)+" for "+rows+"x"+cols+".");
+		MatrixBlock mb = new MatrixBlock(rows, cols,
+			new DenseBlockFP64(new int[] {rows, cols}, data));
+		mb.recomputeNonZeros();
+		setMatrix(varname, mb, reuse);
+	}
+
+	/**
+	 * Binds a caller-owned, row-major float array as a dense matrix to a
+	 * registered input variable. Since matrix operations are executed in
+	 * double precision, the values are widened in a single pass into a new
+	 * double array, and the float array is not referenced afterwards.
+	 * 
+	 * @param varname input variable name
+	 * @param data row-major matrix values of length rows*cols
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param reuse if {@code true}, preserve value over multiple {@code executeScript} calls
+	 */
+	public void setMatrix(String varname, float[] data, int rows, int cols, boolean reuse) {
+		if( data == null || (long)rows * cols != data.length )
+			throw new DMLException("Invalid matrix buffer for input variable "+varname
+				+": expected length "+((long)rows*cols)+" for "+rows+"x"+cols+".");
+		double[] tmp = new double[data.length];
+		for( int i=0; i<data.length; i++ )
+			tmp[i] = data[i];
+		setMatrix(varname, tmp, rows, cols, reuse);
+	}
+
 	/**
 	 * Binds a matrix object to a registered input variable. 
 	 * If reuse requested, then the input is guaranteed to be 
@@ -379,6 +428,58 @@ public class PreparedScript implements ConfigurableAPI
 				schema.toArray(new ValueType[0]), colnames.toArray(new String[0])), reuse);
 	}
 	
+	/**
+	 * Binds caller-owned columnar arrays as a frame to a registered input
+	 * variable without copying. Supported column types are double[] (FP64),
+	 * float[] (FP32), long[] (INT64), int[] (INT32), boolean[] (BOOLEAN),
+	 * char[] (CHARACTER), and String[] (STRING), which are wrapped as the
+	 * corresponding frame arrays. The runtime treats the arrays as read-only,
+	 * but the caller must not modify them while they are bound.
+	 * 
+	 * @param varname input variable name
+	 * @param columns column arrays of equal length
+	 * @param colnames column names, or null for default column names
+	 * @param reuse if {@code true}, preserve value over multiple {@code executeScript} calls
+	 */
+	public void setFrame(String varname, Object[] columns, String[] colnames, boolean reuse) {
+		if( columns == null || columns.length == 0 )
+			throw new DMLException("Invalid frame columns for input variable "+varname+".");
+		if( colnames != null && colnames.length != columns.length )
+			throw new DMLException("Invalid frame column names for input variable "+varname+": "
+				+colnames.length+" names for "+columns.length+" columns.");
+		Array<?>[] data = new Array<?>[columns.length];
+		ValueType[] schema = new ValueType[columns.length];
+		ColumnMetadata[] meta = new ColumnMetadata[columns.length];
+		for( int j=0; j<columns.length; j++ ) {
+			data[j] = wrapColumn(varname, j, columns[j]);
+			if( data[j].size() != data[0].size() )
+				throw new DMLException("Inconsistent frame column lengths for input variable "+varname
+					+": "+data[j].size()+" vs "+data[0].size()+".");
+			schema[j] = data[j].getValueType();
+			meta[j] = new ColumnMetadata();
+		}
+		setFrame(varname, new FrameBlock(schema, colnames, meta, data), reuse);
+	}
+
+	private static Array<?> wrapColumn(String varname, int j, Object col) {
+		if( col instanceof double[] )
+			return ArrayFactory.create((double[]) col);
+		else if( col instanceof float[] )
+			return ArrayFactory.create((float[]) col);
+		else if( col instanceof long[] )
+			return ArrayFactory.create((long[]) col);
+		else if( col instanceof int[] )
+			return ArrayFactory.create((int[]) col);
+		else if( col instanceof boolean[] )
+			return ArrayFactory.create((boolean[]) col);
+		else if( col instanceof char[] )
+			return ArrayFactory.create((char[]) col);
+		else if( col instanceof String[] )
+			return ArrayFactory.create((String[]) col);
+		throw new DMLException("Unsupported frame column type for input variable "+varname+" (column "+(j+1)+"): "
+			+ (col == null ? "null" : col.getClass().getSimpleName()));
+	}
+
 	/**
 	 * Binds a frame object to a registered input variable. 
 	 * If reuse requested, then the input is guaranteed to be 
@@ -547,7 +648,21 @@ public class PreparedScript implements ConfigurableAPI
 	public PreparedScript clone(boolean deep) {
 		if( deep )
 			throw new NotImplementedException();
-		return new PreparedScript(this);
+		return new PreparedScript(this, _cconf);
+	}
+	
+	/**
+	 * Creates a shallow clone (see {@link #clone(boolean)}) with disabled
+	 * dynamic recompilation. Shallow clones share their program blocks, and
+	 * thus, concurrent recompilation would modify shared instructions.
+	 * 
+	 * @return an equivalent prepared script without dynamic recompilation
+	 */
+	PreparedScript cloneWithoutRecompile() {
+		CompilerConfig cconf = new CompilerConfig(_cconf);
+		cconf.set(ConfigType.ALLOW_DYN_RECOMPILATION, false);
+		cconf.set(ConfigType.ALLOW_PARALLEL_DYN_RECOMPILATION, false);
+		return new PreparedScript(this, cconf);
 	}
 	
 	@Override
@@ -25,7 +25,11 @@ import java.util.Set;
 import org.apache.sysds.api.DMLException;
 import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.data.DenseBlockFP64;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.BitSetArray;
+import org.apache.sysds.runtime.frame.data.columns.OptionalArray;
 import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.ScalarObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -96,6 +100,26 @@ public class ResultVariables
 		return mb;
 	}
 	
+	/**
+	 * Obtain the matrix represented by the given output variable as a row-major
+	 * double array. If the output is a dense matrix with contiguous row-major
+	 * values, the underlying array is returned without copying; otherwise (e.g.,
+	 * for sparse or empty outputs), a new array is created. The returned array
+	 * must be treated as read-only if the output variable is also used as input
+	 * of subsequent script executions.
+	 * 
+	 * @param varname output variable name
+	 * @return row-major matrix values of length rows*cols
+	 */
+	public double[] getMatrixValues(String varname) {
+		MatrixBlock mb = getMatrixBlock(varname);
+		long len = (long) mb.getNumRows() * mb.getNumColumns();
+		if( !mb.isInSparseFormat() && mb.isAllocated() && mb.getDenseBlock().isContiguous()
+			&& mb.getDenseBlock() instanceof DenseBlockFP64 && mb.getDenseBlockValues().length == len )
+			return mb.getDenseBlockValues();
+		return DataConverter.convertToDoubleVector(mb, true);
+	}
+
 	/**
 	 * Obtain the frame represented by the given output variable.
 	 * 
@@ -129,6 +153,36 @@ public class ResultVariables
 		return fb;
 	}
 	
+	/**
+	 * Obtain a single column of the frame represented by the given output variable
+	 * as a columnar array. Columns backed by primitive or string arrays of exact length
+	 * (e.g., double[], float[], long[], int[], boolean[], char[], String[]) are returned
+	 * without copying. Boolean bitset columns are returned as boolean[], columns with
+	 * missing values as boxed object arrays with nulls, and over-allocated arrays as
+	 * trimmed copies.
+	 * 
+	 * @param varname output variable name
+	 * @param c column index (0-based)
+	 * @return column array of length nrow
+	 */
+	public Object getFrameColumn(String varname, int c) {
+		FrameBlock fb = getFrameBlock(varname);
+		Array<?> col = fb.getColumn(c);
+		int n = fb.getNumRows();
+		if( col instanceof OptionalArray || col instanceof BitSetArray ) {
+			Object ret = (col instanceof BitSetArray) ? new boolean[n] : new Object[n];
+			for( int i=0; i<n; i++ )
+				java.lang.reflect.Array.set(ret, i, col.get(i));
+			return ret;
+		}
+		Object data = col.get();
+		if( java.lang.reflect.Array.getLength(data) == n )
+			return data;
+		Object ret = java.lang.reflect.Array.newInstance(data.getClass().getComponentType(), n);
+		System.arraycopy(data, 0, ret, 0, n);
+		return ret;
+	}
+
 	/**
 	 * Obtain the double value represented by the given output variable.
 	 * 
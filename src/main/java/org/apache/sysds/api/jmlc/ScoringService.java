@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.api.jmlc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLException;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Thread-safe scoring service on top of a prepared script, intended for
+ * low-latency online scoring of individual rows (e.g., model serving).
+ * 
+ * The service owns a pool of prepared script instances (shallow clones with
+ * separate symbol tables), each served by a dedicated worker thread. Concurrently
+ * submitted single-row requests are transparently combined into micro-batches:
+ * a worker takes the first pending request and collects additional requests until
+ * either the maximum batch size is reached or the latency budget of the first
+ * request is exhausted. The batch is then scored with a single script execution
+ * and the output rows are returned to the individual requests. If the execution
+ * of a batch fails, its requests are scored individually such that a single
+ * invalid row only fails its own request.
+ * 
+ * The script is expected to be row-wise independent, i.e., it reads the batch
+ * from the registered input variable and produces an output matrix with one row
+ * per input row. Additional inputs such as model parameters should be bound to
+ * the prepared script with reuse before creating the service.
+ * 
+ * Since the script instances share their program blocks, dynamic recompilation
+ * (including the recompilation of functions) is disabled for the instances of
+ * the service, while the given prepared script remains unchanged. Accordingly,
+ * the script should be prepared with known input dimensions where possible.
+ * 
+ * Note that statistics and lineage remain global (JVM-wide) and are not
+ * maintained per request.
+ */
+public class ScoringService implements AutoCloseable
+{
+	private static final Log LOG = LogFactory.getLog(ScoringService.class.getName());
+
+	private final String _inVarname;
+	private final String _outVarname;
+	private final int _numCols;
+	private final int _maxBatchSize;
+	private final long _maxLatencyNanos;
+
+	//end-of-stream marker (one per worker) for shutdown after pending requests
+	private static final ScoringRequest POISON = new ScoringRequest(null);
+
+	private final BlockingQueue<ScoringRequest> _queue;
+	private final List<Thread> _workers;
+	private volatile boolean _closed = false;
+
+	//basic statistics of executed batches
+	private final AtomicLong _numRequests = new AtomicLong();
+	private final AtomicLong _numBatches = new AtomicLong();
+
+	/**
+	 * Creates a scoring service with a pool of script instances.
+	 * 
+	 * @param pscript prepared script with bound reused inputs
+	 * @param inVarname registered input variable of the batch matrix
+	 * @param outVarname registered output variable of the scores
+	 * @param numCols number of columns of the input rows
+	 * @param numInstances number of script instances (and worker threads)
+	 * @param maxBatchSize maximum number of rows per micro-batch
+	 * @param maxLatencyMicros latency budget in microseconds for collecting
+	 *   a micro-batch, starting with the arrival of its first request
+	 */
+	public ScoringService(PreparedScript pscript, String inVarname, String outVarname,
+		int numCols, int numInstances, int maxBatchSize, long maxLatencyMicros)
+	{
+		if( numCols < 1 || numInstances < 1 || maxBatchSize < 1 || maxLatencyMicros < 0 )
+			throw new DMLException("Invalid scoring service configuration: numCols=" + numCols
+				+ ", numInstances=" + numInstances + ", maxBatchSize=" + maxBatchSize
+				+ ", maxLatencyMicros=" + maxLatencyMicros + ".");
+		_inVarname = inVarname;
+		_outVarname = outVarname;
+		_numCols = numCols;
+		_maxBatchSize = maxBatchSize;
+		_maxLatencyNanos = TimeUnit.MICROSECONDS.toNanos(maxLatencyMicros);
+		_queue = new LinkedBlockingQueue<>();
+
+		//create pool of script instances and workers (shallow clones share
+		//program blocks and deep clones are not supported, so we disable
+		//dynamic recompilation to avoid concurrent updates of instructions)
+		_workers = new ArrayList<>();
+		for( int i=0; i<numInstances; i++ ) {
+			Thread t = new Thread(new ScoringWorker(pscript.cloneWithoutRecompile()), "ScoringWorker-"+i);
+			t.setDaemon(true);
+			_workers.add(t);
+		}
+		for( Thread t : _workers )
+			t.start();
+	}
+
+	/**
+	 * Submits a single-row scoring request.
+	 * 
+	 * @param row input row (feature vector) with numCols values
+	 * @return future of the output row
+	 */
+	public Future<double[]> submit(double[] row) {
+		if( _closed )
+			throw new DMLException("Scoring service already closed.");
+		if( row == null || row.length != _numCols )
+			throw new DMLException("Invalid scoring request: expected row of length "
+				+ _numCols + " but got " + ((row == null) ? "null" : row.length) + ".");
+		ScoringRequest req = new ScoringRequest(row);
+		_queue.add(req);
+		return req;
+	}
+
+	/**
+	 * Scores a single row and waits for the result.
+	 * 
+	 * @param row input row (feature vector)
+	 * @return output row
+	 */
+	public double[] score(double[] row) {
+		try {
+			return submit(row).get();
+		}
+		catch(ExecutionException ex) {
+			throw (ex.getCause() instanceof DMLException) ?
+				(DMLException) ex.getCause() : new DMLException(ex.getCause());
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new DMLException(ex);
+		}
+	}
+
+	public long getNumRequests() {
+		return _numRequests.get();
+	}
+
+	public long getNumBatches() {
+		return _numBatches.get();
+	}
+
+	/**
+	 * Stops all workers after completing the pending requests.
+	 */
+	@Override
+	public void close() {
+		if( _closed )
+			return;
+		_closed = true;
+		for( int i=0; i<_workers.size(); i++ )
+			_queue.add(POISON);
+		for( Thread t : _workers ) {
+			try {
+				t.join();
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		//fail requests that raced with close
+		ScoringRequest req = null;
+		while( (req = _queue.poll()) != null )
+			if( req != POISON )
+				req.completeExceptionally(new DMLException("Scoring service closed."));
+	}
+
+	private List<ScoringRequest> collectBatch(ScoringRequest first) throws InterruptedException {
+		List<ScoringRequest> batch = new ArrayList<>(Math.min(_maxBatchSize, 64));
+		batch.add(first);
+
+		//collect additional requests within the latency budget of the first
+		long deadline = first._arrival + _maxLatencyNanos;
+		boolean eos = false;
+		while( batch.size() < _maxBatchSize && !eos ) {
+			//non-blocking drain of already queued requests
+			int len = batch.size();
+			if( _queue.drainTo(batch, _maxBatchSize - len) > 0 ) {
+				eos = batch.subList(len, batch.size()).contains(POISON);
+				continue;
+			}
+			long remaining = deadline - System.nanoTime();
+			if( remaining <= 0 )
+				break;
+			ScoringRequest req = _queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if( req == null )
+				break;
+			batch.add(req);
+			eos = (req == POISON);
+		}
+
+		//return end-of-stream markers to the queue for other workers
+		if( eos ) {
+			int num = 0;
+			while( batch.remove(POISON) )
+				num++;
+			for( int i=0; i<num; i++ )
+				_queue.add(POISON);
+		}
+		return batch;
+	}
+
+	private void scoreBatch(PreparedScript pscript, List<ScoringRequest> batch) {
+		try {
+			score(pscript, batch);
+		}
+		catch(Exception ex) {
+			if( batch.size() == 1 ) {
+				LOG.error("Failed to score request.", ex);
+				batch.get(0).completeExceptionally(ex);
+				return;
+			}
+			//isolate failing rows by scoring the requests individually
+			LOG.warn("Failed to score batch of " + batch.size()
+				+ " requests, falling back to individual requests.", ex);
+			for( ScoringRequest req : batch )
+				scoreBatch(pscript, Arrays.asList(req));
+		}
+	}
+
+	private void score(PreparedScript pscript, List<ScoringRequest> batch) {
+		try {
+			//create batch matrix from individual rows (validated on submit)
+			int n = batch.size();
+			int ncol = _numCols;
+			double[] a = new double[n * ncol];
+			for( int i=0; i<n; i++ )
+				System.arraycopy(batch.get(i)._row, 0, a, i*ncol, ncol);
+
+			//score batch by single script execution (zero-copy input binding)
+			pscript.setMatrix(_inVarname, a, n, ncol, false);
+			ResultVariables rvars = pscript.executeScript();
+			MatrixBlock out = rvars.getMatrixBlock(_outVarname);
+			if( out.getNumRows() != n )
+				throw new DMLException("Scoring script returned " + out.getNumRows()
+					+ " rows for a batch of " + n + " rows.");
+
+			//split output into per-request results
+			int ocol = out.getNumColumns();
+			double[] c = rvars.getMatrixValues(_outVarname);
+			for( int i=0; i<n; i++ )
+				batch.get(i).complete(Arrays.copyOfRange(c, i*ocol, (i+1)*ocol));
+			_numRequests.addAndGet(n);
+			_numBatches.incrementAndGet();
+		}
+		finally {
+			pscript.clearParameters();
+		}
+	}
+
+	private class ScoringWorker implements Runnable {
+		private final PreparedScript _pscript;
+
+		protected ScoringWorker(PreparedScript pscript) {
+			_pscript = pscript;
+		}
+
+		@Override
+		public void run() {
+			try {
+				while( true ) {
+					//wait for first request (w/o latency budget)
+					ScoringRequest first = _queue.take();
+					if( first == POISON )
+						break;
+					List<ScoringRequest> batch = collectBatch(first);
+					if( !batch.isEmpty() )
+						scoreBatch(_pscript, batch);
+				}
+			}
+			catch(InterruptedException ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+	}
+
+	private static class ScoringRequest extends CompletableFuture<double[]> {
+		private final double[] _row;
+		private final long _arrival;
+
+		protected ScoringRequest(double[] row) {
+			_row = row;
+			_arrival = System.nanoTime();
+		}
+	}
+}
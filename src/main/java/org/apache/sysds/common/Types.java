@@ -206,13 +206,14 @@ public class Types
 	}
 	
 	/**
-	 * Serialization block types (empty, dense, sparse, ultra-sparse)
+	 * Serialization block types (empty, dense, sparse, ultra-sparse, single-precision dense)
 	 */
 	public enum BlockType{
 		EMPTY_BLOCK,
 		ULTRA_SPARSE_BLOCK,
 		SPARSE_BLOCK,
 		DENSE_BLOCK,
+		DENSE_BLOCK_FP32,
 	}
 	
 	/**
@@ -632,14 +633,15 @@ public class Types
 		BINARY, // binary block representation (dense/sparse/ultra-sparse)
 		FEDERATED, // A federated matrix
 		PROTO,  // protocol buffer representation
-		HDF5; // Hierarchical Data Format (HDF)
+		HDF5,   // Hierarchical Data Format (HDF)
+		PARQUET; // columnar Apache Parquet representation
 		
 		public boolean isIJV() {
 			return this == TEXT || this == MM;
 		}
 		
 		public boolean isTextFormat() {
-			return this != BINARY && this != COMPRESSED;
+			return this != BINARY && this != COMPRESSED && this != PARQUET;
 		}
 		
 		public static boolean isTextFormat(String fmt) {
@@ -218,6 +218,30 @@ public class ConfigurationManager{
 		return getDMLConfig().getIntValue(DMLConfig.PARALLEL_ENCODE_NUM_THREADS);
 	}
 
+	public static int getBinningSketchSize() {
+		return getDMLConfig().getIntValue(DMLConfig.ENCODE_BIN_SKETCH_SIZE);
+	}
+
+	public static boolean isStreamingEncode() {
+		return getDMLConfig().getBooleanValue(DMLConfig.ENCODE_STREAMING);
+	}
+
+	public static boolean isFrameDictionaryEncoding() {
+		return getDMLConfig().getBooleanValue(DMLConfig.FRAME_DICTIONARY_ENCODING);
+	}
+
+	public static String getFrameStringStorage() {
+		return getDMLConfig().getTextValue(DMLConfig.FRAME_STRING_STORAGE);
+	}
+
+	public static String getFeatureHashFunction() {
+		return getDMLConfig().getTextValue(DMLConfig.ENCODE_FEATURE_HASH_FUNCTION);
+	}
+
+	public static boolean isSignedFeatureHashing() {
+		return getDMLConfig().getBooleanValue(DMLConfig.ENCODE_FEATURE_HASH_SIGNED);
+	}
+
 	public static boolean isParallelParFor() {
 		return getCompilerConfigFlag(ConfigType.PARALLEL_LOCAL_OR_REMOTE_PARFOR);
 	}
@@ -266,6 +290,38 @@ public class ConfigurationManager{
 		return getDMLConfig().getBooleanValue(DMLConfig.CP_PARALLEL_IO);
 	}
 
+	public static boolean isSinglePassCSVReadEnabled(){
+		return getDMLConfig().getBooleanValue(DMLConfig.CP_PARALLEL_IO_CSV_SINGLEPASS);
+	}
+
+	public static boolean isMMapBinaryReadEnabled(){
+		return getDMLConfig().getBooleanValue(DMLConfig.CP_PARALLEL_IO_BINARY_MMAP);
+	}
+
+	public static boolean isPipelinedBinaryWriteEnabled(){
+		return getDMLConfig().getBooleanValue(DMLConfig.CP_PARALLEL_IO_BINARY_PIPELINE);
+	}
+
+	public static String getBinaryWriteCompression(){
+		return getDMLConfig().getTextValue(DMLConfig.CP_PARALLEL_IO_BINARY_COMPRESSION);
+	}
+
+	public static boolean isAsyncWriteEnabled(){
+		return getDMLConfig().getBooleanValue(DMLConfig.CP_ASYNC_WRITE);
+	}
+
+	public static boolean isCodegenClassCacheEnabled() {
+		return getDMLConfig().getBooleanValue(DMLConfig.CODEGEN_CLASSCACHE);
+	}
+
+	public static String getCodegenClassCacheDir() {
+		return getDMLConfig().getTextValue(DMLConfig.CODEGEN_CLASSCACHE_DIR);
+	}
+
+	public static boolean isCodegenAsyncEnabled() {
+		return getDMLConfig().getBooleanValue(DMLConfig.CODEGEN_ASYNC);
+	}
+
 	public static boolean isBroadcastEnabled() {
 		return (getDMLConfig().getBooleanValue(DMLConfig.ASYNC_SPARK_BROADCAST)
 			|| OptimizerUtils.ASYNC_BROADCAST_SPARK);
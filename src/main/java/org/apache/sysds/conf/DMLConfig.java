@@ -70,11 +70,22 @@ public class DMLConfig
 	public static final String DEFAULT_BLOCK_SIZE   = "sysds.defaultblocksize";
 	public static final String CP_PARALLEL_OPS      = "sysds.cp.parallel.ops";
 	public static final String CP_PARALLEL_IO       = "sysds.cp.parallel.io";
+	public static final String CP_PARALLEL_IO_CSV_SINGLEPASS = "sysds.cp.parallel.io.csv.singlepass"; // boolean: single-pass parallel csv matrix read
+	public static final String CP_PARALLEL_IO_BINARY_MMAP = "sysds.cp.parallel.io.binary.mmap"; // boolean: memory-mapped local binary block read
+	public static final String CP_PARALLEL_IO_BINARY_PIPELINE = "sysds.cp.parallel.io.binary.pipeline"; // boolean: pipelined binary block write
+	public static final String CP_PARALLEL_IO_BINARY_COMPRESSION = "sysds.cp.parallel.io.binary.compression"; // none or codec name (e.g., snappy, lz4)
+	public static final String CP_ASYNC_WRITE       = "sysds.cp.async.write"; // boolean: asynchronous persistent binary block writes
 	public static final String PARALLEL_ENCODE      = "sysds.parallel.encode";  // boolean: enable multi-threaded transformencode and apply
 	public static final String PARALLEL_ENCODE_STAGED = "sysds.parallel.encode.staged";
 	public static final String PARALLEL_ENCODE_APPLY_BLOCKS = "sysds.parallel.encode.applyBlocks";
 	public static final String PARALLEL_ENCODE_BUILD_BLOCKS = "sysds.parallel.encode.buildBlocks";
 	public static final String PARALLEL_ENCODE_NUM_THREADS  = "sysds.parallel.encode.numThreads";
+	public static final String ENCODE_BIN_SKETCH_SIZE = "sysds.encode.bin.sketchSize"; // int: size k of quantile sketches for equi-height binning (rank error ~1.7/k)
+	public static final String ENCODE_STREAMING = "sysds.encode.streaming"; // boolean: out-of-core transformencode of frames not in memory
+	public static final String FRAME_DICTIONARY_ENCODING = "sysds.frame.dictionaryencoding"; // boolean: dictionary-encode low-cardinality string columns
+	public static final String FRAME_STRING_STORAGE = "sysds.frame.stringstorage"; // java, utf8, or utf8_offheap string columns of read frames
+	public static final String ENCODE_FEATURE_HASH_FUNCTION = "sysds.encode.featurehash.function"; // java or xxhash64
+	public static final String ENCODE_FEATURE_HASH_SIGNED = "sysds.encode.featurehash.signed"; // boolean: signed feature hashing (xxhash64 only)
 	public static final String PARALLEL_TOKENIZE = "sysds.parallel.tokenize";
 	public static final String PARALLEL_TOKENIZE_NUM_BLOCKS = "sysds.parallel.tokenize.numBlocks";
 	public static final String COMPRESSED_LINALG    = "sysds.compressed.linalg";
@@ -96,7 +107,17 @@ public class DMLConfig
 	public static final String CODEGEN_OPTIMIZER    = "sysds.codegen.optimizer"; //see SpoofCompiler.PlanSelector
 	public static final String CODEGEN_PLANCACHE    = "sysds.codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "sysds.codegen.literals"; //1..heuristic, 2..always
+	public static final String CODEGEN_CLASSCACHE   = "sysds.codegen.classcache"; //boolean
+	public static final String CODEGEN_ASYNC        = "sysds.codegen.async"; //boolean
+	public static final String CODEGEN_CLASSCACHE_DIR = "sysds.codegen.classcache.dir"; //local directory
 	public static final String STATS_MAX_WRAP_LEN   = "sysds.stats.maxWrapLength"; //int
+	public static final String PROFILE_TRACE        = "sysds.profile.trace"; //Chrome trace output file
+	public static final String PROFILE_FLAMEGRAPH   = "sysds.profile.flamegraph"; //collapsed stacks output file
+	public static final String PROFILE_BUFFER_SIZE  = "sysds.profile.buffersize"; //int, spans per thread
+	public static final String METRICS_PORT         = "sysds.metrics.port"; //int, -1 disables the endpoint
+	public static final String METRICS_HOST         = "sysds.metrics.host"; //bind address of the endpoint
+	public static final String METRICS_JMX          = "sysds.metrics.jmx"; //boolean
+	public static final String COST_HWPROFILE       = "sysds.cost.hwprofile"; //hardware profile file, calibrated if not existing
 	public static final String AVAILABLE_GPUS       = "sysds.gpu.availableGPUs"; // String to specify which GPUs to use (a range, all GPUs, comma separated list or a specific GPU)
 	public static final String SYNCHRONIZE_GPU      = "sysds.gpu.sync.postProcess"; // boolean: whether to synchronize GPUs after every instruction
 	public static final String EAGER_CUDA_FREE      = "sysds.gpu.eager.cudaFree"; // boolean: whether to perform eager CUDA free on rmvar
@@ -113,6 +134,7 @@ public class DMLConfig
 	public static final String GPU_MEMORY_UTILIZATION_FACTOR = "sysds.gpu.memory.util.factor";
 	public static final String GPU_MEMORY_ALLOCATOR = "sysds.gpu.memory.allocator"; // String to specify the memory allocator to use. Supported values are: cuda, unified_memory
 	public static final String FLOATING_POINT_PRECISION = "sysds.floating.point.precision"; // String to specify the datatype to use internally: supported values are double, single
+	public static final String CP_FLOATING_POINT_PRECISION = "sysds.cp.floating.point.precision"; // String to specify the storage type of dense CP matrices: supported values are double, single
 	public static final String PRINT_GPU_MEMORY_INFO = "sysds.gpu.print.memoryInfo";
 	public static final String EVICTION_SHADOW_BUFFERSIZE = "sysds.gpu.eviction.shadow.bufferSize";
 
@@ -152,6 +174,11 @@ public class DMLConfig
 		_defaultVals.put(DEFAULT_BLOCK_SIZE,     String.valueOf(OptimizerUtils.DEFAULT_BLOCKSIZE) );
 		_defaultVals.put(CP_PARALLEL_OPS,        "true" );
 		_defaultVals.put(CP_PARALLEL_IO,         "true" );
+		_defaultVals.put(CP_PARALLEL_IO_CSV_SINGLEPASS, "false" );
+		_defaultVals.put(CP_PARALLEL_IO_BINARY_MMAP, "false" );
+		_defaultVals.put(CP_PARALLEL_IO_BINARY_PIPELINE, "false" );
+		_defaultVals.put(CP_PARALLEL_IO_BINARY_COMPRESSION, "none" );
+		_defaultVals.put(CP_ASYNC_WRITE,         "false" );
 		_defaultVals.put(PARALLEL_TOKENIZE,      "false");
 		_defaultVals.put(PARALLEL_TOKENIZE_NUM_BLOCKS, "64");
 		_defaultVals.put(PARALLEL_ENCODE,        "true" );
@@ -159,6 +186,12 @@ public class DMLConfig
 		_defaultVals.put(PARALLEL_ENCODE_APPLY_BLOCKS, "-1");
 		_defaultVals.put(PARALLEL_ENCODE_BUILD_BLOCKS, "-1");
 		_defaultVals.put(PARALLEL_ENCODE_NUM_THREADS, "-1");
+		_defaultVals.put(ENCODE_BIN_SKETCH_SIZE, "4096");
+		_defaultVals.put(ENCODE_STREAMING, "false");
+		_defaultVals.put(FRAME_DICTIONARY_ENCODING, "false");
+		_defaultVals.put(FRAME_STRING_STORAGE, "java");
+		_defaultVals.put(ENCODE_FEATURE_HASH_FUNCTION, "java");
+		_defaultVals.put(ENCODE_FEATURE_HASH_SIGNED, "false");
 		_defaultVals.put(COMPRESSED_LINALG,      Compression.CompressConfig.FALSE.name() );
 		_defaultVals.put(COMPRESSED_LOSSY,       "false" );
 		_defaultVals.put(COMPRESSED_VALID_COMPRESSIONS, "SDC,DDC");
@@ -176,6 +209,9 @@ public class DMLConfig
 		_defaultVals.put(CODEGEN_OPTIMIZER,      PlanSelector.FUSE_COST_BASED_V2.name());
 		_defaultVals.put(CODEGEN_PLANCACHE,      "true" );
 		_defaultVals.put(CODEGEN_LITERALS,       "1" );
+		_defaultVals.put(CODEGEN_CLASSCACHE,     "false" );
+		_defaultVals.put(CODEGEN_CLASSCACHE_DIR, "/tmp/systemds/codegen" );
+		_defaultVals.put(CODEGEN_ASYNC,          "false" );
 		_defaultVals.put(NATIVE_BLAS,            "none" );
 		_defaultVals.put(NATIVE_BLAS_DIR,        "none" );
 		_defaultVals.put(LINEAGECACHESPILL,      "true" );
@@ -185,6 +221,13 @@ public class DMLConfig
 		_defaultVals.put(PRINT_GPU_MEMORY_INFO,  "false" );
 		_defaultVals.put(EVICTION_SHADOW_BUFFERSIZE,  "0.0" );
 		_defaultVals.put(STATS_MAX_WRAP_LEN,     "30" );
+		_defaultVals.put(PROFILE_TRACE,          "" );
+		_defaultVals.put(PROFILE_FLAMEGRAPH,     "" );
+		_defaultVals.put(PROFILE_BUFFER_SIZE,    "65536" );
+		_defaultVals.put(METRICS_PORT,           "-1" );
+		_defaultVals.put(METRICS_HOST,           "127.0.0.1" );
+		_defaultVals.put(METRICS_JMX,            "false" );
+		_defaultVals.put(COST_HWPROFILE,         "" );
 		_defaultVals.put(GPU_MEMORY_UTILIZATION_FACTOR,      "0.9" );
 		_defaultVals.put(GPU_MEMORY_ALLOCATOR,   "cuda");
 		_defaultVals.put(AVAILABLE_GPUS,         "-1");
@@ -194,6 +237,7 @@ public class DMLConfig
 		_defaultVals.put(SYNCHRONIZE_GPU,        "false" );
 		_defaultVals.put(EAGER_CUDA_FREE,        "false" );
 		_defaultVals.put(FLOATING_POINT_PRECISION, "double" );
+		_defaultVals.put(CP_FLOATING_POINT_PRECISION, "double" );
 		_defaultVals.put(USE_SSL_FEDERATED_COMMUNICATION, "false");
 		_defaultVals.put(DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT, "10");
 		_defaultVals.put(FEDERATED_TIMEOUT,      "-1");
@@ -449,13 +493,16 @@ public class DMLConfig
 	public String getConfigInfo()  {
 		String[] tmpConfig = new String[] { 
 			LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL, DEFAULT_BLOCK_SIZE,
-			CP_PARALLEL_OPS, CP_PARALLEL_IO, PARALLEL_ENCODE, NATIVE_BLAS, NATIVE_BLAS_DIR,
+			CP_PARALLEL_OPS, CP_PARALLEL_IO, CP_PARALLEL_IO_CSV_SINGLEPASS, CP_PARALLEL_IO_BINARY_MMAP,
+			CP_PARALLEL_IO_BINARY_PIPELINE, CP_PARALLEL_IO_BINARY_COMPRESSION, CP_ASYNC_WRITE, PARALLEL_ENCODE, ENCODE_BIN_SKETCH_SIZE, ENCODE_STREAMING, FRAME_DICTIONARY_ENCODING, FRAME_STRING_STORAGE, ENCODE_FEATURE_HASH_FUNCTION, ENCODE_FEATURE_HASH_SIGNED, NATIVE_BLAS, NATIVE_BLAS_DIR,
 			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_VALID_COMPRESSIONS, COMPRESSED_OVERLAPPING,
 			COMPRESSED_SAMPLING_RATIO, COMPRESSED_SOFT_REFERENCE_COUNT,
 			COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_TRANSFORMENCODE, DAG_LINEARIZATION,
 			CODEGEN, CODEGEN_API, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
-			STATS_MAX_WRAP_LEN, LINEAGECACHESPILL, COMPILERASSISTED_RW, BUFFERPOOL_LIMIT, MEMORY_MANAGER,
-			PRINT_GPU_MEMORY_INFO, AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, FLOATING_POINT_PRECISION,
+			CODEGEN_CLASSCACHE, CODEGEN_CLASSCACHE_DIR, CODEGEN_ASYNC,
+			STATS_MAX_WRAP_LEN, PROFILE_TRACE, PROFILE_FLAMEGRAPH, PROFILE_BUFFER_SIZE, METRICS_PORT, METRICS_HOST, METRICS_JMX, COST_HWPROFILE,
+			LINEAGECACHESPILL, COMPILERASSISTED_RW, BUFFERPOOL_LIMIT, MEMORY_MANAGER,
+			PRINT_GPU_MEMORY_INFO, AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, FLOATING_POINT_PRECISION, CP_FLOATING_POINT_PRECISION,
 			GPU_EVICTION_POLICY, LOCAL_SPARK_NUM_THREADS, EVICTION_SHADOW_BUFFERSIZE, GPU_MEMORY_ALLOCATOR,
 			GPU_MEMORY_UTILIZATION_FACTOR, USE_SSL_FEDERATED_COMMUNICATION, DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT,
 			FEDERATED_TIMEOUT, FEDERATED_MONITOR_FREQUENCY, ASYNC_SPARK_PREFETCH, ASYNC_SPARK_BROADCAST,
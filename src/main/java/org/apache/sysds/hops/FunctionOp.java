@@ -318,9 +318,10 @@ public class FunctionOp extends Hop
 			boolean isBuiltinFunction = isBuiltinFunction();
 			// check if there is sufficient memory to execute this function
 			if(isBuiltinFunction && getFunctionName().equalsIgnoreCase("transformencode") ) {
-				_etype = ((_etypeForced==ExecType.SPARK 
+				//note: incremental encode with existing metadata (third input) only supported in CP
+				_etype = (getInput().size() == 2 && (_etypeForced==ExecType.SPARK 
 					|| (getMemEstimate() >= OptimizerUtils.getLocalMemBudget()
-						&& OptimizerUtils.isSparkExecutionMode())) ? ExecType.SPARK : ExecType.CP);
+						&& OptimizerUtils.isSparkExecutionMode()))) ? ExecType.SPARK : ExecType.CP;
 			}
 			else if(isBuiltinFunction && (getFunctionName().equalsIgnoreCase("lstm") || getFunctionName().equalsIgnoreCase("lstm_backward"))) {
 				if(!DMLScript.USE_ACCELERATOR)
@@ -61,6 +61,9 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 	private static final Log LOG = LogFactory.getLog(ParameterizedBuiltinOp.class.getName());
 
 	public static boolean FORCE_DIST_RM_EMPTY = false;
+	
+	//name of the weights parameter of fused transformapply and matrix multiplication
+	public static final String TF_WEIGHTS = "weights";
 
 	//operator type
 	private ParamBuiltinOp _op;
@@ -681,6 +684,12 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 				return new MatrixCharacteristics(dc.getRows(), dc.getCols(), -1, dc.getLength());
 			}
 		}
+		else if( _op == ParamBuiltinOp.TRANSFORMAPPLY && isTransformApplyMatMult() ) {
+			//fused transformapply and matrix multiplication: rows x ncol(weights)
+			DataCharacteristics dcW = memo.getAllInputStats(getParameterHop(TF_WEIGHTS));
+			if( dc.rowsKnown() && dcW.colsKnown() )
+				return new MatrixCharacteristics(dc.getRows(), dcW.getCols(), -1, -1);
+		}
 		else if( _op == ParamBuiltinOp.TRANSFORMAPPLY ) {
 			if( dc.dimsKnown() ) {
 				//rows: omitting might decrease but never increase rows
@@ -730,7 +739,7 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 		if (_op == ParamBuiltinOp.TRANSFORMCOLMAP || _op == ParamBuiltinOp.TRANSFORMMETA
 				|| _op == ParamBuiltinOp.TOSTRING || _op == ParamBuiltinOp.LIST
 				|| _op == ParamBuiltinOp.CDF || _op == ParamBuiltinOp.INVCDF
-				|| _op == ParamBuiltinOp.PARAMSERV) {
+				|| _op == ParamBuiltinOp.PARAMSERV || isTransformApplyMatMult()) {
 			_etype = ExecType.CP;
 		}
 
@@ -837,6 +846,9 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 				//rows remain unchanged only if no omitting
 				//cols remain unchanged of no dummy coding 
 				//TODO parse json spec
+				//cols of fused matrix multiplication given by weights
+				if( isTransformApplyMatMult() )
+					setDim2( getParameterHop(TF_WEIGHTS).getDim2() );
 				break;
 			}
 			case TRANSFORMCOLMAP: {
@@ -977,6 +989,17 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 		return false;
 	}
 	
+	/**
+	 * Indicates if this transformapply is fused with a subsequent matrix
+	 * multiplication by weights, i.e., transformapply(X, M) %*% W.
+	 * 
+	 * @return true if fused transformapply and matrix multiplication
+	 */
+	public boolean isTransformApplyMatMult() {
+		return _op == ParamBuiltinOp.TRANSFORMAPPLY
+			&& _paramIndexMap.containsKey(TF_WEIGHTS);
+	}
+	
 	public boolean isTargetDiagInput() {
 		Hop targetHop = getTargetHop();
 		//input vector (guarantees diagV2M), implies remove rows
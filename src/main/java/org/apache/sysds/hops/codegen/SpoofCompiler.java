@@ -31,6 +31,7 @@ import org.apache.sysds.common.Types.Direction;
 import org.apache.sysds.common.Types.ExecMode;
 import org.apache.sysds.common.Types.OpOp1;
 import org.apache.sysds.common.Types.OpOp2;
+import org.apache.sysds.conf.CompilerConfig;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.AggUnaryOp;
@@ -109,7 +110,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -132,6 +137,12 @@ public class SpoofCompiler {
 	//for equal operators from (1) different hop dags and (2) repeated recompilation 
 	//note: if PLAN_CACHE_SIZE is exceeded, we evict the least-recently-used plan (LRU policy)
 	private static final PlanCache planCache = new PlanCache(PLAN_CACHE_SIZE);
+
+	//tiered compilation: pending background class compilations per cplan, and
+	//thread-local collection of cplans excluded from the current code generation
+	private static final HashMap<CNode, Future<Class<?>>> asyncPending = new HashMap<>();
+	private static final ThreadLocal<List<Future<Class<?>>>> asyncDeferred = new ThreadLocal<>();
+	private static ExecutorService asyncPool = null;
 	
 	private static ProgramRewriter rewriteCSE = new ProgramRewriter(
 		new RewriteCommonSubexpressionElimination(true),
@@ -421,7 +432,86 @@ public class SpoofCompiler {
 		else if( current instanceof BasicProgramBlock ) {
 			BasicProgramBlock bpb = (BasicProgramBlock) current;
 			StatementBlock sb = current.getStatementBlock();
-			bpb.setInstructions( generateCodeFromHopDAGsToInst(sb, sb.getHops()) );
+			//tiered compilation: fused operators that are still compiled in the
+			//background are swapped in on a later execution of the program block
+			boolean async = isAsyncCompilation();
+			if( async )
+				beginAsyncCompilation();
+			try {
+				bpb.setInstructions( generateCodeFromHopDAGsToInst(sb, sb.getHops()) );
+			}
+			finally {
+				if( async )
+					bpb.setPendingCodegen(endAsyncCompilation());
+			}
+		}
+	}
+
+	/**
+	 * Indicates if generated classes are compiled asynchronously in the background
+	 * (tiered compilation), which requires the plan cache for reusing compiled classes.
+	 * 
+	 * @return true if asynchronous compilation is enabled
+	 */
+	public static boolean isAsyncCompilation() {
+		return ConfigurationManager.isCodegenAsyncEnabled()
+			&& PLAN_CACHE_POLICY != PlanCachePolicy.NONE
+			&& API == GeneratorAPI.JAVA;
+	}
+
+	/**
+	 * Begins a scope of asynchronous compilation for the current thread. Until the
+	 * scope is closed, code generation excludes all fused operators whose classes are
+	 * not yet compiled and submits their compilation to a background thread.
+	 */
+	public static void beginAsyncCompilation() {
+		asyncDeferred.set(new ArrayList<>());
+	}
+
+	/**
+	 * Ends the scope of asynchronous compilation for the current thread.
+	 * 
+	 * @return pending class compilations of excluded fused operators
+	 */
+	public static List<Future<Class<?>>> endAsyncCompilation() {
+		List<Future<Class<?>>> ret = asyncDeferred.get();
+		asyncDeferred.remove();
+		return ret;
+	}
+
+	private static Future<Class<?>> compileClassAsync(CNodeTpl tpl, String name, String src) {
+		synchronized( asyncPending ) {
+			Future<Class<?>> ret = asyncPending.get(tpl);
+			if( ret == null ) {
+				if( asyncPool == null ) {
+					asyncPool = Executors.newSingleThreadExecutor(r -> {
+						Thread t = new Thread(r, "AsyncCodegen");
+						t.setDaemon(true);
+						return t;
+					});
+				}
+				//propagate thread-local configurations of the caller
+				final DMLConfig dconf = ConfigurationManager.getDMLConfig();
+				final CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+				ret = asyncPool.submit(() -> {
+					ConfigurationManager.setLocalConfig(dconf);
+					ConfigurationManager.setLocalConfig(cconf);
+					try {
+						return CodegenUtils.compileClass(name, src);
+					}
+					finally {
+						ConfigurationManager.clearLocalConfigs();
+					}
+				});
+				asyncPending.put(tpl, ret);
+			}
+			return ret;
+		}
+	}
+
+	private static void removeClassAsync(CNodeTpl tpl) {
+		synchronized( asyncPending ) {
+			asyncPending.remove(tpl);
 		}
 	}
 
@@ -519,14 +609,27 @@ public class SpoofCompiler {
 				if( cla == null ) {
 					String src_cuda = "";
 					String src = tmp.getValue().codegen(false, GeneratorAPI.JAVA);
-					cla = CodegenUtils.compileClass("codegen." + tmp.getValue().getClassname(), src);
+					String name = "codegen." + tmp.getValue().getClassname();
+					List<Future<Class<?>>> deferred = asyncDeferred.get();
+					if( deferred != null ) {
+						//tiered compilation: exclude cplan until compiled in background
+						Future<Class<?>> future = compileClassAsync(tmp.getValue(), name, src);
+						if( !future.isDone() ) {
+							deferred.add(future);
+							continue;
+						}
+						removeClassAsync(tmp.getValue());
+						cla = future.get();
+					}
+					else
+						cla = CodegenUtils.compileClass(name, src);
 
 					if(API == GeneratorAPI.CUDA) {
 						if(tmp.getValue().isSupported(API)) {
 							src_cuda = tmp.getValue().codegen(false, GeneratorAPI.CUDA);
 							int op_id = tmp.getValue().compile(API, src_cuda);
 							if(op_id >= 0) {
-								CodegenUtils.putCUDAOpID("codegen." + tmp.getValue().getClassname(), op_id);
+								CodegenUtils.putCUDAOpID(cla.getName(), op_id);
 								CodegenUtils.putCUDASource(op_id, src_cuda);
 							}
 							else {
@@ -626,6 +729,9 @@ public class SpoofCompiler {
 		if( PLAN_CACHE_POLICY != PlanCachePolicy.NONE ) {
 			CodegenUtils.clearClassCache(); //class cache
 			planCache.clear(); //plan cache
+			synchronized( asyncPending ) {
+				asyncPending.clear(); //pending compilations
+			}
 		}
 
 		if(API != GeneratorAPI.JAVA)
@@ -42,6 +42,9 @@ public abstract class CNode
 	protected long _cols = -1;
 	protected DataType _dataType;
 	protected boolean _literal = false;
+	//sparse row intermediate (non-zero values and shared column indexes), only 
+	//set during generation of the sparse body of row templates (not hashed)
+	protected boolean _sparseRow = false;
 	
 	//cached hash to allow memoization in DAG structures and repeated 
 	//recursive hash computation over all inputs (w/ reset on updates)
@@ -94,7 +97,7 @@ public abstract class CNode
 				return getVarname()+".length";
 		}
 		else {
-			if( getVarname().startsWith("a") )
+			if( getVarname().startsWith("a") || _sparseRow )
 				return "len";
 			if(getVarname().startsWith("b"))
 				return getVarname() + ".clen";
@@ -146,6 +149,14 @@ public abstract class CNode
 		_hash = 0;
 	}
 	
+	public boolean isSparseRowIntermediate() {
+		return _sparseRow;
+	}
+	
+	public void setSparseRowIntermediate(boolean flag) {
+		_sparseRow = flag;
+	}
+	
 	public CNode getOutput() {
 		return _output;
 	}
@@ -108,6 +108,9 @@ public class CNodeBinary extends CNode {
 				|| this == VECT_XOR || this == VECT_BITWAND
 				|| this == VECT_BIASADD || this == VECT_BIASMULT;
 		}
+		public boolean isSparseRowPrimitive() {
+			return this == VECT_MULT_SCALAR;
+		}
 		public boolean isVectorMatrixPrimitive() {
 			return this == VECT_MATRIXMULT
 				|| this == VECT_OUTERMULT_ADD;
@@ -158,8 +161,9 @@ public class CNodeBinary extends CNode {
 		sb.append(_inputs.get(1).codegen(sparse, api));
 		
 		//generate binary operation (use sparse template, if data input)
-		boolean lsparseLhs = sparse && _inputs.get(0) instanceof CNodeData 
-			&& _inputs.get(0).getVarname().startsWith("a");
+		boolean lsparseLhs = sparse && (_inputs.get(0) instanceof CNodeData 
+			&& _inputs.get(0).getVarname().startsWith("a")
+			|| _inputs.get(0).isSparseRowIntermediate());
 		boolean lsparseRhs = sparse && _inputs.get(1) instanceof CNodeData 
 			&& _inputs.get(1).getVarname().startsWith("a");
 		boolean scalarInput = _inputs.get(0).getDataType().isScalar();
@@ -168,7 +172,9 @@ public class CNodeBinary extends CNode {
 		boolean vectorVector = _inputs.get(0).getDataType().isMatrix()
 			&& _inputs.get(1).getDataType().isMatrix();
 		String var = createVarname();
-		String tmp = getLanguageTemplateClass(this, api)
+		String tmp = (sparse && _sparseRow) ?
+			getLanguageTemplateClass(this, api).getSparseRowTemplate(_type) :
+			getLanguageTemplateClass(this, api)
 			.getTemplate(_type, lsparseLhs, lsparseRhs, scalarVector, scalarInput, vectorVector);
 
 		tmp = tmp.replace("%TMP%", var);
@@ -19,15 +19,21 @@
 
 package org.apache.sysds.hops.codegen.cplan;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sysds.hops.codegen.SpoofCompiler;
 import org.apache.sysds.hops.codegen.SpoofCompiler.GeneratorAPI;
 import org.apache.sysds.hops.codegen.SpoofFusedOp.SpoofOutputDimsType;
 import org.apache.sysds.hops.codegen.cplan.CNodeBinary.BinType;
+import org.apache.sysds.hops.codegen.cplan.CNodeUnary.UnaryType;
 import org.apache.sysds.hops.codegen.template.TemplateUtils;
 import org.apache.sysds.runtime.codegen.SpoofRowwise.RowType;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 
 public class CNodeRow extends CNodeTpl
 {
@@ -54,6 +60,7 @@ public class CNodeRow extends CNodeTpl
 	private static final String TEMPLATE_ROWAGG_OUT  = "    c[rix] = %IN%;\n";
 	private static final String TEMPLATE_FULLAGG_OUT = "    c[0] += %IN%;\n";
 	private static final String TEMPLATE_NOAGG_OUT   = "    LibSpoofPrimitives.vectWrite(%IN%, c, ci, %LEN%);\n";
+	private static final String TEMPLATE_NOAGG_SPARSE_OUT = "    LibSpoofPrimitives.vectWrite(%IN%vals, c, %IN%ix, 0, ci, alen);\n";
 	private static final String TEMPLATE_NOAGG_CONST_OUT_CUDA   = "\t\tvectWrite(%IN%, c.vals(0), 0, ci, %LEN%);\n";
 	private static final String TEMPLATE_NOAGG_OUT_CUDA   = "\t\tvectWrite(%IN%, c.vals(0), 0, ci, %LEN%);\n";
 //	private static final String TEMPLATE_ROWAGG_OUT_CUDA  = "\t\tif(threadIdx.x == 0){\n\t\t\t*(c.vals(rix)) = %IN%;\n//printf(\"rix=%d TMP7=%f TMP8=%f %IN%=%f\\n\",rix, TMP7, TMP8,%IN%);\n}\n";
@@ -64,6 +71,9 @@ private static final String TEMPLATE_ROWAGG_OUT_CUDA  = "\t\tif(threadIdx.x == 0
 		"\t\tif(threadIdx.x == 0) {\n\t\tT old = atomicAdd(c.vals(0), %IN%);\n\t\t}\n";
 
 
+	//keep sparse-safe vector intermediates of sparse main inputs in sparse row format
+	public static boolean SPARSE_ROW_INTERMEDIATES = true;
+
 	public CNodeRow(ArrayList<CNode> inputs, CNode output ) {
 		super(inputs, output);
 	}
@@ -116,8 +126,11 @@ private static final String TEMPLATE_ROWAGG_OUT_CUDA  = "\t\tif(threadIdx.x == 0
 		//generate dense/sparse bodies
 		String tmpDense = _output.codegen(false, api) + getOutputStatement(_output.getVarname());
 		_output.resetGenerated();
+		List<CNode> sparseRows = (api.isJava() && SPARSE_ROW_INTERMEDIATES) ?
+			markSparseRowIntermediates() : Collections.emptyList();
 		String tmpSparse = _output.codegen(true, api) + getOutputStatement(_output.getVarname());
 		_output.resetGenerated();
+		sparseRows.forEach(n -> n.setSparseRowIntermediate(false));
 		String varName = createVarname();
 		tmp = tmp.replace(api.isJava()?"%TMP%":"//%TMP%", varName);
 		if( !api.isJava() )
@@ -154,6 +167,8 @@ private static final String TEMPLATE_ROWAGG_OUT_CUDA  = "\t\tif(threadIdx.x == 0
 	}
 	
 	private String getOutputStatement(String varName) {
+		if( _output.isSparseRowIntermediate() ) //NO_AGG only
+			return TEMPLATE_NOAGG_SPARSE_OUT.replace("%IN%", varName);
 		switch( _type ) {
 			case NO_AGG:
 				if(api == GeneratorAPI.CUDA)
@@ -179,6 +194,80 @@ private static final String TEMPLATE_ROWAGG_OUT_CUDA  = "\t\tif(threadIdx.x == 0
 		}
 	}
 
+	/**
+	 * Marks all sparse-safe vector intermediates (e.g., abs(X) or X*s) that directly or 
+	 * indirectly consume the sparse main input and whose consumers all provide primitives
+	 * for sparse inputs. These intermediates are generated as compacted non-zero values
+	 * and shared column indexes, which avoids densifying rows of sparse inputs.
+	 * 
+	 * @return list of marked nodes
+	 */
+	private List<CNode> markSparseRowIntermediates() {
+		HashMap<Long, List<Pair<CNode, Integer>>> consumers = new HashMap<>();
+		rCollectConsumers(_output, consumers, new HashSet<>());
+		List<CNode> ret = new ArrayList<>();
+		rMarkSparseRowIntermediates(_output, consumers, new HashSet<>(), ret);
+		return ret;
+	}
+	
+	private static void rCollectConsumers(CNode current, HashMap<Long, List<Pair<CNode, Integer>>> consumers, HashSet<Long> visited) {
+		if( !visited.add(current.getID()) )
+			return;
+		for( int i=0; i<current.getInput().size(); i++ ) {
+			CNode in = current.getInput().get(i);
+			consumers.computeIfAbsent(in.getID(), k -> new ArrayList<>()).add(Pair.of(current, i));
+			rCollectConsumers(in, consumers, visited);
+		}
+	}
+	
+	private void rMarkSparseRowIntermediates(CNode current, HashMap<Long, List<Pair<CNode, Integer>>> consumers, HashSet<Long> visited, List<CNode> marked) {
+		if( !visited.add(current.getID()) )
+			return;
+		for( CNode in : current.getInput() )
+			rMarkSparseRowIntermediates(in, consumers, visited, marked);
+		
+		//sparse-safe vector operation over the sparse main input or sparse intermediate
+		boolean sparsePrimitive = (current instanceof CNodeUnary 
+			&& ((CNodeUnary)current).getType().isSparseRowPrimitive())
+			|| (current instanceof CNodeBinary && ((CNodeBinary)current).getType().isSparseRowPrimitive()
+			&& current.getInput().get(0).getDataType().isMatrix() && current.getInput().get(1).getDataType().isScalar());
+		if( !sparsePrimitive || !(isMainInput(current.getInput().get(0))
+			|| current.getInput().get(0).isSparseRowIntermediate()) )
+			return;
+		
+		//all consumers with primitives for sparse inputs
+		boolean valid = (current != _output) || _type == RowType.NO_AGG;
+		for( Pair<CNode, Integer> p : consumers.getOrDefault(current.getID(), Collections.emptyList()) )
+			valid &= isSparseRowConsumer(p.getKey(), p.getValue());
+		if( valid ) {
+			current.setSparseRowIntermediate(true);
+			marked.add(current);
+		}
+	}
+	
+	private static boolean isSparseRowConsumer(CNode parent, int pos) {
+		if( pos != 0 ) //sparse inputs only supported as first input
+			return false;
+		if( parent instanceof CNodeUnary ) {
+			UnaryType type = ((CNodeUnary)parent).getType();
+			//(no nnz counts because intermediates might contain explicit zeros)
+			return type.isVectorScalarPrimitive() 
+				|| (type.name().startsWith("ROW_") && type != UnaryType.ROW_COUNTNNZS);
+		}
+		if( parent instanceof CNodeBinary ) {
+			BinType type = ((CNodeBinary)parent).getType();
+			return (type.isVectorPrimitive() || type.name().endsWith("_ADD")
+				|| type == BinType.DOT_PRODUCT || type == BinType.ROWMAXS_VECTMULT)
+				&& !isMainInput(parent.getInput().get(1)); //dense second input
+		}
+		return false;
+	}
+	
+	private static boolean isMainInput(CNode node) {
+		return node instanceof CNodeData && node.getVarname().startsWith("a")
+			&& !node.isLiteral() && node.getDataType().isMatrix();
+	}
+	
 	@Override
 	public void setOutputDims() {
 		// TODO Auto-generated method stub
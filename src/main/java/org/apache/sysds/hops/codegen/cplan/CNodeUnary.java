@@ -71,6 +71,11 @@ public class CNodeUnary extends CNode
 			return ArrayUtils.contains(new UnaryType[]{
 				LOOKUP0, LOOKUP_R, LOOKUP_C, LOOKUP_RC}, this);
 		}
+		public boolean isSparseRowPrimitive() {
+			return ArrayUtils.contains(new UnaryType[]{
+				VECT_POW2, VECT_MULT2, VECT_SQRT, VECT_ABS, 
+				VECT_ROUND, VECT_CEIL, VECT_FLOOR, VECT_SIGN}, this);
+		}
 		public boolean isSparseSafeScalar() {
 			return ArrayUtils.contains(new UnaryType[]{
 				POW2, MULT2, ABS, ROUND, CEIL, FLOOR, SIGN, 
@@ -110,11 +115,13 @@ public class CNodeUnary extends CNode
 		sb.append(_inputs.get(0).codegen(sparse, api));
 		
 		//generate unary operation
-		boolean lsparse = sparse && (_inputs.get(0) instanceof CNodeData
+		boolean lsparse = sparse && ((_inputs.get(0) instanceof CNodeData
 			&& _inputs.get(0).getVarname().startsWith("a")
-			&& !_inputs.get(0).isLiteral());
+			&& !_inputs.get(0).isLiteral()) || _inputs.get(0).isSparseRowIntermediate());
 		String var = createVarname();
-		String tmp = getLanguageTemplateClass(this, api).getTemplate(_type, lsparse);
+		String tmp = (sparse && _sparseRow) ?
+			getLanguageTemplateClass(this, api).getSparseRowTemplate(_type) :
+			getLanguageTemplateClass(this, api).getTemplate(_type, lsparse);
 		tmp = tmp.replaceAll("%TMP%", var);
 		
 		//replace sparse and dense inputs
@@ -45,6 +45,14 @@ public abstract class CodeTemplate {
 		throw new RuntimeException("Calling wrong getTemplate method on " + getClass().getCanonicalName());
 	}
 	
+	public String getSparseRowTemplate(CNodeBinary.BinType type) {
+		throw new RuntimeException("Calling wrong getSparseRowTemplate method on " + getClass().getCanonicalName());
+	}
+	
+	public String getSparseRowTemplate(CNodeUnary.UnaryType type) {
+		throw new RuntimeException("Calling wrong getSparseRowTemplate method on " + getClass().getCanonicalName());
+	}
+	
 	public static String getTemplate(String templateFileName) {
 		try {
 			// Change prefix to the code template file if running from jar. File were extracted to a temporary
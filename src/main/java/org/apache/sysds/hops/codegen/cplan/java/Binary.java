@@ -181,4 +181,17 @@ public class Binary extends CodeTemplate {
 				throw new RuntimeException("Invalid binary type: "+this.toString());
 		}
 	}
+
+	@Override
+	public String getSparseRowTemplate(BinType type) {
+		switch( type ) {
+			case VECT_MULT_SCALAR: {
+				String vectName = type.getVectorPrimitiveName();
+				return "    double[] %TMP%vals = LibSpoofPrimitives.vect"+vectName+"SparseWrite(%IN1v%, %IN2%, %POS1%, alen, len);\n"
+					+ "    int[] %TMP%ix = LibSpoofPrimitives.vectSparseIndexes(%IN1i%, %POS1%, alen, len);\n";
+			}
+			default:
+				throw new RuntimeException("Invalid sparse row binary type: "+type.toString());
+		}
+	}
 }
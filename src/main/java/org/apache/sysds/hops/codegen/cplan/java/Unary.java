@@ -126,4 +126,24 @@ public class Unary extends CodeTemplate {
 				throw new RuntimeException("Invalid unary type: "+this.toString());
 		}
 	}
+
+	@Override
+	public String getSparseRowTemplate(UnaryType type) {
+		switch( type ) {
+			case VECT_POW2:
+			case VECT_MULT2:
+			case VECT_SQRT:
+			case VECT_ABS:
+			case VECT_ROUND:
+			case VECT_CEIL:
+			case VECT_FLOOR:
+			case VECT_SIGN: {
+				String vectName = type.getVectorPrimitiveName();
+				return "    double[] %TMP%vals = LibSpoofPrimitives.vect"+vectName+"SparseWrite(%IN1v%, %POS1%, alen, len);\n"
+					+ "    int[] %TMP%ix = LibSpoofPrimitives.vectSparseIndexes(%IN1i%, %POS1%, alen, len);\n";
+			}
+			default:
+				throw new RuntimeException("Invalid sparse row unary type: "+type.toString());
+		}
+	}
 }
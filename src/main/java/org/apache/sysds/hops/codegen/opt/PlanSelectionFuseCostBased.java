@@ -53,6 +53,7 @@ import org.apache.sysds.hops.codegen.template.TemplateRow;
 import org.apache.sysds.hops.codegen.template.TemplateUtils;
 import org.apache.sysds.hops.codegen.template.CPlanMemoTable.MemoTableEntry;
 import org.apache.sysds.hops.codegen.template.TemplateBase.TemplateType;
+import org.apache.sysds.hops.cost.HardwareProfile;
 import org.apache.sysds.hops.rewrite.HopRewriteUtils;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
@@ -71,12 +72,9 @@ public class PlanSelectionFuseCostBased extends PlanSelection
 {	
 	private static final Log LOG = LogFactory.getLog(PlanSelectionFuseCostBased.class.getName());
 	
-	//common bandwidth characteristics, with a conservative write bandwidth in order 
-	//to cover result allocation, write into main memory, and potential evictions
-	private static final double WRITE_BANDWIDTH = 2d*1024*1024*1024;  //2GB/s
-	private static final double READ_BANDWIDTH = 32d*1024*1024*1024;  //32GB/s
-	private static final double COMPUTE_BANDWIDTH = 2d*1024*1024*1024 //2GFLOPs/core
-		* InfrastructureAnalyzer.getLocalParallelism();
+	//common bandwidth characteristics from the hardware profile (see HardwareProfile), with a
+	//conservative write bandwidth in order to cover result allocation, write into main memory,
+	//and potential evictions
 	
 	private static final IDSequence COST_ID = new IDSequence();
 	private static final TemplateRow ROW_TPL = new TemplateRow();
@@ -601,10 +599,12 @@ public class PlanSelectionFuseCostBased extends PlanSelection
 			if( opened ) {
 				if( LOG.isTraceEnabled() )
 					LOG.trace("Cost vector for fused operator (hop "+current.getHopID()+"): "+costVect);
-				costs += costVect.outSize * 8 / WRITE_BANDWIDTH; //time for output write
+				HardwareProfile hw = HardwareProfile.get();
+				costs += costVect.outSize * 8 / hw.getMemWriteBandwidth(); //time for output write
 				costs += Math.max(
-						costVect.computeCosts*costVect.getMaxInputSize()/ COMPUTE_BANDWIDTH, 
-						costVect.getSumInputSizes() * 8 / READ_BANDWIDTH); 
+						costVect.computeCosts*costVect.getMaxInputSize()/ 
+						hw.getDenseFlops(InfrastructureAnalyzer.getLocalParallelism()), 
+						costVect.getSumInputSizes() * 8 / hw.getMemReadBandwidth()); 
 			}
 			//add costs for non-partition read in the middle of fused operator
 			else if( hasNonPartitionConsumer(current, partition) ) {
@@ -40,14 +40,17 @@ import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.AggOp;
 import org.apache.sysds.common.Types.Direction;
 import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.OpOp1;
 import org.apache.sysds.common.Types.OpOp2;
 import org.apache.sysds.common.Types.OpOpDG;
 import org.apache.sysds.common.Types.OpOpData;
 import org.apache.sysds.common.Types.OpOpN;
 import org.apache.sysds.hops.AggBinaryOp;
 import org.apache.sysds.hops.AggUnaryOp;
+import org.apache.sysds.hops.BinaryOp;
 import org.apache.sysds.hops.Hop;
 import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.hops.codegen.cplan.CNodeRow;
 import org.apache.sysds.hops.codegen.opt.ReachabilityGraph.SubProblem;
 import org.apache.sysds.hops.codegen.template.CPlanMemoTable;
 import org.apache.sysds.hops.codegen.template.TemplateOuterProduct;
@@ -55,12 +58,14 @@ import org.apache.sysds.hops.codegen.template.TemplateRow;
 import org.apache.sysds.hops.codegen.template.TemplateUtils;
 import org.apache.sysds.hops.codegen.template.CPlanMemoTable.MemoTableEntry;
 import org.apache.sysds.hops.codegen.template.TemplateBase.TemplateType;
+import org.apache.sysds.hops.cost.HardwareProfile;
 import org.apache.sysds.hops.cost.ComputeCost;
 import org.apache.sysds.hops.rewrite.HopRewriteUtils;
 import org.apache.sysds.runtime.codegen.LibSpoofPrimitives;
 import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CollectionUtils;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.stats.CodegenStatistics;
@@ -82,18 +87,36 @@ public class PlanSelectionFuseCostBasedV2 extends PlanSelection
 {
 	private static final Log LOG = LogFactory.getLog(PlanSelectionFuseCostBasedV2.class.getName());
 	
-	//common bandwidth characteristics, with a conservative write bandwidth in order 
-	//to cover result allocation, write into main memory, and potential evictions
-	private static final double WRITE_BANDWIDTH_IO  =      512*1024*1024;  //512MB/s
-	private static final double WRITE_BANDWIDTH_MEM =  2d*1024*1024*1024;  //2GB/s
-	private static final double READ_BANDWIDTH_MEM  = 32d*1024*1024*1024;  //32GB/s
-	private static final double READ_BANDWIDTH_BROADCAST = WRITE_BANDWIDTH_IO/4;
-	private static final double COMPUTE_BANDWIDTH  =   2d*1024*1024*1024   //1GFLOPs/core
-		* InfrastructureAnalyzer.getLocalParallelism();
+	//common bandwidth characteristics from the hardware profile (by default 512MB/s IO, 2GB/s
+	//write, 32GB/s read, 2GFLOPs/core), with a conservative write bandwidth in order to cover
+	//result allocation, write into main memory, and potential evictions (see HardwareProfile)
+	private static double getWriteBandwidthIO() {
+		return HardwareProfile.get().getFSWriteBandwidth();
+	}
+	
+	private static double getWriteBandwidthMem() {
+		return HardwareProfile.get().getMemWriteBandwidth();
+	}
+	
+	private static double getReadBandwidthMem() {
+		return HardwareProfile.get().getMemReadBandwidth();
+	}
+	
+	private static double getReadBandwidthBroadcast() {
+		return getWriteBandwidthIO()/4;
+	}
+	
+	private static double getComputeBandwidth() {
+		return HardwareProfile.get().getDenseFlops(InfrastructureAnalyzer.getLocalParallelism());
+	}
 	
 	//sparsity estimate for unknown sparsity to prefer sparse-safe fusion plans
 	private static final double SPARSE_SAFE_SPARSITY_EST = 0.1;
 	
+	//sparsity threshold for row templates over sparse main inputs, below which sparse-safe
+	//vector intermediates are kept in sparse row format (i.e., compute proportional to nnz)
+	public static final double SPARSE_ROW_SPARSITY_THRESHOLD = MatrixBlock.SPARSITY_TURN_POINT;
+	
 	//after evaluating the costs of the opening heuristics fuse-all and fuse-no-redundancy,
 	//remaining candidate plans of large partitions (w/ >= COST_MIN_EPS_NUM_POINTS) are
 	//only evaluated if the current costs are > (1+COST_MIN_EPS) * static (i.e., minimal) costs.
@@ -369,8 +392,8 @@ public class PlanSelectionFuseCostBasedV2 extends PlanSelection
 				matTargets.add(hopID);
 				Hop hop = memo.getHopRefs().get(hopID);
 				long size = getSize(hop);
-				costs += size * 8 / WRITE_BANDWIDTH_MEM + 
-						size * 8 / READ_BANDWIDTH_MEM;
+				costs += size * 8 / getWriteBandwidthMem() + 
+						size * 8 / getReadBandwidthMem();
 			}
 		}
 		//points with non-partition consumers
@@ -378,7 +401,7 @@ public class PlanSelectionFuseCostBasedV2 extends PlanSelection
 			if( !matTargets.contains(hopID) ) {
 				matTargets.add(hopID);
 				Hop hop = memo.getHopRefs().get(hopID);
-				costs += getSize(hop) * 8 / WRITE_BANDWIDTH_MEM;
+				costs += getSize(hop) * 8 / getWriteBandwidthMem();
 			}
 		
 		return costs;
@@ -389,7 +412,7 @@ public class PlanSelectionFuseCostBasedV2 extends PlanSelection
 		//get partition input reads (at least read once)
 		for( Long hopID : part.getInputs() ) {
 			Hop hop = memo.getHopRefs().get(hopID);
-			costs += getSafeMemEst(hop) / READ_BANDWIDTH_MEM;
+			costs += getSafeMemEst(hop) / getReadBandwidthMem();
 		}
 		return costs;
 	}
@@ -398,14 +421,14 @@ public class PlanSelectionFuseCostBasedV2 extends PlanSelection
 		double costs = 0;
 		for( Long hopID : R ) {
 			Hop hop = memo.getHopRefs().get(hopID);
-			costs += getSize(hop) * 8 / WRITE_BANDWIDTH_MEM;
+			costs += getSize(hop) * 8 / getWriteBandwidthMem();
 		}
 		return costs;
 	}
 	
 	private static double sumComputeCost(HashMap<Long, Double> computeCosts) {
 		return computeCosts.values().stream()
-			.mapToDouble(d -> d/COMPUTE_BANDWIDTH).sum();
+			.mapToDouble(d -> d/getComputeBandwidth()).sum();
 	}
 	
 	private static double minOuterSparsity(PlanPartition part, CPlanMemoTable memo) {
@@ -924,6 +947,8 @@ public class PlanSelectionFuseCostBasedV2 extends PlanSelection
 		
 		//create new cost vector if opened, initialized with write costs
 		CostVector costVect = !opened ? costsCurrent : new CostVector(getSize(current));
+		if( costVect != null )
+			costVect.addFusedOp(currentHopId);
 		double costs = 0;
 		
 		//add other roots for multi-agg template to account for shared costs
@@ -968,20 +993,27 @@ public class PlanSelectionFuseCostBasedV2 extends PlanSelection
 		//add costs for opened fused operator
 		if( opened ) {
 			double memInputs = sumInputMemoryEstimates(memo, costVect);
-			double tmpCosts = costVect.outSize * 8 / WRITE_BANDWIDTH_MEM
-				+ Math.max(memInputs / READ_BANDWIDTH_MEM,
-				costVect.computeCosts/ COMPUTE_BANDWIDTH);
+			Hop driver = memo.getHopRefs().get(costVect.getMaxInputSizeHopID());
+			//sparsity correction of compute for row template over sparse inputs
+			double compCosts = costVect.computeCosts;
+			if( best != null && best.type == TemplateType.ROW && CNodeRow.SPARSE_ROW_INTERMEDIATES
+				&& driver != null && driver.dimsKnown(true)
+				&& driver.getSparsity() < SPARSE_ROW_SPARSITY_THRESHOLD
+				&& isSparseSafeRowPlan(driver, costVect) )
+				compCosts *= driver.getSparsity();
+			double tmpCosts = costVect.outSize * 8 / getWriteBandwidthMem()
+				+ Math.max(memInputs / getReadBandwidthMem(),
+				compCosts / getComputeBandwidth());
 			//read correction for distributed computation
 			if( memInputs > OptimizerUtils.getLocalMemBudget() )
-				tmpCosts += costVect.getSideInputSize() * 8 / READ_BANDWIDTH_BROADCAST;
+				tmpCosts += costVect.getSideInputSize() * 8 / getReadBandwidthBroadcast();
 			//sparsity correction for outer-product template (and sparse-safe cell)
-			Hop driver = memo.getHopRefs().get(costVect.getMaxInputSizeHopID());
 			if( best != null && best.type == TemplateType.OUTER )
 				tmpCosts *= driver.dimsKnown(true) ? driver.getSparsity() : SPARSE_SAFE_SPARSITY_EST;
 			//write correction for known evictions in CP
 			else if( memInputs <= OptimizerUtils.getLocalMemBudget()
 				&& sumTmpInputOutputSize(memo, costVect)*8 > LazyWriteBuffer.getWriteBufferLimit() )
-				tmpCosts += costVect.outSize * 8 / WRITE_BANDWIDTH_IO;
+				tmpCosts += costVect.outSize * 8 / getWriteBandwidthIO();
 			costs += tmpCosts;
 			if( LOG.isTraceEnabled() ) {
 				String type = (best !=null) ? best.type.name() : "HOP";
@@ -1014,6 +1046,50 @@ public class PlanSelectionFuseCostBasedV2 extends PlanSelection
 			&& HopRewriteUtils.isTransposeOperation(hop.getInput().get(index)); 
 	}
 	
+	/**
+	 * Probes if all fused operations over the sparse driver of a row template are
+	 * sparse-safe, i.e., if the generated operator keeps its vector intermediates in
+	 * sparse row format (see CNodeRow.markSparseRowIntermediates) and thus, the
+	 * compute is proportional to the number of non-zeros.
+	 * 
+	 * @param driver main input of the row template
+	 * @param costVect cost vector of the fused operator
+	 * @return true if the row plan is sparse-safe w.r.t. the driver
+	 */
+	private static boolean isSparseSafeRowPlan(Hop driver, CostVector costVect) {
+		for( Hop p : driver.getParent() )
+			if( costVect.isFusedOp(p.getHopID()) && !rIsSparseSafeRowConsumer(p, driver, costVect) )
+				return false;
+		return true;
+	}
+	
+	private static boolean rIsSparseSafeRowConsumer(Hop current, Hop input, CostVector costVect) {
+		//sparse-safe vector intermediate, whose fused consumers are sparse-safe as well
+		//(intermediates w/o fused consumers are outputs of no-agg row templates)
+		if( isSparseRowIntermediate(current) ) {
+			for( Hop p : current.getParent() )
+				if( costVect.isFusedOp(p.getHopID()) && !rIsSparseSafeRowConsumer(p, current, costVect) )
+					return false;
+			return true;
+		}
+		//consumers with primitives for sparse inputs (row aggregates,
+		//dot products and vector-matrix multiplies, binary w/ dense vectors)
+		return (current instanceof AggUnaryOp && ((AggUnaryOp)current).getDirection() == Direction.Row)
+			|| (HopRewriteUtils.isMatrixMultiply(current) && current.getInput().get(0) == input)
+			|| (current instanceof BinaryOp && current.getInput().get(0) == input
+				&& current.getInput().get(1).getDataType().isMatrix() && current.getInput().get(1) != input);
+	}
+	
+	private static boolean isSparseRowIntermediate(Hop hop) {
+		//sparse row primitives (abs, sqrt, round, ceil, floor, sign, pow2, mult scalar)
+		return HopRewriteUtils.isUnary(hop, OpOp1.ABS, OpOp1.SQRT,
+				OpOp1.ROUND, OpOp1.CEIL, OpOp1.FLOOR, OpOp1.SIGN)
+			|| (HopRewriteUtils.isBinary(hop, OpOp2.POW) && hop.getInput().get(0).getDataType().isMatrix()
+				&& HopRewriteUtils.isLiteralOfValue(hop.getInput().get(1), 2))
+			|| (HopRewriteUtils.isBinary(hop, OpOp2.MULT) && hop.getInput().get(0).getDataType().isMatrix()
+				&& hop.getInput().get(1).getDataType().isScalar());
+	}
+	
 	private static boolean probePlanCache(InterestingPoint[] matPoints) {
 		return matPoints.length >= PLAN_CACHE_NUM_POINTS;
 	}
@@ -1051,6 +1127,7 @@ public class PlanSelectionFuseCostBasedV2 extends PlanSelection
 		public final double outSize; 
 		public double computeCosts = 0;
 		public final HashMap<Long, Double> inSizes = new HashMap<>();
+		public final HashSet<Long> fusedOps = new HashSet<>();
 		
 		public CostVector(double outputSize) {
 			ID = COST_ID.getNextID();
@@ -1060,6 +1137,12 @@ public class PlanSelectionFuseCostBasedV2 extends PlanSelection
 			//ensures that input sizes are not double counted
 			inSizes.put(hopID, inputSize);
 		}
+		public void addFusedOp(long hopID) {
+			fusedOps.add(hopID);
+		}
+		public boolean isFusedOp(long hopID) {
+			return fusedOps.contains(hopID);
+		}
 		@SuppressWarnings("unused")
 		public double getInputSize() {
 			return inSizes.values().stream()
@@ -39,8 +39,7 @@ import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 public class CostEstimatorStaticRuntime extends CostEstimator
 {
-	//time-conversion
-	private static final long DEFAULT_FLOPS = 2L * 1024 * 1024 * 1024; //2GFLOPS
+	//time-conversion (FLOP rates and local IO throughput via hardware profile)
 	//private static final long UNKNOWN_TIME = -1;
 	
 	//floating point operations
@@ -208,9 +207,9 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 		
 		double ret = ((double)MatrixBlock.estimateSizeOnDisk(dm, dn, (long)(ds*dm*dn))) / (1024*1024);
 		if( sparse )
-			ret /= DEFAULT_MBS_FSREAD_BINARYBLOCK_SPARSE;
+			ret /= DEFAULT_MBS_FSREAD_BINARYBLOCK_SPARSE * HardwareProfile.get().getFSReadScale();
 		else //dense
-			ret /= DEFAULT_MBS_FSREAD_BINARYBLOCK_DENSE;
+			ret /= DEFAULT_MBS_FSREAD_BINARYBLOCK_DENSE * HardwareProfile.get().getFSReadScale();
 		
 		return ret;
 	}
@@ -222,9 +221,9 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 		double ret = ((double)MatrixBlock.estimateSizeOnDisk(dm, dn, (long)(ds*dm*dn))) / (1024*1024);
 		
 		if( sparse )
-			ret /= DEFAULT_MBS_FSWRITE_BINARYBLOCK_SPARSE;
+			ret /= DEFAULT_MBS_FSWRITE_BINARYBLOCK_SPARSE * HardwareProfile.get().getFSWriteScale();
 		else //dense
-			ret /= DEFAULT_MBS_FSWRITE_BINARYBLOCK_DENSE;
+			ret /= DEFAULT_MBS_FSWRITE_BINARYBLOCK_DENSE * HardwareProfile.get().getFSWriteScale();
 		
 		return ret;
 	}
@@ -265,7 +264,9 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 	private static double getInstTimeEstimate( String opcode, boolean inMR, long d1m, long d1n, double d1s, long d2m, long d2n, double d2s, long d3m, long d3n, double d3s, String[] args )
 	{
 		double nflops = getNFLOP(opcode, inMR, d1m, d1n, d1s, d2m, d2n, d2s, d3m, d3n, d3s, args);
-		double time = nflops / DEFAULT_FLOPS;
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(d1m, d1n, (long)(d1s*d1m*d1n));
+		double time = nflops / (sparse ? HardwareProfile.get().getSparseFlops(1) :
+			HardwareProfile.get().getDenseFlops(1));
 		
 		if( LOG.isDebugEnabled() )
 			LOG.debug("Cost["+opcode+"] = "+time+"s, "+nflops+" flops ("+d1m+","+d1n+","+d1s+","+d2m+","+d2n+","+d2s+","+d3m+","+d3n+","+d3s+").");
@@ -566,7 +567,7 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 				case Partition:
 					return d1m * d1n * d1s + //partitioning costs
 						   (inMR ? 0 : //include write cost if in CP
-							getHDFSWriteTime(d1m, d1n, d1s)* DEFAULT_FLOPS);
+							getHDFSWriteTime(d1m, d1n, d1s) * HardwareProfile.get().getDenseFlops(1));
 				
 				default: 
 					throw new DMLRuntimeException("CostEstimator: unsupported instruction type: "+optype);
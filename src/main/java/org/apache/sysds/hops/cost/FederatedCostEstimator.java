@@ -45,9 +45,23 @@ public class FederatedCostEstimator {
 
 	public static int DEFAULT_MEMORY_ESTIMATE = 8;
 	public static double WORKER_NETWORK_BANDWIDTH_BYTES_PS = 1024*1024*1024; //Default network bandwidth in bytes per second
-	public static double WORKER_COMPUTE_BANDWIDTH_FLOPS = 2.5*1024*1024*1024; //Default compute bandwidth in FLOPS
+	public static final double DEFAULT_WORKER_COMPUTE_BANDWIDTH_FLOPS = 2.5*1024*1024*1024; //Default compute bandwidth in FLOPS
+	public static final double DEFAULT_WORKER_READ_BANDWIDTH_BYTES_PS = 3.5*1024*1024*1024; //Default read bandwidth in bytes per second
+	public static double WORKER_COMPUTE_BANDWIDTH_FLOPS = DEFAULT_WORKER_COMPUTE_BANDWIDTH_FLOPS;
 	public static double WORKER_DEGREE_OF_PARALLELISM = 8; //Default number of parallel processes for workers
-	public static double WORKER_READ_BANDWIDTH_BYTES_PS = 3.5*1024*1024*1024; //Default read bandwidth in bytes per second
+	public static double WORKER_READ_BANDWIDTH_BYTES_PS = DEFAULT_WORKER_READ_BANDWIDTH_BYTES_PS;
+
+	/**
+	 * Sets the worker compute and read bandwidth to the characteristics of a calibrated
+	 * hardware profile, assuming homogeneous hardware of coordinator and workers,
+	 * or restores the defaults for an uncalibrated profile.
+	 * @param profile hardware profile
+	 */
+	public static void setHardwareProfile(HardwareProfile profile) {
+		boolean cal = profile.isCalibrated();
+		WORKER_COMPUTE_BANDWIDTH_FLOPS = cal ? profile.getDenseFlops(1) : DEFAULT_WORKER_COMPUTE_BANDWIDTH_FLOPS;
+		WORKER_READ_BANDWIDTH_BYTES_PS = cal ? profile.getMemReadBandwidth() : DEFAULT_WORKER_READ_BANDWIDTH_BYTES_PS;
+	}
 
 	/**
 	 * Estimate cost of given DML program in bytes.
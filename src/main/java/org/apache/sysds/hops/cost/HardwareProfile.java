@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.hops.cost;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Hardware characteristics of the local machine used by the compiler cost models
+ * (static runtime cost estimator and hence parfor optimizers, codegen plan selection,
+ * and federated planning). By default, the profile comprises the hard-coded constants
+ * of these cost models. If a profile file is configured, the profile is read from this
+ * file, or the local machine is calibrated once via micro-benchmarks of the memory
+ * bandwidth, dense and sparse FLOP rates per number of threads, and local disk
+ * write throughput, and the result is persisted for subsequent runs.
+ */
+public class HardwareProfile
+{
+	private static final Log LOG = LogFactory.getLog(HardwareProfile.class.getName());
+
+	//default characteristics (consistent w/ the previous constants of the cost models)
+	public static final double DEFAULT_MEM_READ_BANDWIDTH  = 32d*1024*1024*1024; //32GB/s
+	public static final double DEFAULT_MEM_WRITE_BANDWIDTH =  2d*1024*1024*1024; //2GB/s
+	public static final double DEFAULT_FS_READ_BANDWIDTH   =     512*1024*1024;  //512MB/s
+	public static final double DEFAULT_FS_WRITE_BANDWIDTH  =     512*1024*1024;  //512MB/s
+	public static final double DEFAULT_FLOPS               =  2d*1024*1024*1024; //2GFLOPs/thread
+
+	//property keys of persisted profiles
+	private static final String KEY_CORES = "cores";
+	private static final String KEY_MEM_READ = "mem.read";
+	private static final String KEY_MEM_WRITE = "mem.write";
+	private static final String KEY_FS_READ = "fs.read";
+	private static final String KEY_FS_WRITE = "fs.write";
+	private static final String KEY_FLOPS_DENSE = "flops.dense.";
+	private static final String KEY_FLOPS_SPARSE = "flops.sparse.";
+
+	//micro-benchmark configuration (fits into the L2 cache, or exceeds the L3 cache)
+	private static final int BENCH_REPETITIONS = 3;
+	private static final int BENCH_VECTOR_LEN = 4096;
+	private static final int BENCH_FLOP_ITERATIONS = 8192;
+	private static final int BENCH_MEM_LEN = 16*1024*1024; //128MB
+	private static final int BENCH_FILE_LEN = 64*1024*1024; //64MB
+
+	private static volatile HardwareProfile _profile = new HardwareProfile();
+
+	private final double _memRead;
+	private final double _memWrite;
+	private final double _fsRead;
+	private final double _fsWrite;
+	//measured FLOP rates (of all threads) per number of threads
+	private final TreeMap<Integer, Double> _denseFlops;
+	private final TreeMap<Integer, Double> _sparseFlops;
+	private final boolean _calibrated;
+
+	private HardwareProfile() {
+		this(DEFAULT_MEM_READ_BANDWIDTH, DEFAULT_MEM_WRITE_BANDWIDTH,
+			DEFAULT_FS_READ_BANDWIDTH, DEFAULT_FS_WRITE_BANDWIDTH,
+			new TreeMap<>(), new TreeMap<>(), false);
+		_denseFlops.put(1, DEFAULT_FLOPS);
+		_sparseFlops.put(1, DEFAULT_FLOPS);
+	}
+
+	private HardwareProfile(double memRead, double memWrite, double fsRead, double fsWrite,
+		TreeMap<Integer, Double> denseFlops, TreeMap<Integer, Double> sparseFlops, boolean calibrated)
+	{
+		_memRead = memRead;
+		_memWrite = memWrite;
+		_fsRead = fsRead;
+		_fsWrite = fsWrite;
+		_denseFlops = denseFlops;
+		_sparseFlops = sparseFlops;
+		_calibrated = calibrated;
+	}
+
+	/**
+	 * Obtains the current hardware profile, which are the default
+	 * characteristics unless a profile has been loaded or calibrated.
+	 *
+	 * @return hardware profile
+	 */
+	public static HardwareProfile get() {
+		return _profile;
+	}
+
+	/**
+	 * Sets the current hardware profile, or restores the default
+	 * characteristics (incl. the federated worker defaults) for null.
+	 *
+	 * @param profile hardware profile or null
+	 */
+	public static void set(HardwareProfile profile) {
+		_profile = (profile != null) ? profile : new HardwareProfile();
+		//worker characteristics of federated planning (assuming homogeneous hardware)
+		FederatedCostEstimator.setHardwareProfile(_profile);
+	}
+
+	/**
+	 * Loads the configured hardware profile, or calibrates the local machine
+	 * and persists the profile if the file does not exist yet or was created
+	 * for a different number of cores.
+	 *
+	 * @param conf dml configuration
+	 */
+	public static synchronized void initFromConfig(DMLConfig conf) {
+		String fname = conf.getTextValue(DMLConfig.COST_HWPROFILE);
+		if( fname == null || fname.isEmpty() )
+			return;
+		try {
+			HardwareProfile profile = new File(fname).exists() ? read(fname) : null;
+			if( profile == null ) {
+				profile = calibrate(new File(fname).getAbsoluteFile().getParentFile());
+				profile.write(fname);
+				LOG.info("Calibrated hardware profile: " + profile);
+			}
+			set(profile);
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to load or calibrate hardware profile '" + fname + "'.", ex);
+		}
+	}
+
+	public boolean isCalibrated() {
+		return _calibrated;
+	}
+
+	/**
+	 * @return memory read bandwidth of all threads in bytes/s
+	 */
+	public double getMemReadBandwidth() {
+		return _memRead;
+	}
+
+	/**
+	 * @return memory write bandwidth of all threads in bytes/s
+	 */
+	public double getMemWriteBandwidth() {
+		return _memWrite;
+	}
+
+	/**
+	 * @return local file system read bandwidth in bytes/s
+	 */
+	public double getFSReadBandwidth() {
+		return _fsRead;
+	}
+
+	/**
+	 * @return local file system write bandwidth in bytes/s
+	 */
+	public double getFSWriteBandwidth() {
+		return _fsWrite;
+	}
+
+	/**
+	 * Obtains the local file system read bandwidth relative to the default, which
+	 * allows scaling throughput constants that include deserialization costs.
+	 *
+	 * @return relative read bandwidth
+	 */
+	public double getFSReadScale() {
+		return _fsRead / DEFAULT_FS_READ_BANDWIDTH;
+	}
+
+	public double getFSWriteScale() {
+		return _fsWrite / DEFAULT_FS_WRITE_BANDWIDTH;
+	}
+
+	/**
+	 * Obtains the dense FLOP rate of k threads, interpolated between the
+	 * calibrated numbers of threads and linearly extrapolated otherwise.
+	 *
+	 * @param k number of threads
+	 * @return dense FLOP rate in FLOP/s
+	 */
+	public double getDenseFlops(int k) {
+		return getFlops(_denseFlops, k);
+	}
+
+	public double getSparseFlops(int k) {
+		return getFlops(_sparseFlops, k);
+	}
+
+	private static double getFlops(TreeMap<Integer, Double> flops, int k) {
+		k = Math.max(k, 1);
+		Entry<Integer, Double> lower = flops.floorEntry(k);
+		Entry<Integer, Double> upper = flops.ceilingEntry(k);
+		if( lower == null )
+			return upper.getValue() * k / upper.getKey();
+		if( upper == null )
+			return lower.getValue() * k / lower.getKey();
+		if( lower.getKey().equals(upper.getKey()) )
+			return lower.getValue();
+		double w = (double)(k - lower.getKey()) / (upper.getKey() - lower.getKey());
+		return (1-w) * lower.getValue() + w * upper.getValue();
+	}
+
+	/**
+	 * Calibrates the local machine via micro-benchmarks. The memory write bandwidth
+	 * covers the allocation of the output and the write into main memory. Since reading
+	 * a just-written file would only measure the OS buffer cache, the file system read
+	 * bandwidth is not calibrated but kept at its default (i.e., a read scale of 1).
+	 *
+	 * @param dir directory for the temporary benchmark file
+	 * @return hardware profile of the local machine
+	 * @throws IOException if the file system benchmark fails
+	 */
+	public static HardwareProfile calibrate(File dir) throws IOException {
+		int cores = InfrastructureAnalyzer.getLocalParallelism();
+		TreeMap<Integer, Double> denseFlops = new TreeMap<>();
+		TreeMap<Integer, Double> sparseFlops = new TreeMap<>();
+		for( int k=1; k<=cores; k = (k<cores && 2*k>cores) ? cores : 2*k ) {
+			denseFlops.put(k, measureFlops(k, false));
+			sparseFlops.put(k, measureFlops(k, true));
+		}
+		double[] mem = measureMemBandwidth(cores);
+		double fs = measureFSWriteBandwidth(dir);
+		return new HardwareProfile(mem[0], mem[1], DEFAULT_FS_READ_BANDWIDTH, fs, denseFlops, sparseFlops, true);
+	}
+
+	private static double measureFlops(int k, boolean sparse) {
+		//independent per-thread dot products over cache-resident vectors
+		List<Callable<Double>> tasks = new ArrayList<>();
+		for( int i=0; i<k; i++ )
+			tasks.add(() -> sparse ? runSparseDotProducts() : runDenseDotProducts());
+		long flops = (long)k * BENCH_FLOP_ITERATIONS * 2 * (sparse ? BENCH_VECTOR_LEN/4 : BENCH_VECTOR_LEN);
+		return flops / runBenchmark(k, tasks);
+	}
+
+	private static double runDenseDotProducts() {
+		double[] a = new double[BENCH_VECTOR_LEN];
+		double[] b = new double[BENCH_VECTOR_LEN];
+		Arrays.fill(a, 0.5);
+		Arrays.fill(b, 2);
+		double sum = 0;
+		for( int i=0; i<BENCH_FLOP_ITERATIONS; i++ )
+			sum += LibMatrixMult.dotProduct(a, b, 0, 0, BENCH_VECTOR_LEN);
+		return sum;
+	}
+
+	private static double runSparseDotProducts() {
+		int nnz = BENCH_VECTOR_LEN/4;
+		double[] avals = new double[nnz];
+		int[] aix = new int[nnz];
+		double[] b = new double[BENCH_VECTOR_LEN];
+		Arrays.fill(avals, 0.5);
+		Arrays.fill(b, 2);
+		for( int j=0; j<nnz; j++ )
+			aix[j] = 4*j;
+		double sum = 0;
+		for( int i=0; i<BENCH_FLOP_ITERATIONS; i++ )
+			sum += LibMatrixMult.dotProduct(avals, b, aix, 0, 0, nnz);
+		return sum;
+	}
+
+	private static double[] measureMemBandwidth(int k) {
+		double[] a = new double[BENCH_MEM_LEN];
+		Arrays.fill(a, 1);
+		int blen = (int)Math.ceil((double)BENCH_MEM_LEN / k);
+		List<Callable<Double>> reads = new ArrayList<>();
+		List<Callable<Double>> writes = new ArrayList<>();
+		for( int i=0; i<k; i++ ) {
+			final int rl = i*blen, ru = Math.min((i+1)*blen, BENCH_MEM_LEN);
+			//allocation and write of an output block
+			writes.add(() -> { double[] c = new double[ru-rl];
+				Arrays.fill(c, 1);
+				return c[c.length-1]; });
+			reads.add(() -> { double sum = 0;
+				for( int j=rl; j<ru; j++ )
+					sum += a[j];
+				return sum; });
+		}
+		double bytes = 8d * BENCH_MEM_LEN;
+		double write = bytes / runBenchmark(k, writes);
+		double read = bytes / runBenchmark(k, reads);
+		return new double[] {read, write};
+	}
+
+	private static double measureFSWriteBandwidth(File dir) throws IOException {
+		if( !dir.exists() && !dir.mkdirs() )
+			throw new IOException("Failed to create directory " + dir);
+		File file = File.createTempFile("hwprofile", ".bin", dir);
+		byte[] buff = new byte[1024*1024];
+		Arrays.fill(buff, (byte)7);
+		try {
+			long t0 = System.nanoTime();
+			try( FileOutputStream out = new FileOutputStream(file) ) {
+				for( int i=0; i<BENCH_FILE_LEN/buff.length; i++ )
+					out.write(buff);
+				out.getFD().sync();
+			}
+			long t1 = System.nanoTime();
+			return BENCH_FILE_LEN / ((t1-t0)*1e-9);
+		}
+		finally {
+			if( !file.delete() )
+				LOG.warn("Failed to delete temporary file " + file);
+		}
+	}
+
+	private static <T> double runBenchmark(int k, List<Callable<T>> tasks) {
+		//best of multiple repetitions (first run as warmup) in seconds
+		double best = Double.MAX_VALUE;
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			for( int r=0; r<=BENCH_REPETITIONS; r++ ) {
+				long t0 = System.nanoTime();
+				for( Future<T> f : pool.invokeAll(tasks) )
+					f.get();
+				if( r > 0 )
+					best = Math.min(best, (System.nanoTime()-t0) * 1e-9);
+			}
+			return Math.max(best, 1e-9);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Reads a persisted hardware profile.
+	 *
+	 * @param fname file name
+	 * @return hardware profile, or null if created for a different number of cores
+	 * @throws IOException if reading the file fails
+	 */
+	public static HardwareProfile read(String fname) throws IOException {
+		Properties props = new Properties();
+		try( InputStream in = new BufferedInputStream(new FileInputStream(fname)) ) {
+			props.load(in);
+		}
+		int cores = Integer.parseInt(props.getProperty(KEY_CORES, "-1"));
+		if( cores != InfrastructureAnalyzer.getLocalParallelism() )
+			return null;
+		TreeMap<Integer, Double> denseFlops = new TreeMap<>();
+		TreeMap<Integer, Double> sparseFlops = new TreeMap<>();
+		for( String key : props.stringPropertyNames() ) {
+			if( key.startsWith(KEY_FLOPS_DENSE) )
+				denseFlops.put(Integer.parseInt(key.substring(KEY_FLOPS_DENSE.length())),
+					Double.parseDouble(props.getProperty(key)));
+			else if( key.startsWith(KEY_FLOPS_SPARSE) )
+				sparseFlops.put(Integer.parseInt(key.substring(KEY_FLOPS_SPARSE.length())),
+					Double.parseDouble(props.getProperty(key)));
+		}
+		if( denseFlops.isEmpty() || sparseFlops.isEmpty() )
+			throw new IOException("Invalid hardware profile '" + fname + "': missing FLOP rates.");
+		return new HardwareProfile(
+			Double.parseDouble(props.getProperty(KEY_MEM_READ)),
+			Double.parseDouble(props.getProperty(KEY_MEM_WRITE)),
+			Double.parseDouble(props.getProperty(KEY_FS_READ)),
+			Double.parseDouble(props.getProperty(KEY_FS_WRITE)),
+			denseFlops, sparseFlops, true);
+	}
+
+	/**
+	 * Persists the hardware profile as properties file.
+	 *
+	 * @param fname file name
+	 * @throws IOException if writing the file fails
+	 */
+	public void write(String fname) throws IOException {
+		Properties props = new Properties();
+		props.setProperty(KEY_CORES, String.valueOf(InfrastructureAnalyzer.getLocalParallelism()));
+		props.setProperty(KEY_MEM_READ, String.valueOf(_memRead));
+		props.setProperty(KEY_MEM_WRITE, String.valueOf(_memWrite));
+		props.setProperty(KEY_FS_READ, String.valueOf(_fsRead));
+		props.setProperty(KEY_FS_WRITE, String.valueOf(_fsWrite));
+		for( Entry<Integer, Double> e : _denseFlops.entrySet() )
+			props.setProperty(KEY_FLOPS_DENSE + e.getKey(), String.valueOf(e.getValue()));
+		for( Entry<Integer, Double> e : _sparseFlops.entrySet() )
+			props.setProperty(KEY_FLOPS_SPARSE + e.getKey(), String.valueOf(e.getValue()));
+		try( OutputStream out = new BufferedOutputStream(new FileOutputStream(fname)) ) {
+			props.store(out, "SystemDS hardware profile");
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("memRead=" + _memRead/1e9 + "GB/s");
+		sb.append(", memWrite=" + _memWrite/1e9 + "GB/s");
+		sb.append(", fsRead=" + _fsRead/1e6 + "MB/s");
+		sb.append(", fsWrite=" + _fsWrite/1e6 + "MB/s");
+		sb.append(", denseFlops=" + _denseFlops);
+		sb.append(", sparseFlops=" + _sparseFlops);
+		return sb.toString();
+	}
+}
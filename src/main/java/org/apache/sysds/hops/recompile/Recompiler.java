@@ -105,6 +105,7 @@ import org.apache.sysds.runtime.util.ProgramConverter;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.Explain;
 import org.apache.sysds.utils.Explain.ExplainType;
+import org.apache.sysds.utils.stats.JFREvents.RecompileEvent;
 
 /**
  * Dynamic recompilation of hop dags to runtime instructions, which includes the 
@@ -157,6 +158,9 @@ public class Recompiler {
 			ExecutionContext ec, RecompileStatus status, boolean inplace, boolean replaceLit, long tid ) 
 	{
 		ArrayList<Instruction> newInst = null;
+		RecompileEvent jfr = RecompileEvent.isActive() ? new RecompileEvent() : null;
+		if( jfr != null )
+			jfr.begin();
 
 		//need for synchronization as we do temp changes in shared hops/lops
 		//however, we create deep copies for most dags to allow for concurrent recompile
@@ -175,6 +179,13 @@ public class Recompiler {
 		// explain recompiled hops / instructions
 		if( DMLScript.EXPLAIN == ExplainType.RECOMPILE_RUNTIME )
 			logExplainDAG(sb, hops, newInst);
+		
+		if( jfr != null ) {
+			jfr.beginLine = (sb != null) ? sb.getBeginLine() : 0;
+			jfr.endLine = (sb != null) ? sb.getEndLine() : 0;
+			jfr.numInstructions = newInst.size();
+			jfr.commit();
+		}
 	
 		return newInst;
 	}
@@ -189,6 +200,9 @@ public class Recompiler {
 			RecompileStatus status, boolean inplace, boolean replaceLit, long tid ) 
 	{
 		ArrayList<Instruction> newInst = null;
+		RecompileEvent jfr = RecompileEvent.isActive() ? new RecompileEvent() : null;
+		if( jfr != null )
+			jfr.begin();
 
 		//need for synchronization as we do temp changes in shared hops/lops
 		synchronized( hop ) {
@@ -204,6 +218,14 @@ public class Recompiler {
 		if( DMLScript.EXPLAIN == ExplainType.RECOMPILE_RUNTIME )
 			logExplainPred(hop, newInst);
 		
+		if( jfr != null ) {
+			jfr.beginLine = hop.getBeginLine();
+			jfr.endLine = hop.getEndLine();
+			jfr.predicate = true;
+			jfr.numInstructions = newInst.size();
+			jfr.commit();
+		}
+		
 		return newInst;
 	}
 	
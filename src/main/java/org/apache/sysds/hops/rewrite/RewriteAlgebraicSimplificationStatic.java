@@ -179,6 +179,7 @@ public class RewriteAlgebraicSimplificationStatic extends HopRewriteRule
 				hi = fuseMinusNzBinaryOperation(hop, hi, i);         //e.g., X-mean*ppred(X,0,!=) -> X -nz mean
 				hi = fuseLogNzUnaryOperation(hop, hi, i);            //e.g., ppred(X,0,"!=")*log(X) -> log_nz(X)
 				hi = fuseLogNzBinaryOperation(hop, hi, i);           //e.g., ppred(X,0,"!=")*log(X,0.5) -> log_nz(X,0.5)
+				hi = fuseTransformApplyMatMult(hop, hi, i);          //e.g., transformapply(X,M)%*%W -> transformapply(X,M,weights=W)
 			}
 			hi = simplifyOuterSeqExpand(hop, hi, i);             //e.g., outer(v, seq(1,m), "==") -> rexpand(v, max=m, dir=row, ignore=true, cast=false)
 			hi = simplifyBinaryComparisonChain(hop, hi, i);      //e.g., outer(v1,v2,"==")==1 -> outer(v1,v2,"=="), outer(v1,v2,"==")==0 -> outer(v1,v2,"!="), 
@@ -1792,6 +1793,39 @@ public class RewriteAlgebraicSimplificationStatic extends HopRewriteRule
 		return hi;
 	}
 	
+	private static Hop fuseTransformApplyMatMult(Hop parent, Hop hi, int pos) 
+	{
+		//pattern transformapply(target=X, meta=M, spec=s) %*% W -> transformapply(target=X, meta=M, spec=s, weights=W)
+		//note: this is done as a hop rewrite in order to avoid materializing the encoded intermediate, which
+		//can be very wide due to dummy coding (each dummy coded column reduces to a row gather of W)
+		if( HopRewriteUtils.isMatrixMultiply(hi)
+			&& HopRewriteUtils.isParameterBuiltinOp(hi.getInput().get(0), ParamBuiltinOp.TRANSFORMAPPLY)
+			&& !((ParameterizedBuiltinOp)hi.getInput().get(0)).isTransformApplyMatMult()
+			&& hi.getInput().get(0).getParent().size() == 1 //single consumer
+			&& hi.getInput().get(1).getDataType()==DataType.MATRIX )
+		{
+			ParameterizedBuiltinOp tfapply = (ParameterizedBuiltinOp) hi.getInput().get(0);
+			Hop W = hi.getInput().get(1);
+			
+			//create fused transformapply with existing parameters in original order
+			LinkedHashMap<String, Hop> args = new LinkedHashMap<>();
+			tfapply.getParamIndexMap().entrySet().stream()
+				.sorted((a, b) -> Integer.compare(a.getValue(), b.getValue()))
+				.forEach(e -> args.put(e.getKey(), tfapply.getInput().get(e.getValue())));
+			args.put(ParameterizedBuiltinOp.TF_WEIGHTS, W);
+			Hop hnew = HopRewriteUtils.createParameterizedBuiltinOp(hi, args, ParamBuiltinOp.TRANSFORMAPPLY);
+			
+			//relink new hop into original position
+			HopRewriteUtils.replaceChildReference(parent, hi, hnew, pos);
+			HopRewriteUtils.cleanupUnreferenced(hi, tfapply);
+			hi = hnew;
+			
+			LOG.debug("Applied fuseTransformApplyMatMult (line "+hi.getBeginLine()+")");
+		}
+		
+		return hi;
+	}
+	
 	private static Hop fuseLogNzUnaryOperation(Hop parent, Hop hi, int pos) 
 	{
 		//pattern ppred(X,0,"!=")*log(X) -> log_nz(X)
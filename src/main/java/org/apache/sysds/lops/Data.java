@@ -363,6 +363,11 @@ public class Data extends Lop
 				}
 			}
 
+			if(oparams.getFormat() == FileFormat.PARQUET) {
+				sb.append(OPERAND_DELIMITOR);
+				sb.append(createVarParquetHelper());
+			}
+
 		}
 
 		if (_op.isWrite()) {
@@ -446,6 +451,12 @@ public class Data extends Lop
 				sb.append( createVarHDF5Helper() );
 			}
 
+			// Format-specific properties
+			if ( oparams.getFormat() == FileFormat.PARQUET ) {
+				sb.append(OPERAND_DELIMITOR);
+				sb.append( createVarParquetHelper() );
+			}
+
 			// Frame-specific properties
 			if( getDataType()==DataType.FRAME ) {
 				Data schema = (Data) getNamedInputLop(DataExpression.SCHEMAPARAM);
@@ -578,4 +589,35 @@ public class Data extends Lop
 		}
 		return sb.toString();
 	}
+
+	/**
+	 * Helper function that attaches parquet format-specific properties to createvar and write instructions,
+	 * i.e., the column projection and row filter of a READ and the compression codec of a WRITE operation.
+	 * Unspecified properties are passed as '*' in order to keep a fixed number of operands.
+	 *
+	 * @return instruction with parquet format properties appended
+	 */
+	private String createVarParquetHelper() {
+		StringBuilder sb = new StringBuilder();
+		if ( _op.isRead() ) {
+			sb.append(getParquetParam(DataExpression.PARQUET_COLUMNS));
+			sb.append(OPERAND_DELIMITOR);
+			sb.append(getParquetParam(DataExpression.PARQUET_FILTER));
+		}
+		else { // (operation == OperationTypes.WRITE)
+			sb.append(getParquetParam(DataExpression.PARQUET_COMPRESSION));
+		}
+		return sb.toString();
+	}
+
+	private String getParquetParam(String name) {
+		Data lop = (Data) getNamedInputLop(name);
+		if( lop == null )
+			return "*";
+		if( lop.isVariable() )
+			throw new LopsException(this.printErrorLocation()
+				+ "Parameter " + name + " must be a literal for a seq operation.");
+		String val = lop.getStringValue();
+		return (val == null || val.isEmpty()) ? "*" : val;
+	}
 }
@@ -1060,6 +1060,7 @@ public class DMLTranslator
 						case CSV:
 						case LIBSVM:
 						case HDF5:
+						case PARQUET:
 							// write output in textcell format
 							ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1);
 							break;
@@ -1937,6 +1938,8 @@ public class DMLTranslator
 				ArrayList<Hop> inputs = new ArrayList<>();
 				inputs.add( processExpression(source.getVarParam("target"), null, hops) );
 				inputs.add( processExpression(source.getVarParam("spec"), null, hops) );
+				if( source.getVarParam("meta") != null ) //incremental encode
+					inputs.add( processExpression(source.getVarParam("meta"), null, hops) );
 				String[] outputNames = new String[targetList.size()]; 
 				outputNames[0] = targetList.get(0).getName();
 				outputNames[1] = targetList.get(1).getName();
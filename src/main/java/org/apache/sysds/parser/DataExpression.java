@@ -117,6 +117,11 @@ public class DataExpression extends DataIdentifier
 
 	// Parameter names relevant to reading/writing dataset name/hdf5 files
 	public static final String HDF5_DATASET_NAME = "dataset";
+
+	// Parameter names relevant to reading/writing parquet files
+	public static final String PARQUET_COLUMNS = "columns";
+	public static final String PARQUET_FILTER = "filter";
+	public static final String PARQUET_COMPRESSION = "compression";  // applicable only for write
 	
 	public static final String DELIM_SPARSE = "sparse";  // applicable only for write
 	
@@ -159,7 +164,9 @@ public class DataExpression extends DataIdentifier
 			// Parameters related to delimited/libsvm files.
 			LIBSVM_INDEX_DELIM,
 			//Parameters related to dataset name/HDF4 files.
-			HDF5_DATASET_NAME));
+			HDF5_DATASET_NAME,
+			// Parameters related to parquet files (column projection and row filter)
+			PARQUET_COLUMNS, PARQUET_FILTER));
 	
 	/* Default Values for delimited (CSV/LIBSVM) files */
 	public static final String  DEFAULT_DELIM_DELIMITER = ",";
@@ -170,6 +177,10 @@ public class DataExpression extends DataIdentifier
 	public static final String  DEFAULT_NA_STRINGS = "";
 	public static final String  DEFAULT_SCHEMAPARAM = "NULL";
 	public static final String DEFAULT_LIBSVM_INDEX_DELIM = ":";
+	/* Default Values for parquet files, where '*' denotes all columns and rows */
+	public static final String DEFAULT_PARQUET_COLUMNS = "*";
+	public static final String DEFAULT_PARQUET_FILTER = "*";
+	public static final String DEFAULT_PARQUET_COMPRESSION = "snappy";
 	private static Map<String, Object> csvDefaults;
 	static {
 		csvDefaults = new HashMap<>();
@@ -1165,6 +1176,27 @@ public class DataExpression extends DataIdentifier
 			}
 			
 			boolean isHDF5 = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FileFormat.HDF5.toString()));
+			// note: parquet format is usually obtained from the metadata file
+			boolean isParquet = getVarParam(FORMAT_TYPE) != null
+				&& getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.PARQUET.toString());
+			if (isParquet) {
+				// column projection and row filter, which change the dimensions of the metadata file
+				for (String key : new String[] {PARQUET_COLUMNS, PARQUET_FILTER})
+					if (getVarParam(key) != null && !(getVarParam(key) instanceof StringIdentifier))
+						raiseValidateError("for read method, parameter " + key + " can only be a string literal.",
+							conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+				if (getVarParam(PARQUET_COLUMNS) != null) {
+					long ncol = getVarParam(PARQUET_COLUMNS).toString().split(",").length;
+					addVarParam(READCOLPARAM, new IntIdentifier(ncol, this));
+					removeVarParam(READNNZPARAM);
+				}
+				else
+					addVarParam(PARQUET_COLUMNS, new StringIdentifier(DEFAULT_PARQUET_COLUMNS, this));
+				if (getVarParam(PARQUET_FILTER) != null)
+					removeVarParam(READROWPARAM, READNNZPARAM);
+				else
+					addVarParam(PARQUET_FILTER, new StringIdentifier(DEFAULT_PARQUET_FILTER, this));
+			}
 
 			dataTypeString = (getVarParam(DATATYPEPARAM) == null) ? null : getVarParam(DATATYPEPARAM).toString();
 			
@@ -1192,8 +1224,8 @@ public class DataExpression extends DataIdentifier
 				// initialize size of target data identifier to UNKNOWN
 				getOutput().setDimensions(-1, -1);
 				
-				if (!isCSV && !isLIBSVM && !isHDF5 && ConfigurationManager.getCompilerConfig()
-						.getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) //skip check for csv/libsvm format / jmlc api
+				if (!isCSV && !isLIBSVM && !isHDF5 && !isParquet && ConfigurationManager.getCompilerConfig()
+						.getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) //skip check for csv/libsvm/parquet format / jmlc api
 					&& (getVarParam(READROWPARAM) == null || getVarParam(READCOLPARAM) == null) ) {
 						raiseValidateError("Missing or incomplete dimension information in read statement: "
 								+ mtdFileName, conditional, LanguageErrorCodes.INVALID_PARAMETERS);
@@ -1324,8 +1356,18 @@ public class DataExpression extends DataIdentifier
 					}
 				}
 			
+			// for PARQUET format, add the default compression if not specified
+			if (getVarParam(FORMAT_TYPE) != null && getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.PARQUET.toString())) {
+				if (getVarParam(PARQUET_COMPRESSION) == null)
+					addVarParam(PARQUET_COMPRESSION, new StringIdentifier(DEFAULT_PARQUET_COMPRESSION, this));
+				else if (!(getVarParam(PARQUET_COMPRESSION) instanceof StringIdentifier))
+					raiseValidateError("for write method, parameter " + PARQUET_COMPRESSION + " can only be a string literal.",
+						conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+			}
+			
 			//validate read filename
-			if (getVarParam(FORMAT_TYPE) == null || FileFormat.isTextFormat(getVarParam(FORMAT_TYPE).toString()))
+			if (getVarParam(FORMAT_TYPE) == null || FileFormat.isTextFormat(getVarParam(FORMAT_TYPE).toString())
+				|| getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.PARQUET.toString()))
 				getOutput().setBlocksize(-1);
 			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.BINARY.toString()) || getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.COMPRESSED.toString())) {
 				if( getVarParam(ROWBLOCKCOUNTPARAM)!=null )
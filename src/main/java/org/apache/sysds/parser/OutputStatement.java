@@ -35,6 +35,7 @@ public class OutputStatement extends Statement
 																DataExpression.DELIM_DELIMITER, 
 																DataExpression.DELIM_HAS_HEADER_ROW, 
 																DataExpression.DELIM_SPARSE,
+																DataExpression.PARQUET_COMPRESSION,
 																DataExpression.DESCRIPTIONPARAM};
 
 	public DataIdentifier getIdentifier(){
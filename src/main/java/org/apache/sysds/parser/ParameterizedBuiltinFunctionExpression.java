@@ -679,6 +679,8 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 	{
 		//validate data / metadata (recode maps) 
 		checkDataType(false, "transformencode", TF_FN_PARAM_DATA, DataType.FRAME, conditional);
+		//optional existing metadata for incremental encoding
+		checkDataType(true, "transformencode", TF_FN_PARAM_MTD2, DataType.FRAME, conditional);
 		
 		//validate specification
 		checkDataValueType(false, "transformencode", TF_FN_PARAM_SPEC, DataType.SCALAR, ValueType.STRING, conditional);
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+
+/**
+ * Persistent, local-disk cache of generated and compiled codegen classes, which
+ * allows reusing the bytecode of fused operators across JVMs (e.g., short-lived
+ * scoring or test runs) without recompilation via janino or javac.
+ * 
+ * Generated class names (e.g., TMP25) depend on the compilation order and are thus
+ * not stable across JVMs. Hence, the cache key is a SHA-256 hash of the generated
+ * source code (as a canonical representation of the CPlan) with normalized class
+ * name, the SystemDS build version, and the Java specification version. Cached
+ * classes are compiled under a key-specific class name, which avoids conflicts
+ * with regularly compiled classes and reuses identical operators of different plans.
+ */
+public class CodegenClassCache
+{
+	private static final Log LOG = LogFactory.getLog(CodegenClassCache.class.getName());
+
+	public static final String CLASS_PREFIX = "TMPC";
+	private static final String CLASS_PLACEHOLDER = "%CLASSNAME%";
+	private static final String FILE_SUFFIX = ".class";
+	private static final int KEY_LENGTH = 32; //hex chars
+
+	private static String _version = null;
+
+	private CodegenClassCache() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Creates the stable cache key of a generated class.
+	 * 
+	 * @param name fully qualified class name as generated (e.g., codegen.TMP25)
+	 * @param src generated source code
+	 * @return hex-encoded cache key
+	 */
+	public static String createKey(String name, String src) {
+		String nsrc = renameClass(src, name, CLASS_PLACEHOLDER);
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			md.update(getVersion().getBytes(StandardCharsets.UTF_8));
+			md.update((byte) 0);
+			md.update(System.getProperty("java.specification.version").getBytes(StandardCharsets.UTF_8));
+			md.update((byte) 0);
+			byte[] hash = md.digest(nsrc.getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder(KEY_LENGTH);
+			for( int i=0; i<KEY_LENGTH/2; i++ )
+				sb.append(String.format("%02x", hash[i] & 0xFF));
+			return sb.toString();
+		}
+		catch(NoSuchAlgorithmException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Obtains the fully qualified class name of a cached class.
+	 * 
+	 * @param name fully qualified class name as generated
+	 * @param key cache key
+	 * @return class name in the package of the original class
+	 */
+	public static String getClassName(String name, String key) {
+		int pos = name.lastIndexOf('.');
+		return (pos >= 0 ? name.substring(0, pos+1) : "") + CLASS_PREFIX + key;
+	}
+
+	/**
+	 * Replaces all references to the simple class name of a generated
+	 * class (class declaration and constructor) with a new class name.
+	 * 
+	 * @param src generated source code
+	 * @param oldName old fully qualified or simple class name
+	 * @param newName new fully qualified or simple class name
+	 * @return modified source code
+	 */
+	public static String renameClass(String src, String oldName, String newName) {
+		String oldSimple = oldName.substring(oldName.lastIndexOf('.')+1);
+		String newSimple = newName.substring(newName.lastIndexOf('.')+1);
+		return src.replaceAll("\\b"+Pattern.quote(oldSimple)+"\\b",
+			Matcher.quoteReplacement(newSimple));
+	}
+
+	/**
+	 * Reads the bytecode of a cached class from the cache directory.
+	 * 
+	 * @param key cache key
+	 * @return class bytes, or null if not cached or not readable
+	 */
+	public static byte[] read(String key) {
+		File f = getFile(key);
+		if( !f.isFile() )
+			return null;
+		try {
+			byte[] ret = Files.readAllBytes(f.toPath());
+			return isClassFile(ret) ? ret : null;
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to read cached codegen class "+f+": "+ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the bytecode of a compiled class into the cache directory. The file
+	 * is written to a temporary file and atomically moved to its final location,
+	 * which makes concurrent writers and readers of different JVMs safe. Write
+	 * failures are logged but do not fail the compilation.
+	 * 
+	 * @param key cache key
+	 * @param classBytes class bytes
+	 */
+	public static void write(String key, byte[] classBytes) {
+		File f = getFile(key);
+		File tmp = null;
+		try {
+			File dir = f.getParentFile();
+			if( !dir.exists() && !dir.mkdirs() && !dir.exists() )
+				throw new IOException("Failed to create directory "+dir);
+			tmp = File.createTempFile(key, ".tmp", dir);
+			Files.write(tmp.toPath(), classBytes);
+			Files.move(tmp.toPath(), f.toPath(),
+				StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to write cached codegen class "+f+": "+ex.getMessage());
+			if( tmp != null )
+				tmp.delete();
+		}
+	}
+
+	/**
+	 * Indicates if the given bytes are a java class file (in contrast
+	 * to source code that is shipped for janino recompilation).
+	 * 
+	 * @param bytes class or source bytes
+	 * @return true if the bytes start with the class file magic number
+	 */
+	public static boolean isClassFile(byte[] bytes) {
+		return bytes != null && bytes.length >= 4
+			&& (bytes[0] & 0xFF) == 0xCA && (bytes[1] & 0xFF) == 0xFE
+			&& (bytes[2] & 0xFF) == 0xBA && (bytes[3] & 0xFF) == 0xBE;
+	}
+
+	public static File getFile(String key) {
+		return new File(ConfigurationManager.getCodegenClassCacheDir(), key + FILE_SUFFIX);
+	}
+
+	private static synchronized String getVersion() {
+		if( _version == null ) {
+			//release builds: jar manifest version; development builds: last
+			//modification of the code source to invalidate on every rebuild
+			String version = CodegenClassCache.class.getPackage().getImplementationVersion();
+			if( version == null ) {
+				long mtime = 0;
+				try {
+					URL loc = CodegenClassCache.class.getProtectionDomain().getCodeSource().getLocation();
+					File f = new File(loc.toURI());
+					mtime = f.isDirectory() ? new File(f, CodegenClassCache.class.getName()
+						.replace('.', '/') + FILE_SUFFIX).lastModified() : f.lastModified();
+				}
+				catch(Exception ex) {
+					LOG.debug("Failed to obtain code source modification time: "+ex.getMessage());
+				}
+				version = "dev-" + mtime;
+			}
+			_version = version;
+		}
+		return _version;
+	}
+}
@@ -23,6 +23,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.codegen.SpoofCompiler;
 import org.apache.sysds.hops.codegen.SpoofCompiler.CompilerType;
 import org.apache.sysds.runtime.codegen.SpoofOperator.SideInput;
@@ -32,7 +33,12 @@ import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.utils.stats.CodegenStatistics;
+import org.codehaus.janino.ClassLoaderIClassLoader;
+import org.codehaus.janino.Java;
+import org.codehaus.janino.Parser;
 import org.codehaus.janino.SimpleCompiler;
+import org.codehaus.janino.UnitCompiler;
+import org.codehaus.janino.util.ClassFile;
 
 import javax.tools.Diagnostic;
 import javax.tools.Diagnostic.Kind;
@@ -46,6 +52,7 @@ import javax.tools.ToolProvider;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Arrays;
@@ -65,6 +72,9 @@ public class CodegenUtils
 	//janino-specific map of source code transfer/recompile on-demand
 	private static ConcurrentHashMap<String, String> _src = new ConcurrentHashMap<>();
 
+	//bytecode of classes obtained from or added to the persistent class cache
+	private static ConcurrentHashMap<String, byte[]> _bytes = new ConcurrentHashMap<>();
+
 	private static ConcurrentHashMap<String, Integer> _CUDA_op_IDs = new ConcurrentHashMap<>();
 	private static ConcurrentHashMap<Integer, String> _CUDA_op_src = new ConcurrentHashMap<>();
 
@@ -85,6 +95,10 @@ public class CodegenUtils
 		if( ret != null )
 			return ret;
 
+		//reuse or compile class via persistent class cache
+		if( ConfigurationManager.isCodegenClassCacheEnabled() )
+			return compileClassCached(name, src);
+
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 
 		//compile java source w/ specific compiler
@@ -125,7 +139,10 @@ public class CodegenUtils
 			return ret;
 
 		//get class in a compiler-specific manner
-		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
+		//(classes from the persistent cache are always shipped as bytecode)
+		if( CodegenClassCache.isClassFile(classBytes) )
+			ret = loadFromClassFile(name, classBytes);
+		else if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
 			ret = compileClassJanino(name, new String(classBytes));
 		else
 			ret = loadFromClassFile(name, classBytes);
@@ -136,6 +153,9 @@ public class CodegenUtils
 	}
 
 	public static byte[] getClassData(String name) {
+		byte[] bytes = _bytes.get(name);
+		if( bytes != null )
+			return bytes;
 		//get class in a compiler-specific manner
 		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
 			return _src.get(name).getBytes();
@@ -146,6 +166,7 @@ public class CodegenUtils
 	public static void clearClassCache() {
 		_cache.clear();
 		_src.clear();
+		_bytes.clear();
 	}
 
 	public static void clearClassCache(Class<?> cla) {
@@ -188,6 +209,63 @@ public class CodegenUtils
 		return (ret.mdat != null) ? new SideInputSparseCell(ret) : ret;
 	}
 
+	////////////////////////////
+	//Persistent class cache (bytecode-based for both compilers)
+
+	private static Class<?> compileClassCached(String name, String src) {
+		//rename class to a stable, key-specific class name
+		String key = CodegenClassCache.createKey(name, src);
+		String cname = CodegenClassCache.getClassName(name, key);
+		Class<?> ret = _cache.get(cname);
+		if( ret == null ) {
+			//probe persistent cache, compile and write on miss
+			byte[] bytes = CodegenClassCache.read(key);
+			if( bytes == null ) {
+				long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+				String csrc = CodegenClassCache.renameClass(src, name, cname);
+				bytes = (SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO) ?
+					compileBytesJanino(cname, csrc) : compileBytesJavac(cname, csrc);
+				CodegenClassCache.write(key, bytes);
+				if( DMLScript.STATISTICS ) {
+					CodegenStatistics.incrementClassCompile();
+					CodegenStatistics.incrementClassCompileTime(System.nanoTime()-t0);
+				}
+			}
+			else if( DMLScript.STATISTICS )
+				CodegenStatistics.incrementClassCacheHits();
+			ret = loadFromClassFile(cname, bytes);
+			_bytes.put(cname, bytes);
+			_cache.put(cname, ret);
+		}
+		//keep class for reuse under original name too
+		_cache.put(name, ret);
+		return ret;
+	}
+
+	private synchronized static byte[] compileBytesJanino(String name, String src) {
+		try {
+			//compile source code into class files (w/o class loading)
+			Java.CompilationUnit cu = new Parser(new org.codehaus.janino
+				.Scanner(null, new StringReader(src))).parseCompilationUnit();
+			ClassLoader parent = (_mainClassLoader != null) ?
+				_mainClassLoader : CodegenUtils.class.getClassLoader();
+			ClassFile[] cfs = new UnitCompiler(cu,
+				new ClassLoaderIClassLoader(parent)).compileUnit(true, true, true);
+			if( cfs.length != 1 || !cfs[0].getThisClassName().equals(name) )
+				throw new DMLRuntimeException("Unexpected class files for generated class "+name+".");
+			return cfs[0].toByteArray();
+		}
+		catch(Exception ex) {
+			LOG.error("Failed to compile class "+name+": \n"+src);
+			throw new DMLRuntimeException("Failed to compile class "+name+".", ex);
+		}
+	}
+
+	private static byte[] compileBytesJavac(String name, String src) {
+		compileClassJavac(name, src);
+		return getClassAsByteArray(name);
+	}
+
 	////////////////////////////
 	//JANINO-specific methods (used for spark environments)
 
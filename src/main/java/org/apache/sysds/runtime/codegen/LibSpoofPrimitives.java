@@ -50,6 +50,11 @@ public class LibSpoofPrimitives
 	private static ThreadLocal<VectorBuffer> memPool = new ThreadLocal<VectorBuffer>() {
 		@Override protected VectorBuffer initialValue() { return new VectorBuffer(0,0,0); }
 	};
+	
+	//thread-local buffer of column indexes for sparse row intermediates
+	private static ThreadLocal<int[]> idxPool = new ThreadLocal<int[]>() {
+		@Override protected int[] initialValue() { return new int[0]; }
+	};
 
 	public static double rowMaxsVectMult(double[] a, double[] b, int ai, int bi, int len) {
 		double val = Double.NEGATIVE_INFINITY;
@@ -244,6 +249,102 @@ public class LibSpoofPrimitives
 			c[ci+aix[i]] = a[i];
 	}
 	
+	public static void vectWrite(double[] a, double[] c, int[] aix, int ai, int ci, int alen) {
+		if( a == null ) return;
+		for( int i=ai; i<ai+alen; i++ )
+			c[ci+aix[i]] = a[i];
+	}
+	
+	// sparse row intermediates: values of sparse-safe operations over the non-zeros 
+	// of a sparse row in compacted form (positions 0 to alen), which share the column
+	// indexes of the input row and thus, avoid densifying the row into a vector of len
+	
+	/**
+	 * Obtains the column indexes of a sparse row starting at position 0, 
+	 * which is a no-op for rows that already start at position 0 (e.g., MCSR),
+	 * and a gather into a thread-local index buffer otherwise (e.g., CSR).
+	 * 
+	 * @param aix column indexes of sparse input row
+	 * @param ai start position in aix
+	 * @param alen number of non-zeros
+	 * @param len row length
+	 * @return column indexes starting at position 0
+	 */
+	public static int[] vectSparseIndexes(int[] aix, int ai, int alen, int len) {
+		if( ai == 0 )
+			return aix;
+		int[] c = idxPool.get();
+		if( c.length < alen ) {
+			c = new int[len];
+			idxPool.set(c);
+		}
+		System.arraycopy(aix, ai, c, 0, alen);
+		return c;
+	}
+	
+	public static double[] vectMultSparseWrite(double[] avals, double bval, int ai, int alen, int len) {
+		double[] c = allocVector(len, false);
+		for( int j = 0; j < alen; j++ )
+			c[j] = avals[ai+j] * bval;
+		return c;
+	}
+	
+	public static double[] vectPow2SparseWrite(double[] avals, int ai, int alen, int len) {
+		double[] c = allocVector(len, false);
+		for( int j = 0; j < alen; j++ )
+			c[j] = avals[ai+j] * avals[ai+j];
+		return c;
+	}
+	
+	public static double[] vectMult2SparseWrite(double[] avals, int ai, int alen, int len) {
+		double[] c = allocVector(len, false);
+		for( int j = 0; j < alen; j++ )
+			c[j] = avals[ai+j] + avals[ai+j];
+		return c;
+	}
+	
+	public static double[] vectSqrtSparseWrite(double[] avals, int ai, int alen, int len) {
+		double[] c = allocVector(len, false);
+		for( int j = 0; j < alen; j++ )
+			c[j] = Math.sqrt(avals[ai+j]);
+		return c;
+	}
+	
+	public static double[] vectAbsSparseWrite(double[] avals, int ai, int alen, int len) {
+		double[] c = allocVector(len, false);
+		for( int j = 0; j < alen; j++ )
+			c[j] = Math.abs(avals[ai+j]);
+		return c;
+	}
+	
+	public static double[] vectRoundSparseWrite(double[] avals, int ai, int alen, int len) {
+		double[] c = allocVector(len, false);
+		for( int j = 0; j < alen; j++ )
+			c[j] = Math.round(avals[ai+j]);
+		return c;
+	}
+	
+	public static double[] vectCeilSparseWrite(double[] avals, int ai, int alen, int len) {
+		double[] c = allocVector(len, false);
+		for( int j = 0; j < alen; j++ )
+			c[j] = FastMath.ceil(avals[ai+j]);
+		return c;
+	}
+	
+	public static double[] vectFloorSparseWrite(double[] avals, int ai, int alen, int len) {
+		double[] c = allocVector(len, false);
+		for( int j = 0; j < alen; j++ )
+			c[j] = FastMath.floor(avals[ai+j]);
+		return c;
+	}
+	
+	public static double[] vectSignSparseWrite(double[] avals, int ai, int alen, int len) {
+		double[] c = allocVector(len, false);
+		for( int j = 0; j < alen; j++ )
+			c[j] = FastMath.signum(avals[ai+j]);
+		return c;
+	}
+	
 	// cbind handling
 	
 	public static double[] vectCbindAdd(double[] a, double b, double[] c, int ai, int ci, int len) {
@@ -2185,6 +2286,7 @@ public class LibSpoofPrimitives
 	
 	public static void cleanupThreadLocalMemory() {
 		memPool.remove();
+		idxPool.remove();
 	}
 	
 	public static double[] allocVector(int len, boolean reset) {
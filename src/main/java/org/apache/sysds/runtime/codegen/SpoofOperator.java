@@ -273,10 +273,18 @@ public abstract class SpoofOperator implements Serializable
 		}
 		
 		private void nextRow(int r) {
+			int prevRowIndex = currRowIndex;
 			currRowIndex = r;
 			SparseBlock sblock = mdat.getSparseBlock();
 			if( sblock == null ) return;
-			Arrays.fill(values, 0);
+			//reset non-zeros of previous row (scatter, w/o full fill)
+			if( prevRowIndex >= 0 && !sblock.isEmpty(prevRowIndex) ) {
+				int ppos = sblock.pos(prevRowIndex);
+				int plen = sblock.size(prevRowIndex);
+				int[] pix = sblock.indexes(prevRowIndex);
+				for(int k=ppos; k<ppos+plen; k++)
+					values[pix[k]] = 0;
+			}
 			if( !sblock.isEmpty(r) ) {
 				int apos = sblock.pos(r);
 				int alen = sblock.size(r);
@@ -21,9 +21,11 @@ package org.apache.sysds.runtime.controlprogram;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.codegen.SpoofCompiler;
 import org.apache.sysds.hops.recompile.Recompiler;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -33,12 +35,16 @@ import org.apache.sysds.runtime.lineage.LineageCacheConfig;
 import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
+import org.apache.sysds.utils.stats.ExecutionProfiler;
 import org.apache.sysds.utils.stats.RecompileStatistics;
 
 public class BasicProgramBlock extends ProgramBlock 
 {
 	protected ArrayList<Instruction> _inst;
 
+	//pending background compilations of fused operators (tiered codegen)
+	private volatile List<Future<Class<?>>> _pendingCodegen = null;
+
 	public BasicProgramBlock(Program prog) {
 		super(prog);
 		_inst = new ArrayList<>();
@@ -67,6 +73,14 @@ public class BasicProgramBlock extends ProgramBlock
 	public int getNumInstructions() {
 		return _inst.size();
 	}
+
+	public void setPendingCodegen(List<Future<Class<?>>> pending) {
+		_pendingCodegen = (pending != null && !pending.isEmpty()) ? pending : null;
+	}
+
+	public boolean hasPendingCodegen() {
+		return _pendingCodegen != null;
+	}
 	
 	@Override
 	public ArrayList<ProgramBlock> getChildBlocks() {
@@ -81,18 +95,34 @@ public class BasicProgramBlock extends ProgramBlock
 	@Override
 	public void execute(ExecutionContext ec)
 	{
+		//swap in asynchronously compiled fused operators, if available
+		if( _pendingCodegen != null )
+			swapPendingCodegen();
+
 		ArrayList<Instruction> tmp = _inst;
 
 		//dynamically recompile instructions if enabled and required
 		try
 		{
-			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+			long t0 = (DMLScript.STATISTICS || ExecutionProfiler.isEnabled()) ? System.nanoTime() : 0;
 			if( ConfigurationManager.isDynamicRecompilation()
 				&& _sb != null
 				&& _sb.requiresRecompilation() )
 			{
-				tmp = Recompiler.recompileHopsDag(
-					_sb, _sb.getHops(), ec, null, false, true, _tid);
+				//compile fused operators in the background to avoid compile stalls,
+				//subsequent recompilations obtain the classes from the plan cache
+				boolean async = SpoofCompiler.isAsyncCompilation()
+					&& ConfigurationManager.isCodegenEnabled();
+				if( async )
+					SpoofCompiler.beginAsyncCompilation();
+				try {
+					tmp = Recompiler.recompileHopsDag(
+						_sb, _sb.getHops(), ec, null, false, true, _tid);
+				}
+				finally {
+					if( async )
+						SpoofCompiler.endAsyncCompilation();
+				}
 			}
 			if( DMLScript.STATISTICS ){
 				long t1 = System.nanoTime();
@@ -100,6 +130,8 @@ public class BasicProgramBlock extends ProgramBlock
 				if( tmp!=_inst )
 					RecompileStatistics.incrementRecompileSB();
 			}
+			if( tmp!=_inst && ExecutionProfiler.isEnabled() )
+				ExecutionProfiler.recordRecompile(this, t0, System.nanoTime());
 		}
 		catch(Exception ex)
 		{
@@ -129,4 +161,18 @@ public class BasicProgramBlock extends ProgramBlock
 			LineageCache.putValue(_sb.getOutputsofSB(),
 				liInputs, _sb.getName(), ec, System.nanoTime()-t0);
 	}
+
+	private synchronized void swapPendingCodegen() {
+		//dynamically recompiled blocks obtain the classes on recompilation
+		if( _sb == null || (ConfigurationManager.isDynamicRecompilation() && _sb.requiresRecompilation()) ) {
+			_pendingCodegen = null;
+			return;
+		}
+		List<Future<Class<?>>> pending = _pendingCodegen;
+		if( pending == null || !pending.stream().allMatch(Future::isDone) )
+			return;
+		//regenerate instructions, which obtains the compiled classes
+		//from the plan cache (and updates the pending compilations)
+		SpoofCompiler.generateCodeFromProgramBlock(this);
+	}
 }
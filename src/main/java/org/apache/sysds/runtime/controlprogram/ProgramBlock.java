@@ -54,6 +54,8 @@ import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.MetaData;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.privacy.propagation.PrivacyPropagator;
+import org.apache.sysds.utils.stats.ExecutionProfiler;
+import org.apache.sysds.utils.stats.JFREvents.InstructionEvent;
 import org.apache.sysds.utils.stats.RecompileStatistics;
 import org.apache.sysds.utils.Statistics;
 
@@ -243,12 +245,17 @@ public abstract class ProgramBlock implements ParseInfo {
 		try {
 			// start time measurement for statistics
 			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()) ? System.nanoTime() : 0;
+			long pt0 = ExecutionProfiler.beginInstruction();
+			InstructionEvent jfr = InstructionEvent.isActive() ? new InstructionEvent() : null;
+			if(jfr != null)
+				jfr.begin();
 
 			// pre-process instruction (inst patching, listeners, lineage)
 			Instruction tmp = currInst.preprocessInstruction(ec);
 
 			// try to reuse instruction result from lineage cache
-			if(!LineageCache.reuse(tmp, ec)) {
+			boolean reused = LineageCache.reuse(tmp, ec);
+			if(!reused) {
 				long et0 = (!ReuseCacheType.isNone() || DMLScript.LINEAGE_ESTIMATE) ? System.nanoTime() : 0;
 
 				// process actual instruction
@@ -266,6 +273,16 @@ public abstract class ProgramBlock implements ParseInfo {
 				}
 			}
 
+			// record instruction span for the execution profiler
+			if(pt0 != 0)
+				ExecutionProfiler.endInstruction(tmp, this, ec, pt0);
+			if(jfr != null) {
+				jfr.opcode = tmp.getExtendedOpcode();
+				jfr.line = tmp.getBeginLine();
+				jfr.reused = reused;
+				jfr.commit();
+			}
+
 			// propagate input privacy constraints to output
 			PrivacyPropagator.postProcessInstruction(tmp, ec);
 
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+
+/**
+ * Service for asynchronous persistent writes, which allows write instructions to return before the data is durable.
+ * Pending writes are tracked by file name, and all reads of a pending file (as well as subsequent writes to the same
+ * file and the end of program execution) wait for completion and surface any write errors.
+ */
+public class AsyncWriteService
+{
+	private static final Log LOG = LogFactory.getLog(AsyncWriteService.class.getName());
+
+	private static final Map<String, Future<?>> _pending = new ConcurrentHashMap<>();
+	private static ExecutorService _pool = null;
+
+	private AsyncWriteService() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Submits an asynchronous write of the given file, after waiting for a pending write of the same file.
+	 * Writes are executed in submission order by a single background thread.
+	 *
+	 * @param fname file name
+	 * @param task write task
+	 */
+	public static synchronized void submit(String fname, Callable<?> task) {
+		waitFor(fname);
+		if( _pool == null ) {
+			_pool = Executors.newSingleThreadExecutor(r -> {
+				Thread t = new Thread(r, "AsyncWrite");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Submit asynchronous write of "+fname);
+		//propagate thread-local configurations of the caller
+		final DMLConfig dconf = ConfigurationManager.getDMLConfig();
+		final CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		_pending.put(key(fname), _pool.submit(() -> {
+			ConfigurationManager.setLocalConfig(dconf);
+			ConfigurationManager.setLocalConfig(cconf);
+			try {
+				return task.call();
+			}
+			finally {
+				ConfigurationManager.clearLocalConfigs();
+			}
+		}));
+	}
+
+	/**
+	 * Checks if there is a pending (or failed, but not yet waited for) write of the given file.
+	 *
+	 * @param fname file name
+	 * @return true if there is a pending write
+	 */
+	public static boolean isPending(String fname) {
+		return !_pending.isEmpty() && fname != null && _pending.containsKey(key(fname));
+	}
+
+	/**
+	 * Gets the number of pending (or failed, but not yet waited for) writes.
+	 *
+	 * @return number of pending writes
+	 */
+	public static int getNumPending() {
+		return _pending.size();
+	}
+
+	/**
+	 * Waits for the pending write of the given file, if any.
+	 *
+	 * @param fname file name
+	 * @throws DMLRuntimeException if the asynchronous write failed
+	 */
+	public static void waitFor(String fname) {
+		if( _pending.isEmpty() || fname == null )
+			return;
+		final String key = key(fname);
+		Future<?> f = _pending.get(key);
+		if( f == null )
+			return;
+		try {
+			f.get();
+		}
+		catch(ExecutionException e) {
+			throw new DMLRuntimeException("Asynchronous write of "+fname+" failed.", e);
+		}
+		catch(InterruptedException e) {
+			throw new DMLRuntimeException(e);
+		}
+		finally {
+			_pending.remove(key, f);
+		}
+	}
+
+	/**
+	 * Waits for all pending writes (e.g., at the end of program execution).
+	 *
+	 * @throws DMLRuntimeException if any asynchronous write failed
+	 */
+	public static void waitForAll() {
+		DMLRuntimeException err = null;
+		for( String fname : new ArrayList<>(_pending.keySet()) ) {
+			try {
+				waitFor(fname);
+			}
+			catch(DMLRuntimeException e) {
+				if( err == null )
+					err = e;
+			}
+		}
+		if( err != null )
+			throw err;
+	}
+
+	private static String key(String fname) {
+		//normalize file names (e.g., redundant or trailing separators)
+		//to match reads of the same file via hadoop paths
+		return new Path(fname).toString();
+	}
+}
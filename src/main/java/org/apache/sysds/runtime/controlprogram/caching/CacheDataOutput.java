@@ -167,6 +167,18 @@ public class CacheDataOutput implements DataOutput, MatrixBlockDataOutput
 		_count = off + len*8;
 	}
 	
+	@Override
+	public void writeFloatArray(int len, float[] varr) 
+		throws IOException
+	{
+		//serialize entire array into buffer
+		for( int i=0; i<len; i++ )
+			intToBa(Float.floatToRawIntBits(varr[i]), _buff, _count+i*4);
+		
+		//update buffer offset
+		_count += len*4;
+	}
+	
 	@Override
 	public void writeSparseRows(int rlen, SparseBlock rows) 
 		throws IOException
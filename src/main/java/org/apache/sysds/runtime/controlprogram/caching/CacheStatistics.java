@@ -21,6 +21,9 @@ package org.apache.sysds.runtime.controlprogram.caching;
 
 import java.util.concurrent.atomic.LongAdder;
 
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.utils.stats.MetricsRegistry;
+
 /**
  * This singleton provides basic caching statistics in CP.
  * 
@@ -70,6 +73,16 @@ public class CacheStatistics
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
 
+	/**
+	 * Indicates if the caching statistics are maintained, i.e., if statistics
+	 * are enabled (-stats) or runtime metrics are exposed.
+	 * 
+	 * @return true if statistics are maintained
+	 */
+	public static boolean isEnabled() {
+		return DMLScript.STATISTICS || MetricsRegistry.isEnabled();
+	}
+
 	public static void reset() {
 		_numHitsMem.reset();
 		_numHitsLin.reset();
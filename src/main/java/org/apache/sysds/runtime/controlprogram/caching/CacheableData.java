@@ -61,6 +61,7 @@ import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.utils.Statistics;
+import org.apache.sysds.utils.stats.ExecutionProfiler;
 
 
 /**
@@ -511,7 +512,8 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	 * @return cacheable data
 	 */
 	public T acquireRead() {
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		boolean profile = ExecutionProfiler.isEnabled();
+		long t0 = (CacheStatistics.isEnabled() || profile) ? System.nanoTime() : 0;
 		
 		//core internal acquire (synchronized per object)
 		T ret = acquireReadIntern();
@@ -521,10 +523,12 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		if( !isBelowCachingThreshold() )
 			updateStatusPinned(true);
 		
-		if( DMLScript.STATISTICS ){
+		if( CacheStatistics.isEnabled() ){
 			long t1 = System.nanoTime();
 			CacheStatistics.incrementAcquireRTime(t1-t0);
 		}
+		if( profile )
+			ExecutionProfiler.addBufferPoolWait(System.nanoTime()-t0);
 		
 		return ret;
 	}
@@ -563,7 +567,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 				if( hasValidLineage() ) {
 					_data = reconstructByLineage(getCacheLineage());
 					_requiresLocalWrite = false;
-					if( DMLScript.STATISTICS )
+					if( CacheStatistics.isEnabled() )
 						CacheStatistics.incrementLinHits();
 				}
 				else if( isFederatedExcept(FType.BROADCAST)
@@ -575,7 +579,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 					_requiresLocalWrite = CACHING_WRITE_CACHE_ON_READ;
 				}
 				else if( getRDDHandle()==null || getRDDHandle().allowsShortCircuitRead() ) {
-					if( DMLScript.STATISTICS )
+					if( CacheStatistics.isEnabled() )
 						CacheStatistics.incrementHDFSHits();
 					
 					//check filename
@@ -605,7 +609,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 			}
 			_isAcquireFromEmpty = true;
 		}
-		else if( _data!=null && DMLScript.STATISTICS ) {
+		else if( _data!=null && CacheStatistics.isEnabled() ) {
 			CacheStatistics.incrementMemHits();
 		}
 
@@ -627,7 +631,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	 * @return cacheable data
 	 */
 	public T acquireModify(T newData) {
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		long t0 = CacheStatistics.isEnabled() ? System.nanoTime() : 0;
 		
 		//core internal acquire (synchronized per object)
 		T ret = acquireModifyIntern(newData);
@@ -637,7 +641,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		if( !isBelowCachingThreshold() )
 			updateStatusPinned(true);
 		
-		if( DMLScript.STATISTICS ){
+		if( CacheStatistics.isEnabled() ){
 			long t1 = System.nanoTime();
 			CacheStatistics.incrementAcquireMTime(t1-t0);
 			if (DMLScript.JMLC_MEM_STATISTICS)
@@ -682,7 +686,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	 * 
 	 */
 	public void release() {
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		long t0 = CacheStatistics.isEnabled() ? System.nanoTime() : 0;
 		
 		//update thread-local status (before unpin but outside
 		//the critical section of accessing a shared object)
@@ -692,7 +696,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		//core internal release (synchronized per object)
 		releaseIntern();
 		
-		if( DMLScript.STATISTICS ){
+		if( CacheStatistics.isEnabled() ){
 			long t1 = System.nanoTime();
 			CacheStatistics.incrementReleaseTime(t1-t0);
 		}
@@ -738,7 +742,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 				_requiresLocalWrite = false;
 			}
 
-			if( DMLScript.STATISTICS && write && hasValidLineage() )
+			if( CacheStatistics.isEnabled() && write && hasValidLineage() )
 				CacheStatistics.incrementLinWrites();
 			
 			//create cache
@@ -845,7 +849,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	public synchronized void exportData (String fName, String outputFormat, int replication, FileFormatProperties formatProperties) {
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Export data "+hashCode()+" "+fName);
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		long t0 = CacheStatistics.isEnabled() ? System.nanoTime() : 0;
 		//prevent concurrent modifications
 		if ( !isAvailableToRead() )
 			throw new DMLRuntimeException("MatrixObject not available to read.");
@@ -970,7 +974,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		}
 		
 		_hdfsFileExists = true;
-		if( DMLScript.STATISTICS ){
+		if( CacheStatistics.isEnabled() ){
 			long t1 = System.nanoTime();
 			CacheStatistics.incrementExportTime(t1-t0);
 		}
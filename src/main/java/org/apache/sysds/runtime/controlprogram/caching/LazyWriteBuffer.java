@@ -23,9 +23,9 @@ import java.io.IOException;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutorService;
 
-import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.utils.stats.JFREvents.BufferPoolEvent;
 
 public class LazyWriteBuffer 
 {
@@ -50,6 +50,11 @@ public class LazyWriteBuffer
 	public static int writeBlock(String fname, CacheBlock<?> cb)
 		throws IOException
 	{
+		BufferPoolEvent jfr = BufferPoolEvent.isActive() ?
+			new BufferPoolEvent(BufferPoolEvent.EVICT, fname) : null;
+		if( jfr != null )
+			jfr.begin();
+		
 		//obtain basic meta data of cache block
 		long lSize = getCacheBlockSize(cb);
 		boolean requiresWrite = (lSize > _limit        //global buffer limit
@@ -93,7 +98,7 @@ public class LazyWriteBuffer
 			//serialize matrix (outside synchronized critical path)
 			_fClean.serializeData(bbuff, cb);
 			
-			if( DMLScript.STATISTICS ) {
+			if( CacheStatistics.isEnabled() ) {
 				CacheStatistics.incrementBPoolWrites();
 				CacheStatistics.incrementFSWrites(numEvicted);
 			}
@@ -102,12 +107,19 @@ public class LazyWriteBuffer
 		{
 			//write directly to local FS (bypass buffer if too large)
 			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
-			if( DMLScript.STATISTICS ) {
+			if( CacheStatistics.isEnabled() ) {
 				CacheStatistics.incrementFSWrites();
 			}
 			numEvicted++;
 		}
 		
+		if( jfr != null ) {
+			jfr.size = lSize;
+			jfr.numEvicted = numEvicted;
+			jfr.localFS = requiresWrite;
+			jfr.commit();
+		}
+		
 		return numEvicted;
 	}
 
@@ -134,6 +146,11 @@ public class LazyWriteBuffer
 	public static CacheBlock<?> readBlock(String fname, boolean matrix)
 		throws IOException
 	{
+		BufferPoolEvent jfr = BufferPoolEvent.isActive() ?
+			new BufferPoolEvent(BufferPoolEvent.RESTORE, fname) : null;
+		if( jfr != null )
+			jfr.begin();
+		
 		CacheBlock<?> cb = null;
 		ByteBuffer ldata = null;
 		
@@ -156,16 +173,22 @@ public class LazyWriteBuffer
 		if( ldata != null )
 		{
 			cb = ldata.deserializeBlock();
-			if( DMLScript.STATISTICS )
+			if( CacheStatistics.isEnabled() )
 				CacheStatistics.incrementFSBuffHits();
 		}
 		else
 		{
 			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
-			if( DMLScript.STATISTICS )
+			if( CacheStatistics.isEnabled() )
 				CacheStatistics.incrementFSHits();
 		}
 		
+		if( jfr != null ) {
+			jfr.size = (ldata != null) ? ldata.getSize() : 0;
+			jfr.localFS = (ldata == null);
+			jfr.commit();
+		}
+		
 		return cb;
 	}
 
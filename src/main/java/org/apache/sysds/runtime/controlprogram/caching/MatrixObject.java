@@ -47,6 +47,7 @@ import org.apache.sysds.runtime.io.FileFormatProperties;
 import org.apache.sysds.runtime.io.ReaderWriterFederated;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageRecomputeUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixFP32;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
@@ -88,6 +89,12 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 	private String _partitionCacheName = null; // name of cache block
 	private MatrixBlock _partitionInMemory = null;
 
+	// file name of the last asynchronous write of the in-memory block
+	private volatile String _asyncWriteFname = null;
+
+	// soft cache of the FP64 copy of a single-precision block (FP32 block, FP64 copy)
+	private SoftReference<Pair<MatrixBlock, MatrixBlock>> _fp64Cache = null;
+
 	/**
 	 * Constructor that takes the value type and the HDFS filename.
 	 * 
@@ -152,6 +159,10 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 	}
 
 	public void setUpdateType(UpdateType flag) {
+		//blocks updated in-place (or pinned) must not be modified
+		//while serialized by a pending asynchronous write
+		if( flag.isInPlace() )
+			waitForAsyncWrite();
 		_updateType = flag;
 	}
 
@@ -180,6 +191,66 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 		_metaData.getDataCharacteristics().set(dc);
 	}
 
+	/**
+	 * Acquires a read lock and returns the matrix block in double precision,
+	 * i.e., single-precision blocks (see sysds.cp.floating.point.precision)
+	 * are converted into an FP64 copy. This copy is kept in a soft reference
+	 * and shared by subsequent reads as long as the block is unchanged, and
+	 * hence, must be treated as read-only. Objects marked for update in-place
+	 * obtain a private copy instead.
+	 */
+	@Override
+	public MatrixBlock acquireRead() {
+		MatrixBlock mb = acquireReadFP32();
+		if( !LibMatrixFP32.isFP32(mb) )
+			return mb;
+		return getUpdateType().isInPlace() ?
+			LibMatrixFP32.toFP64(mb) : getFP64Copy(mb);
+	}
+	
+	/**
+	 * Acquires a read lock and returns the internal matrix block, which might
+	 * be a single-precision block that is only valid input to the kernels of
+	 * {@link LibMatrixFP32}.
+	 * 
+	 * @return matrix block (FP32 or FP64)
+	 */
+	public MatrixBlock acquireReadFP32() {
+		return super.acquireRead();
+	}
+
+	private synchronized MatrixBlock getFP64Copy(MatrixBlock mb) {
+		Pair<MatrixBlock, MatrixBlock> entry = (_fp64Cache != null) ? _fp64Cache.get() : null;
+		if( entry == null || entry.getKey() != mb ) {
+			entry = Pair.of(mb, LibMatrixFP32.toFP64(mb));
+			_fp64Cache = new SoftReference<>(entry);
+		}
+		return entry.getValue();
+	}
+
+	@Override
+	public MatrixBlock acquireModify(MatrixBlock newData) {
+		invalidateFP64Copy();
+		return super.acquireModify(newData);
+	}
+
+	@Override
+	public void release() {
+		if( isModify() )
+			invalidateFP64Copy();
+		super.release();
+	}
+
+	@Override
+	public synchronized void clearData(long tid) {
+		super.clearData(tid);
+		_fp64Cache = null;
+	}
+
+	private synchronized void invalidateFP64Copy() {
+		_fp64Cache = null;
+	}
+
 	/**
 	 * Make the matrix metadata consistent with the in-memory matrix data
 	 */
@@ -255,7 +326,7 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 	public synchronized MatrixBlock readMatrixPartition(IndexRange pred) {
 		if(LOG.isTraceEnabled())
 			LOG.trace("Acquire partition " + hashCode() + " " + pred);
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		long t0 = CacheStatistics.isEnabled() ? System.nanoTime() : 0;
 
 		if(!_partitioned)
 			throw new DMLRuntimeException("MatrixObject not available to indexed read.");
@@ -349,7 +420,7 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 			throw new DMLRuntimeException(ex);
 		}
 
-		if(DMLScript.STATISTICS) {
+		if(CacheStatistics.isEnabled()) {
 			long t1 = System.nanoTime();
 			CacheStatistics.incrementAcquireRTime(t1 - t0);
 		}
@@ -417,9 +488,19 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 			mb = (MatrixBlock) UnifiedMemoryManager.readBlock(fname, true);
 		else
 			mb = (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
+		//restore single-precision blocks decoded on deserialization
+		if( DMLScript.CP_FP32 )
+			mb = LibMatrixFP32.toFP32(mb);
 		return mb;
 	}
 
+	@Override
+	protected MatrixBlock readBlobFromHDFS(String fname) throws IOException {
+		MatrixBlock mb = super.readBlobFromHDFS(fname);
+		//store read matrices in single precision if configured (e.g., binary FP32 blocks)
+		return (DMLScript.CP_FP32 && !isFederated()) ? LibMatrixFP32.toFP32(mb) : mb;
+	}
+
 	@Override
 	protected MatrixBlock readBlobFromHDFS(String fname, long[] dims) throws IOException {
 		long rlen = dims[0];
@@ -445,7 +526,7 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 		MatrixBlock newData = isFederated() ? acquireReadAndRelease() : DataConverter.readMatrixFromHDFS(fname,
 			iimd.getFileFormat(), rlen, clen, blen, mc.getNonZeros(), getFileFormatProperties());
 
-		if(iimd.getFileFormat() == FileFormat.CSV) {
+		if(iimd.getFileFormat() == FileFormat.CSV || iimd.getFileFormat() == FileFormat.PARQUET) {
 			_metaData = _metaData instanceof MetaDataFormat ? new MetaDataFormat(newData.getDataCharacteristics(),
 				iimd.getFileFormat()) : new MetaData(newData.getDataCharacteristics());
 		}
@@ -551,6 +632,7 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 			ReaderWriterFederated.write(fname, this._fedMapping);
 		}
 		else if(_data != null) {
+			final MatrixBlock data = LibMatrixFP32.isFP32(_data) ? getFP64Copy(_data) : _data;
 			MetaDataFormat iimd = (MetaDataFormat) _metaData;
 			// Get the dimension information from the metadata stored within MatrixObject
 			DataCharacteristics mc = iimd.getDataCharacteristics();
@@ -558,7 +640,19 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 			FileFormat fmt = (ofmt != null ? FileFormat.safeValueOf(ofmt) : iimd.getFileFormat());
 			if( fmt == FileFormat.BINARY && fprop != null )
 				mc = new MatrixCharacteristics(mc).setBlocksize(fprop.getBlocksize());
-			DataConverter.writeMatrixToHDFS(_data, fname, fmt, mc, rep, fprop, _diag);
+			if( isAsyncWrite(fname, fmt) ) {
+				// persistent write in the background (blocks are immutable unless updated in-place,
+				// which waits for the pending write, see setUpdateType)
+				final DataCharacteristics fmc = new MatrixCharacteristics(mc);
+				final boolean diag = _diag;
+				AsyncWriteService.submit(fname, () -> {
+					DataConverter.writeMatrixToHDFS(data, fname, fmt, fmc, rep, fprop, diag);
+					return null;
+				});
+				_asyncWriteFname = fname;
+			}
+			else
+				DataConverter.writeMatrixToHDFS(data, fname, fmt, mc, rep, fprop, _diag);
 
 			if(LOG.isTraceEnabled())
 				LOG.trace("Writing matrix to HDFS (" + fname + ") - COMPLETED... "
@@ -568,10 +662,23 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 			LOG.trace("Writing matrix to HDFS (" + fname + ") - NOTHING TO WRITE (_data == null).");
 		}
 
-		if(DMLScript.STATISTICS)
+		if(CacheStatistics.isEnabled())
 			CacheStatistics.incrementHDFSWrites();
 	}
 
+	private void waitForAsyncWrite() {
+		String fname = _asyncWriteFname;
+		if( fname != null ) {
+			AsyncWriteService.waitFor(fname);
+			_asyncWriteFname = null;
+		}
+	}
+
+	private boolean isAsyncWrite(String fname, FileFormat fmt) {
+		return ConfigurationManager.isAsyncWriteEnabled() && fmt == FileFormat.BINARY
+			&& !fname.equals(_hdfsFileName) && !getUpdateType().isInPlace();
+	}
+
 	@Override
 	protected void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String outputFormat)
 		throws IOException, DMLRuntimeException {
@@ -22,7 +22,6 @@ package org.apache.sysds.runtime.controlprogram.caching;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
 import org.apache.spark.api.java.JavaPairRDD;
-import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.ValueType;
@@ -184,7 +183,7 @@ public class TensorObject extends CacheableData<TensorBlock> {
 		else if (LOG.isTraceEnabled()) {
 			LOG.trace("Writing tensor to HDFS (" + fname + ") - NOTHING TO WRITE (_data == null).");
 		}
-		if( DMLScript.STATISTICS )
+		if( CacheStatistics.isEnabled() )
 			CacheStatistics.incrementHDFSWrites();
 	}
 
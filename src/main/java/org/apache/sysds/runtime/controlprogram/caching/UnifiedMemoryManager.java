@@ -20,10 +20,10 @@
 package org.apache.sysds.runtime.controlprogram.caching;
 
 import org.apache.commons.lang.NotImplementedException;
-import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.utils.stats.JFREvents.BufferPoolEvent;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -256,6 +256,11 @@ public class UnifiedMemoryManager
 	public static CacheBlock<?> readBlock(String fname, boolean matrix)
 		throws IOException
 	{
+		BufferPoolEvent jfr = BufferPoolEvent.isActive() ?
+			new BufferPoolEvent(BufferPoolEvent.RESTORE, fname) : null;
+		if( jfr != null )
+			jfr.begin();
+		
 		CacheBlock<?> cb = null;
 		ByteBuffer ldata = null;
 
@@ -278,16 +283,22 @@ public class UnifiedMemoryManager
 		if( ldata != null )
 		{
 			cb = ldata.deserializeBlock();
-			if (DMLScript.STATISTICS)
+			if (CacheStatistics.isEnabled())
 				CacheStatistics.incrementFSBuffHits();
 		}
 		else
 		{
 			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
-			if (DMLScript.STATISTICS)
+			if (CacheStatistics.isEnabled())
 				CacheStatistics.incrementFSHits();
 		}
 
+		if( jfr != null ) {
+			jfr.size = (ldata != null) ? ldata.getSize() : 0;
+			jfr.localFS = (ldata == null);
+			jfr.commit();
+		}
+		
 		return cb;
 	}
 
@@ -329,7 +340,7 @@ public class UnifiedMemoryManager
 			throw new DMLRuntimeException("Eviction request of size "+(reqSpace-getUMMFree())+ " in the UMM failed.", e);
 		}
 
-		if( DMLScript.STATISTICS )
+		if( CacheStatistics.isEnabled() )
 			CacheStatistics.incrementFSWrites(numEvicted);
 
 		return numEvicted;
@@ -339,6 +350,11 @@ public class UnifiedMemoryManager
 	public static int writeBlock(String fname, CacheBlock<?> cb)
 		throws IOException
 	{
+		BufferPoolEvent jfr = BufferPoolEvent.isActive() ?
+			new BufferPoolEvent(BufferPoolEvent.EVICT, fname) : null;
+		if( jfr != null )
+			jfr.begin();
+		
 		//obtain basic metadata of the cache block
 		long lSize = getCacheBlockSize(cb);
 		boolean requiresWrite = (lSize > _limit        //global buffer limit
@@ -364,19 +380,26 @@ public class UnifiedMemoryManager
 			// Serialize matrix (outside synchronized critical path)
 			_fClean.serializeData(bbuff, cb);
 
-			if( DMLScript.STATISTICS )
+			if( CacheStatistics.isEnabled() )
 				CacheStatistics.incrementBPoolWrites();
 		}
 		else
 		{
 			// Write directly to local FS (bypass buffer if too large)
 			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
-			if( DMLScript.STATISTICS ) {
+			if( CacheStatistics.isEnabled() ) {
 				CacheStatistics.incrementFSWrites();
 			}
 			numEvicted++;
 		}
 
+		if( jfr != null ) {
+			jfr.size = lSize;
+			jfr.numEvicted = numEvicted;
+			jfr.localFS = requiresWrite;
+			jfr.commit();
+		}
+		
 		return numEvicted;
 	}
 
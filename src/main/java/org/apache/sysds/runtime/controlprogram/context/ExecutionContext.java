@@ -55,6 +55,7 @@ import org.apache.sysds.runtime.lineage.LineageCacheConfig;
 import org.apache.sysds.runtime.lineage.LineageDebugger;
 import org.apache.sysds.runtime.lineage.LineageGPUCacheEviction;
 import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.matrix.data.LibMatrixFP32;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
@@ -346,6 +347,19 @@ public class ExecutionContext {
 	public MatrixBlock getMatrixInput(CPOperand input) {
 		return getMatrixObject(input.getName()).acquireRead();
 	}
+	
+	/**
+	 * Pins a matrix variable into memory and returns the internal matrix block,
+	 * which is a single-precision block if allowed and stored as such.
+	 * 
+	 * @param varName variable name
+	 * @param allowFP32 return single-precision blocks without conversion
+	 * @return matrix block
+	 */
+	public MatrixBlock getMatrixInput(String varName, boolean allowFP32) {
+		MatrixObject mo = getMatrixObject(varName);
+		return allowFP32 ? mo.acquireReadFP32() : mo.acquireRead();
+	}
 
 	/**
 	 * Pins a matrix variable into memory and returns the internal matrix block.
@@ -600,6 +614,13 @@ public class ExecutionContext {
 	}
 
 	public void setMatrixOutputAndLineage(String varName, MatrixBlock outputData, LineageItem li) {
+		//store dense outputs in single precision if configured
+		if( DMLScript.CP_FP32 )
+			outputData = LibMatrixFP32.toFP32(outputData);
+		setMatrixOutputIntern(varName, outputData, li);
+	}
+
+	private void setMatrixOutputIntern(String varName, MatrixBlock outputData, LineageItem li) {
 		if( isAutoCreateVars() && !containsVariable(varName) )
 			setVariable(varName, createMatrixObject(outputData));
 		MatrixObject mo = getMatrixObject(varName);
@@ -633,8 +654,11 @@ public class ExecutionContext {
 			//modify metadata to carry update status
 			MatrixObject mo = getMatrixObject(varName);
 			mo.setUpdateType( flag );
+			//keep the updated block as is (no precision conversion)
+			setMatrixOutputIntern(varName, outputData, null);
 		}
-		setMatrixOutput(varName, outputData);
+		else
+			setMatrixOutput(varName, outputData);
 	}
 
 	public void setTensorOutput(String varName, TensorBlock outputData) {
@@ -67,6 +67,11 @@ public class MatrixObjectFuture extends MatrixObject
 		return ret;
 	}
 
+	@Override
+	public MatrixBlock acquireReadFP32() {
+		return acquireRead();
+	}
+
 	private synchronized MatrixBlock acquireReadIntern() {
 		try {
 			if(!isAvailableToRead())
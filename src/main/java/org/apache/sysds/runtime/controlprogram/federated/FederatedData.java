@@ -39,6 +39,7 @@ import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
 import org.apache.sysds.runtime.controlprogram.paramserv.NetworkTrafficCounter;
 import org.apache.sysds.runtime.meta.MetaData;
+import org.apache.sysds.utils.stats.JFREvents.FederatedRequestEvent;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
@@ -178,6 +179,10 @@ public class FederatedData {
 	public synchronized static Future<FederatedResponse> executeFederatedOperation(InetSocketAddress address,
 		FederatedRequest... request) {
 		try {
+			final FederatedRequestEvent jfr = FederatedRequestEvent.isActive() ?
+				new FederatedRequestEvent() : null;
+			if(jfr != null)
+				jfr.begin();
 			final Bootstrap b = new Bootstrap();
 			if(workerGroup == null)
 				createWorkGroup();
@@ -193,6 +198,17 @@ public class FederatedData {
 			handler.setPromise(promise);
 			f.channel().writeAndFlush(request);
 
+			if(jfr != null) {
+				//commit round trip on response (or failure)
+				jfr.address = address.toString();
+				jfr.type = (request.length > 0) ? request[0].getType().name() : null;
+				jfr.numRequests = request.length;
+				promise.addListener(fut -> {
+					jfr.success = fut.isSuccess();
+					jfr.commit();
+				});
+			}
+
 			return handler.getProm();
 		}
 		catch(Exception e) {
@@ -55,6 +55,7 @@ import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
+import org.apache.sysds.utils.stats.MetricsServer;
 import io.netty.handler.codec.serialization.ObjectDecoder;
 import io.netty.handler.codec.serialization.ClassResolvers;
 
@@ -83,6 +84,9 @@ public class FederatedWorker {
 		LineageCacheConfig.setCachePolicy(DMLScript.LINEAGE_POLICY);
 		LineageCacheConfig.setEstimator(DMLScript.LINEAGE_ESTIMATE);
 
+		//expose runtime metrics of the long-running worker (if configured)
+		MetricsServer.startFromConfig(ConfigurationManager.getDMLConfig());
+
 		run();
 	}
 
@@ -42,6 +42,7 @@ import org.apache.sysds.parser.DataExpression;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
 import org.apache.sysds.runtime.controlprogram.BasicProgramBlock;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteService;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
@@ -436,6 +437,8 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		MetaDataAll mtd;
 
 		try {
+			// wait for pending asynchronous writes of the input
+			AsyncWriteService.waitFor(filename);
 			final String mtdName = DataExpression.getMTDFileName(filename);
 			Path path = new Path(mtdName);
 			fs = IOUtilFunctions.getFileSystem(mtdName);
@@ -54,6 +54,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysds.runtime.frame.data.columns.Array;
 import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
 import org.apache.sysds.runtime.frame.data.columns.ColumnMetadata;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
 import org.apache.sysds.runtime.frame.data.iterators.IteratorFactory;
 import org.apache.sysds.runtime.frame.data.lib.FrameFromMatrixBlock;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibAppend;
@@ -909,6 +910,9 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 		String[][] outputData) {
 		for(int i = 0; i < getNumColumns(); i++) {
 			if(getSchema()[i] == ValueType.STRING || that.getSchema()[i] == ValueType.STRING) {
+				if(_coldata[i] instanceof DDCArray && that._coldata[i] instanceof DDCArray &&
+					executeDDCComparison((DDCArray) _coldata[i], (DDCArray) that._coldata[i], vcomp, outputData, i))
+					continue;
 				for(int j = 0; j < getNumRows(); j++) {
 					if(checkAndSetEmpty(frameBlock, that, outputData, j, i))
 						continue;
@@ -950,6 +954,37 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 		return new FrameBlock(UtilFunctions.nCopies(frameBlock.getNumColumns(), ValueType.BOOLEAN), outputData);
 	}
 
+	/**
+	 * Compare two dictionary-encoded string columns by evaluating the comparison once per pair of distinct values and
+	 * looking up the results by codes.
+	 *
+	 * @return false if the number of pairs of distinct values is too large for the lookup table
+	 */
+	private static boolean executeDDCComparison(DDCArray a, DDCArray b, ValueComparisonFunction vcomp, String[][] out,
+		int c) {
+		final Array<String> da = a.getDictionary();
+		final Array<String> db = b.getDictionary();
+		final int nb = db.size();
+		if((long) da.size() * nb > 65536)
+			return false;
+		// 0: not evaluated, 1: false, 2: true
+		final byte[] results = new byte[da.size() * nb];
+		for(int j = 0; j < out.length; j++) {
+			final int ca = a.getCode(j);
+			final int cb = b.getCode(j);
+			final int ix = ca * nb + cb;
+			if(results[ix] == 0) {
+				final String v1 = da.get(ca);
+				final String v2 = db.get(cb);
+				final boolean ret = (v1 == null || v2 == null) ? //
+					(v1 == null && v2 == null) : vcomp.compare(v1, v2);
+				results[ix] = (byte) (ret ? 2 : 1);
+			}
+			out[j][c] = results[ix] == 2 ? "true" : "false";
+		}
+		return true;
+	}
+
 	private static boolean checkAndSetEmpty(FrameBlock fb1, FrameBlock fb2, String[][] out, int r, int c) {
 		if(fb1.get(r, c) == null || fb2.get(r, c) == null) {
 			out[r][c] = (fb1.get(r, c) == null && fb2.get(r, c) == null) ? "true" : "false";
@@ -32,7 +32,7 @@ public interface ArrayFactory {
 	public final static int bitSetSwitchPoint = 64;
 
 	public enum FrameArrayType {
-		STRING, BOOLEAN, BITSET, INT32, INT64, FP32, FP64, CHARACTER, OPTIONAL;
+		STRING, BOOLEAN, BITSET, INT32, INT64, FP32, FP64, CHARACTER, OPTIONAL, DDC, UTF8;
 	}
 
 	public static StringArray create(String[] col) {
@@ -188,6 +188,10 @@ public interface ArrayFactory {
 				break;
 			case OPTIONAL:
 				return OptionalArray.readOpt(in, nRow);
+			case DDC:
+				return DDCArray.read(in);
+			case UTF8:
+				return UTF8Array.read(in, nRow);
 			default: // String
 				arr = new StringArray(new String[nRow]);
 				break;
@@ -0,0 +1,565 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.frame.data.columns;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map.Entry;
+
+import org.apache.commons.lang.NotImplementedException;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToCharPByte;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory.FrameArrayType;
+import org.apache.sysds.runtime.matrix.data.Pair;
+import org.apache.sysds.utils.MemoryEstimates;
+
+/**
+ * Dictionary encoded (DDC) string array for low-cardinality columns, which stores the distinct values once in a
+ * dictionary and per row only a code in the smallest sufficient representation (byte, char, or int codes of the
+ * compressed column group mappings).
+ *
+ * The dictionary is never modified in place, so that slices and clones can share it. Setting a value not contained in
+ * the dictionary appends it to a new dictionary and widens the codes if necessary.
+ */
+public class DDCArray extends Array<String> {
+
+	/** Maximum ratio of distinct values to rows for which strings are dictionary encoded */
+	public static final double MAX_DISTINCT_RATIO = 0.5;
+
+	/** The distinct values, potentially including null */
+	private StringArray _dict;
+	/** The codes, with a capacity of at least the array size */
+	private AMapToData _map;
+	/** Lazily constructed reverse lookup from values to codes */
+	private HashMap<String, Integer> _lookup;
+
+	public DDCArray(StringArray dict, AMapToData map) {
+		this(dict, map, map.size());
+	}
+
+	private DDCArray(StringArray dict, AMapToData map, int size) {
+		super(size);
+		_dict = dict;
+		_map = map;
+	}
+
+	/**
+	 * Dictionary encode the given string array if the number of distinct values is at most MAX_DISTINCT_RATIO of the
+	 * number of rows, otherwise return the input.
+	 *
+	 * @param a The array to encode
+	 * @return A DDCArray or the input array
+	 */
+	public static Array<String> compressToDDC(Array<String> a) {
+		return compressToDDC(a, (int) (a.size() * MAX_DISTINCT_RATIO));
+	}
+
+	/**
+	 * Dictionary encode the given string array if the number of distinct values is at most maxDistinct, otherwise return
+	 * the input.
+	 *
+	 * @param a           The array to encode
+	 * @param maxDistinct The maximum number of distinct values
+	 * @return A DDCArray or the input array
+	 */
+	public static Array<String> compressToDDC(Array<String> a, int maxDistinct) {
+		if(a instanceof DDCArray)
+			return a;
+		final int size = a.size();
+		final HashMap<String, Integer> lookup = new HashMap<>();
+		final int[] codes = new int[size];
+		for(int i = 0; i < size; i++) {
+			final String v = a.get(i);
+			Integer c = lookup.get(v);
+			if(c == null) {
+				if(lookup.size() >= maxDistinct) // early abort
+					return a;
+				c = lookup.size();
+				lookup.put(v, c);
+			}
+			codes[i] = c;
+		}
+		final String[] dict = new String[lookup.size()];
+		for(Entry<String, Integer> e : lookup.entrySet())
+			dict[e.getValue()] = e.getKey();
+		final DDCArray ret = new DDCArray(new StringArray(dict), MapToFactory.create(size, codes, dict.length));
+		ret._lookup = lookup;
+		return ret;
+	}
+
+	public StringArray getDictionary() {
+		return _dict;
+	}
+
+	public AMapToData getMap() {
+		return _map;
+	}
+
+	/**
+	 * Get the dictionary code of the given row.
+	 *
+	 * @param index The row index
+	 * @return The code
+	 */
+	public int getCode(int index) {
+		return _map.getIndex(index);
+	}
+
+	@Override
+	public String get(int index) {
+		// explicit check because the map capacity might exceed the size
+		if(index < 0 || index >= _size)
+			throw new ArrayIndexOutOfBoundsException(index);
+		return _dict.get(_map.getIndex(index));
+	}
+
+	@Override
+	public String[] get() {
+		final String[] ret = new String[_size];
+		for(int i = 0; i < _size; i++)
+			ret[i] = _dict.get(_map.getIndex(i));
+		return ret;
+	}
+
+	@Override
+	public double getAsDouble(int i) {
+		return _dict.getAsDouble(_map.getIndex(i));
+	}
+
+	@Override
+	public double getAsNaNDouble(int i) {
+		return _dict.getAsNaNDouble(_map.getIndex(i));
+	}
+
+	@Override
+	public void set(int index, String value) {
+		_map.set(index, getOrAddCode(value));
+	}
+
+	@Override
+	public void set(int index, double value) {
+		set(index, Double.toString(value));
+	}
+
+	@Override
+	public void set(int rl, int ru, Array<String> value) {
+		set(rl, ru, value, 0);
+	}
+
+	@Override
+	public void set(int rl, int ru, Array<String> value, int rlSrc) {
+		if(value instanceof DDCArray && ((DDCArray) value)._dict == _dict) {
+			// same dictionary, copy codes
+			final AMapToData map = ((DDCArray) value)._map;
+			if(map.getUnique() > getMaxUnique(_map))
+				resizeMap(map.getUnique(), _map.size());
+			for(int i = rl; i <= ru; i++)
+				_map.set(i, map.getIndex(rlSrc + i - rl));
+		}
+		else
+			for(int i = rl; i <= ru; i++)
+				set(i, value.get(rlSrc + i - rl));
+	}
+
+	@Override
+	public void setFromOtherType(int rl, int ru, Array<?> value) {
+		for(int i = rl; i <= ru; i++) {
+			final Object v = value.get(i);
+			set(i, (v != null) ? v.toString() : null);
+		}
+	}
+
+	@Override
+	public void setNz(int rl, int ru, Array<String> value) {
+		for(int i = rl; i <= ru; i++) {
+			final String v = value.get(i);
+			if(v != null)
+				set(i, v);
+		}
+	}
+
+	@Override
+	public void setFromOtherTypeNz(int rl, int ru, Array<?> value) {
+		for(int i = rl; i <= ru; i++) {
+			final Object v = value.get(i);
+			if(v != null)
+				set(i, v.toString());
+		}
+	}
+
+	@Override
+	public void append(String value) {
+		final int code = getOrAddCode(value);
+		if(_size >= _map.size())
+			resizeMap(_map.getUnique(), newSize());
+		_map.set(_size++, code);
+	}
+
+	@Override
+	public Array<String> append(Array<String> other) {
+		final int endSize = _size + other.size();
+		final DDCArray ret = new DDCArray(_dict, MapToFactory.create(endSize, _map.getUnique()), endSize);
+		for(int i = 0; i < _size; i++)
+			ret._map.set(i, _map.getIndex(i));
+		ret.set(_size, endSize - 1, other, 0);
+		return ret;
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(FrameArrayType.DDC.ordinal());
+		out.writeInt(_dict.size());
+		_dict.write(out);
+		getCompactMap().write(out);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		throw new DMLRuntimeException("Should not be called");
+	}
+
+	protected static DDCArray read(DataInput in) throws IOException {
+		final int nDict = in.readInt();
+		final StringArray dict = (StringArray) ArrayFactory.read(in, nDict);
+		return new DDCArray(dict, MapToFactory.readIn(in));
+	}
+
+	@Override
+	public Array<String> clone() {
+		return new DDCArray(_dict, _map.slice(0, _size));
+	}
+
+	@Override
+	public Array<String> slice(int rl, int ru) {
+		return new DDCArray(_dict, _map.slice(rl, ru));
+	}
+
+	@Override
+	public void reset(int size) {
+		_dict = new StringArray(new String[1]);
+		_map = MapToFactory.create(size, 1);
+		_lookup = null;
+		_size = size;
+	}
+
+	@Override
+	public byte[] getAsByteArray() {
+		throw new NotImplementedException("Not Implemented getAsByte for string");
+	}
+
+	@Override
+	public ValueType getValueType() {
+		return ValueType.STRING;
+	}
+
+	@Override
+	public Pair<ValueType, Boolean> analyzeValueType() {
+		// analyze the distinct values that are in use
+		return getUsedDictionary().analyzeValueType();
+	}
+
+	@Override
+	public FrameArrayType getFrameArrayType() {
+		return FrameArrayType.DDC;
+	}
+
+	@Override
+	public ABooleanArray getNulls() {
+		final ABooleanArray n = ArrayFactory.allocateBoolean(_size);
+		for(int i = 0; i < _size; i++)
+			if(get(i) != null)
+				n.set(i, true);
+		return n;
+	}
+
+	@Override
+	public boolean containsNull() {
+		final boolean[] used = getUsed();
+		for(int c = 0; c < used.length; c++)
+			if(used[c] && _dict.get(c) == null)
+				return true;
+		return false;
+	}
+
+	@Override
+	public long getInMemorySize() {
+		return baseMemoryCost() + 8 + 8 + 8 + _dict.getInMemorySize() + _map.getInMemorySize();
+	}
+
+	/**
+	 * Get a worst case estimate of the in-memory size, assuming strings of 12 characters as for string arrays.
+	 *
+	 * @param nRow      The number of rows
+	 * @param nDistinct The number of distinct values
+	 * @return The estimated size in memory
+	 */
+	public static long estimateInMemorySize(int nRow, int nDistinct) {
+		long size = baseMemoryCost() + 8 + 8 + 8;
+		size += baseMemoryCost() + 8 + MemoryEstimates.stringCost(12) * nDistinct;
+		size += MapToFactory.estimateInMemorySize(nRow, nDistinct);
+		return size;
+	}
+
+	@Override
+	public long getExactSerializedSize() {
+		return 1 + 4 + _dict.getExactSerializedSize() + getCompactMap().getExactSizeOnDisk();
+	}
+
+	@Override
+	protected Array<Boolean> changeTypeBitSet() {
+		return changeTypeBoolean();
+	}
+
+	@Override
+	protected Array<Boolean> changeTypeBoolean() {
+		// convert the distinct values once and decompress
+		final Array<Boolean> d = _dict.changeTypeBoolean();
+		final ABooleanArray ret = ArrayFactory.allocateBoolean(_size);
+		for(int i = 0; i < _size; i++)
+			ret.set(i, d.get(_map.getIndex(i)));
+		return ret;
+	}
+
+	@Override
+	protected Array<Double> changeTypeDouble() {
+		final double[] d = (double[]) _dict.changeTypeDouble().get();
+		final double[] ret = new double[_size];
+		for(int i = 0; i < _size; i++)
+			ret[i] = d[_map.getIndex(i)];
+		return new DoubleArray(ret);
+	}
+
+	@Override
+	protected Array<Float> changeTypeFloat() {
+		final float[] d = (float[]) _dict.changeTypeFloat().get();
+		final float[] ret = new float[_size];
+		for(int i = 0; i < _size; i++)
+			ret[i] = d[_map.getIndex(i)];
+		return new FloatArray(ret);
+	}
+
+	@Override
+	protected Array<Integer> changeTypeInteger() {
+		final int[] d = (int[]) _dict.changeTypeInteger().get();
+		final int[] ret = new int[_size];
+		for(int i = 0; i < _size; i++)
+			ret[i] = d[_map.getIndex(i)];
+		return new IntegerArray(ret);
+	}
+
+	@Override
+	protected Array<Long> changeTypeLong() {
+		final long[] d = (long[]) _dict.changeTypeLong().get();
+		final long[] ret = new long[_size];
+		for(int i = 0; i < _size; i++)
+			ret[i] = d[_map.getIndex(i)];
+		return new LongArray(ret);
+	}
+
+	@Override
+	protected Array<String> changeTypeString() {
+		return this;
+	}
+
+	@Override
+	protected Array<Character> changeTypeCharacter() {
+		final char[] d = (char[]) _dict.changeTypeCharacter().get();
+		final char[] ret = new char[_size];
+		for(int i = 0; i < _size; i++)
+			ret[i] = d[_map.getIndex(i)];
+		return new CharArray(ret);
+	}
+
+	@Override
+	public Pair<Integer, Integer> getMinMaxLength() {
+		return getUsedDictionary().getMinMaxLength();
+	}
+
+	@Override
+	public void fill(String val) {
+		_dict = new StringArray(new String[] {val});
+		_map = MapToFactory.create(_size, 1);
+		_lookup = null;
+	}
+
+	@Override
+	public boolean isShallowSerialize() {
+		// the codes are compact, only the dictionary has per-string overhead
+		return _dict.isShallowSerialize();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		final boolean[] used = getUsed();
+		for(int c = 0; c < used.length; c++)
+			if(used[c] && _dict.isNotEmpty(c))
+				return false;
+		return true;
+	}
+
+	@Override
+	public Array<String> select(int[] indices) {
+		final AMapToData map = MapToFactory.create(indices.length, _map.getUnique());
+		for(int i = 0; i < indices.length; i++)
+			map.set(i, _map.getIndex(indices[i]));
+		return new DDCArray(_dict, map);
+	}
+
+	@Override
+	public Array<String> select(boolean[] select, int nTrue) {
+		final AMapToData map = MapToFactory.create(nTrue, _map.getUnique());
+		int k = 0;
+		for(int i = 0; i < select.length; i++)
+			if(select[i])
+				map.set(k++, _map.getIndex(i));
+		return new DDCArray(_dict, map);
+	}
+
+	@Override
+	public boolean isNotEmpty(int i) {
+		return _dict.isNotEmpty(_map.getIndex(i));
+	}
+
+	@Override
+	protected HashMap<String, Long> createRecodeMap() {
+		if(_size == 0)
+			return new HashMap<>();
+		// metadata frames of recode maps (token and code) are handled as strings
+		final String first = get(0);
+		if(first != null && isRecodeMapEntry(first))
+			return new StringArray(get()).createRecodeMap();
+
+		// ids in order of first occurrence, probing the dictionary once per distinct code
+		final HashMap<String, Long> map = new HashMap<>();
+		final boolean[] seen = new boolean[_dict.size()];
+		long id = 0;
+		for(int i = 0; i < _size; i++) {
+			final int c = _map.getIndex(i);
+			if(seen[c])
+				continue;
+			seen[c] = true;
+			final String v = _dict.get(c);
+			if(v != null && map.putIfAbsent(v, id) == null)
+				id++;
+		}
+		return map;
+	}
+
+	private static boolean isRecodeMapEntry(String v) {
+		final int pos = v.lastIndexOf(Lop.DATATYPE_PREFIX);
+		if(pos < 0)
+			return false;
+		try {
+			Long.parseLong(v.substring(pos + 1));
+			return true;
+		}
+		catch(NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private int getOrAddCode(String value) {
+		if(_lookup == null) {
+			_lookup = new HashMap<>();
+			for(int c = 0; c < _dict.size(); c++)
+				_lookup.putIfAbsent(_dict.get(c), c);
+		}
+		Integer c = _lookup.get(value);
+		if(c == null) {
+			c = _dict.size();
+			_dict = (StringArray) _dict.append(new StringArray(new String[] {value}));
+			_lookup.put(value, c);
+		}
+		// widen the codes if necessary (also for existing codes, since slices might use smaller maps)
+		if(c + 1 > getMaxUnique(_map))
+			resizeMap(c + 1, _map.size());
+		else if(c + 1 > _map.getUnique())
+			_map.setUnique(c + 1);
+		return c;
+	}
+
+	private void resizeMap(int nUnique, int capacity) {
+		final AMapToData map = MapToFactory.create(capacity, Math.max(nUnique, _map.getUnique()));
+		for(int i = 0; i < _size; i++)
+			map.set(i, _map.getIndex(i));
+		_map = map;
+	}
+
+	private static int getMaxUnique(AMapToData map) {
+		switch(map.getType()) {
+			case ZERO:
+				return 1;
+			case BIT:
+				return 2;
+			case UBYTE:
+				return 127;
+			case BYTE:
+				return 256;
+			case CHAR:
+				return Character.MAX_VALUE + 1;
+			case CHAR_BYTE:
+				return MapToCharPByte.max;
+			default:
+				return Integer.MAX_VALUE;
+		}
+	}
+
+	private AMapToData getCompactMap() {
+		return (_map.size() == _size) ? _map : _map.slice(0, _size);
+	}
+
+	private boolean[] getUsed() {
+		final boolean[] used = new boolean[_dict.size()];
+		for(int i = 0; i < _size; i++)
+			used[_map.getIndex(i)] = true;
+		return used;
+	}
+
+	private StringArray getUsedDictionary() {
+		final boolean[] used = getUsed();
+		int n = 0;
+		for(boolean u : used)
+			n += u ? 1 : 0;
+		if(n == used.length)
+			return _dict;
+		final String[] ret = new String[n];
+		for(int c = 0, k = 0; c < used.length; c++)
+			if(used[c])
+				ret[k++] = _dict.get(c);
+		return new StringArray(ret);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(_size * 5 + 2);
+		sb.append(super.toString() + ":[");
+		for(int i = 0; i < _size - 1; i++)
+			sb.append(get(i) + ",");
+		sb.append(get(_size - 1));
+		sb.append("]");
+		return sb.toString();
+	}
+}
@@ -92,12 +92,20 @@ public class StringArray extends Array<String> {
 
 	@Override
 	public void set(int rl, int ru, Array<String> value, int rlSrc) {
-		System.arraycopy(((StringArray) value)._data, rlSrc, _data, rl, ru - rl + 1);
+		if(value instanceof StringArray)
+			System.arraycopy(((StringArray) value)._data, rlSrc, _data, rl, ru - rl + 1);
+		else // e.g., dictionary-encoded strings
+			for(int i = rl, j = rlSrc; i <= ru; i++, j++)
+				_data[i] = value.get(j);
 		materializedSize = -1;
 	}
 
 	@Override
 	public void setNz(int rl, int ru, Array<String> value) {
+		if(!(value instanceof StringArray)) {
+			setFromOtherTypeNz(rl, ru, value);
+			return;
+		}
 		String[] data2 = ((StringArray) value)._data;
 		for(int i = rl; i <= ru; i++)
 			if(data2[i] != null)
@@ -194,7 +202,7 @@ public class StringArray extends Array<String> {
 		return ValueType.STRING;
 	}
 
-	private static final ValueType getHighest(ValueType state, ValueType c) {
+	protected static final ValueType getHighest(ValueType state, ValueType c) {
 
 		switch(state) {
 			case FP32:
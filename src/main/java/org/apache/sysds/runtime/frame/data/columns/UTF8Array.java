@@ -0,0 +1,739 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.frame.data.columns;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+import org.apache.commons.lang.NotImplementedException;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory.FrameArrayType;
+import org.apache.sysds.runtime.frame.data.lib.FrameUtil;
+import org.apache.sysds.runtime.matrix.data.Pair;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderRecode;
+import org.apache.sysds.utils.MemoryEstimates;
+
+/**
+ * String array that stores all values as concatenated UTF-8 bytes with an offsets array and a validity bitmap (similar
+ * to the Arrow variable-size binary layout), instead of individual String objects. The bytes are kept in a heap or
+ * direct (off-heap) ByteBuffer, which avoids the per-string object overhead and GC pressure of large text columns, and
+ * allows serialization by copying the buffers without per-string encoding.
+ *
+ * The layout is optimized for writing rows in increasing order (e.g., readers, appends, and range copies), which
+ * appends to the end of the buffer. Already written rows are overwritten in place if the length of the UTF-8 encoding
+ * does not change. The first write that changes the length of an already written row (e.g., left indexing into a copy)
+ * falls back to a StringArray representation, instead of shifting all subsequent bytes on every such write. Writes to
+ * the buffers are synchronized, so concurrent writes to disjoint rows are safe as for the other arrays.
+ */
+public class UTF8Array extends Array<String> {
+
+	/** The UTF-8 bytes of all values in row order */
+	private ByteBuffer _data;
+	/** The start offsets of all values (of length capacity + 1), valid up to row _last + 1 */
+	private int[] _offsets;
+	/** The non-null rows */
+	private BitSet _valid;
+	/** The last written row, all subsequent rows are null */
+	private int _last;
+	/** If the bytes are allocated in a direct ByteBuffer */
+	private final boolean _offHeap;
+	/** The string representation after the first out-of-order write, null while the buffers are used */
+	private volatile StringArray _fallback;
+
+	/**
+	 * Allocate an array of the given size with all values null.
+	 *
+	 * @param size    The number of rows
+	 * @param offHeap If the bytes should be allocated off-heap in direct ByteBuffers
+	 */
+	public UTF8Array(int size, boolean offHeap) {
+		this(size, offHeap, allocate(initialCapacity(size), offHeap));
+	}
+
+	/**
+	 * Create an array with the values of the given strings.
+	 *
+	 * @param data    The strings
+	 * @param offHeap If the bytes should be allocated off-heap in direct ByteBuffers
+	 */
+	public UTF8Array(String[] data, boolean offHeap) {
+		this(data.length, offHeap);
+		for(int i = 0; i < data.length; i++)
+			set(i, data[i]);
+	}
+
+	private UTF8Array(int size, boolean offHeap, ByteBuffer data) {
+		super(size);
+		_data = data;
+		_offsets = new int[size + 1];
+		_valid = new BitSet(size);
+		_last = -1;
+		_offHeap = offHeap;
+	}
+
+	public boolean isOffHeap() {
+		return _offHeap;
+	}
+
+	/**
+	 * Get if the values are stored in the compact UTF-8 buffers, i.e., the array did not fall back to strings after an
+	 * out-of-order write.
+	 *
+	 * @return true if the values are stored as UTF-8 bytes
+	 */
+	public boolean isCompact() {
+		return _fallback == null;
+	}
+
+	/**
+	 * Get the length of the UTF-8 encoding of the given row.
+	 *
+	 * @param index The row index
+	 * @return The number of bytes, or -1 if the value is null
+	 */
+	public int getUTF8Length(int index) {
+		final StringArray fb = _fallback;
+		if(fb != null) {
+			final String v = fb.get(index);
+			return v != null ? v.getBytes(StandardCharsets.UTF_8).length : -1;
+		}
+		return _valid.get(index) ? end(index) - start(index) : -1;
+	}
+
+	/**
+	 * Copy the UTF-8 encoding of the given row into the given buffer, which avoids decoding the value into a String.
+	 *
+	 * @param index The row index
+	 * @param buff  The output buffer of at least getUTF8Length(index) bytes
+	 * @return The number of bytes, or -1 if the value is null
+	 */
+	public int getUTF8(int index, byte[] buff) {
+		final StringArray fb = _fallback;
+		if(fb != null) {
+			final String v = fb.get(index);
+			if(v == null)
+				return -1;
+			final byte[] b = v.getBytes(StandardCharsets.UTF_8);
+			System.arraycopy(b, 0, buff, 0, b.length);
+			return b.length;
+		}
+		if(!_valid.get(index))
+			return -1;
+		final int s = start(index);
+		final int len = end(index) - s;
+		copyTo(_data, s, buff, 0, len);
+		return len;
+	}
+
+	@Override
+	public String get(int index) {
+		if(index < 0 || index >= _size)
+			throw new ArrayIndexOutOfBoundsException(index);
+		final StringArray fb = _fallback;
+		if(fb != null)
+			return fb.get(index);
+		if(!_valid.get(index))
+			return null;
+		final int s = start(index);
+		final int len = end(index) - s;
+		if(_data.hasArray())
+			return new String(_data.array(), _data.arrayOffset() + s, len, StandardCharsets.UTF_8);
+		final byte[] tmp = new byte[len];
+		copyTo(_data, s, tmp, 0, len);
+		return new String(tmp, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public String[] get() {
+		final String[] ret = new String[_size];
+		for(int i = 0; i < _size; i++)
+			ret[i] = get(i);
+		return ret;
+	}
+
+	@Override
+	public double getAsDouble(int i) {
+		final String v = get(i);
+		return v != null && !v.isEmpty() ? DoubleArray.parseDouble(v) : 0.0;
+	}
+
+	@Override
+	public double getAsNaNDouble(int i) {
+		final String v = get(i);
+		return v != null && !v.isEmpty() ? DoubleArray.parseDouble(v) : Double.NaN;
+	}
+
+	@Override
+	public void set(int index, String value) {
+		final StringArray fb = _fallback;
+		if(fb != null)
+			fb.set(index, value);
+		else if(value == null)
+			set(index, null, 0, false);
+		else {
+			final byte[] b = value.getBytes(StandardCharsets.UTF_8);
+			set(index, b, b.length, true);
+		}
+	}
+
+	@Override
+	public void set(int index, double value) {
+		set(index, Double.toString(value));
+	}
+
+	@Override
+	public void set(int rl, int ru, Array<String> value) {
+		set(rl, ru, value, 0);
+	}
+
+	@Override
+	public void set(int rl, int ru, Array<String> value, int rlSrc) {
+		if(value instanceof UTF8Array && tryAppendRange(rl, ru, (UTF8Array) value, rlSrc))
+			return;
+		for(int i = rl, j = rlSrc; i <= ru; i++, j++)
+			set(i, value.get(j));
+	}
+
+	@Override
+	public void setFromOtherType(int rl, int ru, Array<?> value) {
+		for(int i = rl; i <= ru; i++) {
+			final Object v = value.get(i);
+			set(i, (v != null) ? v.toString() : null);
+		}
+	}
+
+	@Override
+	public void setNz(int rl, int ru, Array<String> value) {
+		for(int i = rl; i <= ru; i++) {
+			final String v = value.get(i);
+			if(v != null)
+				set(i, v);
+		}
+	}
+
+	@Override
+	public void setFromOtherTypeNz(int rl, int ru, Array<?> value) {
+		for(int i = rl; i <= ru; i++) {
+			final Object v = value.get(i);
+			if(v != null)
+				set(i, v.toString());
+		}
+	}
+
+	@Override
+	public synchronized void append(String value) {
+		if(_fallback != null) {
+			_fallback.append(value);
+			_size++;
+			return;
+		}
+		if(_size + 1 >= _offsets.length)
+			_offsets = Arrays.copyOf(_offsets, newSize() + 1);
+		set(_size++, value);
+	}
+
+	@Override
+	public Array<String> append(Array<String> other) {
+		final int endSize = _size + other.size();
+		final UTF8Array ret = new UTF8Array(endSize, _offHeap,
+			allocate(isCompact() ? used() : initialCapacity(endSize), _offHeap));
+		ret.set(0, _size - 1, this, 0);
+		ret.set(_size, endSize - 1, other, 0);
+		return ret;
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		final UTF8Array c = toCompact();
+		if(c != this) {
+			c.write(out);
+			return;
+		}
+		out.writeByte(FrameArrayType.UTF8.ordinal());
+		out.writeBoolean(_offHeap);
+		out.writeInt(_last);
+		final long[] valid = _valid.toLongArray();
+		out.writeInt(valid.length);
+		for(long v : valid)
+			out.writeLong(v);
+		for(int i = 0; i <= _last + 1; i++)
+			out.writeInt(_offsets[i]);
+		// raw bytes without re-encoding
+		final int used = used();
+		if(_data.hasArray())
+			out.write(_data.array(), _data.arrayOffset(), used);
+		else {
+			final byte[] tmp = new byte[Math.min(used, 65536)];
+			for(int pos = 0; pos < used; pos += tmp.length) {
+				final int len = Math.min(tmp.length, used - pos);
+				copyTo(_data, pos, tmp, 0, len);
+				out.write(tmp, 0, len);
+			}
+		}
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		throw new DMLRuntimeException("Should not be called");
+	}
+
+	protected static UTF8Array read(DataInput in, int nRow) throws IOException {
+		final boolean offHeap = in.readBoolean();
+		final int last = in.readInt();
+		final long[] valid = new long[in.readInt()];
+		for(int i = 0; i < valid.length; i++)
+			valid[i] = in.readLong();
+		final int[] offsets = new int[nRow + 1];
+		for(int i = 0; i <= last + 1; i++)
+			offsets[i] = in.readInt();
+		final int used = offsets[last + 1];
+		final ByteBuffer data = allocate(used, offHeap);
+		if(data.hasArray())
+			in.readFully(data.array(), data.arrayOffset(), used);
+		else {
+			final byte[] tmp = new byte[Math.min(used, 65536)];
+			for(int pos = 0; pos < used; pos += tmp.length) {
+				final int len = Math.min(tmp.length, used - pos);
+				in.readFully(tmp, 0, len);
+				copyFrom(tmp, 0, data, pos, len);
+			}
+		}
+		final UTF8Array ret = new UTF8Array(nRow, offHeap, data);
+		ret._offsets = offsets;
+		ret._valid = BitSet.valueOf(valid);
+		ret._last = last;
+		return ret;
+	}
+
+	@Override
+	public Array<String> clone() {
+		final UTF8Array c = toCompact();
+		if(c != this)
+			return c;
+		final UTF8Array ret = new UTF8Array(_size, _offHeap, allocate(used(), _offHeap));
+		ret.appendRange(0, _size - 1, this, 0);
+		return ret;
+	}
+
+	@Override
+	public Array<String> slice(int rl, int ru) {
+		final StringArray fb = _fallback;
+		if(fb != null) {
+			final UTF8Array ret = new UTF8Array(ru - rl, _offHeap);
+			for(int i = rl; i < ru; i++)
+				ret.set(i - rl, fb.get(i));
+			return ret;
+		}
+		final UTF8Array ret = new UTF8Array(ru - rl, _offHeap, allocate(start(ru) - start(rl), _offHeap));
+		ret.appendRange(0, ru - rl - 1, this, rl);
+		return ret;
+	}
+
+	@Override
+	public synchronized void reset(int size) {
+		_fallback = null;
+		_data = allocate(initialCapacity(size), _offHeap);
+		_offsets = new int[size + 1];
+		_valid = new BitSet(size);
+		_last = -1;
+		_size = size;
+	}
+
+	@Override
+	public byte[] getAsByteArray() {
+		throw new NotImplementedException("Not Implemented getAsByte for string");
+	}
+
+	@Override
+	public ValueType getValueType() {
+		return ValueType.STRING;
+	}
+
+	@Override
+	public Pair<ValueType, Boolean> analyzeValueType() {
+		ValueType state = ValueType.UNKNOWN;
+		boolean nulls = false;
+		for(int i = 0; i < _size; i++) {
+			final ValueType c = FrameUtil.isType(get(i), state);
+			if(c == ValueType.STRING) // early termination
+				return new Pair<>(ValueType.STRING, false);
+			else if(c == ValueType.UNKNOWN)
+				nulls = true;
+			else
+				state = StringArray.getHighest(state, c);
+		}
+		return new Pair<>(state, nulls);
+	}
+
+	@Override
+	public FrameArrayType getFrameArrayType() {
+		return FrameArrayType.UTF8;
+	}
+
+	@Override
+	public ABooleanArray getNulls() {
+		final StringArray fb = _fallback;
+		if(fb != null)
+			return fb.getNulls();
+		final ABooleanArray n = ArrayFactory.allocateBoolean(_size);
+		for(int i = _valid.nextSetBit(0); i >= 0 && i < _size; i = _valid.nextSetBit(i + 1))
+			n.set(i, true);
+		return n;
+	}
+
+	@Override
+	public boolean containsNull() {
+		final StringArray fb = _fallback;
+		if(fb != null)
+			return fb.containsNull();
+		return _valid.cardinality() < _size;
+	}
+
+	@Override
+	public long getInMemorySize() {
+		long size = baseMemoryCost() + 8 + 8 + 8 + 4 + 1 + 8;
+		final StringArray fb = _fallback;
+		if(fb != null)
+			return size + fb.getInMemorySize();
+		size += MemoryEstimates.intArrayCost(_offsets.length);
+		size += MemoryEstimates.bitSetCost(_size);
+		// off-heap bytes are included to account for them in the memory budget
+		size += _data.capacity() + (_offHeap ? 64 : 16);
+		return size;
+	}
+
+	/**
+	 * Get an estimate of the in-memory size of an array, assuming strings of 12 characters as for string arrays and a
+	 * buffer that grew by doubling.
+	 *
+	 * @param nRow The number of rows
+	 * @return The estimated size in memory
+	 */
+	public static long estimateInMemorySize(int nRow) {
+		long size = baseMemoryCost() + 8 + 8 + 8 + 4 + 1 + 8;
+		size += MemoryEstimates.intArrayCost(nRow + 1);
+		size += MemoryEstimates.bitSetCost(nRow);
+		size += Math.max(initialCapacity(nRow), 24L * nRow) + 64;
+		return size;
+	}
+
+	@Override
+	public long getExactSerializedSize() {
+		final UTF8Array c = toCompact();
+		if(c != this)
+			return c.getExactSerializedSize();
+		return 1 + 1 + 4 + 4 + 8L * _valid.toLongArray().length + 4L * (_last + 2) + used();
+	}
+
+	@Override
+	protected Array<Boolean> changeTypeBitSet() {
+		return toStringArray().changeTypeBitSet();
+	}
+
+	@Override
+	protected Array<Boolean> changeTypeBoolean() {
+		return toStringArray().changeTypeBoolean();
+	}
+
+	@Override
+	protected Array<Double> changeTypeDouble() {
+		final double[] ret = new double[_size];
+		for(int i = 0; i < _size; i++)
+			ret[i] = getAsDouble(i);
+		return new DoubleArray(ret);
+	}
+
+	@Override
+	protected Array<Float> changeTypeFloat() {
+		return toStringArray().changeTypeFloat();
+	}
+
+	@Override
+	protected Array<Integer> changeTypeInteger() {
+		return toStringArray().changeTypeInteger();
+	}
+
+	@Override
+	protected Array<Long> changeTypeLong() {
+		return toStringArray().changeTypeLong();
+	}
+
+	@Override
+	protected Array<String> changeTypeString() {
+		return this;
+	}
+
+	@Override
+	protected Array<Character> changeTypeCharacter() {
+		return toStringArray().changeTypeCharacter();
+	}
+
+	@Override
+	public Pair<Integer, Integer> getMinMaxLength() {
+		final StringArray fb = _fallback;
+		if(fb != null)
+			return fb.getMinMaxLength();
+		int minLength = Integer.MAX_VALUE;
+		int maxLength = 0;
+		for(int i = 0; i < _size; i++) {
+			if(!_valid.get(i))
+				continue;
+			final int l = isASCII(i) ? end(i) - start(i) : get(i).length();
+			minLength = minLength < l ? minLength : l;
+			maxLength = maxLength > l ? maxLength : l;
+		}
+		return new Pair<>(minLength, maxLength);
+	}
+
+	@Override
+	public void fill(String val) {
+		reset(_size);
+		if(val == null)
+			return;
+		final byte[] b = val.getBytes(StandardCharsets.UTF_8);
+		for(int i = 0; i < _size; i++)
+			set(i, b, b.length, true);
+	}
+
+	@Override
+	public boolean isShallowSerialize() {
+		// the compact buffers are kept as is without per-string objects
+		final StringArray fb = _fallback;
+		return fb == null || fb.isShallowSerialize();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for(int i = 0; i < _size; i++)
+			if(isNotEmpty(i))
+				return false;
+		return true;
+	}
+
+	@Override
+	public Array<String> select(int[] indices) {
+		final UTF8Array ret = new UTF8Array(indices.length, _offHeap);
+		for(int i = 0; i < indices.length; i++)
+			ret.set(i, i, this, indices[i]);
+		return ret;
+	}
+
+	@Override
+	public Array<String> select(boolean[] select, int nTrue) {
+		final UTF8Array ret = new UTF8Array(nTrue, _offHeap);
+		int k = 0;
+		for(int i = 0; i < select.length; i++)
+			if(select[i])
+				ret.set(k, k++, this, i);
+		return ret;
+	}
+
+	@Override
+	public boolean isNotEmpty(int i) {
+		final StringArray fb = _fallback;
+		if(fb != null)
+			return fb.isNotEmpty(i);
+		if(!_valid.get(i))
+			return false;
+		// not equal to "0"
+		final int s = start(i);
+		return end(i) - s != 1 || _data.get(s) != '0';
+	}
+
+	@Override
+	protected HashMap<String, Long> createRecodeMap() {
+		try {
+			// metadata frames of recode maps (token and code)
+			HashMap<String, Long> map = new HashMap<>();
+			for(int i = 0; i < size(); i++) {
+				String val = get(i);
+				if(val != null) {
+					String[] tmp = ColumnEncoderRecode.splitRecodeMapEntry(val);
+					map.put(tmp[0], Long.parseLong(tmp[1]));
+				}
+				else // once we hit null return.
+					break;
+			}
+			return map;
+		}
+		catch(Exception e) {
+			return super.createRecodeMap();
+		}
+	}
+
+	private synchronized void set(int index, byte[] b, int len, boolean valid) {
+		if(_fallback != null) {
+			_fallback.set(index, valid ? new String(b, 0, len, StandardCharsets.UTF_8) : null);
+			return;
+		}
+		if(index > _last) {
+			// append after the last written row, with null rows in between
+			final int used = used();
+			ensureCapacity(len);
+			Arrays.fill(_offsets, _last + 2, index + 1, used);
+			copyFrom(b, 0, _data, used, len);
+			_offsets[index + 1] = used + len;
+			_last = index;
+		}
+		else {
+			final int s = _offsets[index];
+			if(len != _offsets[index + 1] - s) {
+				// fall back to strings instead of shifting the bytes of all subsequent rows
+				toFallback().set(index, valid ? new String(b, 0, len, StandardCharsets.UTF_8) : null);
+				return;
+			}
+			copyFrom(b, 0, _data, s, len);
+		}
+		_valid.set(index, valid);
+	}
+
+	private synchronized boolean tryAppendRange(int rl, int ru, UTF8Array src, int rlSrc) {
+		if(_fallback != null || src._fallback != null || rl <= _last)
+			return false;
+		appendRange(rl, ru, src, rlSrc);
+		return true;
+	}
+
+	private StringArray toFallback() {
+		final String[] vals = new String[_size];
+		for(int i = 0; i < _size; i++)
+			vals[i] = get(i);
+		_fallback = new StringArray(vals);
+		// release the buffers
+		_data = null;
+		_offsets = null;
+		_valid = null;
+		return _fallback;
+	}
+
+	private StringArray toStringArray() {
+		final StringArray fb = _fallback;
+		return fb != null ? fb : new StringArray(get());
+	}
+
+	private UTF8Array toCompact() {
+		final StringArray fb = _fallback;
+		if(fb == null)
+			return this;
+		final UTF8Array ret = new UTF8Array(_size, _offHeap);
+		for(int i = 0; i < _size; i++)
+			ret.set(i, fb.get(i));
+		return ret;
+	}
+
+	/**
+	 * Copy rows [rlSrc, rlSrc + ru - rl] of the source into rows [rl, ru] of this array by copying the bytes at once,
+	 * which requires that no row after rl - 1 is written yet.
+	 */
+	private synchronized void appendRange(int rl, int ru, UTF8Array src, int rlSrc) {
+		if(ru < rl)
+			return;
+		final int used = used();
+		final int s = src.start(rlSrc);
+		final int len = src.start(rlSrc + ru - rl + 1) - s;
+		ensureCapacity(len);
+		Arrays.fill(_offsets, _last + 2, rl + 1, used);
+		copy(src._data, s, _data, used, len);
+		for(int i = rl, j = rlSrc; i <= ru; i++, j++) {
+			_offsets[i + 1] = used + src.start(j + 1) - s;
+			_valid.set(i, src._valid.get(j));
+		}
+		_last = ru;
+	}
+
+	private int start(int index) {
+		return _offsets[Math.min(index, _last + 1)];
+	}
+
+	private int end(int index) {
+		return _offsets[Math.min(index + 1, _last + 1)];
+	}
+
+	private int used() {
+		return _offsets[_last + 1];
+	}
+
+	private boolean isASCII(int index) {
+		for(int i = start(index); i < end(index); i++)
+			if(_data.get(i) < 0)
+				return false;
+		return true;
+	}
+
+	private void ensureCapacity(int len) {
+		final long need = (long) used() + len;
+		if(need <= _data.capacity())
+			return;
+		if(need > Integer.MAX_VALUE - 8)
+			throw new DMLRuntimeException("UTF-8 string column exceeds the maximum size of 2GB: " + need);
+		final int newCap = (int) Math.min(Math.max(need, 2L * _data.capacity()), Integer.MAX_VALUE - 8);
+		final ByteBuffer tmp = allocate(newCap, _offHeap);
+		copy(_data, 0, tmp, 0, used());
+		_data = tmp;
+	}
+
+	private static int initialCapacity(int size) {
+		// estimate of 8 bytes per value, larger columns grow on demand
+		return (int) Math.min(Math.max(size, 16) * 8L, 1 << 26);
+	}
+
+	private static ByteBuffer allocate(int size, boolean offHeap) {
+		return offHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+	}
+
+	private static void copy(ByteBuffer src, int srcPos, ByteBuffer dst, int dstPos, int len) {
+		final ByteBuffer s = src.duplicate();
+		s.position(srcPos);
+		s.limit(srcPos + len);
+		final ByteBuffer d = dst.duplicate();
+		d.position(dstPos);
+		d.put(s);
+	}
+
+	private static void copyTo(ByteBuffer src, int srcPos, byte[] dst, int dstPos, int len) {
+		final ByteBuffer s = src.duplicate();
+		s.position(srcPos);
+		s.get(dst, dstPos, len);
+	}
+
+	private static void copyFrom(byte[] src, int srcPos, ByteBuffer dst, int dstPos, int len) {
+		final ByteBuffer d = dst.duplicate();
+		d.position(dstPos);
+		d.put(src, srcPos, len);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(_size * 5 + 2);
+		sb.append(super.toString() + ":[");
+		for(int i = 0; i < _size - 1; i++)
+			sb.append(get(i) + ",");
+		sb.append(get(_size - 1));
+		sb.append("]");
+		return sb.toString();
+	}
+}
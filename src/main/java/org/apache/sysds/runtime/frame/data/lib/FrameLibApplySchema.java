@@ -26,10 +26,12 @@ import java.util.stream.IntStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.frame.data.columns.Array;
 import org.apache.sysds.runtime.frame.data.columns.ColumnMetadata;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 
 public class FrameLibApplySchema {
@@ -123,6 +125,7 @@ public class FrameLibApplySchema {
 			apply(i);
 	}
 
+	@SuppressWarnings("unchecked")
 	private void apply(int i) {
 		if(nulls != null)
 			columnsOut[i] = nulls[i] ? //
@@ -131,6 +134,9 @@ public class FrameLibApplySchema {
 		else
 			columnsOut[i] = columnsIn[i].changeType(schema[i]);
 
+		// dictionary encode low-cardinality string columns
+		if(schema[i] == ValueType.STRING && ConfigurationManager.isFrameDictionaryEncoding())
+			columnsOut[i] = DDCArray.compressToDDC((Array<String>) columnsOut[i]);
 	}
 
 	private void applyMultiThread() {
@@ -18,11 +18,20 @@
  */
 package org.apache.sysds.runtime.frame.data.lib;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.workload.WTreeRoot;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
 import org.apache.sysds.runtime.frame.data.compress.FrameCompressionStatistics;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 
 public class FrameLibCompress {
 
@@ -30,7 +39,52 @@ public class FrameLibCompress {
 		return compress(in, k, null);
 	}
 
+	/**
+	 * Compress the given frame block by dictionary encoding all string columns with few distinct values. Columns with
+	 * too many distinct values are kept as is.
+	 *
+	 * @param in   The frame block to compress
+	 * @param k    The parallelization degree
+	 * @param root The workload tree (currently unused)
+	 * @return The compressed frame block (or the input if no column was compressed) and statistics
+	 */
 	public static Pair<FrameBlock, FrameCompressionStatistics> compress(FrameBlock in, int k, WTreeRoot root) {
-		return new ImmutablePair<>(in, new FrameCompressionStatistics());
+		final int nCol = in.getNumColumns();
+		final ValueType[] schema = in.getSchema();
+		final Array<?>[] columnsIn = in.getColumns();
+		if(columnsIn == null || in.getNumRows() == 0)
+			return new ImmutablePair<>(in, new FrameCompressionStatistics());
+
+		final Array<?>[] columnsOut = new Array<?>[nCol];
+		if(k <= 1 || nCol == 1)
+			for(int i = 0; i < nCol; i++)
+				columnsOut[i] = compressColumn(columnsIn[i], schema[i]);
+		else {
+			final ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				pool.submit(() -> IntStream.range(0, nCol).parallel() // parallel columns
+					.forEach(i -> columnsOut[i] = compressColumn(columnsIn[i], schema[i]))).get();
+			}
+			catch(InterruptedException | ExecutionException e) {
+				throw new DMLRuntimeException("Failed to compress frame columns", e);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+
+		boolean changed = false;
+		for(int i = 0; i < nCol; i++)
+			changed |= columnsOut[i] != columnsIn[i];
+		final FrameBlock ret = changed ? new FrameBlock(schema, in.getColumnNames(false), in.getColumnMetadata(),
+			columnsOut) : in;
+		return new ImmutablePair<>(ret, new FrameCompressionStatistics());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Array<?> compressColumn(Array<?> a, ValueType vt) {
+		if(vt != ValueType.STRING || a == null)
+			return a;
+		return DDCArray.compressToDDC((Array<String>) a);
 	}
 }
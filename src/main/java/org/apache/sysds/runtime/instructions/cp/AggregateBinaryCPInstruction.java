@@ -23,6 +23,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixFP32;
 import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
@@ -86,15 +87,21 @@ public class AggregateBinaryCPInstruction extends BinaryCPInstruction {
 	}
 
 	private void processNormal(ExecutionContext ec) {
-		// get inputs
-		MatrixBlock matBlock1 = ec.getMatrixInput(input1.getName());
-		MatrixBlock matBlock2 = ec.getMatrixInput(input2.getName());
+		// get inputs (single-precision if stored as such)
+		MatrixBlock matBlock1 = ec.getMatrixInput(input1.getName(), true);
+		MatrixBlock matBlock2 = ec.getMatrixInput(input2.getName(), true);
 
 		// compute matrix multiplication
 		AggregateBinaryOperator ab_op = (AggregateBinaryOperator) _optr;
 		MatrixBlock ret;
 
-		ret = matBlock1.aggregateBinaryOperations(matBlock1, matBlock2, new MatrixBlock(), ab_op);
+		if(LibMatrixFP32.isSupportedMatrixMult(matBlock1, matBlock2))
+			ret = LibMatrixFP32.matrixMult(matBlock1, matBlock2, ab_op.getNumThreads());
+		else {
+			matBlock1 = LibMatrixFP32.toFP64(matBlock1);
+			matBlock2 = LibMatrixFP32.toFP64(matBlock2);
+			ret = matBlock1.aggregateBinaryOperations(matBlock1, matBlock2, new MatrixBlock(), ab_op);
+		}
 
 		// release inputs/outputs
 		ec.releaseMatrixInput(input1.getName());
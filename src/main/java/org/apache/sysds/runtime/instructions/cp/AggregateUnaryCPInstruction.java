@@ -32,6 +32,7 @@ import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.lineage.LineageDedupUtils;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
+import org.apache.sysds.runtime.matrix.data.LibMatrixFP32;
 import org.apache.sysds.runtime.matrix.data.LibMatrixSketch;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
@@ -238,10 +239,12 @@ public class AggregateUnaryCPInstruction extends UnaryCPInstruction {
 			default: {
 				AggregateUnaryOperator au_op = (AggregateUnaryOperator) _optr;
 				if (input1.getDataType() == DataType.MATRIX) {
-					MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
+					MatrixBlock matBlock = ec.getMatrixInput(input1.getName(), true);
 					
-					MatrixBlock resultBlock = matBlock.aggregateUnaryOperations(au_op, new MatrixBlock(),
-						matBlock.getNumRows(), new MatrixIndexes(1, 1), true);
+					MatrixBlock resultBlock = LibMatrixFP32.isSupportedAggregate(matBlock, au_op) ?
+						LibMatrixFP32.aggregateUnaryOperations(matBlock, au_op) :
+						LibMatrixFP32.toFP64(matBlock).aggregateUnaryOperations(au_op, new MatrixBlock(),
+							matBlock.getNumRows(), new MatrixIndexes(1, 1), true);
 
 					ec.releaseMatrixInput(input1.getName());
 					if (output.getDataType() == DataType.SCALAR) {
@@ -23,6 +23,7 @@ import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.matrix.data.LibCommonsMath;
+import org.apache.sysds.runtime.matrix.data.LibMatrixFP32;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.Operator;
@@ -40,9 +41,19 @@ public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
 
 	@Override
 	public void processInstruction(ExecutionContext ec) {
-		// Read input matrices
-		MatrixBlock inBlock1 = ec.getMatrixInput(input1.getName());
-		MatrixBlock inBlock2 = ec.getMatrixInput(input2.getName());
+		// Read input matrices (single-precision if stored as such)
+		MatrixBlock inBlock1 = ec.getMatrixInput(input1.getName(), true);
+		MatrixBlock inBlock2 = ec.getMatrixInput(input2.getName(), true);
+
+		if(LibMatrixFP32.isSupportedBinary(inBlock1, inBlock2)
+			&& !LibCommonsMath.isSupportedMatrixMatrixOperation(getOpcode())) {
+			MatrixBlock retBlock = LibMatrixFP32.binaryOperations(inBlock1, inBlock2, (BinaryOperator) _optr);
+			ec.releaseMatrixInput(input1.getName(), input2.getName());
+			ec.setMatrixOutput(output.getName(), retBlock);
+			return;
+		}
+		inBlock1 = LibMatrixFP32.toFP64(inBlock1);
+		inBlock2 = LibMatrixFP32.toFP64(inBlock2);
 
 		boolean compressedLeft = inBlock1 instanceof CompressedMatrixBlock;
 		boolean compressedRight = inBlock2 instanceof CompressedMatrixBlock;
@@ -31,6 +31,7 @@ import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.matrix.data.DnnParameters;
 import org.apache.sysds.runtime.matrix.data.LibMatrixDNN;
 import org.apache.sysds.runtime.matrix.data.LibMatrixDNN.PoolingType;
+import org.apache.sysds.runtime.matrix.data.LibMatrixFP32;
 import org.apache.sysds.runtime.matrix.data.LibMatrixNative;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.DnnUtils;
@@ -433,7 +434,9 @@ public class DnnCPInstruction extends UnaryCPInstruction {
 		
 		// acquire inputs
 		MatrixBlock outputBlock = null;
-		MatrixBlock matBlock = instOpcode.equalsIgnoreCase("avgpooling_backward") ? null : ec.getMatrixInput(input1.getName());
+		// (single-precision input images of conv2d are consumed as is)
+		boolean fp32 = instOpcode.equalsIgnoreCase("conv2d") || instOpcode.equalsIgnoreCase("conv2d_bias_add");
+		MatrixBlock matBlock = instOpcode.equalsIgnoreCase("avgpooling_backward") ? null : ec.getMatrixInput(input1.getName(), fp32);
 		int pad_h = getScalarInput(ec, _padding, 0);
 		int pad_w = getScalarInput(ec, _padding, 1);
 		int stride_h = getScalarInput(ec, _stride, 0);
@@ -486,11 +489,16 @@ public class DnnCPInstruction extends UnaryCPInstruction {
 		}
 		else if (instOpcode.equalsIgnoreCase("conv2d")) {
 			resetNumThreads(params, C*R*S, P*Q, matBlock.getNonZeros() / (matBlock.getNumRows()*matBlock.getNumColumns()));
-			MatrixBlock filter = ec.getMatrixInput(_in2.getName());
+			MatrixBlock filter = ec.getMatrixInput(_in2.getName(), true);
 			if(filter.isEmpty() || matBlock.isEmpty()) {
 				outputBlock = new MatrixBlock(N, K*P*Q, true);
 			}
+			else if(LibMatrixFP32.isSupportedConv2d(matBlock, filter, params)) {
+				outputBlock = LibMatrixFP32.conv2d(matBlock, filter, null, params);
+			}
 			else {
+				matBlock = LibMatrixFP32.toFP64(matBlock);
+				filter = LibMatrixFP32.toFP64(filter);
 				boolean sparse = matBlock.isUltraSparse(false) && params.bias == null
 					&& matBlock.getInMemorySize() < MatrixBlock.estimateSizeDenseInMemory(N, K*P*Q);
 				outputBlock = new MatrixBlock(N, K*P*Q, sparse).allocateBlock();
@@ -506,7 +514,7 @@ public class DnnCPInstruction extends UnaryCPInstruction {
 		}
 		else if (instOpcode.equalsIgnoreCase("conv2d_bias_add")) {
 			resetNumThreads(params, C*R*S, P*Q, matBlock.getNonZeros() / (matBlock.getNumRows()*matBlock.getNumColumns()));
-			MatrixBlock filter = ec.getMatrixInput(_in3.getName());
+			MatrixBlock filter = ec.getMatrixInput(_in3.getName(), true);
 			MatrixBlock bias = ec.getMatrixInput(_in2.getName());
 			if(bias.getNumRows() != params.K || bias.getNumColumns() != 1) {
 				throw new DMLRuntimeException("Incorrect shape of bias matrix: [" + bias.getNumRows() + " " + bias.getNumColumns() + "]. "
@@ -525,7 +533,12 @@ public class DnnCPInstruction extends UnaryCPInstruction {
 					DnnUtils.fillBias(bias, outputBlock.getDenseBlockValues(),
 						n, n+1, params.N, params.K, params.P*params.Q);
 			}
+			else if(LibMatrixFP32.isSupportedConv2d(matBlock, filter, params)) {
+				outputBlock = LibMatrixFP32.conv2d(matBlock, filter, bias, params);
+			}
 			else {
+				matBlock = LibMatrixFP32.toFP64(matBlock);
+				filter = LibMatrixFP32.toFP64(filter);
 				outputBlock = new MatrixBlock(N, K*P*Q, false).allocateBlock();
 				if(!bias.isEmpty()) {
 					// Handle situation where both input and filter are non empty, but bias is empty
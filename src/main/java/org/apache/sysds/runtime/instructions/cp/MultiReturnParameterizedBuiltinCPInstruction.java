@@ -23,10 +23,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
@@ -34,15 +39,24 @@ import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.transform.encode.EncoderFactory;
 import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.StreamingEncode;
+import org.apache.sysds.utils.stats.TransformStatistics;
 
 public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPInstruction {
 	protected final ArrayList<CPOperand> _outputs;
 
 	private MultiReturnParameterizedBuiltinCPInstruction(Operator op, CPOperand input1, CPOperand input2,
 		ArrayList<CPOperand> outputs, String opcode, String istr) {
-		super(CPType.MultiReturnBuiltin, op, input1, input2, outputs.get(0), opcode, istr);
+		this(op, input1, input2, null, outputs, opcode, istr);
+	}
+
+	private MultiReturnParameterizedBuiltinCPInstruction(Operator op, CPOperand input1, CPOperand input2,
+		CPOperand input3, ArrayList<CPOperand> outputs, String opcode, String istr) {
+		super(CPType.MultiReturnBuiltin, op, input1, input2, input3, outputs.get(0), opcode, istr);
 		_outputs = outputs;
 	}
 
@@ -64,12 +78,14 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 		String opcode = parts[0];
 
 		if(opcode.equalsIgnoreCase("transformencode")) {
-			// one input and two outputs
+			// two inputs (or three with existing metadata) and two outputs
 			CPOperand in1 = new CPOperand(parts[1]);
 			CPOperand in2 = new CPOperand(parts[2]);
-			outputs.add(new CPOperand(parts[3], ValueType.FP64, DataType.MATRIX));
-			outputs.add(new CPOperand(parts[4], ValueType.STRING, DataType.FRAME));
-			return new MultiReturnParameterizedBuiltinCPInstruction(null, in1, in2, outputs, opcode, str);
+			CPOperand in3 = (parts.length > 5) ? new CPOperand(parts[3]) : null;
+			int pos = (in3 != null) ? 4 : 3;
+			outputs.add(new CPOperand(parts[pos], ValueType.FP64, DataType.MATRIX));
+			outputs.add(new CPOperand(parts[pos + 1], ValueType.STRING, DataType.FRAME));
+			return new MultiReturnParameterizedBuiltinCPInstruction(null, in1, in2, in3, outputs, opcode, str);
 		}
 		else {
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + opcode);
@@ -79,9 +95,19 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 
 	@Override
 	public void processInstruction(ExecutionContext ec) {
+		String spec = ec.getScalarInput(input2).getStringValue();
+		if(input3 != null) {
+			processIncrementalInstruction(ec, spec);
+			return;
+		}
+		FrameObject fo = ec.getFrameObject(input1);
+		if(StreamingEncode.isApplicable(fo, spec)) {
+			processStreamingInstruction(ec, fo, spec);
+			return;
+		}
+
 		// obtain and pin input frame
 		FrameBlock fin = ec.getFrameInput(input1.getName());
-		String spec = ec.getScalarInput(input2).getStringValue();
 		String[] colnames = fin.getColumnNames();
 
 		// execute block transform encode
@@ -98,6 +124,40 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 		ec.setFrameOutput(getOutput(1).getName(), meta);
 	}
 
+	private void processIncrementalInstruction(ExecutionContext ec, String spec) {
+		// obtain and pin input frame and existing metadata
+		FrameBlock fin = ec.getFrameInput(input1.getName());
+		FrameBlock min = ec.getFrameInput(input3.getName());
+		String[] colnames = fin.getColumnNames();
+
+		// extend the existing metadata by unseen categories and apply
+		int k = OptimizerUtils.getTransformNumThreads();
+		MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, colnames, fin.getNumColumns(), min);
+		encoder.extendMetaData(fin);
+		MatrixBlock data = encoder.apply(fin, k);
+		FrameBlock meta = encoder.getMetaData(new FrameBlock(fin.getNumColumns(), ValueType.STRING), k);
+		meta.setColumnNames(colnames);
+
+		// release inputs and outputs
+		ec.releaseFrameInput(input1.getName());
+		ec.releaseFrameInput(input3.getName());
+		ec.setMatrixOutput(getOutput(0).getName(), data);
+		ec.setFrameOutput(getOutput(1).getName(), meta);
+	}
+
+	private void processStreamingInstruction(ExecutionContext ec, FrameObject fo, String spec) {
+		// out-of-core build and apply over the input file, writing the output matrix directly to its file
+		MatrixObject mo = ec.getMatrixObject(getOutput(0));
+		StreamingEncode encode = new StreamingEncode(spec, ConfigurationManager.getBlocksize(),
+			OptimizerUtils.getTransformNumThreads());
+		DataCharacteristics dc = encode.encode(fo, mo.getFileName());
+		mo.setMetaData(new MetaDataFormat(dc, FileFormat.BINARY));
+		mo.setHDFSFileExists(true);
+		ec.setFrameOutput(getOutput(1).getName(), encode.getMetaData());
+		if(DMLScript.STATISTICS)
+			TransformStatistics.incStreamingEncodeCount();
+	}
+
 	@Override
 	public boolean hasSingleLineage() {
 		return false;
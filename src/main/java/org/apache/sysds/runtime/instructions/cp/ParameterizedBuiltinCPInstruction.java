@@ -40,6 +40,7 @@ import org.apache.sysds.runtime.functionobjects.ValueFunction;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 import org.apache.sysds.runtime.matrix.operators.SimpleOperator;
@@ -312,7 +313,17 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			// compute transformapply
 			MultiColumnEncoder encoder = EncoderFactory
 				.createEncoder(params.get("spec"), colNames, data.getNumColumns(), meta);
-			MatrixBlock mbout = encoder.apply(data, OptimizerUtils.getTransformNumThreads());
+			int k = OptimizerUtils.getTransformNumThreads();
+			MatrixBlock mbout;
+			if(params.containsKey("weights")) {
+				// fused transformapply and matrix multiplication (w/o encoded intermediate)
+				MatrixBlock weights = ec.getMatrixInput(params.get("weights"));
+				mbout = encoder.isApplyMatMultSupported() ? encoder.applyMatMult(data, weights, k) :
+					LibMatrixMult.matrixMult(encoder.apply(data, k), weights, k);
+				ec.releaseMatrixInput(params.get("weights"));
+			}
+			else
+				mbout = encoder.apply(data, k);
 
 			// release locks
 			ec.setMatrixOutput(output.getName(), mbout);
@@ -529,6 +540,11 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			CPOperand target = new CPOperand(params.get("target"), ValueType.FP64, DataType.FRAME);
 			CPOperand meta = getLiteral("meta", ValueType.UNKNOWN, DataType.FRAME);
 			CPOperand spec = getStringLiteral("spec");
+			if(params.containsKey("weights")) {
+				CPOperand weights = new CPOperand(params.get("weights"), ValueType.FP64, DataType.MATRIX);
+				return Pair.of(output.getName(),
+					new LineageItem(getOpcode(), LineageItemUtils.getLineage(ec, target, meta, spec, weights)));
+			}
 			return Pair.of(output.getName(),
 				new LineageItem(getOpcode(), LineageItemUtils.getLineage(ec, target, meta, spec)));
 		}
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.instructions.cp;
 
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.matrix.data.LibCommonsMath;
+import org.apache.sysds.runtime.matrix.data.LibMatrixFP32;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
@@ -32,15 +33,20 @@ public class UnaryMatrixCPInstruction extends UnaryCPInstruction {
 
 	@Override 
 	public void processInstruction(ExecutionContext ec) {
-		MatrixBlock inBlock = ec.getMatrixInput(input1.getName());
+		MatrixBlock inBlock = ec.getMatrixInput(input1.getName(), true);
 		MatrixBlock retBlock = null;
 		
-		if(LibCommonsMath.isSupportedUnaryOperation(getOpcode())) {
-			retBlock = LibCommonsMath.unaryOperations(inBlock, getOpcode());
+		if(LibMatrixFP32.isSupportedUnary(inBlock, (UnaryOperator) _optr)) {
+			retBlock = LibMatrixFP32.unaryOperations(inBlock, (UnaryOperator) _optr);
+			ec.releaseMatrixInput(input1.getName());
+		}
+		else if(LibCommonsMath.isSupportedUnaryOperation(getOpcode())) {
+			retBlock = LibCommonsMath.unaryOperations(LibMatrixFP32.toFP64(inBlock), getOpcode());
 			ec.releaseMatrixInput(input1.getName());
 		}
 		else {
 			UnaryOperator u_op = (UnaryOperator) _optr;
+			inBlock = LibMatrixFP32.toFP64(inBlock);
 			retBlock = inBlock.unaryOperations(u_op, new MatrixBlock());
 			ec.releaseMatrixInput(input1.getName());
 			// Ensure right dense/sparse output representation (guarded by released input memory)
@@ -50,6 +50,7 @@ import org.apache.sysds.runtime.io.FileFormatProperties;
 import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
 import org.apache.sysds.runtime.io.FileFormatPropertiesLIBSVM;
+import org.apache.sysds.runtime.io.FileFormatPropertiesParquet;
 import org.apache.sysds.runtime.io.ListReader;
 import org.apache.sysds.runtime.io.ListWriter;
 import org.apache.sysds.runtime.io.WriterHDF5;
@@ -353,6 +354,7 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 			// All write instructions have 3 parameters, except in case of delimited/csv/libsvm file.
 			// Write instructions for csv files also include three additional parameters (hasHeader, delimiter, sparse)
 			// Write instructions for libsvm files also include one additional parameters (sparse)
+			// Write instructions for parquet files also include one additional parameter (compression)
 			// TODO - replace hardcoded numbers with more sophisticated code
 			if ( parts.length != 6 && parts.length != 7 && parts.length != 9 )
 				throw new DMLRuntimeException("Invalid number of operands in write instruction: " + str);
@@ -405,6 +407,12 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				if(parts.length < 11 + extSchema)
 					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
 			}
+			else if(fmt.equalsIgnoreCase("parquet")) {
+				// 13 inputs: createvar corresponding to READ -- includes properties columns and filter
+				// 12 inputs: createvar corresponding to WRITE -- includes property compression
+				if(parts.length != 6 && (parts.length < 11 + extSchema || parts.length > 13 + extSchema))
+					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
+			}
 			else {
 				if ( parts.length != 6 && parts.length != 11+extSchema )
 					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
@@ -506,6 +514,22 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
 					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
 			}
+			else if(fmt.equalsIgnoreCase("parquet")) {
+				// 13 inputs: createvar corresponding to READ -- includes properties columns and filter
+				// 12 inputs: createvar corresponding to WRITE -- includes property compression
+				// (unspecified properties are given as '*', other createvar instructions use the defaults)
+				int curPos = 11;
+				FileFormatProperties fmtProperties = null;
+				if(parts.length == 13 + extSchema)
+					fmtProperties = FileFormatPropertiesParquet.createReadProperties(parts[curPos], parts[curPos + 1]);
+				else if(parts.length == 12 + extSchema)
+					fmtProperties = FileFormatPropertiesParquet.createWriteProperties(parts[curPos]);
+				else
+					fmtProperties = new FileFormatPropertiesParquet();
+
+				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
+					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
+			}
 			else {
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, updateType, schema, opcode, str);
 			}
@@ -579,6 +603,10 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				String datasetName = parts[4];
 				fprops = new FileFormatPropertiesHDF5(datasetName);
 			}
+			else if(in3.getName().equalsIgnoreCase("parquet") ){
+				fprops = FileFormatPropertiesParquet.createWriteProperties(parts[4]);
+				in4 = new CPOperand(parts[5]); // description
+			}
 			else {
 				fprops = new FileFormatProperties();
 				in4 = new CPOperand(parts[5]); // blocksize in empty description
@@ -1043,6 +1071,11 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				writeLIBSVMFile(ec, fname);
 			else if(fmt == FileFormat.HDF5)
 				writeHDF5File(ec, fname);
+			else if(fmt == FileFormat.PARQUET) {
+				// parquet properties (e.g., compression) of the write instruction
+				MatrixObject mo = ec.getMatrixObject(getInput1().getName());
+				mo.exportData(fname, fmtStr, _formatProperties);
+			}
 			else {
 				// Default behavior (text, binary)
 				MatrixObject mo = ec.getMatrixObject(getInput1().getName());
@@ -83,7 +83,8 @@ public class MultiReturnParameterizedBuiltinFEDInstruction extends ComputationFE
 
 	public static MultiReturnParameterizedBuiltinFEDInstruction parseInstruction(
 		MultiReturnParameterizedBuiltinCPInstruction inst, ExecutionContext ec) {
-		if(inst.getOpcode().equals("transformencode") && inst.input1.isFrame()) {
+		// incremental encode with existing metadata is executed in CP
+		if(inst.getOpcode().equals("transformencode") && inst.input1.isFrame() && inst.input3 == null) {
 			CacheableData<?> fo = ec.getCacheableData(inst.input1);
 			if(fo.isFederatedExcept(FType.BROADCAST))
 				return MultiReturnParameterizedBuiltinFEDInstruction.parseInstruction(inst);
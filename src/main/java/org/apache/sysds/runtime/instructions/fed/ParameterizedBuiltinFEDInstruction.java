@@ -39,6 +39,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.ParameterizedBuiltinOp;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.hops.fedplanner.FTypes.FType;
 import org.apache.sysds.lops.Lop;
@@ -146,7 +147,9 @@ public class ParameterizedBuiltinFEDInstruction extends ComputationFEDInstructio
 	public static ParameterizedBuiltinFEDInstruction parseInstruction(
 		ParameterizedBuiltinCPInstruction inst, ExecutionContext ec)
 	{
-		if(ArrayUtils.contains(PARAM_BUILTINS, inst.getOpcode()) && inst.getTarget(ec).isFederatedExcept(FType.BROADCAST))
+		//fused transformapply and matrix multiplication is not supported in federated backends
+		if(ArrayUtils.contains(PARAM_BUILTINS, inst.getOpcode()) && inst.getTarget(ec).isFederatedExcept(FType.BROADCAST)
+			&& !inst.getParameterMap().containsKey(ParameterizedBuiltinOp.TF_WEIGHTS))
 			return ParameterizedBuiltinFEDInstruction.parseInstruction(inst);
 		return null;
 	}
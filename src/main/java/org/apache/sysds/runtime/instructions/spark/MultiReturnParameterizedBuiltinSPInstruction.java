@@ -58,6 +58,7 @@ import org.apache.sysds.runtime.io.FrameReader;
 import org.apache.sysds.runtime.io.FrameReaderFactory;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.matrix.data.sketch.quantile.KLLSketch;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.transform.TfUtils;
@@ -270,14 +271,14 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 					raEncoders.forEach(columnEncoderRecode -> columnEncoderRecode.getCPRecodeMapsPartial().clear());
 			}
 
-			// output binning column min/max as columnID - min/max pairs
-			if(!baEncoders.isEmpty()) {
-				int[] colIDs = _encoder.getFromAllIntArray(ColumnEncoderBin.class, ColumnEncoder::getColID);
-				double[] colMins = _encoder.getFromAllDoubleArray(ColumnEncoderBin.class, ColumnEncoderBin::getColMins);
-				double[] colMaxs = _encoder.getFromAllDoubleArray(ColumnEncoderBin.class, ColumnEncoderBin::getColMaxs);
-				for(int j = 0; j < colIDs.length; j++) {
-					ret.add(new Tuple2<>(colIDs[j], String.valueOf(colMins[j])));
-					ret.add(new Tuple2<>(colIDs[j], String.valueOf(colMaxs[j])));
+			// output binning column min/max as columnID - min/max pairs,
+			// and equi-height quantile sketches as columnID - sketch pairs
+			for(ColumnEncoderBin baEncoder : baEncoders) {
+				if(baEncoder.getSketch() != null)
+					ret.add(new Tuple2<>(baEncoder.getColID(), baEncoder.getSketch()));
+				else {
+					ret.add(new Tuple2<>(baEncoder.getColID(), String.valueOf(baEncoder.getColMins())));
+					ret.add(new Tuple2<>(baEncoder.getColID(), String.valueOf(baEncoder.getColMaxs())));
 				}
 			}
 
@@ -338,9 +339,13 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 					assert baEncoder != null;
 					baEncoder.computeBins(min, max);
 				}
-				else //TODO: support equi-height
-					throw new DMLRuntimeException("Binning method "+baEncoder.getBinMethod().toString()
-						+" is not support for Spark");
+				else {
+					// merge partial quantile sketches of all partitions
+					KLLSketch sketch = ColumnEncoderBin.createSketch();
+					while(iter.hasNext())
+						sketch.merge((KLLSketch) iter.next());
+					baEncoder.computeEqualHeightBins(sketch);
+				}
 
 				double[] binMins = baEncoder.getBinMins();
 				double[] binMaxs = baEncoder.getBinMaxs();
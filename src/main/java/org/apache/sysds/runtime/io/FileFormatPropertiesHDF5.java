@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.io;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.util.IndexRange;
 
 import java.io.Serializable;
 
@@ -29,6 +30,8 @@ public class FileFormatPropertiesHDF5 extends FileFormatProperties implements Se
 	private static final long serialVersionUID = 8646275033790103030L;
 
 	private String datasetName;
+	// optional 0-based, inclusive row/column slice
+	private IndexRange slice;
 
 	public FileFormatPropertiesHDF5() {
 		this.datasetName = "systemdsh5";
@@ -38,13 +41,28 @@ public class FileFormatPropertiesHDF5 extends FileFormatProperties implements Se
 		this.datasetName = datasetName;
 	}
 
+	public FileFormatPropertiesHDF5(String datasetName, IndexRange slice) {
+		this.datasetName = datasetName;
+		this.slice = slice;
+	}
+
 	public String getDatasetName() {
 		return datasetName;
 	}
 
+	public IndexRange getSlice() {
+		return slice;
+	}
+
+	public boolean hasSlice() {
+		return slice != null;
+	}
+
 	@Override public String toString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(" datasetName " + datasetName);
+		if(slice != null)
+			sb.append(" slice " + slice);
 		return sb.toString();
 	}
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.io.parquet.ParquetFilter;
+
+public class FileFormatPropertiesParquet extends FileFormatProperties implements Serializable {
+	protected static final Log LOG = LogFactory.getLog(FileFormatPropertiesParquet.class.getName());
+	private static final long serialVersionUID = -2870393360885401604L;
+
+	public static final String DEFAULT_COMPRESSION = "snappy";
+	/** placeholder of unspecified parameters in instructions */
+	public static final String UNSPECIFIED = "*";
+
+	/** projected column names (null for all columns) */
+	private String[] columns;
+	/** compression codec of written column chunks */
+	private String compression;
+	/** row filter pushed down into the reads (null for all rows) */
+	private ParquetFilter filter;
+
+	public FileFormatPropertiesParquet() {
+		this(null, DEFAULT_COMPRESSION);
+	}
+
+	public FileFormatPropertiesParquet(String[] columns) {
+		this(columns, DEFAULT_COMPRESSION);
+	}
+
+	public FileFormatPropertiesParquet(String[] columns, String compression) {
+		this(columns, compression, null);
+	}
+
+	public FileFormatPropertiesParquet(String[] columns, String compression, ParquetFilter filter) {
+		this.columns = columns;
+		this.compression = compression;
+		this.filter = filter;
+	}
+
+	/**
+	 * Creates the properties of a parquet read from the instruction operands of the projected columns (comma
+	 * separated) and row filter, where unspecified parameters are given as '*'.
+	 *
+	 * @param columns projected column names, or '*'
+	 * @param filter  row filter expression, or '*'
+	 * @return parquet file format properties
+	 */
+	public static FileFormatPropertiesParquet createReadProperties(String columns, String filter) {
+		String[] lcolumns = isSpecified(columns) ? Arrays.stream(columns.split(","))
+			.map(String::trim).toArray(String[]::new) : null;
+		ParquetFilter lfilter = isSpecified(filter) ? ParquetFilter.parse(filter) : null;
+		return new FileFormatPropertiesParquet(lcolumns, DEFAULT_COMPRESSION, lfilter);
+	}
+
+	/**
+	 * Creates the properties of a parquet write from the instruction operand of the compression codec, where
+	 * an unspecified codec is given as '*'.
+	 *
+	 * @param compression compression codec name, or '*'
+	 * @return parquet file format properties
+	 */
+	public static FileFormatPropertiesParquet createWriteProperties(String compression) {
+		return new FileFormatPropertiesParquet(null, isSpecified(compression) ? compression : DEFAULT_COMPRESSION);
+	}
+
+	public String[] getColumns() {
+		return columns;
+	}
+
+	public boolean hasColumnProjection() {
+		return columns != null && columns.length > 0;
+	}
+
+	public String getCompression() {
+		return compression;
+	}
+
+	public ParquetFilter getFilter() {
+		return filter;
+	}
+
+	public boolean hasFilter() {
+		return filter != null;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(" columns " + (columns != null ? Arrays.toString(columns) : "*"));
+		sb.append(" compression " + compression);
+		sb.append(" filter " + (filter != null ? filter : "*"));
+		return sb.toString();
+	}
+
+	private static boolean isSpecified(String param) {
+		return param != null && !param.isEmpty() && !param.equals(UNSPECIFIED);
+	}
+}
@@ -30,6 +30,7 @@ import org.apache.hadoop.fs.Path;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteService;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.UtilFunctions;
@@ -72,6 +73,24 @@ public abstract class FrameReader {
 		return readFrameFromInputStream(is, getDefSchema(clen), getDefColNames(clen), rlen, clen);
 	}
 
+	/**
+	 * Reads the frame in row batches (e.g., file splits or blocks) and passes one batch at a time to the consumer. In
+	 * contrast to readFrameFromHDFS, the full frame is never materialized, which allows processing frames that exceed
+	 * the available memory.
+	 * 
+	 * @param fname    file name
+	 * @param schema   schema as array of ValueTypes
+	 * @param names    column names, or null for default names
+	 * @param clen     number of columns, or -1 if unknown
+	 * @param consumer consumer of row batches
+	 * @throws IOException         if IOException occurs
+	 * @throws DMLRuntimeException if the reader does not support batch reads
+	 */
+	public void readFrameBatchesFromHDFS(String fname, ValueType[] schema, String[] names, long clen,
+		FrameBatchConsumer consumer) throws IOException, DMLRuntimeException {
+		throw new DMLRuntimeException("Batch read not supported by " + getClass().getSimpleName());
+	}
+
 	public ValueType[] getDefSchema(long clen) throws DMLRuntimeException {
 		int lclen = Math.max((int) clen, 1);
 		return UtilFunctions.nCopies(lclen, ValueType.STRING);
@@ -116,7 +135,21 @@ public abstract class FrameReader {
 		return names;
 	}
 
+	public interface FrameBatchConsumer {
+		/**
+		 * Consumes a batch of consecutive rows.
+		 * 
+		 * @param batch     frame block of the batch rows
+		 * @param rowOffset 0-based row offset of the batch
+		 * @throws IOException if IOException occurs
+		 */
+		void accept(FrameBlock batch, long rowOffset) throws IOException;
+	}
+
 	protected static void checkValidInputFile(FileSystem fs, Path path) throws IOException {
+		// wait for pending asynchronous writes of the input
+		AsyncWriteService.waitFor(path.toString());
+
 		// check non-existing file
 		if(!fs.exists(path))
 			throw new IOException("File " + path.toString() + " does not exist on HDFS/LFS.");
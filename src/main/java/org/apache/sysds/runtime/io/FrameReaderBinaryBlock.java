@@ -70,6 +70,36 @@ public class FrameReaderBinaryBlock extends FrameReader{
 		throw new DMLRuntimeException("Not implemented yet.");
 	}
 
+	@Override
+	@SuppressWarnings("deprecation")
+	public void readFrameBatchesFromHDFS(String fname, ValueType[] schema, String[] names, long clen,
+		FrameBatchConsumer consumer) throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		checkValidInputFile(fs, path);
+
+		//pass one block at a time (schema and names are stored with the blocks)
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) {
+			SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,job);
+			LongWritable key = new LongWritable(-1L);
+			FrameBlock value = new FrameBlock();
+			try {
+				while( reader.next(key, value) ) {
+					if( value.getNumRows() == 0 || value.getNumColumns() == 0 )
+						continue;
+					consumer.accept(value, key.get()-1);
+					value = new FrameBlock();
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+	}
+
 	protected void readBinaryBlockFrameFromHDFS( Path path, JobConf job, FileSystem fs, FrameBlock dest, long rlen, long clen )
 		throws IOException, DMLRuntimeException
 	{
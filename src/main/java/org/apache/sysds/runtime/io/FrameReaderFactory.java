@@ -48,6 +48,10 @@ public class FrameReaderFactory {
 			case COMPRESSED: // use same logic as a binary read
 			case BINARY:
 				return binaryParallel ? new FrameReaderBinaryBlockParallel() : new FrameReaderBinaryBlock();
+			case PARQUET:
+				FileFormatPropertiesParquet pp = (props instanceof FileFormatPropertiesParquet) ?
+					(FileFormatPropertiesParquet) props : new FileFormatPropertiesParquet();
+				return binaryParallel ? new FrameReaderParquetParallel(pp) : new FrameReaderParquet(pp);
 			case PROTO:
 				// TODO performance improvement: add parallel reader
 				return new FrameReaderProto();
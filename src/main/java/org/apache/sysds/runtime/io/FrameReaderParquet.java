@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.io.parquet.ParquetFilter;
+import org.apache.sysds.runtime.io.parquet.ParquetFilter.Predicate;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils.ParquetDataset;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils.RowGroup;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils.RowGroupReader;
+
+/**
+ * Single-threaded frame parquet reader. Column chunks are decoded per row group directly into the primitive
+ * storage of the frame arrays, and only the projected columns (if any) are read. Row filters (if any) skip
+ * row groups based on their column statistics, and select the qualifying rows of the remaining row groups.
+ * 
+ */
+public class FrameReaderParquet extends FrameReader {
+	protected final FileFormatPropertiesParquet _props;
+
+	public FrameReaderParquet(FileFormatPropertiesParquet props) {
+		_props = (props != null) ? props : new FileFormatPropertiesParquet();
+	}
+
+	@Override
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException {
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// read footers (row groups and schema, pruned by the filter) and create projection
+		ParquetFilter filter = _props.getFilter();
+		ParquetDataset data = ParquetUtils.readDataset(job, fs, path, filter);
+		MessageType projection = ParquetUtils.getProjection(data.schema, _props.getColumns());
+		MessageType rschema = ParquetUtils.getReadSchema(data.schema, projection, filter);
+		int ncol = projection.getColumns().size();
+		if((filter == null && rlen >= 0 && rlen != data.nrow) || (clen >= 0 && clen != ncol))
+			throw new DMLRuntimeException("Read frame dimensions differ from meta data: [" + data.nrow + "x" + ncol
+				+ "] vs. [" + rlen + "x" + clen + "].");
+
+		// read column chunks of all row groups into primitive column buffers (null for filter-only
+		// columns), and evaluate the filter into a selection vector
+		Object[] cols = new Object[rschema.getColumns().size()];
+		for(int j = 0; j < ncol; j++)
+			cols[j] = ParquetUtils.allocateColumn(projection.getColumns().get(j), data.nrow);
+		boolean[] sel = ParquetUtils.createSelection(filter, data.nrow);
+		readParquetRowGroups(job, data.rowGroups, rschema, filter, cols, sel);
+		int nsel = (sel != null) ? ParquetUtils.countSelected(sel) : data.nrow;
+
+		// wrap the column buffers, select the qualifying rows, and convert to the given schema if specified
+		ValueType[] lschema = ParquetUtils.getSchema(projection);
+		Array<?>[] arrays = new Array<?>[ncol];
+		boolean convert = schema != null && schema.length == ncol && !isDefaultSchema(schema);
+		for(int j = 0; j < ncol; j++) {
+			arrays[j] = ParquetUtils.createArray(cols[j]);
+			if(nsel < data.nrow)
+				arrays[j] = arrays[j].select(sel, nsel);
+			if(convert && schema[j] != lschema[j]) {
+				arrays[j] = arrays[j].changeType(schema[j]);
+				lschema[j] = schema[j];
+			}
+		}
+		FrameBlock ret = new FrameBlock(lschema, ParquetUtils.getColumnNames(projection), nsel);
+		for(int j = 0; j < ncol; j++)
+			ret.setColumn(j, arrays[j]);
+		return ret;
+	}
+
+	protected void readParquetRowGroups(JobConf job, List<RowGroup> rowGroups, MessageType rschema,
+		ParquetFilter filter, Object[] cols, boolean[] sel) throws IOException {
+		for(RowGroup rg : rowGroups)
+			readParquetRowGroup(job, rg, rschema, filter, cols, sel);
+	}
+
+	protected static void readParquetRowGroup(JobConf job, RowGroup rg, MessageType rschema, ParquetFilter filter,
+		Object[] cols, boolean[] sel) throws IOException {
+		try(RowGroupReader reader = new RowGroupReader(job, rg, rschema)) {
+			List<ColumnDescriptor> lcols = rschema.getColumns();
+			for(int j = 0; j < cols.length; j++) {
+				List<Predicate> preds = (filter != null) ? filter.getPredicates(lcols.get(j).getPath()[0]) : null;
+				reader.readColumn(j, cols[j], preds, sel);
+			}
+		}
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen,
+		long clen) throws IOException, DMLRuntimeException {
+		throw new DMLRuntimeException("Parquet frame read from input streams is not supported.");
+	}
+
+	private static boolean isDefaultSchema(ValueType[] schema) {
+		for(ValueType vt : schema)
+			if(vt != ValueType.STRING && vt != ValueType.UNKNOWN)
+				return false;
+		return true;
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.io.parquet.ParquetFilter;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils.RowGroup;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Multi-threaded frame parquet reader. Row groups are decoded independently into disjoint row ranges of the
+ * shared primitive column buffers and selection vector, hence without synchronization.
+ * 
+ */
+public class FrameReaderParquetParallel extends FrameReaderParquet {
+
+	public FrameReaderParquetParallel(FileFormatPropertiesParquet props) {
+		super(props);
+	}
+
+	@Override
+	protected void readParquetRowGroups(JobConf job, List<RowGroup> rowGroups, MessageType rschema,
+		ParquetFilter filter, Object[] cols, boolean[] sel) throws IOException {
+		int numThreads = Math.min(OptimizerUtils.getParallelBinaryReadParallelism(), rowGroups.size());
+		if(numThreads <= 1) {
+			super.readParquetRowGroups(job, rowGroups, rschema, filter, cols, sel);
+			return;
+		}
+
+		ExecutorService pool = CommonThreadPool.get(numThreads);
+		try {
+			List<Callable<Object>> tasks = new ArrayList<>();
+			for(RowGroup rg : rowGroups)
+				tasks.add(() -> {
+					readParquetRowGroup(job, rg, rschema, filter, cols, sel);
+					return null;
+				});
+			for(Future<Object> task : pool.invokeAll(tasks))
+				task.get();
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel read of parquet input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
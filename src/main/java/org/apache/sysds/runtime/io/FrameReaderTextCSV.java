@@ -38,6 +38,7 @@ import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.UTF8Array;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.transform.TfUtils;
 import org.apache.sysds.runtime.util.InputStreamInputFormat;
@@ -78,6 +79,7 @@ public class FrameReaderTextCSV extends FrameReader {
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
+		allocateUTF8Columns(ret);
 
 		// core read (sequential/parallel)
 		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
@@ -92,6 +94,7 @@ public class FrameReaderTextCSV extends FrameReader {
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
+		allocateUTF8Columns(ret);
 
 		// core read (sequential/parallel)
 		InputStreamInputFormat informat = new InputStreamInputFormat(is);
@@ -101,6 +104,63 @@ public class FrameReaderTextCSV extends FrameReader {
 		return ret;
 	}
 
+	@Override
+	public void readFrameBatchesFromHDFS(String fname, ValueType[] schema, String[] names, long clen,
+		FrameBatchConsumer consumer) throws IOException, DMLRuntimeException {
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+		checkValidInputFile(fs, path);
+
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = IOUtilFunctions.sortInputSplits(informat.getSplits(job, 1));
+		if(clen <= 0)
+			clen = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
+		ValueType[] lschema = createOutputSchema(schema, clen);
+		String[] lnames = createOutputNames(names != null ? names : getDefColNames(clen), clen);
+
+		// read and pass one split at a time
+		long rpos = 0;
+		for(int i = 0; i < splits.length; i++) {
+			boolean first = i == 0;
+			int nrow = countLinesInReader(splits[i], informat, job, clen, first && _props.hasHeader());
+			FrameBlock batch = createOutputFrameBlock(lschema, lnames, nrow);
+			allocateUTF8Columns(batch);
+			readCSVFrameFromInputSplit(splits[i], informat, job, batch, lschema, lnames, nrow, clen, 0, first);
+			if(first) // header names apply to all splits
+				lnames = batch.getColumnNames();
+			if(nrow > 0)
+				consumer.accept(batch, rpos);
+			rpos += nrow;
+		}
+	}
+
+	/**
+	 * Replace the string columns of the given frame block by UTF-8 arrays if configured. The reader fills all rows in
+	 * order, which appends to the concatenated bytes of these arrays.
+	 *
+	 * @param fb The allocated frame block
+	 * @return true if UTF-8 arrays were allocated
+	 */
+	protected static boolean allocateUTF8Columns(FrameBlock fb) {
+		final String storage = ConfigurationManager.getFrameStringStorage();
+		final int nRow = fb.getNumRows();
+		if(nRow <= 0 || storage == null || !storage.startsWith("utf8"))
+			return false;
+		final boolean offHeap = storage.equalsIgnoreCase("utf8_offheap");
+		boolean ret = false;
+		for(int j = 0; j < fb.getNumColumns(); j++) {
+			if(fb.getSchema()[j] == ValueType.STRING) {
+				fb.setColumn(j, new UTF8Array(nRow, offHeap));
+				ret = true;
+			}
+		}
+		return ret;
+	}
+
 	protected void readCSVFrameFromHDFS(Path path, JobConf job, FileSystem fs, FrameBlock dest, ValueType[] schema,
 		String[] names, long rlen, long clen) throws IOException {
 		LOG.debug("readCSVFrameFromHDFS csv");
@@ -35,6 +35,8 @@ import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.UTF8Array;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 
@@ -80,6 +82,10 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 			}
 			
 			//read individual splits
+			if( hasUTF8Columns(dest) ) {
+				readSplitsUTF8(splits, informat, job, dest, schema, names, cret, offsets, pool);
+				return;
+			}
 			ArrayList<ReadRowsTask> tasks2 = new ArrayList<>();
 			for( int i=0; i<splits.length; i++ )
 				tasks2.add( new ReadRowsTask(splits[i], informat, job, dest, offsets.get(i).intValue(), i==0));
@@ -90,6 +96,49 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		}
 	}
 
+	private static boolean hasUTF8Columns(FrameBlock dest) {
+		if( dest.getColumns() == null )
+			return false;
+		for( Array<?> a : dest.getColumns() )
+			if( a instanceof UTF8Array )
+				return true;
+		return false;
+	}
+
+	private void readSplitsUTF8(InputSplit[] splits, TextInputFormat informat, JobConf job, FrameBlock dest,
+		ValueType[] schema, String[] names, List<Future<Integer>> counts, List<Long> offsets, ExecutorService pool)
+		throws Exception
+	{
+		//UTF-8 string columns are written in row order, so every split is read into
+		//a separate block and the blocks are appended to the output in split order
+		FrameBlock[] blocks = new FrameBlock[splits.length];
+		ArrayList<ReadRowsTask> tasks = new ArrayList<>();
+		for( int i=0; i<splits.length; i++ ) {
+			blocks[i] = createOutputFrameBlock(schema, names, counts.get(i).get());
+			allocateUTF8Columns(blocks[i]);
+			tasks.add(new ReadRowsTask(splits[i], informat, job, blocks[i], 0, i==0));
+		}
+		CommonThreadPool.invokeAndShutdown(pool, tasks);
+
+		//header and meta data rows are only contained in the first split
+		dest.setColumnNames(blocks[0].getColumnNames());
+		for( int j=0; j<dest.getNumColumns(); j++ )
+			if( !blocks[0].isColumnMetadataDefault(j) )
+				dest.setColumnMetadata(j, blocks[0].getColumnMetadata(j));
+
+		int nCol = dest.getNumColumns();
+		for( int i=0; i<splits.length; i++ ) {
+			int rl = offsets.get(i).intValue();
+			int nrow = blocks[i].getNumRows();
+			if( nrow == dest.getNumRows() )
+				for( int j=0; j<nCol; j++ )
+					dest.setColumn(j, blocks[i].getColumn(j));
+			else if( nrow > 0 )
+				dest.copy(rl, rl + nrow - 1, 0, nCol - 1, blocks[i]);
+			blocks[i] = null;
+		}
+	}
+
 	@Override
 	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
 		throws IOException 
@@ -48,6 +48,10 @@ public class FrameWriterFactory {
 				return new FrameWriterCompressed(binaryParallel);
 			case BINARY:
 				return binaryParallel ? new FrameWriterBinaryBlockParallel() : new FrameWriterBinaryBlock();
+			case PARQUET:
+				FileFormatPropertiesParquet pp = (props instanceof FileFormatPropertiesParquet) ?
+					(FileFormatPropertiesParquet) props : new FileFormatPropertiesParquet();
+				return binaryParallel ? new FrameWriterParquetParallel(pp) : new FrameWriterParquet(pp);
 			case PROTO:
 				return new FrameWriterProto();
 			default:
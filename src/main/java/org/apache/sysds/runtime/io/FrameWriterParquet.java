@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.column.ColumnWriter;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.BooleanArray;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.frame.data.columns.FloatArray;
+import org.apache.sysds.runtime.frame.data.columns.IntegerArray;
+import org.apache.sysds.runtime.frame.data.columns.LongArray;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Single-threaded frame parquet writer, which appends strides of rows column by column to the column chunks.
+ * 
+ */
+public class FrameWriterParquet extends FrameWriter {
+	protected final FileFormatPropertiesParquet _props;
+
+	public FrameWriterParquet(FileFormatPropertiesParquet props) {
+		_props = (props != null) ? props : new FileFormatPropertiesParquet();
+	}
+
+	@Override
+	public final void writeFrameToHDFS(FrameBlock src, String fname, long rlen, long clen)
+		throws IOException, DMLRuntimeException {
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+
+		// if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		// bound check for src block
+		if(src.getNumRows() > rlen || src.getNumColumns() > clen) {
+			throw new IOException("Frame block [1:" + src.getNumRows() + ",1:" + src.getNumColumns() + "] "
+				+ "out of overall frame range [1:" + rlen + ",1:" + clen + "].");
+		}
+
+		// core write (sequential/parallel)
+		MessageType schema = ParquetUtils.createSchema(src.getSchema(), src.getColumnNames());
+		writeParquetFrameToHDFS(path, job, src, schema);
+	}
+
+	protected void writeParquetFrameToHDFS(Path path, JobConf job, FrameBlock src, MessageType schema)
+		throws IOException {
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		writeParquetFrameToFile(path, job, src, schema, 0, src.getNumRows());
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	protected final void writeParquetFrameToFile(Path path, JobConf job, FrameBlock src, MessageType schema, int rl,
+		int ru) throws IOException {
+		final ValueType[] vt = src.getSchema();
+		final Array<?>[] cols = src.getColumns();
+		ParquetUtils.writeColumns(job, path, schema, _props.getCompression(), rl, ru, (writers, bl, bu) -> {
+			for(int j = 0; j < cols.length; j++)
+				writeColumn(writers[j], vt[j], cols[j], bl, bu);
+		});
+	}
+
+	private static void writeColumn(ColumnWriter w, ValueType vt, Array<?> col, int rl, int ru) {
+		// primitive arrays without null values
+		if(vt == ValueType.FP64 && col instanceof DoubleArray) {
+			double[] a = ((DoubleArray) col).get();
+			for(int i = rl; i < ru; i++)
+				w.write(a[i], 0, 1);
+		}
+		else if(vt == ValueType.FP32 && col instanceof FloatArray) {
+			float[] a = ((FloatArray) col).get();
+			for(int i = rl; i < ru; i++)
+				w.write(a[i], 0, 1);
+		}
+		else if(vt == ValueType.INT64 && col instanceof LongArray) {
+			long[] a = ((LongArray) col).get();
+			for(int i = rl; i < ru; i++)
+				w.write(a[i], 0, 1);
+		}
+		else if(vt == ValueType.INT32 && col instanceof IntegerArray) {
+			int[] a = ((IntegerArray) col).get();
+			for(int i = rl; i < ru; i++)
+				w.write(a[i], 0, 1);
+		}
+		else if(vt == ValueType.BOOLEAN && col instanceof BooleanArray) {
+			boolean[] a = ((BooleanArray) col).get();
+			for(int i = rl; i < ru; i++)
+				w.write(a[i], 0, 1);
+		}
+		// other arrays (e.g., optional, bitset, compressed, string)
+		else {
+			for(int i = rl; i < ru; i++)
+				writeValue(w, vt, col.get(i));
+		}
+	}
+
+	private static void writeValue(ColumnWriter w, ValueType vt, Object v) {
+		if(v == null) {
+			w.writeNull(0, 0);
+			return;
+		}
+		switch(vt) {
+			case FP64:    w.write(((Number) v).doubleValue(), 0, 1); break;
+			case FP32:    w.write(((Number) v).floatValue(), 0, 1); break;
+			case INT64:   w.write(((Number) v).longValue(), 0, 1); break;
+			case UINT4:
+			case UINT8:
+			case INT32:   w.write(((Number) v).intValue(), 0, 1); break;
+			case BOOLEAN: w.write(((Boolean) v).booleanValue(), 0, 1); break;
+			default:      w.write(Binary.fromString(v.toString()), 0, 1);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Multi-threaded frame parquet writer, which writes disjoint row ranges into independent part files.
+ * 
+ */
+public class FrameWriterParquetParallel extends FrameWriterParquet {
+
+	public FrameWriterParquetParallel(FileFormatPropertiesParquet props) {
+		super(props);
+	}
+
+	@Override
+	protected void writeParquetFrameToHDFS(Path path, JobConf job, FrameBlock src, MessageType schema)
+		throws IOException {
+		// estimate output size and number of output files (min 1)
+		final int rlen = src.getNumRows();
+		int numPartFiles = (int) Math.max(src.getInMemorySize() / InfrastructureAnalyzer.getHDFSBlockSize(), 1);
+
+		// determine degree of parallelism
+		int numThreads = Math.min(OptimizerUtils.getParallelBinaryWriteParallelism(), numPartFiles);
+
+		// fall back to sequential write if dop is 1 (e.g., <128MB) in order to create single file
+		if(numThreads <= 1) {
+			super.writeParquetFrameToHDFS(path, job, src, schema);
+			return;
+		}
+
+		// create directory for concurrent tasks
+		HDFSTool.createDirIfNotExistOnHDFS(path, DMLConfig.DEFAULT_SHARED_DIR_PERMISSION);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		ExecutorService pool = CommonThreadPool.get(numThreads);
+		try {
+			List<Callable<Object>> tasks = new ArrayList<>();
+			int blklen = (int) Math.ceil((double) rlen / numThreads);
+			for(int i = 0; i < numThreads & i * blklen < rlen; i++) {
+				Path newPath = new Path(path, IOUtilFunctions.getPartFileName(i));
+				final int rl = i * blklen, ru = Math.min((i + 1) * blklen, rlen);
+				tasks.add(() -> {
+					writeParquetFrameToFile(newPath, job, src, schema, rl, ru);
+					IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, newPath);
+					return null;
+				});
+			}
+			for(Future<Object> task : pool.invokeAll(tasks))
+				task.get();
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel write of parquet output.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
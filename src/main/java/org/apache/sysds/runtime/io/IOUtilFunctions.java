@@ -49,6 +49,7 @@ import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.io.SequenceFile.Writer;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.InputSplit;
@@ -745,6 +746,17 @@ public class IOUtilFunctions
 			Writer.valueClass(MatrixBlock.class));
 	}
 
+	public static Writer getSeqWriter(Path path, Configuration job, int replication, CompressionCodec codec)
+		throws IOException {
+		//record compression (values are appended as already compressed raw bytes)
+		if( codec == null )
+			return getSeqWriter(path, job, replication);
+		return SequenceFile.createWriter(job, Writer.file(path), Writer.bufferSize(4096),
+			Writer.replication((short) (replication > 0 ? replication : 1)),
+			Writer.compression(SequenceFile.CompressionType.RECORD, codec), Writer.keyClass(MatrixIndexes.class),
+			Writer.valueClass(MatrixBlock.class));
+	}
+
 	public static Writer getSeqWriterFrame(Path path, Configuration job, int replication) throws IOException {
 		return SequenceFile.createWriter(job, Writer.file(path), Writer.bufferSize(4096),
 			Writer.keyClass(LongWritable.class), Writer.valueClass(FrameBlock.class),
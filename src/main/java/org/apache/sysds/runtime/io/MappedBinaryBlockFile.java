@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+
+/**
+ * Memory-mapped view of a binary block matrix file (hadoop sequence file of MatrixIndexes and MatrixBlock
+ * records) on the local file system.
+ * 
+ * On open, the sequence file header is validated and an index of all records is built by scanning only the
+ * record headers, which leaves the pages of the block payloads untouched until they are decoded. Since a
+ * single mapping is limited to 2GB, larger files are mapped in multiple segments aligned to record
+ * boundaries, such that every record lies in a single segment and can be decoded independently.
+ */
+public class MappedBinaryBlockFile {
+	private static final byte[] SEQ_MAGIC = new byte[] {'S', 'E', 'Q'};
+	private static final byte SEQ_VERSION = 6;
+	private static final int SYNC_ESCAPE = -1;
+	private static final int SYNC_SIZE = 16;
+	private static final int KEY_SIZE = 16; // MatrixIndexes (long row, long col)
+
+	private final List<BlockRecord> _records;
+
+	private MappedBinaryBlockFile(List<BlockRecord> records) {
+		_records = records;
+	}
+
+	public List<BlockRecord> getRecords() {
+		return Collections.unmodifiableList(_records);
+	}
+
+	/**
+	 * Maps the given binary block file and builds the index of its records.
+	 * 
+	 * @param file local file
+	 * @return mapped file, or null if the file is not an uncompressed binary block matrix file
+	 * @throws IOException if the file cannot be mapped or is corrupted
+	 */
+	public static MappedBinaryBlockFile open(File file) throws IOException {
+		return open(file, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Maps the given binary block file with the given maximum segment size and builds the index of its records.
+	 * 
+	 * @param file           local file
+	 * @param maxSegmentSize maximum size of mapped segments in bytes
+	 * @return mapped file, or null if the file is not an uncompressed binary block matrix file or contains
+	 *         records larger than the maximum segment size
+	 * @throws IOException if the file cannot be mapped or is corrupted
+	 */
+	public static MappedBinaryBlockFile open(File file, int maxSegmentSize) throws IOException {
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final long size = channel.size();
+			long start = 0;
+			ByteBuffer seg = map(channel, start, size, maxSegmentSize);
+			if(!readHeader(seg))
+				return null;
+
+			// scan record headers and remap segments at record boundaries
+			List<BlockRecord> records = new ArrayList<>();
+			while(start + seg.position() < size) {
+				int pos = seg.position();
+				int len = (seg.remaining() >= 8) ? seg.getInt(pos) : 0;
+				long need = (len == SYNC_ESCAPE) ? 4 + SYNC_SIZE : 8 + (long) len;
+				if(seg.remaining() < 8 || seg.remaining() < need) {
+					if(start + seg.limit() >= size)
+						throw new IOException("Truncated binary block file: " + file);
+					if(pos == 0)
+						return null; // record exceeds max segment size
+					start += pos;
+					seg = map(channel, start, size, maxSegmentSize);
+					continue;
+				}
+				if(len == SYNC_ESCAPE) {
+					seg.position(pos + 4 + SYNC_SIZE);
+					continue;
+				}
+				int klen = seg.getInt(pos + 4);
+				if(klen != KEY_SIZE || len < klen + 9)
+					throw new IOException("Invalid record header at offset " + (start + pos) + " in file: " + file);
+				records.add(new BlockRecord(seg.getLong(pos + 8), seg.getLong(pos + 16), seg, pos + 8 + KEY_SIZE,
+					len - KEY_SIZE));
+				seg.position(pos + 8 + len);
+			}
+			return new MappedBinaryBlockFile(records);
+		}
+	}
+
+	private static ByteBuffer map(FileChannel channel, long start, long size, int maxSegmentSize)
+		throws IOException {
+		// note: mappings remain valid after the channel is closed
+		return channel.map(MapMode.READ_ONLY, start, Math.min(size - start, maxSegmentSize));
+	}
+
+	private static boolean readHeader(ByteBuffer buff) {
+		if(buff.remaining() < SEQ_MAGIC.length + 1)
+			return false;
+		for(byte b : SEQ_MAGIC)
+			if(buff.get() != b)
+				return false;
+		if(buff.get() != SEQ_VERSION)
+			return false;
+		// key and value classes
+		if(!MatrixIndexes.class.getName().equals(readString(buff))
+			|| !MatrixBlock.class.getName().equals(readString(buff)))
+			return false;
+		// record or block compression (not supported)
+		if(buff.get() != 0 || buff.get() != 0)
+			return false;
+		// metadata key-value pairs
+		int npairs = buff.getInt();
+		for(int i = 0; i < 2 * npairs; i++)
+			readString(buff);
+		buff.position(buff.position() + SYNC_SIZE);
+		return true;
+	}
+
+	private static String readString(ByteBuffer buff) {
+		byte[] tmp = new byte[readVInt(buff)];
+		buff.get(tmp);
+		return new String(tmp, StandardCharsets.UTF_8);
+	}
+
+	private static int readVInt(ByteBuffer buff) {
+		// hadoop variable-length encoding (see WritableUtils.readVLong)
+		byte first = buff.get();
+		if(first >= -112)
+			return first;
+		boolean neg = first < -120;
+		int len = neg ? -(first + 120) : -(first + 112);
+		long ret = 0;
+		for(int i = 0; i < len; i++)
+			ret = (ret << 8) | (buff.get() & 0xFF);
+		return (int) (neg ? ~ret : ret);
+	}
+
+	/**
+	 * Index entry of a single block record, referencing the serialized block in its mapped segment.
+	 */
+	public static class BlockRecord {
+		private final long _rowIndex;
+		private final long _colIndex;
+		private final ByteBuffer _segment;
+		private final int _offset;
+		private final int _length;
+
+		private BlockRecord(long rowIndex, long colIndex, ByteBuffer segment, int offset, int length) {
+			_rowIndex = rowIndex;
+			_colIndex = colIndex;
+			_segment = segment;
+			_offset = offset;
+			_length = length;
+		}
+
+		public long getRowIndex() {
+			return _rowIndex;
+		}
+
+		public long getColumnIndex() {
+			return _colIndex;
+		}
+
+		/**
+		 * Gets an independent view of the serialized block, which allows concurrent decoding of records.
+		 * 
+		 * @return big-endian byte buffer positioned at the start of the serialized block
+		 */
+		public ByteBuffer getValue() {
+			ByteBuffer ret = _segment.duplicate();
+			ret.position(_offset);
+			ret.limit(_offset + _length);
+			return ret.slice();
+		}
+	}
+}
@@ -35,6 +35,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteService;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -114,6 +115,9 @@ public abstract class MatrixReader
 	protected static void checkValidInputFile(FileSystem fs, Path path) 
 		throws IOException
 	{
+		//wait for pending asynchronous writes of the input
+		AsyncWriteService.waitFor(path.toString());
+
 		//check non-existing file
 		if( !fs.exists(path) )	
 			throw new IOException("File "+path.toString()+" does not exist on HDFS/LFS.");
@@ -68,6 +68,10 @@ public class MatrixReaderFactory {
 					new FileFormatPropertiesHDF5()) : new ReaderHDF5(new FileFormatPropertiesHDF5());
 				break;
 
+			case PARQUET:
+				reader = createParquetReader(null, par);
+				break;
+
 			case COMPRESSED:
 				reader = ReaderCompressed.create();
 				break;
@@ -124,6 +128,10 @@ public class MatrixReaderFactory {
 					fileFormatPropertiesHDF5);
 				break;
 
+			case PARQUET:
+				reader = createParquetReader(props.formatProperties, par);
+				break;
+
 			case COMPRESSED:
 				reader = new ReaderCompressed();
 				break;
@@ -132,4 +140,11 @@ public class MatrixReaderFactory {
 		}
 		return reader;
 	}
+
+	private static MatrixReader createParquetReader(FileFormatProperties props, boolean par) {
+		//note: projection and filter of the read (if any), defaults otherwise
+		FileFormatPropertiesParquet pprops = (props instanceof FileFormatPropertiesParquet) ?
+			(FileFormatPropertiesParquet) props : new FileFormatPropertiesParquet();
+		return par ? new ReaderParquetParallel(pprops) : new ReaderParquet(pprops);
+	}
 }
@@ -72,7 +72,10 @@ public class MatrixWriterFactory
 				break;
 
 			case BINARY:
-				if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
+				if( ConfigurationManager.isPipelinedBinaryWriteEnabled() )
+					writer = new WriterBinaryBlockPipelined(replication,
+						ConfigurationManager.getBinaryWriteCompression());
+				else if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
 					writer = new WriterBinaryBlockParallel(replication);
 				else
 					writer = new WriterBinaryBlock(replication);
@@ -86,6 +89,15 @@ public class MatrixWriterFactory
 				else
 					return new WriterHDF5((FileFormatPropertiesHDF5) props);
 
+			case PARQUET:
+				//note: generic properties (e.g., blocksize of default writes) fall back to parquet defaults
+				FileFormatPropertiesParquet pprops = (props instanceof FileFormatPropertiesParquet) ?
+					(FileFormatPropertiesParquet) props : new FileFormatPropertiesParquet();
+				if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
+					return new WriterParquetParallel(pprops);
+				else
+					return new WriterParquet(pprops);
+
 			case COMPRESSED:
 				return WriterCompressed.create(props);
 
@@ -20,6 +20,8 @@
 package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -27,17 +29,22 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.io.SequenceFile.Reader;
 import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.BlockType;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.io.MappedBinaryBlockFile.BlockRecord;
+import org.apache.sysds.runtime.util.ByteBufferDataInput;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.HDFSTool;
 
@@ -89,6 +96,11 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			long rlen, long clen, int blen, boolean syncBlock )
 		throws IOException, DMLRuntimeException
 	{
+		//local fast path: memory-mapped files with parallel per-block decode
+		if( ConfigurationManager.isMMapBinaryReadEnabled() && fs instanceof LocalFileSystem
+			&& readMappedBinaryBlockMatrix(path, (LocalFileSystem)fs, dest, rlen, clen, blen, syncBlock) )
+			return;
+		
 		//set up preferred custom serialization framework for binary block format
 		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
 			HDFSTool.addBinaryBlockSerializationFramework( job );
@@ -123,6 +135,104 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		}
 	}
 
+	private static boolean readMappedBinaryBlockMatrix( Path path, LocalFileSystem fs, MatrixBlock dest,
+			long rlen, long clen, int blen, boolean syncBlock )
+		throws IOException
+	{
+		//map all files and index their block records (w/o touching the block payloads),
+		//fallback to hadoop sequence file readers for unsupported files (e.g., compressed)
+		List<BlockRecord> records = new ArrayList<>();
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) {
+			MappedBinaryBlockFile file = MappedBinaryBlockFile.open(fs.pathToFile(lpath));
+			if( file == null )
+				return false;
+			records.addAll(file.getRecords());
+		}
+		
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			//create decode tasks for balanced ranges of blocks
+			ArrayList<ReadMappedBlocksTask> tasks = new ArrayList<>();
+			int numTasks = Math.max(Math.min(_numThreads, records.size()), 1);
+			int blklen = (int)Math.ceil((double)records.size() / numTasks);
+			for( int i=0; i<records.size(); i+=blklen ) {
+				tasks.add(new ReadMappedBlocksTask(records.subList(i, Math.min(i+blklen, records.size())),
+					dest, rlen, clen, blen, syncBlock));
+			}
+			
+			//check for exceptions and aggregate nnz
+			long lnnz = 0;
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				lnnz += task.get();
+			
+			//post-processing
+			dest.setNonZeros( lnnz );
+			if( dest.isInSparseFormat() && clen>blen ) 
+				sortSparseRowsParallel(dest, rlen, _numThreads, pool);
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of memory-mapped binary block input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		return true;
+	}
+	
+	private static void checkBlockBounds(int row_offset, int col_offset, int rows, int cols, long rlen, long clen)
+		throws IOException
+	{
+		if( row_offset + rows < 0 || row_offset + rows > rlen 
+			|| col_offset + cols<0 || col_offset + cols > clen ) {
+			throw new IOException("Matrix block ["+(row_offset+1)+":"
+				+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+				"out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+	}
+	
+	private static void appendBlockToResult(MatrixBlock dest, MatrixBlock value, 
+		int row_offset, int col_offset, long clen, boolean syncBlocks)
+	{
+		int rows = value.getNumRows();
+		int cols = value.getNumColumns();
+		if( dest.isInSparseFormat() )
+		{
+			//note: append requires final sort
+			if (cols < clen ) {
+				//sparse requires lock, when matrix is wider than one block
+				//(fine-grained locking of block rows instead of the entire matrix)
+				//NOTE: fine-grained locking depends on MCSR SparseRow objects 
+				SparseBlock sblock = dest.getSparseBlock();
+				if( sblock instanceof SparseBlockMCSR && sblock.get(row_offset) != null ) {
+					if( syncBlocks ) {
+						synchronized( sblock.get(row_offset) ){ 
+							dest.appendToSparse(value, row_offset, col_offset);
+						}
+					}
+					else {
+						for( int i=0; i<rows; i++ ) 
+							synchronized( sblock.get(row_offset+i) ) {
+								dest.appendRowToSparse(sblock, value, i, row_offset, col_offset, true);
+							}
+					}
+				}
+				else {
+					synchronized( dest ){ 
+						dest.appendToSparse(value, row_offset, col_offset);
+					}
+				}
+			}
+			else { //quickpath (no synchronization)
+				dest.appendToSparse(value, row_offset, col_offset);
+			}
+		} 
+		else {
+			dest.copy( row_offset, row_offset+rows-1, 
+				col_offset, col_offset+cols-1, value, false );
+		}
+	}
+
 	private static class ReadFileTask implements Callable<Object> 
 	{
 		private final Path _path;
@@ -165,53 +275,13 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 					
 					int row_offset = (int)(key.getRowIndex()-1)*_blen;
 					int col_offset = (int)(key.getColumnIndex()-1)*_blen;
-					int rows = value.getNumRows();
-					int cols = value.getNumColumns();
 					
 					//bound check per block
-					if( row_offset + rows < 0 || row_offset + rows > _rlen 
-						|| col_offset + cols<0 || col_offset + cols > _clen ) {
-						throw new IOException("Matrix block ["+(row_offset+1)+":"
-							+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
-							"out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
-					}
-			
+					checkBlockBounds(row_offset, col_offset,
+						value.getNumRows(), value.getNumColumns(), _rlen, _clen);
+					
 					//copy block to result
-					if( sparse )
-					{
-						//note: append requires final sort
-						if (cols < _clen ) {
-							//sparse requires lock, when matrix is wider than one block
-							//(fine-grained locking of block rows instead of the entire matrix)
-							//NOTE: fine-grained locking depends on MCSR SparseRow objects 
-							SparseBlock sblock = _dest.getSparseBlock();
-							if( sblock instanceof SparseBlockMCSR && sblock.get(row_offset) != null ) {
-								if( _syncBlocks ) {
-									synchronized( sblock.get(row_offset) ){ 
-										_dest.appendToSparse(value, row_offset, col_offset);
-									}
-								}
-								else {
-									for( int i=0; i<rows; i++ ) 
-										synchronized( sblock.get(row_offset+i) ) {
-											_dest.appendRowToSparse(sblock, value, i, row_offset, col_offset, true);
-										}
-								}
-							}
-							else {
-								synchronized( _dest ){ 
-									_dest.appendToSparse(value, row_offset, col_offset);
-								}
-							}
-						}
-						else { //quickpath (no synchronization)
-							_dest.appendToSparse(value, row_offset, col_offset);
-						}
-					} 
-					else {
-						_dest.copy( row_offset, row_offset+rows-1, 
-							col_offset, col_offset+cols-1, value, false );
-					}
+					appendBlockToResult(_dest, value, row_offset, col_offset, _clen, _syncBlocks);
 					
 					//aggregate nnz
 					lnnz += value.getNonZeros();
@@ -224,4 +294,80 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			return lnnz;
 		}
 	}
+
+	private static class ReadMappedBlocksTask implements Callable<Long> 
+	{
+		private final List<BlockRecord> _records;
+		private final MatrixBlock _dest;
+		private final long _rlen, _clen;
+		private final int _blen;
+		private final boolean _syncBlocks;
+		
+		public ReadMappedBlocksTask(List<BlockRecord> records, MatrixBlock dest, long rlen, long clen, int blen, boolean syncBlocks) {
+			_records = records;
+			_dest = dest;
+			_rlen = rlen;
+			_clen = clen;
+			_blen = blen;
+			_syncBlocks = syncBlocks;
+		}
+
+		@Override
+		public Long call() throws Exception 
+		{
+			boolean sparse = _dest.isInSparseFormat();
+			MatrixBlock value = null; //reuse block for generic decode
+			long lnnz = 0; //aggregate block nnz
+			
+			for( BlockRecord rec : _records )
+			{
+				//read block header (int rlen, int clen, byte type)
+				ByteBuffer buff = rec.getValue();
+				int rows = buff.getInt();
+				int cols = buff.getInt();
+				byte type = buff.get();
+				
+				//empty block filter (skip entire block)
+				if( type == BlockType.EMPTY_BLOCK.ordinal() )
+					continue;
+				
+				int row_offset = (int)(rec.getRowIndex()-1)*_blen;
+				int col_offset = (int)(rec.getColumnIndex()-1)*_blen;
+				
+				//bound check per block
+				checkBlockBounds(row_offset, col_offset, rows, cols, _rlen, _clen);
+				
+				if( type == BlockType.DENSE_BLOCK.ordinal() && !sparse ) {
+					//direct bulk copy from mapped region into the output
+					lnnz += copyDenseBlock(buff.asDoubleBuffer(), rows, cols, row_offset, col_offset);
+				}
+				else {
+					//generic decode of sparse blocks from the mapped region
+					if( value == null )
+						value = getReuseBlock(_blen, sparse);
+					buff.rewind();
+					value.readFields(new ByteBufferDataInput(buff));
+					if( value.isEmptyBlock(false) )
+						continue;
+					appendBlockToResult(_dest, value, row_offset, col_offset, _clen, _syncBlocks);
+					lnnz += value.getNonZeros();
+				}
+			}
+			
+			return lnnz;
+		}
+		
+		private long copyDenseBlock(DoubleBuffer src, int rows, int cols, int row_offset, int col_offset) {
+			DenseBlock a = _dest.getDenseBlock();
+			long lnnz = 0;
+			for( int i=0; i<rows; i++ ) {
+				double[] avals = a.values(row_offset+i);
+				int apos = a.pos(row_offset+i, col_offset);
+				src.get(avals, apos, cols);
+				for( int j=apos; j<apos+cols; j++ )
+					lnnz += (avals[j] != 0) ? 1 : 0;
+			}
+			return lnnz;
+		}
+	}
 }
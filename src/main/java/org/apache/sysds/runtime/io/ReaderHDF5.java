@@ -19,26 +19,49 @@
 
 package org.apache.sysds.runtime.io;
 
+import java.io.BufferedInputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
-import java.io.BufferedInputStream;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.io.hdf5.H5;
+import org.apache.sysds.runtime.io.hdf5.H5ByteReader;
+import org.apache.sysds.runtime.io.hdf5.H5ChunkedDataset;
+import org.apache.sysds.runtime.io.hdf5.H5ChunkedDataset.Chunk;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
 import org.apache.sysds.runtime.io.hdf5.H5ContiguousDataset;
+import org.apache.sysds.runtime.io.hdf5.H5DoubleDataType;
+import org.apache.sysds.runtime.io.hdf5.H5FileChannelByteReader;
+import org.apache.sysds.runtime.io.hdf5.H5ObjectHeader;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.IndexRange;
 
+/**
+ * HDF5 matrix reader based on positional (random access) reads, which supports contiguous and chunked (optionally
+ * deflate-compressed) two-dimensional datasets. Multiple files of a directory are stacked by rows, and an optional
+ * slice of the {@link FileFormatPropertiesHDF5} restricts the read to the requested rows and columns.
+ */
 public class ReaderHDF5 extends MatrixReader {
+	// target size of batched reads of full rows in contiguous datasets
+	private static final int BATCH_READ_BYTES = 8 * 1024 * 1024;
+
 	protected final FileFormatPropertiesHDF5 _props;
 
 	public ReaderHDF5(FileFormatPropertiesHDF5 props) {
@@ -48,11 +71,6 @@ public class ReaderHDF5 extends MatrixReader {
 	@Override
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
-		//allocate output matrix block
-		MatrixBlock ret = null;
-		if(rlen >= 0 && clen >= 0) //otherwise allocated on read
-			ret = createOutputMatrixBlock(rlen, clen, (int) rlen, estnnz, true, false);
-
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
 		Path path = new Path(fname);
@@ -61,8 +79,26 @@ public class ReaderHDF5 extends MatrixReader {
 		//check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		//core read 
-		ret = readHDF5MatrixFromHDFS(path, job, fs, ret, rlen, clen, blen, _props.getDatasetName());
+		//core read
+		List<HDF5Input> inputs = openHDF5Inputs(fs, getHDF5Files(fs, path), _props.getDatasetName());
+		MatrixBlock ret = null;
+		try {
+			IndexRange ix = getReadRange(inputs, _props);
+			ret = createOutputMatrixBlock(ix.rowEnd - ix.rowStart + 1, ix.colEnd - ix.colStart + 1,
+				(int) (ix.rowEnd - ix.rowStart + 1), estnnz, true, false);
+			long lnnz = 0;
+			long offset = 0;
+			for(HDF5Input in : inputs) {
+				int[] range = getFileRowRange(in, offset, ix);
+				if(range != null)
+					lnnz += readHDF5Rows(in, ret.getDenseBlock(), range[0], range[1], ix, offset);
+				offset += in.getNumRows();
+			}
+			ret.setNonZeros(lnnz);
+		}
+		finally {
+			closeHDF5Inputs(inputs);
+		}
 
 		//finally check if change of sparse/dense block representation required
 		//(nnz explicitly maintained during read)
@@ -74,25 +110,172 @@ public class ReaderHDF5 extends MatrixReader {
 	@Override
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
-		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int) rlen, estnnz, true, false);
-
-		//core read
-		String datasetName = _props.getDatasetName();
-
+		//core read, buffering the entire stream for random access
+		//(the mark limit allows growing the buffer for chunked datasets with padded chunks)
 		BufferedInputStream bis = new BufferedInputStream(is, (int) (H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8)));
-		long lnnz = readMatrixFromHDF5(bis, datasetName, ret, 0, rlen, clen, blen);
+		bis.mark(Integer.MAX_VALUE);
+		HDF5Input in = new HDF5Input(H5ByteReader.of(bis), _props.getDatasetName());
+		MatrixBlock ret = null;
+		try {
+			IndexRange ix = getReadRange(Collections.singletonList(in), _props);
+			ret = createOutputMatrixBlock(ix.rowEnd - ix.rowStart + 1, ix.colEnd - ix.colStart + 1,
+				(int) (ix.rowEnd - ix.rowStart + 1), estnnz, true, false);
+			long lnnz = readHDF5Rows(in, ret.getDenseBlock(), (int) ix.rowStart, (int) ix.rowEnd + 1, ix, 0);
+			ret.setNonZeros(lnnz);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(bis);
+		}
 
 		//finally check if change of sparse/dense block representation required
-		ret.setNonZeros(lnnz);
 		ret.examSparsity();
 
 		return ret;
 	}
 
-	private static MatrixBlock readHDF5MatrixFromHDFS(Path path, JobConf job,
-		FileSystem fs, MatrixBlock dest, long rlen, long clen, int blen, String datasetName)
-		throws IOException, DMLRuntimeException {
+	/**
+	 * Reads the given rows [rl, ru) of an HDF5 file into the dense output block. The columns are restricted to the
+	 * given read range, and the rows are shifted by the global row offset of the file.
+	 *
+	 * @param in      opened HDF5 input
+	 * @param dest    dense output block
+	 * @param rl      row lower bound in file coordinates (inclusive)
+	 * @param ru      row upper bound in file coordinates (exclusive)
+	 * @param ix      global read range (0-based, inclusive)
+	 * @param offset  global row offset of the file
+	 * @return number of non-zeros
+	 */
+	protected static long readHDF5Rows(HDF5Input in, DenseBlock dest, int rl, int ru, IndexRange ix, long offset) {
+		int cl = (int) ix.colStart;
+		int cu = (int) ix.colEnd + 1;
+		long rowShift = offset - ix.rowStart;
+		return in.isChunked() ?
+			readChunkedRows(in, dest, rl, ru, cl, cu, rowShift) :
+			readContiguousRows(in, dest, rl, ru, cl, cu, rowShift);
+	}
+
+	private static long readContiguousRows(HDF5Input in, DenseBlock dest, int rl, int ru, int cl, int cu,
+		long rowShift) {
+		H5ContiguousDataset ds = in.getContiguousDataset();
+		H5DoubleDataType dt = ds.getDataType().getDoubleDataType();
+		int ncol = in.getNumColumns();
+		int len = cu - cl;
+		long lnnz = 0;
+
+		if(2 * len >= ncol) {
+			//batched reads of full rows (contiguous byte ranges)
+			int batch = Math.max(1, Math.min(ru - rl, BATCH_READ_BYTES / (ncol * dt.getSize())));
+			double[] data = new double[batch * ncol];
+			for(int i = rl; i < ru; i += batch) {
+				int n = Math.min(batch, ru - i);
+				dt.fillData(ds.getDataBuffer((long) i * ncol, n * ncol), data, 0, n * ncol);
+				for(int k = 0; k < n; k++)
+					lnnz += copyNonZeros(data, k * ncol + cl, dest, i + k + rowShift, len);
+			}
+		}
+		else {
+			//row-wise reads of the requested column range only
+			double[] data = new double[len];
+			for(int i = rl; i < ru; i++) {
+				dt.fillData(ds.getDataBuffer((long) i * ncol + cl, len), data, 0, len);
+				lnnz += copyNonZeros(data, 0, dest, i + rowShift, len);
+			}
+		}
+		return lnnz;
+	}
+
+	private static long readChunkedRows(HDF5Input in, DenseBlock dest, int rl, int ru, int cl, int cu,
+		long rowShift) {
+		H5ChunkedDataset ds = in.getChunkedDataset();
+		H5DoubleDataType dt = ds.getDataType().getDoubleDataType();
+		int[] cdims = ds.getChunkDimensions();
+		int nrow = in.getNumRows();
+		int ncol = in.getNumColumns();
+		double[] data = new double[ds.getChunkElements()];
+		long lnnz = 0;
+
+		for(Chunk chunk : ds.getChunks()) {
+			int r0 = (int) chunk.getOffsets()[0];
+			int c0 = (int) chunk.getOffsets()[1];
+			//determine overlap of chunk and requested range
+			int rs = Math.max(r0, rl), re = Math.min(Math.min(r0 + cdims[0], ru), nrow);
+			int cs = Math.max(c0, cl), ce = Math.min(Math.min(c0 + cdims[1], cu), ncol);
+			if(rs >= re || cs >= ce)
+				continue;
+			dt.fillData(ds.readChunk(chunk), data, 0, data.length);
+			for(int i = rs; i < re; i++) {
+				int r = (int) (i + rowShift);
+				double[] c = dest.values(r);
+				int pos = dest.pos(r) + (cs - cl);
+				int off = (i - r0) * cdims[1] + (cs - c0);
+				for(int j = 0; j < ce - cs; j++) {
+					double v = data[off + j];
+					if(v != 0) {
+						c[pos + j] = v;
+						lnnz++;
+					}
+				}
+			}
+		}
+		return lnnz;
+	}
+
+	private static long copyNonZeros(double[] src, int spos, DenseBlock dest, long row, int len) {
+		double[] c = dest.values((int) row);
+		int pos = dest.pos((int) row);
+		long lnnz = 0;
+		for(int j = 0; j < len; j++) {
+			double v = src[spos + j];
+			if(v != 0) {
+				c[pos + j] = v;
+				lnnz++;
+			}
+		}
+		return lnnz;
+	}
+
+	/**
+	 * Obtains the overlap of the global read range with the rows of a file.
+	 *
+	 * @param in     opened HDF5 input
+	 * @param offset global row offset of the file
+	 * @param ix     global read range (0-based, inclusive)
+	 * @return row range [rl, ru) in file coordinates, or null if no overlap
+	 */
+	protected static int[] getFileRowRange(HDF5Input in, long offset, IndexRange ix) {
+		long rl = Math.max(ix.rowStart, offset);
+		long ru = Math.min(ix.rowEnd + 1, offset + in.getNumRows());
+		return (rl < ru) ? new int[] {(int) (rl - offset), (int) (ru - offset)} : null;
+	}
+
+	/**
+	 * Determines the global read range of all files, which is either the requested slice or the entire matrix.
+	 *
+	 * @param inputs opened HDF5 inputs (stacked by rows)
+	 * @param props  HDF5 file format properties
+	 * @return read range (0-based, inclusive)
+	 * @throws IOException if the files are inconsistent or the slice is out of bounds
+	 */
+	protected static IndexRange getReadRange(List<HDF5Input> inputs, FileFormatPropertiesHDF5 props)
+		throws IOException {
+		long nrow = 0;
+		int ncol = inputs.get(0).getNumColumns();
+		for(HDF5Input in : inputs) {
+			if(in.getNumColumns() != ncol)
+				throw new IOException("Inconsistent number of columns in HDF5 files: " + in.getNumColumns() + " vs " + ncol);
+			nrow += in.getNumRows();
+		}
+		if(!props.hasSlice())
+			return new IndexRange(0, nrow - 1, 0, ncol - 1);
+
+		IndexRange ix = props.getSlice();
+		if(ix.rowStart < 0 || ix.rowStart > ix.rowEnd || ix.rowEnd >= nrow || ix.colStart < 0 ||
+			ix.colStart > ix.colEnd || ix.colEnd >= ncol)
+			throw new IOException("Invalid HDF5 slice " + ix + " for dataset of size " + nrow + "x" + ncol);
+		return ix;
+	}
+
+	protected static List<Path> getHDF5Files(FileSystem fs, Path path) throws IOException {
 		//prepare file paths in alphanumeric order
 		ArrayList<Path> files = new ArrayList<>();
 		if(fs.getFileStatus(path).isDirectory()) {
@@ -102,70 +285,133 @@ public class ReaderHDF5 extends MatrixReader {
 		}
 		else
 			files.add(path);
+		return files;
+	}
 
-		//determine matrix size via additional pass if required
-		if(dest == null) {
-			dest = computeHDF5Size(files, fs, datasetName);
-			clen = dest.getNumColumns();
-			rlen = dest.getNumRows();
+	protected static List<HDF5Input> openHDF5Inputs(FileSystem fs, List<Path> files, String datasetName)
+		throws IOException {
+		List<HDF5Input> inputs = new ArrayList<>();
+		try {
+			for(Path file : files)
+				inputs.add(new HDF5Input(createByteReader(fs, file), datasetName));
 		}
-
-		//actual read of individual files
-		long lnnz = 0;
-		for(int fileNo = 0; fileNo < files.size(); fileNo++) {
-			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)),
-				(int) (H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8)));
-			lnnz += readMatrixFromHDF5(bis, datasetName, dest, 0, rlen, clen, blen);
+		catch(IOException | RuntimeException e) {
+			closeHDF5Inputs(inputs);
+			throw e;
 		}
-		//post processing
-		dest.setNonZeros(lnnz);
+		return inputs;
+	}
 
-		return dest;
+	protected static void closeHDF5Inputs(List<HDF5Input> inputs) {
+		for(HDF5Input in : inputs)
+			IOUtilFunctions.closeSilently(in);
 	}
 
-	public static long readMatrixFromHDF5(BufferedInputStream bis, String datasetName, MatrixBlock dest,
-		int row, long rlen, long clen, int blen) {
-		bis.mark(0);
-		long lnnz = 0;
-		H5RootObject rootObject = H5.H5Fopen(bis);
-		H5ContiguousDataset contiguousDataset = H5.H5Dopen(rootObject, datasetName);
-
-		int[] dims = rootObject.getDimensions();
-		int ncol = dims[1];
-
-		DenseBlock denseBlock = dest.getDenseBlock();
-		double[] data = new double[ncol];
-		for(int i = row; i < rlen; i++) {
-			H5.H5Dread(contiguousDataset, i, data);
-			for(int j = 0; j < ncol; j++) {
-				if(data[j] != 0) {
-					denseBlock.set(i, j, data[j]);
-					lnnz++;
-				}
-			}
-			row++;
+	/**
+	 * Creates a thread-safe random access reader, using positional file channel reads for local files and positional
+	 * reads of the input stream for other file systems.
+	 *
+	 * @param fs   file system
+	 * @param path file path
+	 * @return byte reader
+	 * @throws IOException if the file cannot be opened
+	 */
+	protected static H5ByteReader createByteReader(FileSystem fs, Path path) throws IOException {
+		if(fs instanceof LocalFileSystem) {
+			return new H5FileChannelByteReader(
+				FileChannel.open(((LocalFileSystem) fs).pathToFile(path).toPath(), StandardOpenOption.READ));
 		}
-		IOUtilFunctions.closeSilently(bis);
-		return lnnz;
+		FSDataInputStream in = fs.open(path);
+		return new H5ByteReader() {
+			@Override
+			public ByteBuffer read(long offset, int length) throws IOException {
+				byte[] b = new byte[length];
+				in.readFully(offset, b);
+				return ByteBuffer.wrap(b);
+			}
+
+			@Override
+			public void close() throws IOException {
+				in.close();
+			}
+		};
 	}
 
 	public static MatrixBlock computeHDF5Size(List<Path> files, FileSystem fs, String datasetName)
 		throws IOException, DMLRuntimeException {
-		int nrow = 0;
-		int ncol = 0;
-		for(int fileNo = 0; fileNo < files.size(); fileNo++) {
+		List<HDF5Input> inputs = openHDF5Inputs(fs, files, datasetName);
+		try {
+			IndexRange ix = getReadRange(inputs, new FileFormatPropertiesHDF5(datasetName));
+			int nrow = (int) ix.rowEnd + 1;
+			int ncol = (int) ix.colEnd + 1;
+			// allocate target matrix block based on given size;
+			return createOutputMatrixBlock(nrow, ncol, nrow, (long) nrow * ncol, true, false);
+		}
+		finally {
+			closeHDF5Inputs(inputs);
+		}
+	}
+
+	/**
+	 * Opened two-dimensional HDF5 dataset (contiguous or chunked) of a single file.
+	 */
+	protected static class HDF5Input implements Closeable {
+		private final H5ByteReader _reader;
+		private final H5ContiguousDataset _contiguous;
+		private final H5ChunkedDataset _chunked;
+		private final int _nrow;
+		private final int _ncol;
 
-			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)));
-			H5RootObject rootObject = H5.H5Fopen(bis);
-			H5.H5Dopen(rootObject, datasetName);
+		public HDF5Input(H5ByteReader reader, String datasetName) throws IOException {
+			_reader = reader;
+			H5RootObject rootObject = H5.H5Fopen(reader);
+			H5ObjectHeader header = H5.H5Oopen(rootObject, datasetName);
+			if(rootObject.getRank() != 2)
+				throw new IOException("Unsupported HDF5 dataset of rank " + rootObject.getRank() + ": " + datasetName);
+			if(header.getMessageOfType(H5DataLayoutMessage.class).isChunked()) {
+				_chunked = new H5ChunkedDataset(rootObject, header);
+				_contiguous = null;
+			}
+			else {
+				_contiguous = new H5ContiguousDataset(rootObject, header);
+				_chunked = null;
+			}
+			_nrow = (int) rootObject.getRow();
+			_ncol = (int) rootObject.getCol();
+		}
 
-			int[] dims = rootObject.getDimensions();
-			nrow += dims[0];
-			ncol += dims[1];
+		public boolean isChunked() {
+			return _chunked != null;
+		}
 
-			IOUtilFunctions.closeSilently(bis);
+		public H5ChunkedDataset getChunkedDataset() {
+			return _chunked;
+		}
+
+		public H5ContiguousDataset getContiguousDataset() {
+			return _contiguous;
+		}
+
+		public int getNumRows() {
+			return _nrow;
+		}
+
+		public int getNumColumns() {
+			return _ncol;
+		}
+
+		/**
+		 * Gets the number of rows per chunk, which are the units of aligned parallel reads.
+		 *
+		 * @return number of rows per chunk, or 1 for contiguous datasets
+		 */
+		public int getRowsPerChunk() {
+			return isChunked() ? _chunked.getChunkDimensions()[0] : 1;
+		}
+
+		@Override
+		public void close() throws IOException {
+			_reader.close();
 		}
-		// allocate target matrix block based on given size;
-		return createOutputMatrixBlock(nrow, ncol, nrow, (long) nrow * ncol, true, false);
 	}
 }
@@ -21,16 +21,15 @@ package org.apache.sysds.runtime.io;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import org.apache.hadoop.mapred.FileInputFormat;
 import org.apache.hadoop.mapred.JobConf;
-import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
-import org.apache.sysds.runtime.io.hdf5.H5Constants;
+import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
-import java.io.BufferedInputStream;
+import org.apache.sysds.runtime.util.IndexRange;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -39,10 +38,13 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
+/**
+ * Parallel HDF5 matrix reader, which splits the requested rows of all files into row ranges (aligned to the row
+ * chunks of chunked datasets) that are read concurrently via thread-safe positional reads of a shared file handle.
+ */
 public class ReaderHDF5Parallel extends ReaderHDF5 {
 
 	final private int _numThreads;
-	protected JobConf _job;
 
 	public ReaderHDF5Parallel(FileFormatPropertiesHDF5 props) {
 		super(props);
@@ -54,51 +56,64 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		throws IOException, DMLRuntimeException {
 
 		// prepare file access
-		_job = new JobConf(ConfigurationManager.getCachedJobConf());
-
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
 		Path path = new Path(fname);
-		FileSystem fs = IOUtilFunctions.getFileSystem(path, _job);
-
-		FileInputFormat.addInputPath(_job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(_job);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
 
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		ArrayList<Path> files = new ArrayList<>();
-		files.add(path);
-		MatrixBlock src = computeHDF5Size(files, fs, _props.getDatasetName());
-
-		//create and execute tasks
+		List<HDF5Input> inputs = openHDF5Inputs(fs, getHDF5Files(fs, path), _props.getDatasetName());
+		MatrixBlock ret = null;
 		try {
-			ExecutorService pool = CommonThreadPool.get(_numThreads);
-			int bufferSize = (src.getNumColumns() * src.getNumRows()) * 8 + H5Constants.STATIC_HEADER_SIZE;
+			// allocate output matrix block
+			IndexRange ix = getReadRange(inputs, _props);
+			long nrow = ix.rowEnd - ix.rowStart + 1;
+			ret = createOutputMatrixBlock(nrow, ix.colEnd - ix.colStart + 1, (int) nrow, estnnz, true, false);
+
+			// create read tasks of chunk-aligned row ranges per file
 			ArrayList<ReadHDF5Task> tasks = new ArrayList<>();
-			rlen = src.getNumRows();
-			int blklen = (int) Math.ceil((double) rlen / _numThreads);
-			for(int i = 0; i < _numThreads & i * blklen < rlen; i++) {
-				int rl = i * blklen;
-				int ru = (int) Math.min((i + 1) * blklen, rlen);
-				BufferedInputStream bis = new BufferedInputStream(fs.open(path), bufferSize);
-
-				//BufferedInputStream bis, String datasetName, MatrixBlock src, MutableInt rl, int ru
-				tasks.add(new ReadHDF5Task(bis, _props.getDatasetName(), src, rl, ru));
+			long offset = 0;
+			for(HDF5Input in : inputs) {
+				int[] range = getFileRowRange(in, offset, ix);
+				if(range != null) {
+					int align = in.getRowsPerChunk();
+					int blklen = (int) Math.ceil((double) nrow / _numThreads);
+					blklen = Math.max(align, (blklen + align - 1) / align * align);
+					for(int rl = range[0]; rl < range[1];) {
+						int ru = Math.min((rl / align) * align + blklen, range[1]);
+						tasks.add(new ReadHDF5Task(in, ret.getDenseBlock(), rl, ru, ix, offset));
+						rl = ru;
+					}
+				}
+				offset += in.getNumRows();
 			}
 
-			//wait until all tasks have been executed
-			List<Future<Object>> rt = pool.invokeAll(tasks);
-			pool.shutdown();
-
-			//check for exceptions
-			for(Future<Object> task : rt)
-				task.get();
+			// wait until all tasks have been executed
+			ExecutorService pool = CommonThreadPool.get(_numThreads);
+			long lnnz = 0;
+			try {
+				for(Future<Long> task : pool.invokeAll(tasks))
+					lnnz += task.get();
+			}
+			finally {
+				pool.shutdown();
+			}
+			ret.setNonZeros(lnnz);
+		}
+		catch(IOException e) {
+			throw e;
 		}
 		catch(Exception e) {
 			throw new IOException("Failed parallel read of HDF5 input.", e);
 		}
-		return src;
+		finally {
+			closeHDF5Inputs(inputs);
+		}
+
+		// finally check if change of sparse/dense block representation required
+		ret.examSparsity();
+		return ret;
 	}
 
 	@Override
@@ -108,26 +123,27 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		return new ReaderHDF5(_props).readMatrixFromInputStream(is, rlen, clen, blen, estnnz);
 	}
 
-	private static class ReadHDF5Task implements Callable<Object> {
+	private static class ReadHDF5Task implements Callable<Long> {
 
-		private final BufferedInputStream _bis;
-		private final String _datasetName;
-		private final MatrixBlock _src;
+		private final HDF5Input _in;
+		private final DenseBlock _dest;
 		private final int _rl;
 		private final int _ru;
+		private final IndexRange _ix;
+		private final long _offset;
 
-		public ReadHDF5Task(BufferedInputStream bis, String datasetName, MatrixBlock src, int rl, int ru) {
-			_bis = bis;
-			_datasetName = datasetName;
-			_src = src;
+		public ReadHDF5Task(HDF5Input in, DenseBlock dest, int rl, int ru, IndexRange ix, long offset) {
+			_in = in;
+			_dest = dest;
 			_rl = rl;
 			_ru = ru;
+			_ix = ix;
+			_offset = offset;
 		}
 
 		@Override
-		public Object call() throws IOException {
-			readMatrixFromHDF5(_bis, _datasetName, _src, _rl, _ru, 0, 0);
-			return null;
+		public Long call() {
+			return readHDF5Rows(_in, _dest, _rl, _ru, _ix, _offset);
 		}
 	}
 }
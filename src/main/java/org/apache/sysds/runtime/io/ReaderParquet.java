@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.io.parquet.ParquetFilter;
+import org.apache.sysds.runtime.io.parquet.ParquetFilter.Predicate;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils.ParquetDataset;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils.RowGroup;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils.RowGroupReader;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Single-threaded matrix parquet reader. Column chunks are decoded per row group directly into the dense
+ * or sparse output block, and only the projected columns (if any) are read. Row filters (if any) skip
+ * row groups based on their column statistics, and select the qualifying rows of the remaining row groups.
+ * 
+ */
+public class ReaderParquet extends MatrixReader {
+	protected final FileFormatPropertiesParquet _props;
+
+	public ReaderParquet(FileFormatPropertiesParquet props) {
+		_props = (props != null) ? props : new FileFormatPropertiesParquet();
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// read footers (row groups and schema, pruned by the filter) and create projection
+		ParquetFilter filter = _props.getFilter();
+		ParquetDataset data = ParquetUtils.readDataset(job, fs, path, filter);
+		MessageType projection = ParquetUtils.getProjection(data.schema, _props.getColumns());
+		MessageType rschema = ParquetUtils.getReadSchema(data.schema, projection, filter);
+		int ncol = projection.getColumns().size();
+		if((filter == null && rlen >= 0 && rlen != data.nrow) || (clen >= 0 && clen != ncol))
+			throw new DMLRuntimeException("Read matrix dimensions differ from meta data: [" + data.nrow + "x" + ncol
+				+ "] vs. [" + rlen + "x" + clen + "].");
+
+		// allocate dense or sparse output according to the estimated nnz (appends require MCSR)
+		long ncells = (long) data.nrow * ncol;
+		long lestnnz = (estnnz >= 0 && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR) ?
+			Math.min(estnnz, ncells) : ncells;
+		MatrixBlock ret = createOutputMatrixBlock(data.nrow, ncol, blen, lestnnz, true, true);
+
+		// decode all column chunks into the output, and evaluate the filter into a selection vector
+		boolean[] sel = ParquetUtils.createSelection(filter, data.nrow);
+		long lnnz = (data.nrow > 0 && ncol > 0) ?
+			readParquetRowGroups(job, data.rowGroups, rschema, ncol, filter, ret, sel) : 0;
+		ret.setNonZeros(lnnz);
+
+		// select the qualifying rows of the filter
+		if(sel != null && ParquetUtils.countSelected(sel) < data.nrow)
+			ret = ret.removeEmptyOperations(new MatrixBlock(), true, false, createSelectVector(sel));
+
+		// post-processing (change of sparse/dense block representation)
+		ret.examSparsity();
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		throw new DMLRuntimeException("Parquet matrix read from input streams is not supported.");
+	}
+
+	protected long readParquetRowGroups(JobConf job, List<RowGroup> rowGroups, MessageType rschema, int ncol,
+		ParquetFilter filter, MatrixBlock out, boolean[] sel) throws IOException {
+		long lnnz = 0;
+		for(RowGroup rg : rowGroups)
+			lnnz += readParquetRowGroup(job, rg, rschema, ncol, filter, out, sel);
+		return lnnz;
+	}
+
+	protected static long readParquetRowGroup(JobConf job, RowGroup rg, MessageType rschema, int ncol,
+		ParquetFilter filter, MatrixBlock out, boolean[] sel) throws IOException {
+		long lnnz = 0;
+		try(RowGroupReader reader = new RowGroupReader(job, rg, rschema)) {
+			List<ColumnDescriptor> cols = rschema.getColumns();
+			for(int j = 0; j < cols.size(); j++) {
+				List<Predicate> preds = (filter != null) ? filter.getPredicates(cols.get(j).getPath()[0]) : null;
+				if(j < ncol)
+					lnnz += reader.readColumn(j, out, preds, sel);
+				else // filter-only column
+					reader.readColumn(j, null, preds, sel);
+			}
+		}
+		return lnnz;
+	}
+
+	private static MatrixBlock createSelectVector(boolean[] sel) {
+		MatrixBlock ret = new MatrixBlock(sel.length, 1, false);
+		ret.allocateDenseBlock();
+		DenseBlock db = ret.getDenseBlock();
+		for(int i = 0; i < sel.length; i++)
+			if(sel[i])
+				db.set(i, 0, 1);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -41,11 +42,15 @@ import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.data.SparseRow;
+import org.apache.sysds.runtime.data.SparseRowVector;
 import org.apache.sysds.runtime.io.IOUtilFunctions.CountRowsTask;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.FastDoubleParser;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
@@ -92,12 +97,19 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, rlen, clen, blen, estnnz);
+		MatrixBlock ret = null;
+		if(ConfigurationManager.isSinglePassCSVReadEnabled()) {
+			// Single Read Pass (read, parse strings into per-split buffers, concatenate)
+			ret = readCSVMatrixFromHDFSSinglePass(splits, path, rlen, clen, estnnz);
+		}
+		else {
+			// allocate output matrix block
+			// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
+			ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, rlen, clen, blen, estnnz);
 
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, ret);
+			// Second Read Pass (read, parse strings, append to matrix block)
+			readCSVMatrixFromHDFS(splits, path, ret);
+		}
 
 		// post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
@@ -167,18 +179,7 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		informat.configure(_job);
 
 		// count number of entities in the first non-header row
-		LongWritable key = new LongWritable();
-		Text oneLine = new Text();
-		RecordReader<LongWritable, Text> reader = informat.getRecordReader(splits[0], _job, Reporter.NULL);
-		try {
-			if(reader.next(key, oneLine)) {
-				String cellStr = oneLine.toString().trim();
-				_cLen = StringUtils.countMatches(cellStr, _props.getDelim()) + 1;
-			}
-		}
-		finally {
-			IOUtilFunctions.closeSilently(reader);
-		}
+		_cLen = computeNumColumns(splits[0], informat);
 
 		// count rows in parallel per split
 		try {
@@ -229,6 +230,135 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		return createOutputMatrixBlock(_rLen, _cLen, blen, estnnz2, true, true);
 	}
 
+	private int computeNumColumns(InputSplit split, TextInputFormat informat) throws IOException {
+		LongWritable key = new LongWritable();
+		Text oneLine = new Text();
+		RecordReader<LongWritable, Text> reader = informat.getRecordReader(split, _job, Reporter.NULL);
+		try {
+			if(reader.next(key, oneLine)) {
+				String cellStr = oneLine.toString().trim();
+				return StringUtils.countMatches(cellStr, _props.getDelim()) + 1;
+			}
+			return 0;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+
+	private MatrixBlock readCSVMatrixFromHDFSSinglePass(InputSplit[] splits, Path path, long rlen, long clen,
+		long estnnz) throws IOException, DMLRuntimeException {
+		FileInputFormat.addInputPath(_job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(_job);
+
+		// count number of entities in the first non-header row
+		int ncol = computeNumColumns(splits[0], informat);
+		if(clen != -1 && clen < ncol)
+			throw new DMLRuntimeException("Read matrix dimensions differ from meta data: [?x" + ncol + "] vs. ["
+				+ rlen + "x" + clen + "].");
+		_cLen = (clen != -1) ? (int) clen : ncol;
+
+		// speculative sizing of the per-split buffers (exact if rlen known, otherwise
+		// extrapolated from the split lengths in bytes); the buffers grow if needed
+		boolean sparse = rlen > 0 && estnnz >= 0 && MatrixBlock.evalSparseFormatInMemory(rlen, _cLen, estnnz);
+		long totalLength = 0;
+		for(InputSplit split : splits)
+			totalLength += split.getLength();
+
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			// parse all splits into independent row buffers
+			ArrayList<CSVReadSinglePassTask> tasks = new ArrayList<>();
+			for(int i = 0; i < splits.length; i++) {
+				int estRows = (rlen > 0 && totalLength > 0) ?
+					(int) Math.min(Math.ceil((double) rlen * splits[i].getLength() / totalLength) + 1, rlen) : 1024;
+				tasks.add(new CSVReadSinglePassTask(splits[i], informat, ncol, i == 0, sparse, estRows));
+			}
+			ArrayList<SplitBuffer> buffers = new ArrayList<>();
+			for(Future<SplitBuffer> f : pool.invokeAll(tasks))
+				buffers.add(f.get());
+
+			// determine and validate the number of rows
+			long nrow = 0, nnz = 0;
+			for(SplitBuffer buff : buffers) {
+				nrow += buff.nrow;
+				nnz += buff.nnz;
+			}
+			if(rlen != -1 && rlen < nrow)
+				throw new DMLRuntimeException("Read matrix dimensions differ from meta data: [" + nrow + "x" + ncol
+					+ "] vs. [" + rlen + "x" + clen + "].");
+			if((rlen != -1 && rlen != nrow) || _cLen != ncol)
+				LOG.warn("Read matrix dimensions differ from meta data: [" + nrow + "x" + ncol + "] vs. [" + rlen
+					+ "x" + clen + "].");
+			_rLen = (rlen != -1) ? (int) rlen : (int) nrow;
+			if(!OptimizerUtils.isValidCPDimensions(_rLen, _cLen))
+				throw new DMLRuntimeException("Matrix dimensions too large for CP runtime: " + _rLen + " x " + _cLen);
+
+			// assemble the output matrix block (zero-copy where possible)
+			return sparse ? assembleSparse(buffers, nnz) : assembleDense(buffers, nnz, pool);
+		}
+		catch(DMLRuntimeException e) {
+			throw e;
+		}
+		catch(Exception e) {
+			throw new IOException("Thread pool issue, while parallel read.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private MatrixBlock assembleSparse(ArrayList<SplitBuffer> buffers, long nnz) {
+		// concatenate the row references of all splits, no copy of row contents
+		SparseRow[] rows = new SparseRow[_rLen];
+		int pos = 0;
+		for(SplitBuffer buff : buffers) {
+			System.arraycopy(buff.srows, 0, rows, pos, buff.nrow);
+			pos += buff.nrow;
+		}
+		return new MatrixBlock(_rLen, _cLen, nnz, new SparseBlockMCSR(rows, false));
+	}
+
+	private MatrixBlock assembleDense(ArrayList<SplitBuffer> buffers, long nnz, ExecutorService pool)
+		throws Exception {
+		// zero-copy for a single buffer that exactly matches the output
+		if(buffers.size() == 1 && buffers.get(0).dvals.length == (long) _rLen * _cLen) {
+			MatrixBlock ret = new MatrixBlock(_rLen, _cLen,
+				DenseBlockFactory.createDenseBlock(buffers.get(0).dvals, _rLen, _cLen));
+			ret.setNonZeros(nnz);
+			return ret;
+		}
+
+		// parallel copy of the split buffers into disjoint row ranges
+		MatrixBlock ret = new MatrixBlock(_rLen, _cLen, false);
+		ret.allocateDenseBlock();
+		final DenseBlock a = ret.getDenseBlock();
+		ArrayList<Callable<Object>> tasks = new ArrayList<>();
+		int rl = 0;
+		for(SplitBuffer buff : buffers) {
+			final int off = rl;
+			tasks.add(() -> {
+				for(int i = 0; i < buff.nrow; i++)
+					System.arraycopy(buff.dvals, i * _cLen, a.values(off + i), a.pos(off + i), _cLen);
+				return null;
+			});
+			rl += buff.nrow;
+		}
+		for(Future<Object> f : pool.invokeAll(tasks))
+			f.get();
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+
+	private static class SplitBuffer {
+		// parsed rows of one split, either dense row-major or sparse rows
+		private int nrow = 0;
+		private long nnz = 0;
+		private double[] dvals = null;
+		private SparseRow[] srows = null;
+	}
+
 	private static class SplitOffsetInfos {
 		// offset & length info per split
 		private int[] offsetPerSplit = null;
@@ -350,7 +480,7 @@ public class ReaderTextCSVParallel extends MatrixReader {
 						cellValue = _props.getFillValue();
 					}
 					else {
-						cellValue = Double.parseDouble(part);
+						cellValue = FastDoubleParser.parseDouble(part);
 					}
 					if(cellValue != 0) {
 						avals[apos+j] = cellValue;
@@ -476,7 +606,7 @@ public class ReaderTextCSVParallel extends MatrixReader {
 						cellValue = _props.getFillValue();
 					}
 					else {
-						cellValue = Double.parseDouble(part);
+						cellValue = FastDoubleParser.parseDouble(part);
 					}
 
 					if(cellValue != 0) {
@@ -514,7 +644,7 @@ public class ReaderTextCSVParallel extends MatrixReader {
 				SparseRow r = sb.get(_row);
 				for(String part : parts) {
 					if(!part.isEmpty()) {
-						cellValue = Double.parseDouble(part);
+						cellValue = FastDoubleParser.parseDouble(part);
 						if(cellValue != 0) {
 							r.append(_col, cellValue);
 							nnz++;
@@ -530,4 +660,121 @@ public class ReaderTextCSVParallel extends MatrixReader {
 			return nnz;
 		}
 	}
+	private class CSVReadSinglePassTask implements Callable<SplitBuffer> {
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final int _ncol;
+		private final boolean _isFirstSplit;
+		private final boolean _sparse;
+		private final int _estRows;
+		private final String _delim;
+		private boolean _noFillEmpty = false;
+
+		public CSVReadSinglePassTask(InputSplit split, TextInputFormat informat, int ncol, boolean isFirstSplit,
+			boolean sparse, int estRows) {
+			_split = split;
+			_informat = informat;
+			_ncol = ncol;
+			_isFirstSplit = isFirstSplit;
+			_sparse = sparse;
+			_estRows = Math.max(estRows, 1);
+			_delim = _props.getDelim();
+		}
+
+		@Override
+		public SplitBuffer call() throws Exception {
+			SplitBuffer ret = new SplitBuffer();
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			try {
+				// skip the header line
+				if(_isFirstSplit && _props.hasHeader())
+					reader.next(key, value);
+
+				if(_sparse)
+					ret.srows = new SparseRow[_estRows];
+				else
+					ret.dvals = new double[Math.min(_estRows, (Integer.MAX_VALUE - 8) / Math.max(_cLen, 1)) * _cLen];
+
+				while(reader.next(key, value)) { // foreach line
+					final String cellStr = value.toString().trim();
+					ensureCapacity(ret);
+					if(_sparse) {
+						SparseRowVector row = new SparseRowVector(Math.min(_ncol, 4), _ncol);
+						ret.nnz += parseLine(cellStr, null, 0, row);
+						ret.srows[ret.nrow] = row;
+					}
+					else
+						ret.nnz += parseLine(cellStr, ret.dvals, ret.nrow * _cLen, null);
+					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _props.isFill(), _noFillEmpty);
+					ret.nrow++;
+				}
+			}
+			catch(Exception ex) {
+				throw new IOException("Unable to read matrix in text CSV format. " + ex.getMessage(), ex);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return ret;
+		}
+
+		private void ensureCapacity(SplitBuffer buff) throws IOException {
+			final int maxRows = (Integer.MAX_VALUE - 8) / Math.max(_cLen, 1);
+			int cap = _sparse ? buff.srows.length : buff.dvals.length / Math.max(_cLen, 1);
+			if(buff.nrow < cap)
+				return;
+			if(cap >= maxRows)
+				throw new IOException("Split " + _split + " exceeds the maximum buffer size for single-pass read.");
+			int newCap = (int) Math.min(Math.max((long) (cap * 1.5), cap + 1), maxRows);
+			if(_sparse)
+				buff.srows = Arrays.copyOf(buff.srows, newCap);
+			else
+				buff.dvals = Arrays.copyOf(buff.dvals, newCap * _cLen);
+		}
+
+		private long parseLine(String line, double[] dvals, int off, SparseRowVector row) throws IOException {
+			// scan the line in place (no split or substring) and parse cells from char ranges
+			final int len = line.length();
+			final int dlen = _delim.length();
+			long nnz = 0;
+			int col = 0, from = 0;
+			while(from <= len && len > 0) {
+				int to = line.indexOf(_delim, from);
+				to = (to < 0) ? len : to;
+				if(col >= _ncol)
+					break;
+				double v = parseCell(line, from, to);
+				if(v != 0) {
+					if(row != null)
+						row.append(col, v);
+					else
+						dvals[off + col] = v;
+					nnz++;
+				}
+				col++;
+				from = to + dlen;
+			}
+			// sanity check (number of columns, incl. too many columns)
+			if(col != _ncol || from <= len)
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), line,
+					IOUtilFunctions.split(line, _delim), _ncol);
+			return nnz;
+		}
+
+		private double parseCell(String line, int from, int to) {
+			while(from < to && line.charAt(from) <= ' ')
+				from++;
+			while(to > from && line.charAt(to - 1) <= ' ')
+				to--;
+			if(from == to) {
+				_noFillEmpty |= !_props.isFill();
+				return _props.getFillValue();
+			}
+			return (_props.getNAStrings() != null) ?
+				UtilFunctions.parseToDouble(line.substring(from, to), _props.getNAStrings()) :
+				FastDoubleParser.parseDouble(line, from, to);
+		}
+	}
 }
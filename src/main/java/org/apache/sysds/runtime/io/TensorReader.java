@@ -23,6 +23,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteService;
 import org.apache.sysds.runtime.data.TensorBlock;
 import org.apache.sysds.runtime.util.HDFSTool;
 
@@ -35,6 +36,9 @@ public abstract class TensorReader {
 
 	protected static void checkValidInputFile(FileSystem fs, Path path)
 			throws IOException {
+		//wait for pending asynchronous writes of the input
+		AsyncWriteService.waitFor(path.toString());
+
 		//check non-existing file
 		if (!fs.exists(path))
 			throw new IOException("File " + path.toString() + " does not exist on HDFS/LFS.");
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile.ValueBytes;
+import org.apache.hadoop.io.SequenceFile.Writer;
+import org.apache.hadoop.io.compress.CodecPool;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Pipelined binary block writer, where worker threads slice, serialize, and optionally compress the blocks, while
+ * the calling thread acts as the I/O thread that appends the serialized blocks (in order) to a single sequence file.
+ * The number of blocks in flight is bounded in order to limit the memory overhead of serialized blocks.
+ */
+public class WriterBinaryBlockPipelined extends WriterBinaryBlock {
+	private final String _compression;
+
+	public WriterBinaryBlockPipelined(int replication, String compression) {
+		super(replication);
+		_compression = compression;
+	}
+
+	@Override
+	protected void writeBinaryBlockMatrixToHDFS(Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen,
+		long clen, int blen) throws IOException, DMLRuntimeException {
+		// bound check for src block
+		if(src.getNumRows() > rlen || src.getNumColumns() > clen) {
+			throw new IOException("Matrix block [1:" + src.getNumRows() + ",1:" + src.getNumColumns() + "] "
+				+ "out of overall matrix range [1:" + rlen + ",1:" + clen + "].");
+		}
+
+		int numThreads = OptimizerUtils.getParallelBinaryWriteParallelism();
+		boolean single = src.getNumRows() <= blen && src.getNumColumns() <= blen;
+		int nrb = single ? 1 : (int) Math.ceil((double) src.getNumRows() / blen);
+		int ncb = single ? 1 : (int) Math.ceil((double) src.getNumColumns() / blen);
+		CompressionCodec codec = getCompressionCodec(job, _compression);
+
+		ExecutorService pool = CommonThreadPool.get(numThreads);
+		final Writer writer = IOUtilFunctions.getSeqWriter(path, job, _replication, codec);
+		try {
+			// bounded queue of serialize tasks, consumed in submission order
+			Deque<Future<SerializedBlock>> queue = new ArrayDeque<>();
+			int maxPending = 2 * numThreads;
+			for(int bix = 0; bix < nrb * ncb; bix++) {
+				if(queue.size() >= maxPending)
+					queue.poll().get().appendTo(writer);
+				queue.add(pool.submit(new SerializeBlockTask(src, bix / ncb, bix % ncb, blen, codec)));
+			}
+			while(!queue.isEmpty())
+				queue.poll().get().appendTo(writer);
+		}
+		catch(IOException e) {
+			throw e;
+		}
+		catch(Exception e) {
+			throw new IOException("Failed pipelined write of binary block matrix.", e);
+		}
+		finally {
+			pool.shutdown();
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+
+	/**
+	 * Obtains the Hadoop compression codec for a given codec name or alias.
+	 *
+	 * @param conf        hadoop configuration
+	 * @param compression codec name (e.g., snappy, lz4, deflate), or null/none for uncompressed writes
+	 * @return compression codec, or null if uncompressed
+	 * @throws IOException if the codec is unknown
+	 */
+	public static CompressionCodec getCompressionCodec(Configuration conf, String compression) throws IOException {
+		if(compression == null || compression.isEmpty() || compression.equalsIgnoreCase("none"))
+			return null;
+		CompressionCodec codec = new CompressionCodecFactory(conf).getCodecByName(compression);
+		if(codec == null)
+			throw new IOException("Unknown compression codec for binary block write: " + compression);
+		return codec;
+	}
+
+	private static class SerializeBlockTask implements Callable<SerializedBlock> {
+		private final MatrixBlock _src;
+		private final int _blockRow;
+		private final int _blockCol;
+		private final int _blen;
+		private final CompressionCodec _codec;
+
+		public SerializeBlockTask(MatrixBlock src, int blockRow, int blockCol, int blen, CompressionCodec codec) {
+			_src = src;
+			_blockRow = blockRow;
+			_blockCol = blockCol;
+			_blen = blen;
+			_codec = codec;
+		}
+
+		@Override
+		public SerializedBlock call() throws IOException {
+			// slice block (directly write single block)
+			int rl = _blockRow * _blen;
+			int cl = _blockCol * _blen;
+			int ru = Math.min(rl + _blen, _src.getNumRows()) - 1;
+			int cu = Math.min(cl + _blen, _src.getNumColumns()) - 1;
+			boolean single = _src.getNumRows() <= _blen && _src.getNumColumns() <= _blen;
+			MatrixBlock block = single ? _src : _src.slice(rl, ru, cl, cu, new MatrixBlock());
+
+			// serialize key and value
+			byte[] key = new byte[16];
+			new MatrixIndexes(_blockRow + 1, _blockCol + 1).write(new CacheDataOutput(key));
+			byte[] value = new byte[(int) block.getExactSizeOnDisk()];
+			block.write(new CacheDataOutput(value));
+
+			return new SerializedBlock(key, (_codec != null) ? compress(value, _codec) : value);
+		}
+
+		private static byte[] compress(byte[] value, CompressionCodec codec) throws IOException {
+			Compressor compressor = CodecPool.getCompressor(codec);
+			try {
+				ByteArrayOutputStream bos = new ByteArrayOutputStream(value.length / 2 + 64);
+				try(OutputStream out = codec.createOutputStream(bos, compressor)) {
+					out.write(value);
+				}
+				return bos.toByteArray();
+			}
+			finally {
+				CodecPool.returnCompressor(compressor);
+			}
+		}
+	}
+
+	private static class SerializedBlock implements ValueBytes {
+		private final byte[] _key;
+		private final byte[] _value;
+
+		public SerializedBlock(byte[] key, byte[] value) {
+			_key = key;
+			_value = value;
+		}
+
+		public void appendTo(Writer writer) throws IOException {
+			writer.appendRaw(_key, 0, _key.length, this);
+		}
+
+		@Override
+		public void writeUncompressedBytes(DataOutputStream outStream) throws IOException {
+			outStream.write(_value);
+		}
+
+		@Override
+		public void writeCompressedBytes(DataOutputStream outStream) throws IOException {
+			// values are compressed by the serialize tasks if required
+			outStream.write(_value);
+		}
+
+		@Override
+		public int getSize() {
+			return _value.length;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Single-threaded matrix parquet writer, which writes each matrix column as a double column C1..Cn. Strides of
+ * rows are transposed into a column-major buffer and appended column by column to the column chunks.
+ * 
+ */
+public class WriterParquet extends MatrixWriter {
+	protected final FileFormatPropertiesParquet _props;
+
+	public WriterParquet(FileFormatPropertiesParquet props) {
+		_props = (props != null) ? props : new FileFormatPropertiesParquet();
+	}
+
+	@Override
+	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int blen, long nnz,
+		boolean diag) throws IOException, DMLRuntimeException {
+		// validity check matrix dimensions
+		if(src.getNumRows() != rlen || src.getNumColumns() != clen)
+			throw new IOException("Matrix dimensions mismatch with metadata: " + src.getNumRows() + "x"
+				+ src.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+
+		// if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		// core write (sequential/parallel)
+		writeParquetMatrixToHDFS(path, job, src, createSchema((int) clen));
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int blen)
+		throws IOException, DMLRuntimeException {
+		writeMatrixToHDFS(new MatrixBlock((int) rlen, (int) clen, true), fname, rlen, clen, blen, 0);
+	}
+
+	protected void writeParquetMatrixToHDFS(Path path, JobConf job, MatrixBlock src, MessageType schema)
+		throws IOException {
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		writeParquetMatrixToFile(path, job, src, schema, 0, src.getNumRows());
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	protected final void writeParquetMatrixToFile(Path path, JobConf job, MatrixBlock src, MessageType schema,
+		int rl, int ru) throws IOException {
+		final int clen = src.getNumColumns();
+		ParquetUtils.writeColumns(job, path, schema, _props.getCompression(), rl, ru, (writers, bl, bu) -> {
+			// transpose the rows [bl, bu) into a column-major buffer (zeros for empty blocks)
+			final int n = bu - bl;
+			final boolean empty = src.isEmptyBlock(false);
+			double[] buff = new double[n * clen];
+			if(!empty && src.isInSparseFormat()) {
+				SparseBlock sb = src.getSparseBlock();
+				for(int i = bl; i < bu; i++) {
+					if(sb.isEmpty(i))
+						continue;
+					int apos = sb.pos(i);
+					int alen = sb.size(i);
+					int[] aix = sb.indexes(i);
+					double[] avals = sb.values(i);
+					for(int k = apos; k < apos + alen; k++)
+						buff[aix[k] * n + i - bl] = avals[k];
+				}
+			}
+			else if(!empty) {
+				DenseBlock db = src.getDenseBlock();
+				for(int i = bl; i < bu; i++) {
+					double[] avals = db.values(i);
+					int apos = db.pos(i);
+					for(int j = 0; j < clen; j++)
+						buff[j * n + i - bl] = avals[apos + j];
+				}
+			}
+			// append the values column by column
+			for(int j = 0; j < clen; j++)
+				for(int i = j * n; i < (j + 1) * n; i++)
+					writers[j].write(buff[i], 0, 1);
+		});
+	}
+
+	private static MessageType createSchema(int clen) {
+		return ParquetUtils.createSchema(UtilFunctions.nCopies(clen, ValueType.FP64),
+			FrameBlock.createColNames(clen));
+	}
+}
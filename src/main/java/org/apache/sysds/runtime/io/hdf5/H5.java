@@ -35,15 +35,22 @@ public class H5 {
 	// 5. Close File
 
 	public static H5RootObject H5Fopen(BufferedInputStream bis) {
-		H5RootObject rootObject = new H5RootObject();
 		bis.mark(0);
+		H5RootObject rootObject = H5Fopen(H5ByteReader.of(bis));
+		rootObject.setBufferedInputStream(bis);
+		return rootObject;
+	}
+
+	// Open a File via random access reads (e.g., seekable file channels)
+	public static H5RootObject H5Fopen(H5ByteReader reader) {
+		H5RootObject rootObject = new H5RootObject();
 		try {
 			// Find out if the file is a HDF5 file
 			int maxSignatureLength = 2048;
 			boolean validSignature = false;
 			long offset;
 			for(offset = 0; offset < maxSignatureLength; offset = nextOffset(offset)) {
-				validSignature = H5Superblock.verifySignature(bis, offset);
+				validSignature = H5Superblock.verifySignature(reader, offset);
 				if(validSignature) {
 					break;
 				}
@@ -51,9 +58,9 @@ public class H5 {
 			if(!validSignature) {
 				throw new H5RuntimeException("No valid HDF5 signature found");
 			}
-			rootObject.setBufferedInputStream(bis);
+			rootObject.setByteReader(reader);
 
-			final H5Superblock superblock = new H5Superblock(bis, offset);
+			final H5Superblock superblock = new H5Superblock(reader, offset);
 			rootObject.setSuperblock(superblock);
 		}
 		catch(Exception exception) {
@@ -112,38 +119,46 @@ public class H5 {
 	// Open a Data Space
 	public static H5ContiguousDataset H5Dopen(H5RootObject rootObject, String datasetName) {
 		try {
-			H5SymbolTableEntry symbolTableEntry = new H5SymbolTableEntry(rootObject,
-				rootObject.getSuperblock().rootGroupSymbolTableAddress - rootObject.getSuperblock().baseAddressByte);
-
-			H5ObjectHeader objectHeader = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
-
-			final H5SymbolTableMessage stm = (H5SymbolTableMessage) objectHeader.getMessages().get(0);
-			final H5BTree rootBTreeNode = new H5BTree(rootObject, stm.getbTreeAddress());
-			final H5LocalHeap rootNameHeap = new H5LocalHeap(rootObject, stm.getLocalHeapAddress());
-			final ByteBuffer nameBuffer = rootNameHeap.getDataBuffer();
-			final List<Long> childAddresses = rootBTreeNode.getChildAddresses();
+			return new H5ContiguousDataset(rootObject, H5Oopen(rootObject, datasetName));
+		}
+		catch(Exception exception) {
+			throw new H5RuntimeException(exception);
+		}
+	}
 
-			long child = childAddresses.get(0);
+	// Open a chunked Data Space
+	public static H5ChunkedDataset H5DopenChunked(H5RootObject rootObject, String datasetName) {
+		try {
+			return new H5ChunkedDataset(rootObject, H5Oopen(rootObject, datasetName));
+		}
+		catch(Exception exception) {
+			throw new H5RuntimeException(exception);
+		}
+	}
 
-			H5GroupSymbolTableNode groupSTE = new H5GroupSymbolTableNode(rootObject, child);
+	// Open the object header of a dataset in the root group
+	public static H5ObjectHeader H5Oopen(H5RootObject rootObject, String datasetName) {
+		H5SymbolTableEntry symbolTableEntry = new H5SymbolTableEntry(rootObject,
+			rootObject.getSuperblock().rootGroupSymbolTableAddress - rootObject.getSuperblock().baseAddressByte);
 
-			symbolTableEntry = groupSTE.getSymbolTableEntries()[0];
+		H5ObjectHeader objectHeader = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
 
-			nameBuffer.position(symbolTableEntry.getLinkNameOffset());
-			String childName = Utils.readUntilNull(nameBuffer);
+		final H5SymbolTableMessage stm = (H5SymbolTableMessage) objectHeader.getMessages().get(0);
+		final H5BTree rootBTreeNode = new H5BTree(rootObject, stm.getbTreeAddress());
+		final H5LocalHeap rootNameHeap = new H5LocalHeap(rootObject, stm.getLocalHeapAddress());
+		final ByteBuffer nameBuffer = rootNameHeap.getDataBuffer();
+		final List<Long> childAddresses = rootBTreeNode.getChildAddresses();
 
-			if(!childName.equals(datasetName)) {
-				throw new H5RuntimeException("The dataset name '" + datasetName + "' not found!");
+		// search all symbol table entries of the root group for the dataset name
+		for(long child : childAddresses) {
+			H5GroupSymbolTableNode groupSTE = new H5GroupSymbolTableNode(rootObject, child);
+			for(H5SymbolTableEntry entry : groupSTE.getSymbolTableEntries()) {
+				nameBuffer.position(entry.getLinkNameOffset());
+				if(Utils.readUntilNull(nameBuffer).equals(datasetName))
+					return new H5ObjectHeader(rootObject, entry.getObjectHeaderAddress());
 			}
-
-			final H5ObjectHeader header = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
-			final H5ContiguousDataset contiguousDataset = new H5ContiguousDataset(rootObject, header);
-			return contiguousDataset;
-
-		}
-		catch(Exception exception) {
-			throw new H5RuntimeException(exception);
 		}
+		throw new H5RuntimeException("The dataset name '" + datasetName + "' not found!");
 	}
 
 	// Create Dataset
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Random access to the bytes of an HDF5 file. Implementations based on positional reads
+ * (e.g., file channels) are stateless and allow concurrent reads of independent parts of the file.
+ */
+public interface H5ByteReader extends Closeable {
+
+	/**
+	 * Reads the given number of bytes starting at the given file offset.
+	 *
+	 * @param offset file offset in bytes
+	 * @param length number of bytes
+	 * @return byte buffer of the given length, positioned at 0 in default (big endian) order
+	 * @throws IOException if the bytes cannot be read
+	 */
+	public ByteBuffer read(long offset, int length) throws IOException;
+
+	@Override
+	public default void close() throws IOException {
+		// nothing to release by default
+	}
+
+	/**
+	 * Creates a byte reader over a marked buffered input stream, which re-reads from the mark on each read
+	 * and thus requires the stream buffer to hold the entire file.
+	 *
+	 * @param bis marked buffered input stream
+	 * @return byte reader (not thread-safe)
+	 */
+	public static H5ByteReader of(BufferedInputStream bis) {
+		return (offset, length) -> {
+			byte[] b = new byte[length];
+			bis.reset();
+			for(long skipped = 0; skipped < offset;) {
+				long n = bis.skip(offset - skipped);
+				if(n <= 0)
+					throw new EOFException("Failed to skip to address: " + offset);
+				skipped += n;
+			}
+			for(int off = 0; off < length;) {
+				int n = bis.read(b, off, length - off);
+				if(n < 0)
+					throw new EOFException("Failed to read " + length + " bytes from address: " + offset);
+				off += n;
+			}
+			return ByteBuffer.wrap(b);
+		};
+	}
+}
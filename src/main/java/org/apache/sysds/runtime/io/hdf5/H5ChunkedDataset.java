@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage.Filter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+public class H5ChunkedDataset {
+
+	// B-tree node type of raw data chunks
+	private static final int CHUNK_NODE_TYPE = 1;
+
+	private final H5RootObject rootObject;
+	private final H5DataLayoutMessage dataLayoutMessage;
+	private final H5DataTypeMessage dataTypeMessage;
+	private final List<Filter> filters;
+	private final List<Chunk> chunks;
+
+	public H5ChunkedDataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		this.rootObject = rootObject;
+		this.dataLayoutMessage = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
+		this.dataTypeMessage = objectHeader.getMessageOfType(H5DataTypeMessage.class);
+		if(!dataLayoutMessage.isChunked())
+			throw new H5RuntimeException("Dataset is not stored in chunked layout");
+
+		this.filters = objectHeader.hasMessageOfType(H5FilterPipelineMessage.class) ?
+			objectHeader.getMessageOfType(H5FilterPipelineMessage.class).getFilters() : Collections.emptyList();
+		for(Filter filter : filters)
+			if(filter.getId() != H5Constants.FILTER_DEFLATE)
+				throw new H5RuntimeException("Unsupported filter in chunked dataset: id = " + filter.getId());
+
+		// collect all chunks in row-major order of their offsets
+		this.chunks = new ArrayList<>();
+		if(dataLayoutMessage.getAddress() != H5Constants.UNDEFINED_ADDRESS)
+			readChunkIndex(dataLayoutMessage.getAddress());
+		chunks.sort(Comparator.comparingLong((Chunk c) -> c.getOffsets()[0])
+			.thenComparingLong(c -> c.getOffsets().length > 1 ? c.getOffsets()[1] : 0));
+	}
+
+	private void readChunkIndex(long address) {
+		H5Superblock sb = rootObject.getSuperblock();
+		ByteBuffer header = H5BTree.readHeaderAndValidateSignature(rootObject, address);
+		int nodeType = Utils.readBytesAsUnsignedInt(header, 1);
+		int nodeLevel = Utils.readBytesAsUnsignedInt(header, 1);
+		if(nodeType != CHUNK_NODE_TYPE)
+			throw new H5RuntimeException("B tree type is not raw data chunk. Type is: " + nodeType);
+
+		ByteBuffer counts = rootObject.readBufferFromAddress(address + 6, 2);
+		int entriesUsed = Utils.readBytesAsUnsignedInt(counts, 2);
+
+		// keys (size, filter mask, offsets incl. element dimension) interleaved with child pointers
+		int dimensionality = rootObject.getRank() + 1;
+		int keyBytes = 8 + 8 * dimensionality;
+		long keysAddress = address + 8L + 2L * sb.sizeOfOffsets;
+		ByteBuffer bb = rootObject.readBufferFromAddress(keysAddress,
+			(entriesUsed + 1) * keyBytes + entriesUsed * sb.sizeOfOffsets);
+
+		for(int i = 0; i < entriesUsed; i++) {
+			int size = Utils.readBytesAsUnsignedInt(bb, 4);
+			int filterMask = bb.getInt();
+			long[] offsets = new long[dimensionality - 1];
+			for(int j = 0; j < offsets.length; j++)
+				offsets[j] = Utils.readBytesAsUnsignedLong(bb, 8);
+			bb.position(bb.position() + 8);
+			long childAddress = Utils.readBytesAsUnsignedLong(bb, sb.sizeOfOffsets);
+
+			if(nodeLevel > 0)
+				readChunkIndex(childAddress);
+			else
+				chunks.add(new Chunk(offsets, childAddress, size, filterMask));
+		}
+	}
+
+	/**
+	 * Reads a single chunk and reverts all applied filters.
+	 *
+	 * @param chunk chunk descriptor
+	 * @return uncompressed chunk data in the byte order of the data type
+	 */
+	public ByteBuffer readChunk(Chunk chunk) {
+		ByteBuffer data = rootObject.readBufferFromAddressNoOrder(chunk.getAddress(), chunk.getSize());
+		int expectedSize = getChunkElements() * getElementSize();
+		for(int i = filters.size() - 1; i >= 0; i--) {
+			// skip filters excluded for this chunk
+			if((chunk.getFilterMask() & (1 << i)) != 0)
+				continue;
+			data = inflate(data, expectedSize);
+		}
+		data.order(dataTypeMessage.getDoubleDataType().getOrder());
+		return data;
+	}
+
+	private static ByteBuffer inflate(ByteBuffer input, int length) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(input);
+			byte[] out = new byte[length];
+			int off = 0;
+			while(off < length && !inflater.finished()) {
+				int n = inflater.inflate(out, off, length - off);
+				if(n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					break;
+				off += n;
+			}
+			if(off != length)
+				throw new H5RuntimeException("Failed to inflate chunk: expected " + length + " bytes, got " + off);
+			return ByteBuffer.wrap(out);
+		}
+		catch(DataFormatException e) {
+			throw new H5RuntimeException("Failed to inflate chunk", e);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+	public List<Chunk> getChunks() {
+		return chunks;
+	}
+
+	public int[] getChunkDimensions() {
+		return dataLayoutMessage.getChunkDimensions();
+	}
+
+	public int getChunkElements() {
+		int len = 1;
+		for(int dim : getChunkDimensions())
+			len *= dim;
+		return len;
+	}
+
+	public int getElementSize() {
+		return (int) dataLayoutMessage.getSize();
+	}
+
+	public H5DataTypeMessage getDataType() {
+		return dataTypeMessage;
+	}
+
+	public static class Chunk {
+		private final long[] offsets;
+		private final long address;
+		private final int size;
+		private final int filterMask;
+
+		public Chunk(long[] offsets, long address, int size, int filterMask) {
+			this.offsets = offsets;
+			this.address = address;
+			this.size = size;
+			this.filterMask = filterMask;
+		}
+
+		public long[] getOffsets() {
+			return offsets;
+		}
+
+		public long getAddress() {
+			return address;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public int getFilterMask() {
+			return filterMask;
+		}
+	}
+}
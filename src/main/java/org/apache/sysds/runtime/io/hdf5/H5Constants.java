@@ -28,6 +28,10 @@ public final class H5Constants {
 	public static final int DATA_TYPE_MESSAGE = 3;
 	public static final int FILL_VALUE_MESSAGE = 5;
 	public static final int DATA_LAYOUT_MESSAGE = 8;
+	public static final int FILTER_PIPELINE_MESSAGE = 11;
 	public static final int SYMBOL_TABLE_MESSAGE = 17;
 	public static final int OBJECT_MODIFICATION_TIME_MESSAGE = 18;
+	public static final int CONTIGUOUS_LAYOUT = 1;
+	public static final int CHUNKED_LAYOUT = 2;
+	public static final int FILTER_DEFLATE = 1;
 }
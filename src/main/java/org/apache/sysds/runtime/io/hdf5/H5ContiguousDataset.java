@@ -45,11 +45,22 @@ public class H5ContiguousDataset {
 	}
 
 	public ByteBuffer getDataBuffer(int row) {
+		return getDataBuffer(row * rootObject.getCol(), (int) rootObject.getCol());
+	}
+
+	/**
+	 * Reads a consecutive range of elements of the dataset (in row-major order) via random access.
+	 *
+	 * @param offset element offset
+	 * @param length number of elements
+	 * @return data buffer in the byte order of the data type
+	 */
+	public ByteBuffer getDataBuffer(long offset, int length) {
 		try {
-			long rowPos = row * rootObject.getCol()*this.dataTypeMessage.getDoubleDataType().getSize();
-			ByteBuffer data = rootObject.readBufferFromAddressNoOrder(dataLayoutMessage.getAddress() + rowPos,
-				(int) (rootObject.getCol() * this.dataTypeMessage.getDoubleDataType().getSize()));
-			data.order(LITTLE_ENDIAN);
+			H5DoubleDataType dataType = this.dataTypeMessage.getDoubleDataType();
+			ByteBuffer data = rootObject.readBufferFromAddressNoOrder(
+				dataLayoutMessage.getAddress() + offset * dataType.getSize(), length * dataType.getSize());
+			data.order(dataType.getOrder() != null ? dataType.getOrder() : LITTLE_ENDIAN);
 
 			return data;
 		}
@@ -57,6 +68,7 @@ public class H5ContiguousDataset {
 			throw new H5RuntimeException("Failed to map data buffer for dataset", e);
 		}
 	}
+
 	public H5DataTypeMessage getDataType() {
 		return dataTypeMessage;
 	}
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io.hdf5;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.util.BitSet;
 
 public class H5DoubleDataType {
@@ -132,6 +133,18 @@ public class H5DoubleDataType {
 		db.get(data);
 	}
 
+	public void fillData(ByteBuffer buffer, double[] data, int pos, int len) {
+		if(size == 8)
+			buffer.asDoubleBuffer().get(data, pos, len);
+		else if(size == 4) {
+			FloatBuffer fb = buffer.asFloatBuffer();
+			for(int i = pos; i < pos + len; i++)
+				data[i] = fb.get();
+		}
+		else
+			throw new H5RuntimeException("Unsupported floating point size = " + size);
+	}
+
 	public int getVersion() {
 		return version;
 	}
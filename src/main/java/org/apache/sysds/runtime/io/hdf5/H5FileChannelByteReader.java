@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Seekable byte reader over a file channel. Positional reads do not modify the channel position,
+ * and hence, this reader can be shared by concurrent readers of independent row ranges or chunks.
+ */
+public class H5FileChannelByteReader implements H5ByteReader {
+
+	private final FileChannel channel;
+
+	public H5FileChannelByteReader(FileChannel channel) {
+		this.channel = channel;
+	}
+
+	@Override
+	public ByteBuffer read(long offset, int length) throws IOException {
+		ByteBuffer bb = ByteBuffer.allocate(length);
+		long pos = offset;
+		while(bb.hasRemaining()) {
+			int n = channel.read(bb, pos);
+			if(n < 0)
+				throw new EOFException("Failed to read " + length + " bytes from address: " + offset);
+			pos += n;
+		}
+		bb.rewind();
+		return bb;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -29,6 +29,7 @@ import static java.nio.ByteOrder.LITTLE_ENDIAN;
 public class H5RootObject {
 
 	protected BufferedInputStream bufferedInputStream;
+	protected H5ByteReader byteReader;
 	protected BufferedOutputStream bufferedOutputStream;
 	protected H5Superblock superblock;
 	protected int rank;
@@ -52,36 +53,18 @@ public class H5RootObject {
 	protected byte dataLayoutClass = 1;
 
 	public ByteBuffer readBufferFromAddress(long address, int length) {
-		ByteBuffer bb = ByteBuffer.allocate(length);
-		try {
-			byte[] b = new byte[length];
-			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
-			bb.put(b);
-		}
-		catch(IOException e) {
-			throw new H5RuntimeException(e);
-		}
+		ByteBuffer bb = readBufferFromAddressNoOrder(address, length);
 		bb.order(LITTLE_ENDIAN);
-		bb.rewind();
 		return bb;
 	}
 
 	public ByteBuffer readBufferFromAddressNoOrder(long address, int length) {
-		ByteBuffer bb = ByteBuffer.allocate(length);
 		try {
-			byte[] b = new byte[length];
-			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
-			bb.put(b);
+			return byteReader.read(address, length);
 		}
 		catch(IOException e) {
 			throw new H5RuntimeException(e);
 		}
-		bb.rewind();
-		return bb;
 	}
 
 	public BufferedInputStream getBufferedInputStream() {
@@ -90,6 +73,15 @@ public class H5RootObject {
 
 	public void setBufferedInputStream(BufferedInputStream bufferedInputStream) {
 		this.bufferedInputStream = bufferedInputStream;
+		this.byteReader = H5ByteReader.of(bufferedInputStream);
+	}
+
+	public H5ByteReader getByteReader() {
+		return byteReader;
+	}
+
+	public void setByteReader(H5ByteReader byteReader) {
+		this.byteReader = byteReader;
 	}
 
 	public BufferedOutputStream getBufferedOutputStream() {
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.io.hdf5;
 
 
 import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -49,13 +50,18 @@ public class H5Superblock {
 	}
 
 	static boolean verifySignature(BufferedInputStream bis, long offset) {
+		return verifySignature(H5ByteReader.of(bis), offset);
+	}
+
+	static boolean verifySignature(H5ByteReader reader, long offset) {
 		// Format Signature
 		byte[] signature = new byte[HDF5_FILE_SIGNATURE_LENGTH];
 
 		try {
-			bis.reset();
-			bis.skip(offset);
-			bis.read(signature);
+			reader.read(offset, HDF5_FILE_SIGNATURE_LENGTH).get(signature);
+		}
+		catch(EOFException e) {
+			return false; // file smaller than offset
 		}
 		catch(IOException e) {
 			throw new H5RuntimeException("Failed to read from address: " + offset, e);
@@ -65,6 +71,10 @@ public class H5Superblock {
 	}
 
 	public H5Superblock(BufferedInputStream bis, long address) {
+		this(H5ByteReader.of(bis), address);
+	}
+
+	public H5Superblock(H5ByteReader reader, long address) {
 
 		// Calculated bytes for the super block header is = 56
 		int superBlockHeaderSize = 12;
@@ -72,21 +82,15 @@ public class H5Superblock {
 		long fileLocation = address + HDF5_FILE_SIGNATURE_LENGTH;
 		address += 12 + HDF5_FILE_SIGNATURE_LENGTH;
 
-		ByteBuffer header = ByteBuffer.allocate(superBlockHeaderSize);
-
+		ByteBuffer header;
 		try {
-			byte[] b = new byte[superBlockHeaderSize];
-			bis.reset();
-			bis.skip((int) fileLocation);
-			bis.read(b);
-			header.put(b);
+			header = reader.read(fileLocation, superBlockHeaderSize);
 		}
 		catch(IOException e) {
 			throw new H5RuntimeException(e);
 		}
 
 		header.order(LITTLE_ENDIAN);
-		header.rewind();
 
 		try {
 
@@ -128,16 +132,9 @@ public class H5Superblock {
 			address += 4;
 
 			int nextSectionSize = 4 * sizeOfOffsets;
-			header = ByteBuffer.allocate(nextSectionSize);
-
-			byte[] hb = new byte[nextSectionSize];
-			bis.reset();
-			bis.skip(address);
-			bis.read(hb);
-			header.put(hb);
+			header = reader.read(address, nextSectionSize);
 			address += nextSectionSize;
 			header.order(LITTLE_ENDIAN);
-			header.rewind();
 
 			// Base Address
 			baseAddressByte = Utils.readBytesAsUnsignedLong(header, sizeOfOffsets);
@@ -23,6 +23,7 @@ package org.apache.sysds.runtime.io.hdf5.message;
 import org.apache.sysds.runtime.io.hdf5.H5BufferBuilder;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
 import org.apache.sysds.runtime.io.hdf5.Utils;
 
 import java.nio.ByteBuffer;
@@ -32,19 +33,47 @@ public class H5DataLayoutMessage extends H5Message {
 
 	private final long address;
 	private final long size;
+	private final int layoutClass;
+	// chunk dimensions (without the trailing element size) for chunked layouts
+	private final int[] chunkDimensions;
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
 		super(rootObject, flags);
-		rootObject.setDataLayoutVersion(bb.get());
-		rootObject.setDataLayoutClass(bb.get());
-		this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
-		this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+		byte version = bb.get();
+		byte layout = bb.get();
+		rootObject.setDataLayoutVersion(version);
+		rootObject.setDataLayoutClass(layout);
+		this.layoutClass = layout;
+
+		if(version != 3)
+			throw new H5RuntimeException("Unsupported data layout message version = " + version);
+		switch(layout) {
+			case H5Constants.CONTIGUOUS_LAYOUT:
+				this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+				this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+				this.chunkDimensions = null;
+				break;
+			case H5Constants.CHUNKED_LAYOUT:
+				// dimensionality includes the element size as last dimension
+				int dimensionality = Utils.readBytesAsUnsignedInt(bb, 1);
+				this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+				this.chunkDimensions = new int[dimensionality - 1];
+				for(int i = 0; i < chunkDimensions.length; i++)
+					chunkDimensions[i] = Utils.readBytesAsUnsignedInt(bb, 4);
+				// element size in bytes
+				this.size = Utils.readBytesAsUnsignedInt(bb, 4);
+				break;
+			default:
+				throw new H5RuntimeException("Unsupported data layout class = " + layout);
+		}
 	}
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, long address, long size) {
 		super(rootObject, flags);
 		this.address = address;
 		this.size = size;
+		this.layoutClass = H5Constants.CONTIGUOUS_LAYOUT;
+		this.chunkDimensions = null;
 	}
 
 	@Override
@@ -75,4 +104,16 @@ public class H5DataLayoutMessage extends H5Message {
 		return size;
 	}
 
+	public int getLayoutClass() {
+		return layoutClass;
+	}
+
+	public boolean isChunked() {
+		return layoutClass == H5Constants.CHUNKED_LAYOUT;
+	}
+
+	public int[] getChunkDimensions() {
+		return chunkDimensions;
+	}
+
 }
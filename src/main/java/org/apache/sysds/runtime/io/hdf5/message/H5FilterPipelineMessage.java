@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5.message;
+
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
+import org.apache.sysds.runtime.io.hdf5.Utils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+public class H5FilterPipelineMessage extends H5Message {
+
+	private final List<Filter> filters;
+
+	public H5FilterPipelineMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
+		super(rootObject, flags);
+		int version = Utils.readBytesAsUnsignedInt(bb, 1);
+		int numberOfFilters = Utils.readBytesAsUnsignedInt(bb, 1);
+		if(version != 1 && version != 2)
+			throw new H5RuntimeException("Unsupported filter pipeline message version = " + version);
+
+		// Skip 6 reserved bytes (version 1 only)
+		if(version == 1)
+			bb.position(bb.position() + 6);
+
+		filters = new ArrayList<>(numberOfFilters);
+		for(int i = 0; i < numberOfFilters; i++) {
+			int id = Utils.readBytesAsUnsignedInt(bb, 2);
+			// version 2 omits the name length for predefined filters
+			int nameLength = (version == 1 || id >= 256) ? Utils.readBytesAsUnsignedInt(bb, 2) : 0;
+			BitSet filterFlags = BitSet.valueOf(new byte[] {bb.get(), bb.get()});
+			int numberOfValues = Utils.readBytesAsUnsignedInt(bb, 2);
+
+			String name = null;
+			if(nameLength > 0) {
+				int pos = bb.position();
+				name = Utils.readUntilNull(Utils.createSubBuffer(bb, nameLength));
+				// version 1 pads names to a multiple of eight bytes
+				int padded = (version == 1) ? ((nameLength + 7) / 8) * 8 : nameLength;
+				bb.position(pos + padded);
+			}
+
+			int[] values = new int[numberOfValues];
+			for(int j = 0; j < numberOfValues; j++)
+				values[j] = bb.getInt();
+
+			// version 1 pads an odd number of values to a multiple of eight bytes
+			if(version == 1 && numberOfValues % 2 != 0)
+				bb.position(bb.position() + 4);
+
+			filters.add(new Filter(id, name, filterFlags.get(0), values));
+		}
+	}
+
+	public List<Filter> getFilters() {
+		return Collections.unmodifiableList(filters);
+	}
+
+	public static class Filter {
+		private final int id;
+		private final String name;
+		private final boolean optional;
+		private final int[] values;
+
+		public Filter(int id, String name, boolean optional, int[] values) {
+			this.id = id;
+			this.name = name;
+			this.optional = optional;
+			this.values = values;
+		}
+
+		public int getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public boolean isOptional() {
+			return optional;
+		}
+
+		public int[] getValues() {
+			return values;
+		}
+	}
+}
@@ -136,6 +136,9 @@ public abstract class H5Message {
 			case H5Constants.DATA_LAYOUT_MESSAGE:
 				return new H5DataLayoutMessage(rootObject, flags, bb);
 
+			case H5Constants.FILTER_PIPELINE_MESSAGE:
+				return new H5FilterPipelineMessage(rootObject, flags, bb);
+
 			case H5Constants.SYMBOL_TABLE_MESSAGE:
 				return new H5SymbolTableMessage(rootObject, flags, bb);
 
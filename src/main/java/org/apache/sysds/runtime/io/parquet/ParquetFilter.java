@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.parquet;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.Column;
+import org.apache.parquet.filter2.predicate.Operators.SupportsLtGt;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.sysds.runtime.DMLRuntimeException;
+
+/**
+ * Row filter of parquet reads, given as a conjunction of comparisons of columns and literals, e.g.,
+ * "age >= 18 &amp; country == 'CH'". The filter is pushed down into the reads in two steps: row groups whose
+ * column statistics (min/max) prove that no row qualifies are skipped entirely, and the rows of the remaining
+ * row groups are evaluated while decoding the filter columns. Null values never qualify.
+ */
+public class ParquetFilter implements Serializable {
+	private static final long serialVersionUID = 6361432493021586014L;
+
+	private static final Pattern PREDICATE = Pattern.compile("^\\s*([^<>=!\\s]+)\\s*(==|!=|<=|>=|<|>)\\s*(.*?)\\s*$");
+
+	public enum CompareOp {
+		EQ("=="), NEQ("!="), LT("<"), LTE("<="), GT(">"), GTE(">=");
+
+		private final String _symbol;
+
+		private CompareOp(String symbol) {
+			_symbol = symbol;
+		}
+
+		public static CompareOp fromSymbol(String symbol) {
+			for(CompareOp op : values())
+				if(op._symbol.equals(symbol))
+					return op;
+			throw new DMLRuntimeException("Unsupported parquet filter operator: " + symbol);
+		}
+
+		public boolean eval(int cmp) {
+			switch(this) {
+				case EQ:  return cmp == 0;
+				case NEQ: return cmp != 0;
+				case LT:  return cmp < 0;
+				case LTE: return cmp <= 0;
+				case GT:  return cmp > 0;
+				default:  return cmp >= 0;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return _symbol;
+		}
+	}
+
+	/**
+	 * Comparison of a column with a literal value.
+	 */
+	public static class Predicate implements Serializable {
+		private static final long serialVersionUID = -5102379012375638771L;
+
+		private final String _column;
+		private final CompareOp _op;
+		private final String _value;
+		private final double _num;
+
+		public Predicate(String column, CompareOp op, String value) {
+			_column = column;
+			_op = op;
+			_value = value;
+			_num = parseNumber(value);
+		}
+
+		public String getColumn() {
+			return _column;
+		}
+
+		public CompareOp getOp() {
+			return _op;
+		}
+
+		public String getValue() {
+			return _value;
+		}
+
+		public boolean isNumeric() {
+			return !Double.isNaN(_num);
+		}
+
+		/**
+		 * Evaluates the predicate for a numeric value, where NaN represents null. Non-numeric literals never
+		 * qualify.
+		 *
+		 * @param v value
+		 * @return true if the value qualifies
+		 */
+		public boolean eval(double v) {
+			return isNumeric() && !Double.isNaN(v) && _op.eval(v < _num ? -1 : (v > _num ? 1 : 0));
+		}
+
+		/**
+		 * Evaluates the predicate for a string value, where null never qualifies.
+		 *
+		 * @param v value
+		 * @return true if the value qualifies
+		 */
+		public boolean eval(String v) {
+			return v != null && _op.eval(v.compareTo(_value));
+		}
+
+		@Override
+		public String toString() {
+			return _column + " " + _op + " " + _value;
+		}
+
+		private static double parseNumber(String value) {
+			if(value.equalsIgnoreCase("true"))
+				return 1;
+			else if(value.equalsIgnoreCase("false"))
+				return 0;
+			try {
+				return Double.parseDouble(value);
+			}
+			catch(NumberFormatException ex) {
+				return Double.NaN;
+			}
+		}
+	}
+
+	private final List<Predicate> _preds;
+
+	public ParquetFilter(List<Predicate> preds) {
+		_preds = preds;
+	}
+
+	/**
+	 * Parses a conjunction of predicates "column op literal" (separated by '&amp;'), where op is one of ==, !=, &lt;,
+	 * &lt;=, &gt;, &gt;=, and string literals may be quoted with single quotes.
+	 *
+	 * @param expr filter expression
+	 * @return parsed filter
+	 */
+	public static ParquetFilter parse(String expr) {
+		List<Predicate> preds = new ArrayList<>();
+		for(String term : expr.split("&")) {
+			Matcher m = PREDICATE.matcher(term);
+			if(!m.matches() || m.group(3).isEmpty())
+				throw new DMLRuntimeException("Invalid parquet filter predicate '" + term.trim() + "' in: " + expr);
+			String value = m.group(3);
+			if(value.length() >= 2 && value.startsWith("'") && value.endsWith("'"))
+				value = value.substring(1, value.length() - 1);
+			preds.add(new Predicate(m.group(1), CompareOp.fromSymbol(m.group(2)), value));
+		}
+		return new ParquetFilter(preds);
+	}
+
+	public List<Predicate> getPredicates() {
+		return _preds;
+	}
+
+	/**
+	 * Gets the predicates of the given column.
+	 *
+	 * @param column column name
+	 * @return list of predicates, or null if the column has no predicates
+	 */
+	public List<Predicate> getPredicates(String column) {
+		List<Predicate> ret = null;
+		for(Predicate p : _preds)
+			if(p.getColumn().equals(column)) {
+				ret = (ret != null) ? ret : new ArrayList<>();
+				ret.add(p);
+			}
+		return ret;
+	}
+
+	public String[] getColumns() {
+		return _preds.stream().map(Predicate::getColumn).distinct().toArray(String[]::new);
+	}
+
+	/**
+	 * Creates the parquet filter of all predicates on numeric and boolean columns for skipping row groups based on
+	 * their column statistics. Predicates on string columns are only evaluated per row, because the binary order of
+	 * parquet statistics differs from the order of decoded strings (and numbers parsed from strings).
+	 *
+	 * @param schema file schema
+	 * @return parquet filter, or null if no predicate can be pushed down
+	 */
+	public FilterCompat.Filter toRowGroupFilter(MessageType schema) {
+		FilterPredicate ret = null;
+		for(Predicate p : _preds) {
+			FilterPredicate fp = toFilterPredicate(getColumnDescriptor(schema, p.getColumn()), p);
+			if(fp != null)
+				ret = (ret == null) ? fp : FilterApi.and(ret, fp);
+		}
+		return (ret != null) ? FilterCompat.get(ret) : null;
+	}
+
+	public static ColumnDescriptor getColumnDescriptor(MessageType schema, String column) {
+		if(!schema.containsField(column))
+			throw new DMLRuntimeException("Filter column '" + column + "' does not exist in parquet schema: " + schema);
+		return schema.getColumnDescription(new String[] {column});
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(_preds.toArray());
+	}
+
+	private static FilterPredicate toFilterPredicate(ColumnDescriptor cd, Predicate p) {
+		PrimitiveTypeName type = cd.getPrimitiveType().getPrimitiveTypeName();
+		if(type != PrimitiveTypeName.BINARY && !p.isNumeric())
+			throw new DMLRuntimeException("Invalid literal for numeric parquet column: " + p);
+		String name = p.getColumn();
+		double v = p._num;
+		switch(type) {
+			case DOUBLE:
+				return compare(FilterApi.doubleColumn(name), v, p.getOp());
+			case FLOAT:
+				// skip literals that are not exactly representable (conservative pruning)
+				return ((float) v == v) ? compare(FilterApi.floatColumn(name), (float) v, p.getOp()) : null;
+			case INT32:
+				return ((int) v == v) ? compare(FilterApi.intColumn(name), (int) v, p.getOp()) : null;
+			case INT64:
+				return ((long) v == v) ? compare(FilterApi.longColumn(name), (long) v, p.getOp()) : null;
+			case BOOLEAN:
+				if(p.getOp() == CompareOp.EQ && (v == 0 || v == 1))
+					return FilterApi.eq(FilterApi.booleanColumn(name), v == 1);
+				return null;
+			default:
+				return null;
+		}
+	}
+
+	private static <T extends Comparable<T>, C extends Column<T> & SupportsLtGt> FilterPredicate compare(C col, T v,
+		CompareOp op) {
+		switch(op) {
+			case EQ:  return FilterApi.eq(col, v);
+			case NEQ: return FilterApi.notEq(col, v);
+			case LT:  return FilterApi.lt(col, v);
+			case LTE: return FilterApi.ltEq(col, v);
+			case GT:  return FilterApi.gt(col, v);
+			default:  return FilterApi.gtEq(col, v);
+		}
+	}
+}
@@ -0,0 +1,626 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.parquet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ColumnWriter;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.hadoop.CodecFactory;
+import org.apache.parquet.hadoop.ColumnChunkPageWriteStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.hadoop.util.HadoopOutputFile;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.parquet.ParquetFilter.Predicate;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.FastDoubleParser;
+
+/**
+ * Utilities for the columnar parquet readers and writers of matrices and frames. Reads are performed
+ * per row group and per column chunk, decoding values directly into primitive column buffers (or matrix
+ * blocks) at the row offset of the row group, which allows independent, parallel decoding of row groups.
+ * Writes populate the column chunks of a row group column by column. Only flat schemas (no nested or
+ * repeated fields) are supported.
+ */
+public class ParquetUtils {
+	public static final String SCHEMA_NAME = "systemds";
+
+	private ParquetUtils() {
+		// prevent instantiation via private constructor
+	}
+
+	/**
+	 * Meta data of a single row group of a (potentially multi-part) parquet file.
+	 */
+	public static class RowGroup {
+		public final Path path;
+		public final ParquetMetadata footer;
+		public final int index;
+		public final int offset;
+		public final int nrow;
+
+		public RowGroup(Path path, ParquetMetadata footer, int index, int offset, int nrow) {
+			this.path = path;
+			this.footer = footer;
+			this.index = index;
+			this.offset = offset;
+			this.nrow = nrow;
+		}
+	}
+
+	/**
+	 * Schema and row group meta data of a (potentially multi-part) parquet file.
+	 */
+	public static class ParquetDataset {
+		public final MessageType schema;
+		public final List<RowGroup> rowGroups;
+		public final int nrow;
+
+		public ParquetDataset(MessageType schema, List<RowGroup> rowGroups, int nrow) {
+			this.schema = schema;
+			this.rowGroups = rowGroups;
+			this.nrow = nrow;
+		}
+	}
+
+	public static ParquetDataset readDataset(Configuration conf, FileSystem fs, Path path) throws IOException {
+		return readDataset(conf, fs, path, null);
+	}
+
+	/**
+	 * Reads the schema and row group meta data of a (potentially multi-part) parquet file, where row groups
+	 * whose column statistics prove that no row satisfies the given filter are skipped.
+	 *
+	 * @param conf   hadoop configuration
+	 * @param fs     file system
+	 * @param path   file or directory path
+	 * @param filter row filter, or null for all rows
+	 * @return schema and meta data of the (remaining) row groups
+	 * @throws IOException if IOException occurs
+	 */
+	public static ParquetDataset readDataset(Configuration conf, FileSystem fs, Path path, ParquetFilter filter)
+		throws IOException {
+		MessageType schema = null;
+		List<RowGroup> groups = new ArrayList<>();
+		long offset = 0;
+		for(Path file : getFilePaths(fs, path)) {
+			ParquetMetadata footer = readFooter(conf, file);
+			MessageType fschema = footer.getFileMetaData().getSchema();
+			if(schema == null)
+				schema = fschema;
+			else if(!schema.equals(fschema))
+				throw new IOException("Incompatible parquet schemas in " + path + ": " + schema + " vs " + fschema);
+			List<BlockMetaData> blocks = footer.getBlocks();
+			Set<BlockMetaData> selected = (filter != null) ? pruneRowGroups(filter, blocks, schema) : null;
+			for(int i = 0; i < blocks.size(); i++) {
+				if(selected != null && !selected.contains(blocks.get(i)))
+					continue;
+				long nrow = blocks.get(i).getRowCount();
+				if(offset + nrow > Integer.MAX_VALUE)
+					throw new DMLRuntimeException("Parquet file too large for CP runtime: " + path);
+				groups.add(new RowGroup(file, footer, i, (int) offset, (int) nrow));
+				offset += nrow;
+			}
+		}
+		if(schema == null)
+			throw new IOException("No parquet files found in " + path + ".");
+		return new ParquetDataset(schema, groups, (int) offset);
+	}
+
+	private static Set<BlockMetaData> pruneRowGroups(ParquetFilter filter, List<BlockMetaData> blocks,
+		MessageType schema) {
+		FilterCompat.Filter rgfilter = filter.toRowGroupFilter(schema);
+		// identity set, because the pruned row groups are referenced by index in the footer
+		Set<BlockMetaData> ret = Collections.newSetFromMap(new IdentityHashMap<>());
+		ret.addAll((rgfilter != null) ? RowGroupFilter.filterRowGroups(rgfilter, blocks, schema) : blocks);
+		return ret;
+	}
+
+	public static Path[] getFilePaths(FileSystem fs, Path path) throws IOException {
+		// skip checksum files of local file systems, sort for deterministic row order
+		Path[] files = Arrays.stream(IOUtilFunctions.getSequenceFilePaths(fs, path))
+			.filter(p -> !p.getName().endsWith(".crc")).toArray(Path[]::new);
+		Arrays.sort(files);
+		return files;
+	}
+
+	public static ParquetMetadata readFooter(Configuration conf, Path file) throws IOException {
+		try(ParquetFileReader reader = ParquetFileReader.open(HadoopInputFile.fromPath(file, conf))) {
+			return reader.getFooter();
+		}
+	}
+
+	/**
+	 * Creates the requested (projected) schema, which is pushed down into the column chunk reads such that
+	 * non-projected columns are never read or decoded.
+	 *
+	 * @param schema  file schema
+	 * @param columns projected column names, or null for all columns
+	 * @return projected schema
+	 */
+	public static MessageType getProjection(MessageType schema, String[] columns) {
+		MessageType ret = schema;
+		if(columns != null && columns.length > 0) {
+			List<Type> fields = new ArrayList<>();
+			for(String name : columns) {
+				if(!schema.containsField(name))
+					throw new DMLRuntimeException("Projected column '" + name + "' does not exist in parquet schema: "
+						+ schema);
+				fields.add(schema.getType(name));
+			}
+			ret = new MessageType(schema.getName(), fields);
+		}
+		// check for supported flat schemas
+		for(ColumnDescriptor cd : ret.getColumns())
+			if(cd.getMaxRepetitionLevel() > 0 || cd.getPath().length > 1)
+				throw new DMLRuntimeException("Unsupported nested or repeated parquet column: "
+					+ Arrays.toString(cd.getPath()));
+		return ret;
+	}
+
+	/**
+	 * Creates the schema of the column chunk reads, which comprises the projected columns followed by the
+	 * remaining columns of the row filter (if any), which are only decoded for evaluating the filter.
+	 *
+	 * @param schema     file schema
+	 * @param projection projected schema
+	 * @param filter     row filter, or null for all rows
+	 * @return read schema
+	 */
+	public static MessageType getReadSchema(MessageType schema, MessageType projection, ParquetFilter filter) {
+		if(filter == null)
+			return projection;
+		List<Type> fields = new ArrayList<>(projection.getFields());
+		for(String name : filter.getColumns()) {
+			ParquetFilter.getColumnDescriptor(schema, name);
+			if(!projection.containsField(name))
+				fields.add(schema.getType(name));
+		}
+		return getProjection(schema, fields.stream().map(Type::getName).toArray(String[]::new));
+	}
+
+	/**
+	 * Creates a selection vector of all rows, which is refined by the row filter evaluation during the
+	 * column chunk reads.
+	 *
+	 * @param filter row filter, or null for all rows
+	 * @param nrow   number of rows
+	 * @return selection vector, or null if no filter is given
+	 */
+	public static boolean[] createSelection(ParquetFilter filter, int nrow) {
+		if(filter == null)
+			return null;
+		boolean[] ret = new boolean[nrow];
+		Arrays.fill(ret, true);
+		return ret;
+	}
+
+	public static int countSelected(boolean[] sel) {
+		int ret = 0;
+		for(boolean b : sel)
+			ret += b ? 1 : 0;
+		return ret;
+	}
+
+	public static String[] getColumnNames(MessageType schema) {
+		return schema.getFields().stream().map(Type::getName).toArray(String[]::new);
+	}
+
+	public static ValueType getValueType(PrimitiveTypeName type) {
+		switch(type) {
+			case BOOLEAN: return ValueType.BOOLEAN;
+			case INT32:   return ValueType.INT32;
+			case INT64:   return ValueType.INT64;
+			case FLOAT:   return ValueType.FP32;
+			case DOUBLE:  return ValueType.FP64;
+			default:      return ValueType.STRING;
+		}
+	}
+
+	public static ValueType[] getSchema(MessageType schema) {
+		return schema.getColumns().stream()
+			.map(cd -> getValueType(cd.getPrimitiveType().getPrimitiveTypeName())).toArray(ValueType[]::new);
+	}
+
+	public static MessageType createSchema(ValueType[] schema, String[] names) {
+		org.apache.parquet.schema.Types.MessageTypeBuilder builder = org.apache.parquet.schema.Types.buildMessage();
+		for(int j = 0; j < schema.length; j++) {
+			switch(schema[j]) {
+				case FP64:
+					builder.optional(PrimitiveTypeName.DOUBLE).named(names[j]);
+					break;
+				case FP32:
+					builder.optional(PrimitiveTypeName.FLOAT).named(names[j]);
+					break;
+				case INT64:
+					builder.optional(PrimitiveTypeName.INT64).named(names[j]);
+					break;
+				case UINT4:
+				case UINT8:
+				case INT32:
+					builder.optional(PrimitiveTypeName.INT32).named(names[j]);
+					break;
+				case BOOLEAN:
+					builder.optional(PrimitiveTypeName.BOOLEAN).named(names[j]);
+					break;
+				default:
+					builder.optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named(names[j]);
+			}
+		}
+		return builder.named(SCHEMA_NAME);
+	}
+
+	/**
+	 * Allocates a primitive column buffer for the given column, which allows lock-free parallel decoding of
+	 * disjoint row groups (in contrast to bit sets).
+	 *
+	 * @param cd   column descriptor
+	 * @param nrow number of rows
+	 * @return primitive array of the column type
+	 */
+	public static Object allocateColumn(ColumnDescriptor cd, int nrow) {
+		switch(cd.getPrimitiveType().getPrimitiveTypeName()) {
+			case BOOLEAN: return new boolean[nrow];
+			case INT32:   return new int[nrow];
+			case INT64:   return new long[nrow];
+			case FLOAT:   return new float[nrow];
+			case DOUBLE:  return new double[nrow];
+			default:      return new String[nrow];
+		}
+	}
+
+	/**
+	 * Wraps a decoded primitive column buffer into the corresponding frame array without copy (except
+	 * for large boolean columns, which are packed into bit sets).
+	 *
+	 * @param col primitive column buffer
+	 * @return frame array
+	 */
+	public static Array<?> createArray(Object col) {
+		if(col instanceof double[])
+			return ArrayFactory.create((double[]) col);
+		else if(col instanceof float[])
+			return ArrayFactory.create((float[]) col);
+		else if(col instanceof long[])
+			return ArrayFactory.create((long[]) col);
+		else if(col instanceof int[])
+			return ArrayFactory.create((int[]) col);
+		else if(col instanceof boolean[]) {
+			boolean[] bcol = (boolean[]) col;
+			if(bcol.length <= ArrayFactory.bitSetSwitchPoint)
+				return ArrayFactory.create(bcol);
+			BitSet bs = new BitSet(bcol.length);
+			for(int i = 0; i < bcol.length; i++)
+				if(bcol[i])
+					bs.set(i);
+			return ArrayFactory.create(bs, bcol.length);
+		}
+		else
+			return ArrayFactory.create((String[]) col);
+	}
+
+	public static CompressionCodecName getCompressionCodec(String name) {
+		return (name == null || name.isEmpty()) ? CompressionCodecName.UNCOMPRESSED :
+			CompressionCodecName.fromConf(name.toUpperCase());
+	}
+
+	/**
+	 * Reader of the projected column chunks of a single row group.
+	 */
+	public static class RowGroupReader implements Closeable {
+		private final ParquetFileReader _reader;
+		private final ColumnReadStoreImpl _store;
+		private final MessageType _projection;
+		private final RowGroup _rg;
+
+		@SuppressWarnings("deprecation")
+		public RowGroupReader(Configuration conf, RowGroup rg, MessageType projection) throws IOException {
+			// restrict the footer to the given row group in order to allow concurrent readers of a file
+			ParquetMetadata footer = new ParquetMetadata(rg.footer.getFileMetaData(),
+				Collections.singletonList(rg.footer.getBlocks().get(rg.index)));
+			_reader = new ParquetFileReader(conf, rg.path, footer);
+			_reader.setRequestedSchema(projection);
+			_projection = projection;
+			_rg = rg;
+			try {
+				PageReadStore pages = _reader.readNextRowGroup();
+				if(pages == null || pages.getRowCount() != rg.nrow)
+					throw new IOException("Failed to read row group " + rg.index + " of " + rg.path + ".");
+				_store = new ColumnReadStoreImpl(pages, new GroupRecordConverter(projection).getRootConverter(),
+					projection, rg.footer.getFileMetaData().getCreatedBy());
+			}
+			catch(IOException | RuntimeException ex) {
+				IOUtilFunctions.closeSilently(_reader);
+				throw ex;
+			}
+		}
+
+		/**
+		 * Decodes the j-th projected column of the row group into the given primitive column buffer at the
+		 * row offset of the row group. Null values are represented as NaN (floating point), 0, false or null.
+		 *
+		 * @param j   projected column index
+		 * @param out primitive column buffer
+		 */
+		public void readColumn(int j, Object out) {
+			readColumn(j, out, null, null);
+		}
+
+		/**
+		 * Decodes the j-th column of the read schema of the row group into the given primitive column buffer
+		 * at the row offset of the row group, and evaluates the given predicates of this column into the
+		 * selection vector (null values never qualify). Null values are represented as NaN (floating point),
+		 * 0, false or null.
+		 *
+		 * @param j     column index of the read schema
+		 * @param out   primitive column buffer, or null for filter-only columns
+		 * @param preds predicates of the column, or null
+		 * @param sel   selection vector of all rows, or null
+		 */
+		public void readColumn(int j, Object out, List<Predicate> preds, boolean[] sel) {
+			ColumnDescriptor cd = _projection.getColumns().get(j);
+			ColumnReader cr = _store.getColumnReader(cd);
+			final int maxDef = cd.getMaxDefinitionLevel();
+			final int off = _rg.offset;
+			final int n = _rg.nrow;
+			final boolean filter = preds != null;
+			switch(cd.getPrimitiveType().getPrimitiveTypeName()) {
+				case BOOLEAN: {
+					boolean[] a = (boolean[]) out;
+					for(int i = 0; i < n; i++, cr.consume()) {
+						boolean def = cr.getCurrentDefinitionLevel() == maxDef;
+						boolean v = def && cr.getBoolean();
+						if(a != null)
+							a[off + i] = v;
+						if(filter)
+							select(sel, off + i, preds, def ? (v ? 1 : 0) : Double.NaN);
+					}
+					break;
+				}
+				case INT32: {
+					int[] a = (int[]) out;
+					for(int i = 0; i < n; i++, cr.consume()) {
+						boolean def = cr.getCurrentDefinitionLevel() == maxDef;
+						int v = def ? cr.getInteger() : 0;
+						if(a != null)
+							a[off + i] = v;
+						if(filter)
+							select(sel, off + i, preds, def ? v : Double.NaN);
+					}
+					break;
+				}
+				case INT64: {
+					long[] a = (long[]) out;
+					for(int i = 0; i < n; i++, cr.consume()) {
+						boolean def = cr.getCurrentDefinitionLevel() == maxDef;
+						long v = def ? cr.getLong() : 0;
+						if(a != null)
+							a[off + i] = v;
+						if(filter)
+							select(sel, off + i, preds, def ? v : Double.NaN);
+					}
+					break;
+				}
+				case FLOAT: {
+					float[] a = (float[]) out;
+					for(int i = 0; i < n; i++, cr.consume()) {
+						float v = (cr.getCurrentDefinitionLevel() == maxDef) ? cr.getFloat() : Float.NaN;
+						if(a != null)
+							a[off + i] = v;
+						if(filter)
+							select(sel, off + i, preds, v);
+					}
+					break;
+				}
+				case DOUBLE: {
+					double[] a = (double[]) out;
+					for(int i = 0; i < n; i++, cr.consume()) {
+						double v = (cr.getCurrentDefinitionLevel() == maxDef) ? cr.getDouble() : Double.NaN;
+						if(a != null)
+							a[off + i] = v;
+						if(filter)
+							select(sel, off + i, preds, v);
+					}
+					break;
+				}
+				default: {
+					String[] a = (String[]) out;
+					for(int i = 0; i < n; i++, cr.consume()) {
+						String v = (cr.getCurrentDefinitionLevel() == maxDef) ?
+							cr.getBinary().toStringUsingUTF8() : null;
+						if(a != null)
+							a[off + i] = v;
+						if(filter)
+							select(sel, off + i, preds, v);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Decodes the j-th projected column of the row group into column j of the given dense or (MCSR) sparse
+		 * matrix block, starting at the row offset of the row group, and evaluates the given predicates of this
+		 * column into the selection vector. Null values are represented as NaN, and never qualify.
+		 *
+		 * @param j     projected column index
+		 * @param out   output matrix block
+		 * @param preds predicates of the column, or null
+		 * @param sel   selection vector of all rows, or null
+		 * @return number of non-zeros
+		 */
+		public long readColumn(int j, MatrixBlock out, List<Predicate> preds, boolean[] sel) {
+			ColumnDescriptor cd = _projection.getColumns().get(j);
+			ColumnReader cr = _store.getColumnReader(cd);
+			final int maxDef = cd.getMaxDefinitionLevel();
+			final PrimitiveTypeName type = cd.getPrimitiveType().getPrimitiveTypeName();
+			final DenseBlock db = out.isInSparseFormat() ? null : out.getDenseBlock();
+			final SparseBlock sb = out.isInSparseFormat() ? out.getSparseBlock() : null;
+			final boolean filter = preds != null;
+			long nnz = 0;
+			for(int i = _rg.offset; i < _rg.offset + _rg.nrow; i++, cr.consume()) {
+				double v = Double.NaN;
+				if(cr.getCurrentDefinitionLevel() == maxDef) {
+					switch(type) {
+						case BOOLEAN: v = cr.getBoolean() ? 1 : 0; break;
+						case INT32:   v = cr.getInteger(); break;
+						case INT64:   v = cr.getLong(); break;
+						case FLOAT:   v = cr.getFloat(); break;
+						case DOUBLE:  v = cr.getDouble(); break;
+						default: {
+							String str = cr.getBinary().toStringUsingUTF8();
+							if(filter)
+								select(sel, i, preds, str);
+							v = FastDoubleParser.parseDouble(str);
+						}
+					}
+				}
+				else if(filter && type == PrimitiveTypeName.BINARY)
+					sel[i] = false;
+				if(filter && type != PrimitiveTypeName.BINARY)
+					select(sel, i, preds, v);
+				if(v != 0) {
+					if(sb != null)
+						sb.append(i, j, v);
+					else
+						db.values(i)[db.pos(i) + j] = v;
+					nnz++;
+				}
+			}
+			return nnz;
+		}
+
+		private static void select(boolean[] sel, int i, List<Predicate> preds, double v) {
+			for(int k = 0; k < preds.size() && sel[i]; k++)
+				sel[i] = preds.get(k).eval(v);
+		}
+
+		private static void select(boolean[] sel, int i, List<Predicate> preds, String v) {
+			for(int k = 0; k < preds.size() && sel[i]; k++)
+				sel[i] = preds.get(k).eval(v);
+		}
+
+		@Override
+		public void close() throws IOException {
+			_reader.close();
+		}
+	}
+
+	/**
+	 * Populates the column chunks of the rows [rl, ru) of a row group via the column writers of the schema.
+	 * Values are written with definition level 1, and null values via {@link ColumnWriter#writeNull(int, int)}
+	 * with definition level 0.
+	 */
+	public interface ColumnChunkWriter {
+		void write(ColumnWriter[] writers, int rl, int ru);
+	}
+
+	/**
+	 * Writes the rows [rl, ru) to a single parquet file, where the given function populates the column chunks
+	 * of a range of rows column by column (instead of assembling records row by row). Rows are appended in
+	 * strides of bounded size, and row groups are flushed once they exceed the default row group size.
+	 *
+	 * @param conf        hadoop configuration
+	 * @param path        output file
+	 * @param schema      parquet schema
+	 * @param compression compression codec name
+	 * @param rl          row lower bound (inclusive)
+	 * @param ru          row upper bound (exclusive)
+	 * @param fill        function populating the column chunks of a range of rows
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeColumns(Configuration conf, Path path, MessageType schema, String compression, int rl,
+		int ru, ColumnChunkWriter fill) throws IOException {
+		ParquetProperties props = ParquetProperties.builder().withWriterVersion(WriterVersion.PARQUET_1_0).build();
+		CodecFactory codecs = new CodecFactory(conf, props.getPageSizeThreshold());
+		try {
+			CodecFactory.BytesCompressor compressor = codecs.getCompressor(getCompressionCodec(compression));
+			List<ColumnDescriptor> cols = schema.getColumns();
+			ColumnWriter[] writers = new ColumnWriter[cols.size()];
+			// stride of rows appended per column, bounded by ~1M values for small page buffers
+			final int stride = Math.max(1, Math.min(1024, (1 << 20) / Math.max(1, cols.size())));
+			ParquetFileWriter fw = new ParquetFileWriter(HadoopOutputFile.fromPath(path, conf), schema,
+				ParquetFileWriter.Mode.OVERWRITE, ParquetWriter.DEFAULT_BLOCK_SIZE,
+				ParquetWriter.MAX_PADDING_SIZE_DEFAULT);
+			fw.start();
+			for(int bl = rl; bl < ru;) {
+				ColumnChunkPageWriteStore pages = new ColumnChunkPageWriteStore(compressor, schema,
+					props.getAllocator(), props.getColumnIndexTruncateLength());
+				ColumnWriteStore store = props.newColumnWriteStore(schema, pages);
+				for(int j = 0; j < writers.length; j++)
+					writers[j] = store.getColumnWriter(cols.get(j));
+				int bu = bl;
+				while(bu < ru && store.getBufferedSize() < ParquetWriter.DEFAULT_BLOCK_SIZE) {
+					int su = Math.min(bu + stride, ru);
+					fill.write(writers, bu, su);
+					for(int i = bu; i < su; i++)
+						store.endRecord();
+					bu = su;
+				}
+				fw.startBlock(bu - bl);
+				store.flush();
+				pages.flushToFileWriter(fw);
+				fw.endBlock();
+				store.close();
+				bl = bu;
+			}
+			fw.end(new HashMap<>());
+		}
+		finally {
+			codecs.release();
+		}
+	}
+}
@@ -59,6 +59,7 @@ import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCacheStatus;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.utils.stats.JFREvents.LineageCacheEvent;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -96,6 +97,10 @@ public class LineageCache
 		boolean reuse = false;
 		if (LineageCacheConfig.isReusable(inst, ec))
 		{
+			LineageCacheEvent jfr = LineageCacheEvent.isActive() ?
+				new LineageCacheEvent(inst.getOpcode()) : null;
+			if (jfr != null)
+				jfr.begin();
 			List<MutablePair<LineageItem, LineageCacheEntry>> liList = getLineageItems(inst, ec);
 
 			//atomic try reuse full/partial and set placeholder, without
@@ -165,6 +170,11 @@ public class LineageCache
 				}
 				maintainReuseStatistics(ec, inst, liList.get(0).getValue());
 			}
+			
+			if (jfr != null) {
+				jfr.hit = reuse;
+				jfr.commit();
+			}
 		}
 		
 		return reuse;
@@ -248,7 +258,7 @@ public class LineageCache
 			//map original lineage items return to the calling site
 			funcLIs.forEach((var, li) -> ec.getLineage().set(var, li));
 
-			if (DMLScript.STATISTICS) //increment saved time
+			if (LineageCacheStatistics.isEnabled()) //increment saved time
 				LineageCacheStatistics.incrementSavedComputeTime(savedComputeTime);
 		}
 		
@@ -327,7 +337,7 @@ public class LineageCache
 				res = LineageItemUtils.setUDFResponse(udf, (MatrixObject) val);
 			}
 
-			if (DMLScript.STATISTICS) {
+			if (LineageCacheStatistics.isEnabled()) {
 				//TODO: dedicated stats for federated reuse
 				LineageCacheStatistics.incrementInstHits();
 				LineageCacheStatistics.incrementSavedComputeTime(savedComputeTime);
@@ -359,7 +369,7 @@ public class LineageCache
 				return false;  // the executing thread removed this entry from cache
 			ec.setMatrixOutput(outName, e.getMBValue());
 
-			if (DMLScript.STATISTICS) { //increment saved time
+			if (LineageCacheStatistics.isEnabled()) { //increment saved time
 				FederatedStatistics.incFedReuseReadHitCount();
 				FederatedStatistics.incFedReuseReadBytesCount(mb);
 				LineageCacheStatistics.incrementSavedComputeTime(e._computeTime);
@@ -392,7 +402,7 @@ public class LineageCache
 			if (sBytes == null && e.getCacheStatus() == LineageCacheStatus.NOTCACHED)
 				return null;  // the executing thread removed this entry from cache
 
-			if (DMLScript.STATISTICS) { // increment statistics
+			if (LineageCacheStatistics.isEnabled()) { // increment statistics
 				LineageCacheStatistics.incrementSavedComputeTime(e._computeTime);
 				FederatedStatistics.aggFedSerializationReuse(sBytes.length);
 			}
@@ -405,7 +415,7 @@ public class LineageCache
 	public static boolean probe(LineageItem key) {
 		//TODO problematic as after probe the matrix might be kicked out of cache
 		boolean p = _cache.containsKey(key);  // in cache or in disk
-		if (!p && DMLScript.STATISTICS && LineageCacheEviction._removelist.containsKey(key))
+		if (!p && LineageCacheStatistics.isEnabled() && LineageCacheEviction._removelist.containsKey(key))
 			// The sought entry was in cache but removed later 
 			LineageCacheStatistics.incrementDelHits();
 		return p;
@@ -584,7 +594,7 @@ public class LineageCache
 				else if (data instanceof ScalarObject)
 					centry.setValue((ScalarObject)data, computetime);
 
-				if (DMLScript.STATISTICS && LineageCacheEviction._removelist.containsKey(centry._key)) {
+				if (LineageCacheStatistics.isEnabled() && LineageCacheEviction._removelist.containsKey(centry._key)) {
 					// Add to missed compute time
 					LineageCacheStatistics.incrementMissedComputeTime(centry._computeTime);
 				}
@@ -675,7 +685,7 @@ public class LineageCache
 			// Make space, place data and manage queue
 			putIntern(instLI, DataType.MATRIX, mb, null, computetime);
 
-			if (DMLScript.STATISTICS && LineageCacheEviction._removelist.containsKey(instLI))
+			if (LineageCacheStatistics.isEnabled() && LineageCacheEviction._removelist.containsKey(instLI))
 				// Add to missed compute time
 				LineageCacheStatistics.incrementMissedComputeTime(computetime);
 		}
@@ -886,7 +896,7 @@ public class LineageCache
 		LineageCacheEviction.addEntry(newItem);
 		
 		_cache.put(key, newItem);
-		if (DMLScript.STATISTICS)
+		if (LineageCacheStatistics.isEnabled())
 			LineageCacheStatistics.incrementMemWrites();
 	}
 	
@@ -894,7 +904,7 @@ public class LineageCache
 		// This method is called only when entry is present either in cache or in local FS.
 		LineageCacheEntry e = _cache.get(key);
 		if (e != null && e.getCacheStatus() != LineageCacheStatus.SPILLED) {
-			if (DMLScript.STATISTICS)
+			if (LineageCacheStatistics.isEnabled())
 				// Increment hit count.
 				LineageCacheStatistics.incrementMemHits();
 
@@ -931,7 +941,7 @@ public class LineageCache
 				oe._nextEntry = e;
 			}
 
-			if (DMLScript.STATISTICS && LineageCacheEviction._removelist.containsKey(e._key))
+			if (LineageCacheStatistics.isEnabled() && LineageCacheEviction._removelist.containsKey(e._key))
 				// Add to missed compute time
 				LineageCacheStatistics.incrementMissedComputeTime(e._computeTime);
 			
@@ -1190,7 +1200,7 @@ public class LineageCache
 	}
 
 	private static void maintainReuseStatistics(ExecutionContext ec, Instruction inst, LineageCacheEntry e) {
-		if (!DMLScript.STATISTICS)
+		if (!LineageCacheStatistics.isEnabled())
 			return;
 
 		LineageCacheStatistics.incrementSavedComputeTime(e._computeTime);
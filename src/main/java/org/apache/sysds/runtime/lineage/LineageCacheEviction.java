@@ -24,7 +24,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeSet;
 
-import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
@@ -106,7 +105,7 @@ public class LineageCacheEviction
 		else
 			_removelist.put(e._key, 1);
 
-		if (DMLScript.STATISTICS) {
+		if (LineageCacheStatistics.isEnabled()) {
 			LineageCacheStatistics.incrementMemDeletes();
 		}
 		// NOTE: The caller of this method maintains the eviction queue.
@@ -357,7 +356,7 @@ public class LineageCacheEviction
 			}
 		}
 
-		if (DMLScript.STATISTICS) {
+		if (LineageCacheStatistics.isEnabled()) {
 			LineageCacheStatistics.incrementFSWriteTime(t1-t0);
 			LineageCacheStatistics.incrementFSWrites();
 		}
@@ -397,7 +396,7 @@ public class LineageCacheEviction
 		// Adjust disk reading speed
 		adjustReadWriteSpeed(e, ((double)(t1-t0))/1000000000, true);
 		// TODO: set cache status as RELOADED for this entry
-		if (DMLScript.STATISTICS) {
+		if (LineageCacheStatistics.isEnabled()) {
 			LineageCacheStatistics.incrementFSReadTime(t1-t0);
 			LineageCacheStatistics.incrementFSHits();
 		}
@@ -21,6 +21,9 @@ package org.apache.sysds.runtime.lineage;
 
 import java.util.concurrent.atomic.LongAdder;
 
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.utils.stats.MetricsRegistry;
+
 /**
  * This singleton provides basic lineage caching statistics in CP.
  * Hit statistics for caching (mem, fs, total)
@@ -53,6 +56,16 @@ public class LineageCacheStatistics {
 	private static final LongAdder _numHitsSparkActions = new LongAdder();
 	private static final LongAdder _numHitsRddPersist   = new LongAdder();
 
+	/**
+	 * Indicates if the lineage cache statistics are maintained, i.e., if
+	 * statistics are enabled (-stats) or runtime metrics are exposed.
+	 * 
+	 * @return true if statistics are maintained
+	 */
+	public static boolean isEnabled() {
+		return DMLScript.STATISTICS || MetricsRegistry.isEnabled();
+	}
+
 	public static void reset() {
 		_numHitsMem.reset();
 		_numHitsFS.reset();
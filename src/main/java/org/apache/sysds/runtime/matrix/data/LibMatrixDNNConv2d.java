@@ -26,6 +26,7 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.LibMatrixDNNRotate180.Rotate180Worker;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNNWinograd.WinogradType;
 import org.apache.sysds.utils.NativeHelper;
 import org.apache.sysds.utils.stats.NativeStatistics;
 
@@ -34,6 +35,58 @@ import org.apache.sysds.utils.stats.NativeStatistics;
  */
 public class LibMatrixDNNConv2d 
 {
+	//enable direct and winograd kernels for dense inputs (otherwise always im2col)
+	public static boolean ALLOW_DIRECT_CONV = true;
+	public static boolean ALLOW_WINOGRAD_CONV = true;
+	
+	//minimum number of filters for amortizing the im2col intermediate, where each im2col
+	//value is reused K times by the subsequent matrix multiplication (i.e., K/4 flops per byte)
+	private static final int DIRECT_CONV_MAX_FILTERS = 16;
+	//minimum number of channels and filters for amortizing the winograd tile transforms
+	private static final int WINOGRAD_MIN_CHANNELS = 8;
+	
+	public enum ConvKernel {
+		IM2COL, DIRECT, WINOGRAD_F2, WINOGRAD_F4
+	}
+	
+	/**
+	 * Selects the conv2d kernel for forward or backward data by a simple cost heuristic.
+	 * For dense inputs, Winograd F(4x4,3x3) or F(2x2,3x3) is used for 3x3 filters with
+	 * stride 1 and sufficiently many channels and filters to amortize the tile transforms,
+	 * direct convolution is used if the im2col intermediate would be expanded but only
+	 * reused by few filters (memory-bound), and im2col plus matrix multiplication otherwise.
+	 * 
+	 * @param params convolution parameters
+	 * @param backward selection for backward data
+	 * @return conv kernel type
+	 */
+	public static ConvKernel getConvKernel(DnnParameters params, boolean backward) {
+		MatrixBlock in = backward ? params.input2 : params.input1;
+		MatrixBlock filter = backward ? params.input1 : params.input2;
+		if( !isDenseContiguous(in) || !isDenseContiguous(filter)
+			|| !isDenseContiguous(params.output) || params.enableNative )
+			return ConvKernel.IM2COL;
+		
+		//winograd for 3x3 filters, w/ output tiles chosen by the output size
+		int outH = backward ? params.H : params.P, outW = backward ? params.W : params.Q;
+		if( ALLOW_WINOGRAD_CONV && LibMatrixDNNWinograd.isSupported(params)
+			&& params.C >= WINOGRAD_MIN_CHANNELS && params.K >= WINOGRAD_MIN_CHANNELS )
+			return (outH >= 8 && outW >= 8) ? ConvKernel.WINOGRAD_F4 :
+				(outH >= 2 && outW >= 2) ? ConvKernel.WINOGRAD_F2 : ConvKernel.IM2COL;
+		
+		//direct convolution for expanding im2col w/ little reuse 
+		boolean expand = params.R * params.S > params.stride_h * params.stride_w;
+		if( ALLOW_DIRECT_CONV && expand && params.K <= DIRECT_CONV_MAX_FILTERS )
+			return ConvKernel.DIRECT;
+		
+		return ConvKernel.IM2COL;
+	}
+	
+	private static boolean isDenseContiguous(MatrixBlock mb) {
+		return !mb.isInSparseFormat() && mb.getDenseBlock() != null
+			&& mb.getDenseBlock().isContiguous();
+	}
+	
 	/**
 	 * Factory method that returns list of callable tasks for performing conv2d
 	 * 
@@ -56,6 +109,20 @@ public class LibMatrixDNNConv2d
 			&& !(!isEmptyDenseInput && isTransPref);
 		if( applyNative )
 			NativeStatistics.incrementNumSparseConv2dCalls();
+		
+		//direct and winograd kernels w/o im2col intermediates
+		ConvKernel kernel = applyNative ? ConvKernel.IM2COL : getConvKernel(params, false);
+		if( kernel != ConvKernel.IM2COL ) {
+			WinogradType type = getWinogradType(kernel);
+			double[] U = (type == null) ? null : LibMatrixDNNWinograd
+				.transformFilter(params.input2.getDenseBlockValues(), params.K, params.C, type, false);
+			for(int i = 0; i*taskSize < params.N; i++) {
+				int rl = i*taskSize, ru = Math.min((i+1)*taskSize, params.N);
+				ret.add((type == null) ? new DirectConv2d(rl, ru, params) :
+					new WinogradConv2d(rl, ru, params, U, type, false));
+			}
+			return ret;
+		}
 
 		//transpose filter once for efficient sparse-dense multiplies in LoopedIm2ColConv2dTransAllChan
 		//in order to share the temporary object and its creation costs across threads
@@ -137,6 +204,20 @@ public class LibMatrixDNNConv2d
 		if( applyNative )
 			NativeStatistics.incrementNumSparseConv2dBwdDataCalls();
 		
+		//direct and winograd kernels w/o col2im intermediates
+		ConvKernel kernel = applyNative ? ConvKernel.IM2COL : getConvKernel(params, true);
+		if( kernel != ConvKernel.IM2COL ) {
+			WinogradType type = getWinogradType(kernel);
+			double[] U = (type == null) ? null : LibMatrixDNNWinograd
+				.transformFilter(params.input1.getDenseBlockValues(), params.K, params.C, type, true);
+			for(int i = 0; i*taskSize < params.N; i++) {
+				int rl = i*taskSize, ru = Math.min((i+1)*taskSize, params.N);
+				ret.add((type == null) ? new DirectConv2dBackwardData(rl, ru, params) :
+					new WinogradConv2d(rl, ru, params, U, type, true));
+			}
+			return ret;
+		}
+		
 		for(int i = 0; i*taskSize < params.N; i++) {
 			//note: we prefer the java backend for sparse filters because the native 
 			//implementation simply converts the sparse filters into dense rows
@@ -307,6 +388,50 @@ public class LibMatrixDNNConv2d
 		}
 	}
 	
+	/**
+	 * Performs direct convolution of dense inputs and filters, which avoids the im2col
+	 * intermediate by accumulating scaled input rows into the output rows per filter value.
+	 */
+	private static class DirectConv2d implements Callable<Long> 
+	{
+		private final int _rl, _ru; 
+		private final DnnParameters _params;
+		
+		public DirectConv2d(int rl, int ru, DnnParameters params) {
+			_rl = rl; _ru = ru;
+			_params = params;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, H = _params.H, W = _params.W, K = _params.K;
+			final int R = _params.R, S = _params.S, P = _params.P, Q = _params.Q;
+			final int CHW = C*H*W, PQ = P*Q, RS = R*S, CRS = C*RS;
+			double[] a = _params.input1.getDenseBlockValues();
+			double[] f = _params.input2.getDenseBlockValues();
+			double[] c = _params.output.getDenseBlockValues();
+			
+			for(int n = _rl; n < _ru; n++) {
+				Arrays.fill(c, n*K*PQ, (n+1)*K*PQ, 0);
+				for(int k = 0, cix = n*K*PQ; k < K; k++, cix += PQ)
+					for(int ch = 0; ch < C; ch++)
+						for(int r = 0; r < R; r++)
+							for(int s = 0; s < S; s++) {
+								double fval = f[k*CRS + ch*RS + r*S + s];
+								if( fval != 0 )
+									directConvRows(fval, a, c, n*CHW + ch*H*W, cix, r, s, H, W, P, Q, _params);
+							}
+				
+				// Add bias to current row if necessary, always dense
+				if(_params.bias != null)
+					addBias(n, c, _params.bias.getDenseBlockValues(), K, PQ);
+			}
+			
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
 	/**
 	 * This operator is used only if native is enabled, filter is dense and input is sparse
 	 */
@@ -412,6 +537,95 @@ public class LibMatrixDNNConv2d
 		}
 	}
 	
+	/**
+	 * Performs direct conv2d backward data of dense filters and errors, which avoids the
+	 * col2im intermediate by scattering scaled error rows into the input error rows.
+	 */
+	private static class DirectConv2dBackwardData implements Callable<Long> {
+		private final int _rl, _ru; 
+		private final DnnParameters _params; 
+		
+		public DirectConv2dBackwardData(int rl, int ru, DnnParameters params) {
+			_rl = rl; _ru = ru;
+			_params = params;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, H = _params.H, W = _params.W, K = _params.K;
+			final int R = _params.R, S = _params.S, P = _params.P, Q = _params.Q;
+			final int CHW = C*H*W, PQ = P*Q, RS = R*S, CRS = C*RS;
+			double[] f = _params.input1.getDenseBlockValues();
+			double[] dout = _params.input2.getDenseBlockValues();
+			double[] c = _params.output.getDenseBlockValues();
+			
+			for(int n = _rl; n < _ru; n++) {
+				Arrays.fill(c, n*CHW, (n+1)*CHW, 0);
+				for(int k = 0, aix = n*K*PQ; k < K; k++, aix += PQ)
+					for(int ch = 0; ch < C; ch++)
+						for(int r = 0; r < R; r++)
+							for(int s = 0; s < S; s++) {
+								double fval = f[k*CRS + ch*RS + r*S + s];
+								if( fval != 0 )
+									directConvRowsBackward(fval, dout, c, aix, n*CHW + ch*H*W, r, s, H, W, P, Q, _params);
+							}
+			}
+			
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
+	/**
+	 * Performs conv2d (or conv2d backward data as convolution of the errors with the 
+	 * flipped filters) via Winograd minimal filtering on dense inputs.
+	 */
+	private static class WinogradConv2d implements Callable<Long> {
+		private final int _rl, _ru; 
+		private final DnnParameters _params;
+		private final double[] _U;
+		private final WinogradType _type;
+		private final boolean _backward;
+		
+		public WinogradConv2d(int rl, int ru, DnnParameters params, double[] U, WinogradType type, boolean backward) {
+			_rl = rl; _ru = ru;
+			_params = params;
+			_U = U;
+			_type = type;
+			_backward = backward;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, H = _params.H, W = _params.W, K = _params.K;
+			final int P = _params.P, Q = _params.Q;
+			final int CHW = C*H*W, KPQ = K*P*Q;
+			double[] c = _params.output.getDenseBlockValues();
+			
+			if( !_backward ) { //X [N x CHW] -> out [N x KPQ]
+				double[] a = _params.input1.getDenseBlockValues();
+				double[][] buff = LibMatrixDNNWinograd.allocateBuffers(_type, C, K);
+				for(int n = _rl; n < _ru; n++) {
+					LibMatrixDNNWinograd.conv2d(a, n*CHW, C, H, W, _U, K,
+						_params.pad_h, _params.pad_w, P, Q, c, n*KPQ, _type, buff);
+					// Add bias to current row if necessary, always dense
+					if(_params.bias != null)
+						addBias(n, c, _params.bias.getDenseBlockValues(), K, P*Q);
+				}
+			}
+			else { //dout [N x KPQ] -> dX [N x CHW]
+				double[] a = _params.input2.getDenseBlockValues();
+				double[][] buff = LibMatrixDNNWinograd.allocateBuffers(_type, K, C);
+				for(int n = _rl; n < _ru; n++)
+					LibMatrixDNNWinograd.conv2d(a, n*KPQ, K, P, Q, _U, C, _params.R-1-_params.pad_h,
+						_params.S-1-_params.pad_w, H, W, c, n*CHW, _type, buff);
+			}
+			
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
 	//BACKWARD FILTER
 	
 	/**
@@ -585,6 +799,68 @@ public class LibMatrixDNNConv2d
 		}
 	}
 	
+	private static WinogradType getWinogradType(ConvKernel kernel) {
+		return (kernel == ConvKernel.WINOGRAD_F4) ? WinogradType.F4X4_3X3 :
+			(kernel == ConvKernel.WINOGRAD_F2) ? WinogradType.F2X2_3X3 : null;
+	}
+	
+	/**
+	 * Adds fval * input[ch, p*stride_h-pad_h+r, q*stride_w-pad_w+s] to out[k, p, q]
+	 * for all valid output positions p and q.
+	 */
+	private static void directConvRows(double fval, double[] a, double[] c, int aix, int cix,
+		int r, int s, int H, int W, int P, int Q, DnnParameters params)
+	{
+		final int sh = params.stride_h, sw = params.stride_w;
+		final int qmin = getMinValid(params.pad_w - s, sw);
+		final int qmax = Math.min(Q, getMinValid(W + params.pad_w - s, sw));
+		if( qmin >= qmax )
+			return;
+		for(int p = getMinValid(params.pad_h - r, sh); p < P; p++) {
+			int h = p*sh - params.pad_h + r;
+			if( h >= H ) break;
+			int apos = aix + h*W + qmin*sw - params.pad_w + s;
+			int cpos = cix + p*Q;
+			if( sw == 1 )
+				LibMatrixMult.vectMultiplyAdd(fval, a, c, apos, cpos + qmin, qmax-qmin);
+			else
+				for(int q = qmin; q < qmax; q++, apos += sw)
+					c[cpos + q] += fval * a[apos];
+		}
+	}
+	
+	/**
+	 * Adds fval * dout[k, p, q] to dX[ch, p*stride_h-pad_h+r, q*stride_w-pad_w+s]
+	 * for all valid output positions p and q.
+	 */
+	private static void directConvRowsBackward(double fval, double[] a, double[] c, int aix, int cix,
+		int r, int s, int H, int W, int P, int Q, DnnParameters params)
+	{
+		final int sh = params.stride_h, sw = params.stride_w;
+		final int qmin = getMinValid(params.pad_w - s, sw);
+		final int qmax = Math.min(Q, getMinValid(W + params.pad_w - s, sw));
+		if( qmin >= qmax )
+			return;
+		for(int p = getMinValid(params.pad_h - r, sh); p < P; p++) {
+			int h = p*sh - params.pad_h + r;
+			if( h >= H ) break;
+			int apos = aix + p*Q + qmin;
+			int cpos = cix + h*W + qmin*sw - params.pad_w + s;
+			if( sw == 1 )
+				LibMatrixMult.vectMultiplyAdd(fval, a, c, apos, cpos, qmax-qmin);
+			else
+				for(int q = qmin; q < qmax; q++, cpos += sw)
+					c[cpos] += fval * a[apos + q - qmin];
+		}
+	}
+	
+	/**
+	 * Computes the minimum output index i >= 0 with i*stride >= offset.
+	 */
+	private static int getMinValid(int offset, int stride) {
+		return (offset <= 0) ? 0 : (offset + stride - 1) / stride;
+	}
+	
 	private static void addBias(int r, double [] out, double [] bias, int K, int PQ) {
 		for(int k=0, cix=r*K*PQ; k<K; k++, cix+=PQ)
 			LibMatrixMult.vectAddInPlace(bias[k], out, cix, PQ);
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * This class contains the Winograd minimal filtering algorithms F(2x2,3x3) and
+ * F(4x4,3x3) for stride-1 convolutions with 3x3 filters (Lavin and Gray, 2016).
+ * Instead of expanding every input element 9 times as done by im2col, the input is
+ * split into overlapping tiles of (m+2)x(m+2) elements that are transformed into
+ * the Winograd domain, multiplied element-wise with the transformed filters (which
+ * turns into a small matrix multiplication per tile element across channels), and
+ * transformed back into output tiles of mxm elements.
+ */
+public class LibMatrixDNNWinograd
+{
+	//maximum size of per-thread tile intermediates in doubles (512KB for L2)
+	private static final int TILE_BUFFER_SIZE = 64 * 1024;
+
+	public enum WinogradType {
+		F2X2_3X3(2), F4X4_3X3(4);
+
+		private final int _m;
+		private WinogradType(int m) {
+			_m = m;
+		}
+		/** @return output tile size m */
+		public int getTileSize() {
+			return _m;
+		}
+		/** @return input tile size m+r-1 */
+		public int getInputTileSize() {
+			return _m + 2;
+		}
+		private double[][] getBT() {
+			return (this == F2X2_3X3) ? BT_F2 : BT_F4;
+		}
+		private double[][] getG() {
+			return (this == F2X2_3X3) ? G_F2 : G_F4;
+		}
+		private double[][] getAT() {
+			return (this == F2X2_3X3) ? AT_F2 : AT_F4;
+		}
+	}
+
+	//transform matrices of F(2x2,3x3)
+	private static final double[][] BT_F2 = new double[][] {
+		{1, 0,-1, 0},
+		{0, 1, 1, 0},
+		{0,-1, 1, 0},
+		{0, 1, 0,-1}};
+	private static final double[][] G_F2 = new double[][] {
+		{1,    0,   0},
+		{0.5,  0.5, 0.5},
+		{0.5, -0.5, 0.5},
+		{0,    0,   1}};
+	private static final double[][] AT_F2 = new double[][] {
+		{1, 1, 1, 0},
+		{0, 1,-1,-1}};
+
+	//transform matrices of F(4x4,3x3)
+	private static final double[][] BT_F4 = new double[][] {
+		{4, 0,-5, 0, 1, 0},
+		{0,-4,-4, 1, 1, 0},
+		{0, 4,-4,-1, 1, 0},
+		{0,-2,-1, 2, 1, 0},
+		{0, 2,-1,-2, 1, 0},
+		{0, 4, 0,-5, 0, 1}};
+	private static final double[][] G_F4 = new double[][] {
+		{ 1d/4,     0,     0},
+		{-1d/6, -1d/6, -1d/6},
+		{-1d/6,  1d/6, -1d/6},
+		{1d/24, 1d/12,  1d/6},
+		{1d/24,-1d/12,  1d/6},
+		{    0,     0,     1}};
+	private static final double[][] AT_F4 = new double[][] {
+		{1, 1, 1, 1, 1, 0},
+		{0, 1,-1, 2,-2, 0},
+		{0, 1, 1, 4, 4, 0},
+		{0, 1,-1, 8,-8, 1}};
+
+	private LibMatrixDNNWinograd() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicates if the given convolution can be computed via Winograd, i.e., for 3x3
+	 * filters, stride 1, and paddings that keep the (flipped) backward convolution valid.
+	 *
+	 * @param params convolution parameters
+	 * @return true if supported
+	 */
+	public static boolean isSupported(DnnParameters params) {
+		return params.R == 3 && params.S == 3
+			&& params.stride_h == 1 && params.stride_w == 1
+			&& params.pad_h <= 2 && params.pad_w <= 2;
+	}
+
+	/**
+	 * Transforms the dense filter [K x C*3*3] into the Winograd domain, with layout
+	 * [alpha*alpha x Cout x Cin]. For backward data, the filters are flipped and input
+	 * and output channels are swapped, which turns the computation of the input errors
+	 * into a forward convolution of the output errors.
+	 *
+	 * @param filter dense filter values
+	 * @param K number of filters
+	 * @param C number of channels
+	 * @param type winograd variant
+	 * @param backward transform for backward data
+	 * @return transformed filter
+	 */
+	public static double[] transformFilter(double[] filter, int K, int C, WinogradType type, boolean backward) {
+		final int alpha = type.getInputTileSize(), alpha2 = alpha*alpha;
+		final int cout = backward ? C : K, cin = backward ? K : C;
+		final double[][] G = type.getG();
+		double[] ret = new double[alpha2 * cout * cin];
+		double[] g = new double[9];
+		double[] u = new double[alpha2];
+		double[] tmp = new double[alpha*3];
+		for( int k=0; k<K; k++ )
+			for( int c=0; c<C; c++ ) {
+				int fix = (k*C + c) * 9;
+				for( int i=0; i<9; i++ ) //rotate by 180 degrees for backward
+					g[i] = filter[fix + (backward ? 8-i : i)];
+				transform(g, 3, G, alpha, u, tmp);
+				int pos = backward ? c*cin + k : k*cin + c;
+				for( int e=0; e<alpha2; e++ )
+					ret[e*cout*cin + pos] = u[e];
+			}
+		return ret;
+	}
+
+	/**
+	 * Performs a stride-1 convolution of a single dense image with the transformed
+	 * filters, and writes (overwrites) the dense output image.
+	 *
+	 * @param in input values
+	 * @param inPos offset of the input image
+	 * @param cin number of input channels
+	 * @param H input height
+	 * @param W input width
+	 * @param U transformed filters (see transformFilter)
+	 * @param cout number of output channels
+	 * @param pad_h padding height
+	 * @param pad_w padding width
+	 * @param P output height
+	 * @param Q output width
+	 * @param out output values
+	 * @param outPos offset of the output image
+	 * @param type winograd variant
+	 * @param buff reusable buffers (see allocateBuffers)
+	 */
+	public static void conv2d(double[] in, int inPos, int cin, int H, int W, double[] U, int cout,
+		int pad_h, int pad_w, int P, int Q, double[] out, int outPos, WinogradType type, double[][] buff)
+	{
+		final int m = type.getTileSize(), alpha = type.getInputTileSize(), alpha2 = alpha*alpha;
+		final int tilesH = (P + m - 1) / m, tilesW = (Q + m - 1) / m;
+		final int numTiles = tilesH * tilesW;
+		final int T = getTileBlockSize(type, Math.max(cin, cout));
+		final double[][] BT = type.getBT(), AT = type.getAT();
+		final double[] V = buff[0], M = buff[1], d = buff[2], y = buff[3], tmp = buff[4];
+		final int HW = H*W, PQ = P*Q;
+
+		for( int bt=0; bt<numTiles; bt+=T ) {
+			final int tlen = Math.min(T, numTiles-bt);
+
+			//input transform V[e][c][t] = (BT d BT^T)[e] for all channels and tiles
+			for( int t=0; t<tlen; t++ ) {
+				int ih = ((bt+t) / tilesW) * m - pad_h;
+				int iw = ((bt+t) % tilesW) * m - pad_w;
+				for( int c=0; c<cin; c++ ) {
+					loadTile(in, inPos + c*HW, H, W, ih, iw, alpha, d);
+					transform(d, alpha, BT, alpha, y, tmp);
+					for( int e=0; e<alpha2; e++ )
+						V[(e*cin + c)*T + t] = y[e];
+				}
+			}
+
+			//element-wise products, i.e., M[e] = U[e] %*% V[e] per tile element
+			for( int e=0; e<alpha2; e++ ) {
+				int uix = e*cout*cin, vix = e*cin*T, mix = e*cout*T;
+				for( int k=0; k<cout; k++, uix+=cin, mix+=T ) {
+					Arrays.fill(M, mix, mix+tlen, 0);
+					for( int c=0; c<cin; c++ ) {
+						double u = U[uix+c];
+						if( u != 0 )
+							LibMatrixMult.vectMultiplyAdd(u, V, M, vix+c*T, mix, tlen);
+					}
+				}
+			}
+
+			//output transform Y = AT M AT^T, written into the mxm output tiles
+			for( int t=0; t<tlen; t++ ) {
+				int oh = ((bt+t) / tilesW) * m;
+				int ow = ((bt+t) % tilesW) * m;
+				int rows = Math.min(m, P-oh), cols = Math.min(m, Q-ow);
+				for( int k=0; k<cout; k++ ) {
+					for( int e=0; e<alpha2; e++ )
+						d[e] = M[(e*cout + k)*T + t];
+					transform(d, alpha, AT, m, y, tmp);
+					int cix = outPos + k*PQ + oh*Q + ow;
+					for( int i=0; i<rows; i++, cix+=Q )
+						System.arraycopy(y, i*m, out, cix, cols);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Allocates the reusable per-thread buffers for the given variant and channels.
+	 *
+	 * @param type winograd variant
+	 * @param cin number of input channels
+	 * @param cout number of output channels
+	 * @return buffers
+	 */
+	public static double[][] allocateBuffers(WinogradType type, int cin, int cout) {
+		final int alpha = type.getInputTileSize(), alpha2 = alpha*alpha;
+		final int T = getTileBlockSize(type, Math.max(cin, cout));
+		return new double[][] {
+			new double[alpha2 * cin * T], //V
+			new double[alpha2 * cout * T], //M
+			new double[alpha2], //d
+			new double[alpha2], //y
+			new double[alpha2]}; //tmp
+	}
+
+	private static int getTileBlockSize(WinogradType type, int channels) {
+		final int alpha = type.getInputTileSize();
+		return Math.max(1, Math.min(64, TILE_BUFFER_SIZE / (alpha*alpha*channels)));
+	}
+
+	private static void loadTile(double[] in, int pos, int H, int W, int ih, int iw, int alpha, double[] d) {
+		if( ih >= 0 && iw >= 0 && ih+alpha <= H && iw+alpha <= W ) {
+			//fast path for interior tiles
+			for( int i=0, ix=pos+ih*W+iw; i<alpha; i++, ix+=W )
+				System.arraycopy(in, ix, d, i*alpha, alpha);
+			return;
+		}
+		//boundary tiles with implicit zero padding
+		for( int i=0; i<alpha; i++ ) {
+			int h = ih + i;
+			for( int j=0; j<alpha; j++ ) {
+				int w = iw + j;
+				d[i*alpha+j] = (h >= 0 && h < H && w >= 0 && w < W) ? in[pos+h*W+w] : 0;
+			}
+		}
+	}
+
+	/**
+	 * Computes out = L X L^T for a square input X [b x b] and transform L [a x b].
+	 */
+	private static void transform(double[] X, int b, double[][] L, int a, double[] out, double[] tmp) {
+		//tmp = L %*% X [a x b]
+		for( int i=0; i<a; i++ ) {
+			double[] li = L[i];
+			for( int j=0; j<b; j++ ) {
+				double v = 0;
+				for( int l=0; l<b; l++ )
+					v += li[l] * X[l*b+j];
+				tmp[i*b+j] = v;
+			}
+		}
+		//out = tmp %*% t(L) [a x a]
+		for( int i=0; i<a; i++ )
+			for( int j=0; j<a; j++ ) {
+				double[] lj = L[j];
+				double v = 0;
+				for( int l=0; l<b; l++ )
+					v += tmp[i*b+l] * lj[l];
+				out[i*a+j] = v;
+			}
+	}
+}
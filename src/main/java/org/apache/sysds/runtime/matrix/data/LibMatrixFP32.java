@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.data.DenseBlockFP32;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.functionobjects.KahanPlusSq;
+import org.apache.sysds.runtime.functionobjects.ReduceAll;
+import org.apache.sysds.runtime.functionobjects.ReduceCol;
+import org.apache.sysds.runtime.functionobjects.ReduceRow;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.DataConverter;
+
+/**
+ * Library for single-precision (FP32) dense matrices in CP, which halves the memory
+ * and bandwidth requirements of dense intermediates. Matrix multiplications, element-wise
+ * operations, sum aggregates, and conv2d are computed directly over the float arrays with
+ * double accumulation, while all other operations obtain double-precision (FP64) copies.
+ *
+ * Note that FP32 blocks are only valid as inputs of the kernels in this library, and
+ * need to be converted via {@link #toFP64(MatrixBlock)} before passing them to any
+ * other kernel that accesses the dense block via values and pos.
+ */
+public class LibMatrixFP32
+{
+	//minimum number of cells for conversion into FP32 (avoid overhead for tiny blocks)
+	public static final long MIN_CELLS = 1024;
+	//minimum number of floating point operations for multi-threaded execution
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024;
+	//block sizes of cache-conscious matrix multiplication
+	private static final int BLOCKSIZE_I = 32;
+	private static final int BLOCKSIZE_K = 256;
+	private static final int BLOCKSIZE_J = 1024;
+
+	private static final BuiltinCode[] SUPPORTED_UNARY = new BuiltinCode[] {
+		BuiltinCode.SIN, BuiltinCode.COS, BuiltinCode.TAN, BuiltinCode.SINH, BuiltinCode.COSH,
+		BuiltinCode.TANH, BuiltinCode.ASIN, BuiltinCode.ACOS, BuiltinCode.ATAN, BuiltinCode.LOG,
+		BuiltinCode.LOG_NZ, BuiltinCode.ABS, BuiltinCode.SIGN, BuiltinCode.SQRT, BuiltinCode.EXP,
+		BuiltinCode.PLOGP, BuiltinCode.ROUND, BuiltinCode.CEIL, BuiltinCode.FLOOR, BuiltinCode.SPROP,
+		BuiltinCode.SIGMOID, BuiltinCode.ISNA, BuiltinCode.ISNAN, BuiltinCode.ISINF};
+
+	private LibMatrixFP32() {
+		//prevent instantiation via private constructor
+	}
+
+	private interface RangeKernel {
+		long execute(int rl, int ru);
+	}
+
+	public static boolean isFP32(MatrixBlock mb) {
+		return mb != null && !mb.isInSparseFormat()
+			&& mb.getDenseBlock() instanceof DenseBlockFP32;
+	}
+
+	/**
+	 * Converts a dense FP64 matrix block into an FP32 matrix block. Sparse, compressed,
+	 * tiny, and large dense blocks (which exceed a single array) are returned as is.
+	 * Integer-valued blocks (e.g., index or count vectors) are returned as is as well,
+	 * because integers beyond 2^24 are not exactly representable in single precision.
+	 *
+	 * @param in input matrix block
+	 * @return FP32 matrix block, or the input block
+	 */
+	public static MatrixBlock toFP32(MatrixBlock in) {
+		long cells = (long)in.getNumRows() * in.getNumColumns();
+		if( in.isInSparseFormat() || !in.isAllocated() || in instanceof CompressedMatrixBlock
+			|| isFP32(in) || in.isEmptyBlock(false) || cells < MIN_CELLS
+			|| !in.getDenseBlock().isContiguous() || cells > Integer.MAX_VALUE )
+			return in;
+		double[] a = in.getDenseBlockValues();
+		if( isIntegerValued(a, (int)cells) )
+			return in;
+		float[] c = new float[(int)cells];
+		long nnz = 0;
+		for( int i=0; i<c.length; i++ )
+			nnz += ((c[i] = (float)a[i]) != 0) ? 1 : 0;
+		return createFP32(in.getNumRows(), in.getNumColumns(), c, nnz);
+	}
+
+	/**
+	 * Converts an FP32 matrix block into an FP64 matrix block. All other
+	 * blocks are returned as is.
+	 *
+	 * @param in input matrix block
+	 * @return FP64 matrix block, or the input block
+	 */
+	public static MatrixBlock toFP64(MatrixBlock in) {
+		if( !isFP32(in) )
+			return in;
+		float[] a = ((DenseBlockFP32)in.getDenseBlock()).getData();
+		double[] c = new double[in.getNumRows() * in.getNumColumns()];
+		for( int i=0; i<c.length; i++ )
+			c[i] = a[i];
+		MatrixBlock ret = new MatrixBlock(in.getNumRows(), in.getNumColumns(), c);
+		ret.setNonZeros(in.getNonZeros());
+		return ret;
+	}
+
+	private static boolean isIntegerValued(double[] a, int len) {
+		//early abort on the first fractional value (common case)
+		for( int i=0; i<len; i++ )
+			if( a[i] != Math.rint(a[i]) && !Double.isNaN(a[i]) )
+				return false;
+		return true;
+	}
+
+	private static MatrixBlock createFP32(int rlen, int clen, float[] data, long nnz) {
+		MatrixBlock ret = new MatrixBlock(rlen, clen, new DenseBlockFP32(new int[] {rlen, clen}, data));
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+
+	///////////////////////////////
+	// Matrix multiplication
+	////////
+
+	public static boolean isSupportedMatrixMult(MatrixBlock m1, MatrixBlock m2) {
+		return isFP32(m1) && isFP32(m2);
+	}
+
+	/**
+	 * Dense-dense matrix multiplication of two FP32 matrices with cache-conscious
+	 * blocking and double accumulation of output blocks.
+	 *
+	 * @param m1 left-hand-side FP32 matrix
+	 * @param m2 right-hand-side FP32 matrix
+	 * @param k degree of parallelism
+	 * @return FP32 output matrix
+	 */
+	public static MatrixBlock matrixMult(MatrixBlock m1, MatrixBlock m2, int k) {
+		final int m = m1.getNumRows(), cd = m1.getNumColumns(), n = m2.getNumColumns();
+		if( cd != m2.getNumRows() )
+			throw new DMLRuntimeException("Dimensions do not match for matrix multiplication ("+cd+"!="+m2.getNumRows()+").");
+		final float[] a = ((DenseBlockFP32)m1.getDenseBlock()).getData();
+		final float[] b = ((DenseBlockFP32)m2.getDenseBlock()).getData();
+		final float[] c = new float[m * n];
+		long nnz = execute(m, (long)m*cd*n, k, (rl, ru) -> {
+			double[] acc = new double[BLOCKSIZE_I * Math.min(BLOCKSIZE_J, n)];
+			long lnnz = 0;
+			for( int bi = rl; bi < ru; bi+=BLOCKSIZE_I ) {
+				int bimin = Math.min(ru, bi+BLOCKSIZE_I);
+				for( int bj = 0; bj < n; bj+=BLOCKSIZE_J ) {
+					int bjmin = Math.min(n, bj+BLOCKSIZE_J), blen = bjmin-bj;
+					Arrays.fill(acc, 0);
+					for( int bk = 0; bk < cd; bk+=BLOCKSIZE_K ) {
+						int bkmin = Math.min(cd, bk+BLOCKSIZE_K);
+						for( int i = bi, aix = bi*cd, accix = 0; i < bimin; i++, aix+=cd, accix+=blen )
+							for( int kk = bk; kk < bkmin; kk++ ) {
+								double aval = a[aix+kk];
+								if( aval == 0 ) continue;
+								for( int j = bj, bix = kk*n; j < bjmin; j++ )
+									acc[accix+j-bj] += aval * b[bix+j];
+							}
+					}
+					for( int i = bi, accix = 0; i < bimin; i++, accix+=blen )
+						for( int j = bj, cix = i*n; j < bjmin; j++ )
+							lnnz += ((c[cix+j] = (float)acc[accix+j-bj]) != 0) ? 1 : 0;
+				}
+			}
+			return lnnz;
+		});
+		return createFP32(m, n, c, nnz);
+	}
+
+	///////////////////////////////
+	// Element-wise operations
+	////////
+
+	/**
+	 * Checks for supported element-wise binary operations, which require at least one
+	 * FP32 input, dense inputs, and matching dimensions or row/column vector broadcasting
+	 * of the second input.
+	 *
+	 * @param m1 left-hand-side matrix
+	 * @param m2 right-hand-side matrix
+	 * @return true if supported
+	 */
+	public static boolean isSupportedBinary(MatrixBlock m1, MatrixBlock m2) {
+		return (isFP32(m1) || isFP32(m2)) && isDenseContiguous(m1) && isDenseContiguous(m2)
+			&& (m2.getNumRows() == m1.getNumRows() || m2.getNumRows() == 1)
+			&& (m2.getNumColumns() == m1.getNumColumns() || m2.getNumColumns() == 1);
+	}
+
+	public static MatrixBlock binaryOperations(MatrixBlock m1, MatrixBlock m2, BinaryOperator op) {
+		final int m = m1.getNumRows(), n = m1.getNumColumns();
+		final int m2r = m2.getNumRows(), m2c = m2.getNumColumns();
+		final float[] a32 = isFP32(m1) ? ((DenseBlockFP32)m1.getDenseBlock()).getData() : null;
+		final double[] a64 = (a32 == null) ? m1.getDenseBlockValues() : null;
+		final float[] b32 = isFP32(m2) ? ((DenseBlockFP32)m2.getDenseBlock()).getData() : null;
+		final double[] b64 = (b32 == null) ? m2.getDenseBlockValues() : null;
+		final float[] c = new float[m * n];
+		long nnz = execute(m, (long)m*n, op.getNumThreads(), (rl, ru) -> {
+			long lnnz = 0;
+			for( int i = rl, cix = rl*n; i < ru; i++ ) {
+				int bix = (m2r == 1) ? 0 : i * m2c;
+				for( int j = 0; j < n; j++, cix++ ) {
+					double aval = (a32 != null) ? a32[cix] : a64[cix];
+					int bjx = bix + ((m2c == 1) ? 0 : j);
+					double bval = (b32 != null) ? b32[bjx] : b64[bjx];
+					lnnz += ((c[cix] = (float)op.fn.execute(aval, bval)) != 0) ? 1 : 0;
+				}
+			}
+			return lnnz;
+		});
+		return createFP32(m, n, c, nnz);
+	}
+
+	public static MatrixBlock scalarOperations(MatrixBlock m1, ScalarOperator op) {
+		final int m = m1.getNumRows(), n = m1.getNumColumns();
+		final float[] a = ((DenseBlockFP32)m1.getDenseBlock()).getData();
+		final float[] c = new float[m * n];
+		long nnz = execute(m, (long)m*n, op.getNumThreads(), (rl, ru) -> {
+			long lnnz = 0;
+			for( int i = rl*n; i < ru*n; i++ )
+				lnnz += ((c[i] = (float)op.executeScalar(a[i])) != 0) ? 1 : 0;
+			return lnnz;
+		});
+		return createFP32(m, n, c, nnz);
+	}
+
+	public static boolean isSupportedUnary(MatrixBlock m1, UnaryOperator op) {
+		return isFP32(m1) && op != null && op.fn instanceof Builtin
+			&& ArrayUtils.contains(SUPPORTED_UNARY, ((Builtin)op.fn).getBuiltinCode());
+	}
+
+	public static MatrixBlock unaryOperations(MatrixBlock m1, UnaryOperator op) {
+		final int m = m1.getNumRows(), n = m1.getNumColumns();
+		final float[] a = ((DenseBlockFP32)m1.getDenseBlock()).getData();
+		final float[] c = new float[m * n];
+		long nnz = execute(m, (long)m*n, op.getNumThreads(), (rl, ru) -> {
+			long lnnz = 0;
+			for( int i = rl*n; i < ru*n; i++ )
+				lnnz += ((c[i] = (float)op.fn.execute(a[i])) != 0) ? 1 : 0;
+			return lnnz;
+		});
+		return createFP32(m, n, c, nnz);
+	}
+
+	///////////////////////////////
+	// Aggregates
+	////////
+
+	/**
+	 * Checks for supported sum and sum of squares aggregates (full, row, column),
+	 * which are computed with double accumulation.
+	 *
+	 * @param m1 input matrix
+	 * @param op aggregate unary operator
+	 * @return true if supported
+	 */
+	public static boolean isSupportedAggregate(MatrixBlock m1, AggregateUnaryOperator op) {
+		return isFP32(m1)
+			&& (op.aggOp.increOp.fn instanceof KahanPlus || op.aggOp.increOp.fn instanceof KahanPlusSq)
+			&& (op.indexFn instanceof ReduceAll || op.indexFn instanceof ReduceCol || op.indexFn instanceof ReduceRow);
+	}
+
+	public static MatrixBlock aggregateUnaryOperations(MatrixBlock m1, AggregateUnaryOperator op) {
+		final int m = m1.getNumRows(), n = m1.getNumColumns();
+		final float[] a = ((DenseBlockFP32)m1.getDenseBlock()).getData();
+		final boolean sq = op.aggOp.increOp.fn instanceof KahanPlusSq;
+		MatrixBlock ret;
+		if( op.indexFn instanceof ReduceCol ) { //rowSums
+			double[] c = new double[m];
+			execute(m, (long)m*n, op.getNumThreads(), (rl, ru) -> {
+				for( int i = rl, aix = rl*n; i < ru; i++, aix+=n )
+					c[i] = sum(a, aix, n, sq);
+				return 0;
+			});
+			ret = new MatrixBlock(m, 1, c);
+		}
+		else if( op.indexFn instanceof ReduceRow ) { //colSums
+			double[] c = new double[n];
+			for( int i = 0, aix = 0; i < m; i++, aix+=n )
+				for( int j = 0; j < n; j++ )
+					c[j] += sq ? (double)a[aix+j] * a[aix+j] : a[aix+j];
+			ret = new MatrixBlock(1, n, c);
+		}
+		else { //sum
+			ret = new MatrixBlock(1, 1, sum(a, 0, a.length, sq));
+		}
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static double sum(float[] a, int ai, int len, boolean sq) {
+		double sum = 0;
+		for( int i = ai; i < ai+len; i++ )
+			sum += sq ? (double)a[i] * a[i] : a[i];
+		return sum;
+	}
+
+	///////////////////////////////
+	// DNN operations
+	////////
+
+	/**
+	 * Checks for supported conv2d operations, which require an FP32 input image,
+	 * a dense filter (FP32 or FP64), and an output that fits into a single array.
+	 *
+	 * @param image input image (N x CHW)
+	 * @param filter filter (K x CRS)
+	 * @param params convolution parameters
+	 * @return true if supported
+	 */
+	public static boolean isSupportedConv2d(MatrixBlock image, MatrixBlock filter, DnnParameters params) {
+		return isFP32(image) && isDenseContiguous(filter)
+			&& (long)params.N * params.K * params.P * params.Q <= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Direct 2D convolution of an FP32 image with double accumulation of the
+	 * output rows per image, and an optional bias (K x 1) that is added to all
+	 * output positions of the respective filter.
+	 *
+	 * @param image FP32 input image (N x CHW)
+	 * @param filter dense filter (K x CRS)
+	 * @param bias bias vector (K x 1), or null
+	 * @param params convolution parameters
+	 * @return FP32 output matrix (N x KPQ)
+	 */
+	public static MatrixBlock conv2d(MatrixBlock image, MatrixBlock filter, MatrixBlock bias, DnnParameters params) {
+		final int N = params.N, C = params.C, H = params.H, W = params.W;
+		final int K = params.K, R = params.R, S = params.S, P = params.P, Q = params.Q;
+		final int strideH = params.stride_h, strideW = params.stride_w;
+		final int padH = params.pad_h, padW = params.pad_w;
+		final int CHW = C*H*W, CRS = C*R*S, PQ = P*Q, KPQ = K*PQ;
+		final float[] a = ((DenseBlockFP32)image.getDenseBlock()).getData();
+		//filter and bias are small, and thus, decoded once
+		final double[] f = toFP64(filter).getDenseBlockValues();
+		final double[] b = (bias != null && !bias.isEmptyBlock(false)) ?
+			DataConverter.convertToDoubleVector(toFP64(bias), false) : null;
+		final float[] c = new float[N * KPQ];
+		long nnz = execute(N, (long)N*KPQ*CRS, params.numThreads, (rl, ru) -> {
+			double[] acc = new double[KPQ];
+			long lnnz = 0;
+			for( int n = rl; n < ru; n++ ) {
+				int aix = n * CHW;
+				for( int k = 0; k < K; k++ )
+					Arrays.fill(acc, k*PQ, (k+1)*PQ, (b != null) ? b[k] : 0);
+				for( int k = 0, fix = 0; k < K; k++ )
+					for( int cc = 0; cc < C; cc++ )
+						for( int r = 0; r < R; r++ )
+							for( int s = 0; s < S; s++, fix++ ) {
+								double fval = f[fix];
+								if( fval == 0 ) continue;
+								for( int p = 0; p < P; p++ ) {
+									int h = p * strideH - padH + r;
+									if( h < 0 || h >= H ) continue;
+									int accix = k*PQ + p*Q, hix = aix + (cc*H + h)*W;
+									for( int q = 0; q < Q; q++ ) {
+										int w = q * strideW - padW + s;
+										if( w >= 0 && w < W )
+											acc[accix+q] += fval * a[hix+w];
+									}
+								}
+							}
+				for( int i = 0, cix = n*KPQ; i < KPQ; i++, cix++ )
+					lnnz += ((c[cix] = (float)acc[i]) != 0) ? 1 : 0;
+			}
+			return lnnz;
+		});
+		return createFP32(N, KPQ, c, nnz);
+	}
+
+	///////////////////////////////
+	// Utilities
+	////////
+
+	private static boolean isDenseContiguous(MatrixBlock mb) {
+		return !mb.isInSparseFormat() && mb.isAllocated() && !(mb instanceof CompressedMatrixBlock)
+			&& mb.getDenseBlock().isContiguous();
+	}
+
+	private static long execute(int rlen, long ops, int k, RangeKernel kernel) {
+		if( k <= 1 || ops < PAR_NUMCELL_THRESHOLD || rlen < 2 )
+			return kernel.execute(0, rlen);
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			int blklen = (int)Math.ceil((double)rlen / k);
+			List<Callable<Long>> tasks = new ArrayList<>();
+			for( int i = 0; i < rlen; i+=blklen ) {
+				final int rl = i, ru = Math.min(rlen, i+blklen);
+				tasks.add(() -> kernel.execute(rl, ru));
+			}
+			long nnz = 0;
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				nnz += task.get();
+			return nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
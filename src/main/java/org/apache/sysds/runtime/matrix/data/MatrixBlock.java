@@ -54,6 +54,7 @@ import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFP32;
 import org.apache.sysds.runtime.data.DenseBlockFP64;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
@@ -1127,6 +1128,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 	 * @param allowCSR allow CSR format on dense to sparse conversion
 	 */
 	public void examSparsity(boolean allowCSR) {
+		//single-precision blocks are kept as is (dense by construction)
+		if( denseBlock instanceof DenseBlockFP32 )
+			return;
+		
 		//determine target representation
 		boolean sparseDst = evalSparseFormatInMemory(allowCSR); 
 		
@@ -2000,6 +2005,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 					cleanupBlock(false, true); //reuse dense
 					readDenseBlock(in); //always dense in-mem if dense on disk
 					break;
+				case DENSE_BLOCK_FP32:
+					sparse = false;
+					cleanupBlock(false, true); //reuse dense
+					readDenseBlockFP32(in); //decoded into FP64
+					break;
 				case EMPTY_BLOCK:
 					sparse = true;
 					cleanupBlock(true, !(sparseBlock instanceof SparseBlockCSR));
@@ -2047,6 +2057,22 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		nonZeros = nnz;
 	}
 	
+	private void readDenseBlockFP32(DataInput in) throws IOException, DMLRuntimeException {
+		allocateDenseBlock(true);
+		DenseBlock a = getDenseBlock();
+		if(a.getDim(0) != rlen || a.getDim(1) != clen)
+			a.resetNoFill(rlen, clen);
+		
+		long nnz = 0;
+		for( int i=0; i<rlen; i++ ) {
+			double[] avals = a.values(i);
+			int aix = a.pos(i);
+			for( int j=0; j<clen; j++ )
+				nnz += ((avals[aix+j] = in.readFloat()) != 0) ? 1 : 0;
+		}
+		nonZeros = nnz;
+	}
+	
 	private void readSparseBlock(DataInput in) 
 		throws IOException 
 	{
@@ -2160,7 +2186,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		out.writeInt(rlen);
 		out.writeInt(clen);
 		
-		if( sparseSrc )
+		if( denseBlock instanceof DenseBlockFP32 && nonZeros != 0 )
+			writeDenseBlockFP32(out); //keep single precision
+		else if( sparseSrc )
 		{
 			//write sparse to *
 			if( sparseBlock==null || nonZeros==0 ) 
@@ -2193,6 +2221,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		out.writeByte( BlockType.EMPTY_BLOCK.ordinal() );
 	}
 
+	private void writeDenseBlockFP32(DataOutput out) 
+		throws IOException 
+	{
+		out.writeByte( BlockType.DENSE_BLOCK_FP32.ordinal() );
+		
+		float[] a = ((DenseBlockFP32)denseBlock).getData();
+		int limit = rlen * clen;
+		if( out instanceof MatrixBlockDataOutput ) //fast serialize
+			((MatrixBlockDataOutput)out).writeFloatArray(limit, a);
+		else //general case (if fast serialize not supported)
+			for(int i=0; i<limit; i++)
+				out.writeFloat(a[i]);
+	}
+	
 	private void writeDenseBlock(DataOutput out) 
 		throws IOException 
 	{
@@ -2508,7 +2550,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		}
 		
 		//get exact size estimate (see write for the corresponding meaning)
-		if( sparseSrc )
+		if( denseBlock instanceof DenseBlockFP32 && nonZeros != 0 )
+			return HEADER_SIZE + 4 * lrlen * lclen; //single-precision dense block
+		else if( sparseSrc )
 		{
 			//write sparse to *
 			if(sparseBlock==null || nonZeros==0)
@@ -2736,6 +2780,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		//in-memory size given by header if not allocated
 		if( !isAllocated() ) 
 			return getHeaderSize();
+		//in-memory size of single-precision dense representation
+		if( denseBlock instanceof DenseBlockFP32 )
+			return getHeaderSize() + (long) DenseBlockFP32.estimateMemory(rlen, clen);
 		//in-memory size of dense/sparse representation
 		return !sparse ? estimateSizeDenseInMemory(rlen, clen) :
 			estimateSizeSparseInMemory(rlen, clen, getSparsity(),
@@ -47,6 +47,16 @@ public interface MatrixBlockDataOutput
 	public void writeDoubleArray(int len, double[] varr) 
 		throws IOException;
 	
+	/**
+	 * Writes the float array of a single-precision dense block to the data output.
+	 * 
+	 * @param len number of values
+	 * @param varr float array
+	 * @throws IOException if IOException occurs
+	 */
+	public void writeFloatArray(int len, float[] varr) 
+		throws IOException;
+	
 	/**
 	 * Writes the sparse rows array of a sparse block to the data output.
 	 * 
@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data.sketch.quantile;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch of Karnin, Lang, and Liberty (KLL, FOCS 2016) over a
+ * stream of doubles. The sketch consists of a hierarchy of compactors, where items
+ * of level h have weight 2^h. Once a level exceeds its capacity, it is sorted and
+ * every other item (with alternating offsets) is promoted to the next level. The
+ * capacities decrease geometrically from the top level with size k, which bounds
+ * the normalized rank error by roughly 1.7/k with a total size of about 3k items.
+ *
+ * Up to k items, the sketch is exact. Min, max, and the number of items are always
+ * maintained exactly. NaN values are ignored.
+ */
+public class KLLSketch implements Externalizable
+{
+	private static final long serialVersionUID = -2427385214829375712L;
+
+	private static final double CAPACITY_DECAY = 2d / 3;
+	private static final int MIN_CAPACITY = 8;
+
+	private int _k;
+	private long _n;
+	private double _min = Double.POSITIVE_INFINITY;
+	private double _max = Double.NEGATIVE_INFINITY;
+	private double[][] _levels;
+	private int[] _sizes;
+	private int _numLevels;
+	private int _size;
+	private boolean _offset;
+
+	public KLLSketch() {
+		//default constructor for deserialization
+		this(200);
+	}
+
+	/**
+	 * Creates an empty sketch with the given accuracy parameter.
+	 *
+	 * @param k size of the top-level compactor (normalized rank error ~1.7/k)
+	 */
+	public KLLSketch(int k) {
+		_k = Math.max(k, MIN_CAPACITY);
+		_levels = new double[][] {new double[Math.min(_k, 1024)]};
+		_sizes = new int[1];
+		_numLevels = 1;
+	}
+
+	public int getK() {
+		return _k;
+	}
+
+	/**
+	 * @return number of non-NaN items added to this sketch (or merged sketches)
+	 */
+	public long getN() {
+		return _n;
+	}
+
+	public boolean isEmpty() {
+		return _n == 0;
+	}
+
+	public double getMin() {
+		return _min;
+	}
+
+	public double getMax() {
+		return _max;
+	}
+
+	/**
+	 * @return number of retained items
+	 */
+	public int getNumRetained() {
+		return _size;
+	}
+
+	/**
+	 * @return true if no compaction happened, i.e., all queries are exact
+	 */
+	public boolean isExact() {
+		return _numLevels == 1;
+	}
+
+	public void update(double v) {
+		if( Double.isNaN(v) )
+			return;
+		_n++;
+		_min = Math.min(_min, v);
+		_max = Math.max(_max, v);
+		append(0, v);
+		if( _size > getTotalCapacity() )
+			compress();
+	}
+
+	/**
+	 * Merges the given sketch into this sketch. Both sketches should be created with
+	 * the same parameter k, otherwise, the accuracy is given by the smaller k.
+	 *
+	 * @param that sketch to merge
+	 * @return this sketch
+	 */
+	public KLLSketch merge(KLLSketch that) {
+		if( that == null || that.isEmpty() )
+			return this;
+		_k = Math.min(_k, that._k);
+		_n += that._n;
+		_min = Math.min(_min, that._min);
+		_max = Math.max(_max, that._max);
+		for( int h=0; h<that._numLevels; h++ )
+			for( int i=0; i<that._sizes[h]; i++ )
+				append(h, that._levels[h][i]);
+		while( _size > getTotalCapacity() )
+			compress();
+		return this;
+	}
+
+	/**
+	 * Returns the item of the given rank, i.e., the smallest item v such that the
+	 * (estimated) number of items less than or equal to v is at least rank.
+	 *
+	 * @param rank 1-based rank in [1, n]
+	 * @return item of the given rank
+	 */
+	public double getQuantileByRank(double rank) {
+		if( isEmpty() )
+			return Double.NaN;
+		if( rank >= _n )
+			return _max;
+		if( rank <= 1 )
+			return _min;
+		double[][] sorted = getSortedView();
+		double[] vals = sorted[0], cumw = sorted[1];
+		int ix = Arrays.binarySearch(cumw, rank);
+		ix = (ix < 0) ? -ix - 1 : ix;
+		return vals[Math.min(ix, vals.length-1)];
+	}
+
+	/**
+	 * Returns the items of the given ranks, sharing the sorted view across queries.
+	 *
+	 * @param ranks 1-based ranks in [1, n]
+	 * @return items of the given ranks
+	 */
+	public double[] getQuantilesByRank(double[] ranks) {
+		double[] ret = new double[ranks.length];
+		if( isEmpty() ) {
+			Arrays.fill(ret, Double.NaN);
+			return ret;
+		}
+		double[][] sorted = getSortedView();
+		double[] vals = sorted[0], cumw = sorted[1];
+		for( int i=0; i<ranks.length; i++ ) {
+			if( ranks[i] >= _n )
+				ret[i] = _max;
+			else if( ranks[i] <= 1 )
+				ret[i] = _min;
+			else {
+				int ix = Arrays.binarySearch(cumw, ranks[i]);
+				ix = (ix < 0) ? -ix - 1 : ix;
+				ret[i] = vals[Math.min(ix, vals.length-1)];
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the quantile for a normalized rank in [0, 1].
+	 *
+	 * @param q normalized rank
+	 * @return quantile
+	 */
+	public double getQuantile(double q) {
+		return getQuantileByRank(Math.ceil(q * _n));
+	}
+
+	private double[][] getSortedView() {
+		double[] vals = new double[_size];
+		long[] weights = new long[_size];
+		int pos = 0;
+		for( int h=0; h<_numLevels; h++ ) {
+			System.arraycopy(_levels[h], 0, vals, pos, _sizes[h]);
+			Arrays.fill(weights, pos, pos+_sizes[h], 1L << h);
+			pos += _sizes[h];
+		}
+		//sort values and weights by value
+		Integer[] ix = new Integer[_size];
+		for( int i=0; i<_size; i++ )
+			ix[i] = i;
+		Arrays.sort(ix, (a, b) -> Double.compare(vals[a], vals[b]));
+		double[] svals = new double[_size];
+		double[] cumw = new double[_size];
+		double sum = 0;
+		for( int i=0; i<_size; i++ ) {
+			svals[i] = vals[ix[i]];
+			cumw[i] = (sum += weights[ix[i]]);
+		}
+		return new double[][] {svals, cumw};
+	}
+
+	private int getCapacity(int level) {
+		int depth = _numLevels - level - 1;
+		return Math.max(MIN_CAPACITY, (int) Math.ceil(_k * Math.pow(CAPACITY_DECAY, depth)));
+	}
+
+	private int getTotalCapacity() {
+		int ret = 0;
+		for( int h=0; h<_numLevels; h++ )
+			ret += getCapacity(h);
+		return ret;
+	}
+
+	private void append(int level, double v) {
+		if( level >= _numLevels )
+			addLevel();
+		if( _sizes[level] == _levels[level].length )
+			_levels[level] = Arrays.copyOf(_levels[level], Math.max(2*_levels[level].length, MIN_CAPACITY));
+		_levels[level][_sizes[level]++] = v;
+		_size++;
+	}
+
+	private void addLevel() {
+		_levels = Arrays.copyOf(_levels, _numLevels+1);
+		_sizes = Arrays.copyOf(_sizes, _numLevels+1);
+		_levels[_numLevels] = new double[MIN_CAPACITY];
+		_numLevels++;
+	}
+
+	private void compress() {
+		//compact the lowest level that exceeds its capacity
+		for( int h=0; h<_numLevels; h++ ) {
+			if( _sizes[h] < getCapacity(h) )
+				continue;
+			double[] lvals = _levels[h];
+			int len = _sizes[h];
+			Arrays.sort(lvals, 0, len);
+			//keep the largest item if the level has an odd size
+			int clen = (len % 2 == 0) ? len : len - 1;
+			int start = _offset ? 1 : 0;
+			_offset = !_offset;
+			double[] promote = new double[clen/2];
+			for( int i=start, j=0; i<clen; i+=2, j++ )
+				promote[j] = lvals[i];
+			if( clen < len )
+				lvals[0] = lvals[len-1];
+			_sizes[h] = len - clen;
+			_size -= clen;
+			for( double v : promote )
+				append(h+1, v);
+			return;
+		}
+	}
+
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		out.writeInt(_k);
+		out.writeLong(_n);
+		out.writeDouble(_min);
+		out.writeDouble(_max);
+		out.writeBoolean(_offset);
+		out.writeInt(_numLevels);
+		for( int h=0; h<_numLevels; h++ ) {
+			out.writeInt(_sizes[h]);
+			for( int i=0; i<_sizes[h]; i++ )
+				out.writeDouble(_levels[h][i]);
+		}
+	}
+
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		_k = in.readInt();
+		_n = in.readLong();
+		_min = in.readDouble();
+		_max = in.readDouble();
+		_offset = in.readBoolean();
+		_numLevels = in.readInt();
+		_levels = new double[_numLevels][];
+		_sizes = new int[_numLevels];
+		_size = 0;
+		for( int h=0; h<_numLevels; h++ ) {
+			_sizes[h] = in.readInt();
+			_levels[h] = new double[Math.max(_sizes[h], MIN_CAPACITY)];
+			for( int i=0; i<_sizes[h]; i++ )
+				_levels[h][i] = in.readDouble();
+			_size += _sizes[h];
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[k=" + _k + ", n=" + _n
+			+ ", retained=" + _size + ", levels=" + _numLevels + "]";
+	}
+}
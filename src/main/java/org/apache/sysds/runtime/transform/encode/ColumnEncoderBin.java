@@ -24,16 +24,17 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.PriorityQueue;
 import java.util.concurrent.Callable;
 
 import static org.apache.sysds.runtime.util.UtilFunctions.getEndIndex;
 import org.apache.commons.lang3.tuple.MutableTriple;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.sketch.quantile.KLLSketch;
 import org.apache.sysds.utils.stats.TransformStatistics;
 
 public class ColumnEncoderBin extends ColumnEncoder {
@@ -56,6 +57,9 @@ public class ColumnEncoderBin extends ColumnEncoder {
 	// b) column min/max (for partial build)
 	private double _colMins = -1f;
 	private double _colMaxs = -1f;
+	// c) column quantile sketch (for equi-height partial build and merge only,
+	// dropped once the bin boundaries are computed by a full build)
+	private KLLSketch _sketch = null;
 
 	public ColumnEncoderBin() {
 		super(-1);
@@ -82,6 +86,10 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		return _colMaxs;
 	}
 
+	public KLLSketch getSketch() {
+		return _sketch;
+	}
+
 	public double[] getBinMins() {
 		return _binMins;
 	}
@@ -111,8 +119,7 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			computeBins(pairMinMax[0], pairMinMax[1]);
 		}
 		else if(_binMethod == BinMethod.EQUI_HEIGHT) {
-			double[] sortedCol = prepareDataForEqualHeightBins(in, _colID, 0, -1);
-			computeEqualHeightBins(sortedCol, false);
+			computeEqualHeightBins(createSketch(in, _colID, 0, -1));
 		}
 
 		if(DMLScript.STATISTICS)
@@ -128,7 +135,7 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			computeBins(pairMinMax[0], pairMinMax[1]);
 		}
 		else if(_binMethod == BinMethod.EQUI_HEIGHT) {
-			computeEqualHeightBins(equiHeightMaxs, true);
+			computeEqualHeightBins(equiHeightMaxs);
 		}
 
 		if(DMLScript.STATISTICS)
@@ -208,19 +215,27 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		return new double[] {min, max};
 	}
 
-	private static double[] prepareDataForEqualHeightBins(CacheBlock<?> in, int colID, int startRow, int blockSize) {
+	private static KLLSketch createSketch(CacheBlock<?> in, int colID, int startRow, int blockSize) {
+		return updateSketch(createSketch(), in, colID, startRow, blockSize);
+	}
+
+	private static KLLSketch updateSketch(KLLSketch sketch, CacheBlock<?> in, int colID, int startRow, int blockSize) {
+		// single pass over the column, NaNs are ignored by the sketch
 		int endRow = getEndIndex(in.getNumRows(), startRow, blockSize);
-		double[] vals = new double[endRow-startRow];
-		for(int i = startRow; i < endRow; i++) {
-			double inVal = in.getDouble(i, colID - 1);
-			//FIXME current NaN handling introduces 0s and thus
-			// impacts the computation of bin boundaries
-			if(Double.isNaN(inVal))
-				continue;
-			vals[i-startRow] = inVal;
-		}
-		Arrays.sort(vals);
-		return vals;
+		for(int i = startRow; i < endRow; i++)
+			sketch.update(in.getDouble(i, colID - 1));
+		return sketch;
+	}
+
+	/**
+	 * Creates an empty quantile sketch of the configured size, where a
+	 * non-positive size disables the compaction (exact bin boundaries).
+	 *
+	 * @return empty quantile sketch
+	 */
+	public static KLLSketch createSketch() {
+		int k = ConfigurationManager.getBinningSketchSize();
+		return new KLLSketch(k > 0 ? k : Integer.MAX_VALUE);
 	}
 
 	@Override
@@ -245,47 +260,69 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			_binMins = new double[_numBin];
 			_binMaxs = new double[_numBin];
 		}
+		if(min > max) {
+			// no non-NaN values (min/max of +/-Inf), all values are encoded as missing
+			LOG.warn("ColumnEncoderBin: column " + _colID + " has only NaN values, use empty bins [0, 0]");
+			min = max = 0;
+		}
 		for(int i = 0; i < _numBin; i++) {
 			_binMins[i] = min + i * (max - min) / _numBin;
 			_binMaxs[i] = min + (i + 1) * (max - min) / _numBin;
 		}
 	}
 
-	private void computeEqualHeightBins(double[] sortedCol, boolean isSorted) {
+	private void computeEqualHeightBins(double[] equiHeightMaxs) {
+		// bin boundaries given as [min, max_1, ..., max_numBin]
 		if(_binMins == null || _binMaxs == null) {
 			_binMins = new double[_numBin];
 			_binMaxs = new double[_numBin];
 		}
-		if(!isSorted) {
-			int n = sortedCol.length;
-			for(int i = 0; i < _numBin; i++) {
-				double pos = n * (i + 1d) / _numBin;
-				_binMaxs[i] = (pos % 1 == 0) ? // pos is integer
-					sortedCol[(int) pos - 1] : sortedCol[(int) Math.floor(pos)];
-			}
-			_binMaxs[_numBin - 1] = sortedCol[n - 1];
+		System.arraycopy(equiHeightMaxs, 1, _binMaxs, 0, _numBin);
+		_binMins[0] = equiHeightMaxs[0];
+		System.arraycopy(_binMaxs, 0, _binMins, 1, _numBin - 1);
+	}
 
-		} else {
-			System.arraycopy(sortedCol, 1, _binMaxs, 0, _numBin);
+	public void computeEqualHeightBins(KLLSketch sketch) {
+		if(_binMins == null || _binMaxs == null) {
+			_binMins = new double[_numBin];
+			_binMaxs = new double[_numBin];
 		}
+		if(sketch.isEmpty()) {
+			// no non-NaN values, all values are encoded as missing
+			LOG.warn("ColumnEncoderBin: column " + _colID + " has only NaN values, use empty bins [0, 0]");
+			Arrays.fill(_binMins, 0);
+			Arrays.fill(_binMaxs, 0);
+			return;
+		}
+		// bin i ends at the value of rank ceil(n*(i+1)/numBin)
+		long n = sketch.getN();
+		double[] ranks = new double[_numBin];
+		for(int i = 0; i < _numBin; i++)
+			ranks[i] = Math.ceil(n * (i + 1d) / _numBin);
+		double[] maxs = sketch.getQuantilesByRank(ranks);
+		System.arraycopy(maxs, 0, _binMaxs, 0, _numBin);
+		_binMaxs[_numBin - 1] = sketch.getMax();
 
-		_binMins[0] = sortedCol[0];
+		_binMins[0] = sketch.getMin();
 		System.arraycopy(_binMaxs, 0, _binMins, 1, _numBin - 1);
 	}
 
 	public void prepareBuildPartial() {
-		// ensure allocated min/max arrays
-		_colMins = -1f;
-		_colMaxs = -1f;
+		// reset partial min/max and sketch
+		_colMins = Double.POSITIVE_INFINITY;
+		_colMaxs = Double.NEGATIVE_INFINITY;
+		_sketch = (_binMethod == BinMethod.EQUI_HEIGHT) ? createSketch() : null;
 	}
 
 	public void buildPartial(FrameBlock in) {
 		if(!isApplicable())
 			return;
-		// derive bin boundaries from min/max per column
+		// aggregate min/max per column across all partial blocks
 		double[] pairMinMax = getMinMaxOfCol(in, _colID, 0, -1);
-		_colMins = pairMinMax[0];
-		_colMaxs = pairMinMax[1];
+		_colMins = Math.min(_colMins, pairMinMax[0]);
+		_colMaxs = Math.max(_colMaxs, pairMinMax[1]);
+		if(_sketch != null)
+			updateSketch(_sketch, in, _colID, 0, -1);
 	}
 
 	@Override
@@ -299,6 +336,12 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		if(other instanceof ColumnEncoderBin) {
 			ColumnEncoderBin otherBin = (ColumnEncoderBin) other;
 			assert other._colID == _colID;
+			if(_binMethod == BinMethod.EQUI_HEIGHT && _sketch != null && otherBin._sketch != null) {
+				// merge the quantile sketches of partial builds to derive global equi-height bins
+				_sketch.merge(otherBin._sketch);
+				computeEqualHeightBins(_sketch);
+				return;
+			}
 			// save the min, max as well as the number of bins for the column indexes
 			MutableTriple<Integer, Double, Double> entry = new MutableTriple<>(_numBin, _binMins[0],
 				_binMaxs[_binMaxs.length - 1]);
@@ -369,6 +412,9 @@ public class ColumnEncoderBin extends ColumnEncoder {
 				out.writeDouble(_binMins[j]);
 			}
 		}
+		out.writeBoolean(_sketch != null);
+		if(_sketch != null)
+			_sketch.writeExternal(out);
 	}
 
 	@Override
@@ -379,11 +425,16 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		boolean minmax = in.readBoolean();
 		_binMaxs = minmax ? new double[_numBin] : null;
 		_binMins = minmax ? new double[_numBin] : null;
-		if(!minmax)
-			return;
-		for(int j = 0; j < _binMaxs.length; j++) {
-			_binMaxs[j] = in.readDouble();
-			_binMins[j] = in.readDouble();
+		if(minmax) {
+			for(int j = 0; j < _binMaxs.length; j++) {
+				_binMaxs[j] = in.readDouble();
+				_binMins[j] = in.readDouble();
+			}
+		}
+		_sketch = null;
+		if(in.readBoolean()) {
+			_sketch = new KLLSketch();
+			_sketch.readExternal(in);
 		}
 	}
 
@@ -448,7 +499,7 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		}
 
 		@Override
-		public double[] call() throws Exception {
+		public Object call() throws Exception {
 			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 			if (_method == BinMethod.EQUI_WIDTH) {
 				double[] minMax = getMinMaxOfCol(_input, _colID, _startRow, _blockSize);
@@ -457,9 +508,9 @@ public class ColumnEncoderBin extends ColumnEncoder {
 				}
 			}
 			if (_method == BinMethod.EQUI_HEIGHT) {
-				double[] sortedVals = prepareDataForEqualHeightBins(_input, _colID, _startRow, _blockSize);
+				KLLSketch sketch = createSketch(_input, _colID, _startRow, _blockSize);
 				synchronized(_partialData) {
-					_partialData.put(_startRow, sortedVals);
+					_partialData.put(_startRow, sketch);
 				}
 			}
 			if (DMLScript.STATISTICS)
@@ -482,31 +533,6 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			_encoder = encoderBin;
 		}
 
-		private double[] mergeKSortedArrays(double[][] arrs) {
-			//PriorityQueue is heap in Java
-			PriorityQueue<ArrayContainer> queue;
-			queue = new PriorityQueue<>();
-			int total=0;
-
-			//add arrays to heap
-			for(double[] arr : arrs) {
-				queue.add(new ArrayContainer(arr, 0));
-				total = total + arr.length;
-			}
-			int m=0;
-			double[] result = new double[total];
-
-			//while heap is not empty
-			while(!queue.isEmpty()){
-				ArrayContainer ac = queue.poll();
-				result[m++]=ac.arr[ac.index];
-				if(ac.index < ac.arr.length-1){
-					queue.add(new ArrayContainer(ac.arr, ac.index+1));
-				}
-			}
-			return result;
-		}
-
 		@Override
 		public Object call() throws Exception {
 			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
@@ -521,16 +547,11 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			}
 
 			if (_encoder.getBinMethod() == BinMethod.EQUI_HEIGHT) {
-				double[][] allParts = new double[_partialMaps.size()][];
-				int i = 0;
-				for (Object arr: _partialMaps.values())
-					allParts[i++] = (double[]) arr;
-
-				// Heap-based merging of sorted partitions.
-				// TODO: Derive bin boundaries from partial aggregates, avoiding
-				// materializing the sorted arrays (e.g. federated quantile)
-				double[] sortedRes = mergeKSortedArrays(allParts);
-				_encoder.computeEqualHeightBins(sortedRes, false);
+				// merge partial sketches instead of materializing sorted partitions
+				KLLSketch sketch = createSketch();
+				for (Object part : _partialMaps.values())
+					sketch.merge((KLLSketch) part);
+				_encoder.computeEqualHeightBins(sketch);
 			}
 
 			if(DMLScript.STATISTICS)
@@ -544,21 +565,6 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		}
 	}
 
-	private static class ArrayContainer implements Comparable<ArrayContainer> {
-		double[] arr;
-		int index;
-
-		public ArrayContainer(double[] arr, int index) {
-			this.arr = arr;
-			this.index = index;
-		}
-
-		@Override
-		public int compareTo(ArrayContainer o) {
-			return this.arr[this.index] < o.arr[o.index] ? -1 : 1;
-		}
-	}
-
 	private static class ColumnBinBuildTask implements Callable<Object> {
 		private final ColumnEncoderBin _encoder;
 		private final CacheBlock<?> _input;
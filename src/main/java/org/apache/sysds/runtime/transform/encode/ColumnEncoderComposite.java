@@ -319,6 +319,19 @@ public class ColumnEncoderComposite extends ColumnEncoder {
 			columnEncoder.initMetaData(out);
 	}
 
+	/**
+	 * Extends the metadata initialized from existing metadata by the unseen categories of the given input, and
+	 * updates the dummycode domain sizes accordingly.
+	 *
+	 * @param in input data
+	 */
+	public void extendMetaData(CacheBlock<?> in) {
+		ColumnEncoderRecode rc = getEncoder(ColumnEncoderRecode.class);
+		if(rc != null)
+			rc.extendRcdMap(in);
+		updateAllDCEncoders();
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
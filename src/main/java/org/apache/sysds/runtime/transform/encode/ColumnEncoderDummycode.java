@@ -113,9 +113,10 @@ public class ColumnEncoderDummycode extends ColumnEncoder {
 					out.getSparseBlock().get(r).values()[index] = 0;
 					continue;
 				}
-				int nCol = outputCol + (int) val - 1;
+				// negative codes of signed feature hashing map to -1
+				int nCol = outputCol + (int) Math.abs(val) - 1;
 				out.getSparseBlock().get(r).indexes()[index] = nCol;
-				out.getSparseBlock().get(r).values()[index] = 1;
+				out.getSparseBlock().get(r).values()[index] = Math.signum(val);
 			}
 			else { //csr
 				SparseBlockCSR csrblock = (SparseBlockCSR)out.getSparseBlock();
@@ -129,9 +130,9 @@ public class ColumnEncoderDummycode extends ColumnEncoder {
 					continue;
 				}
 				// Manually fill the column-indexes and values array
-				int nCol = outputCol + (int) val - 1;
+				int nCol = outputCol + (int) Math.abs(val) - 1;
 				csrblock.indexes()[rptr[r]+index] = nCol;
-				csrblock.values()[rptr[r]+index] = 1;
+				csrblock.values()[rptr[r]+index] = Math.signum(val);
 			}
 		}
 		if(sparseRowsWZeros != null) {
@@ -161,10 +162,10 @@ public class ColumnEncoderDummycode extends ColumnEncoder {
 					out.quickSetValue(ii, outputCol, 0); //0 if NaN
 					continue;
 				}
-				int nCol = outputCol + (int) val - 1;
+				int nCol = outputCol + (int) Math.abs(val) - 1;
 				if(nCol != outputCol)
 					out.quickSetValue(ii, outputCol, 0);
-				out.quickSetValue(ii, nCol, 1);
+				out.quickSetValue(ii, nCol, Math.signum(val));
 			}
 		}
 	}
@@ -23,22 +23,54 @@ import static org.apache.sysds.runtime.util.UtilFunctions.getEndIndex;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.frame.data.columns.OptionalArray;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.frame.data.columns.UTF8Array;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.DependencyTask;
 import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.utils.Hash;
 import org.apache.sysds.utils.stats.TransformStatistics;
 
 /**
  * Class used for feature hashing transformation of frames.
+ * 
+ * By default, keys are hashed with String.hashCode, which keeps the codes compatible with existing transform meta
+ * data. Alternatively (sysds.encode.featurehash.function=xxhash64), strings are hashed via the 64-bit xxHash of their
+ * UTF-8 bytes and numbers via the xxHash of their raw double bits, read directly from the frame column arrays without
+ * materializing a string per cell. With signed hashing (sysds.encode.featurehash.signed), the most significant bit of
+ * the 64-bit hash selects the sign of the code, which a subsequent dummycode turns into a -1/+1 feature. The meta
+ * data stores K and, for non-default hashing, the hash function and sign flag (e.g., 1024·XXHASH64·SIGNED), such
+ * that apply with existing meta data reproduces the codes independent of the current configuration.
  */
 public class ColumnEncoderFeatureHash extends ColumnEncoder {
 	private static final long serialVersionUID = 7435806042138687342L;
+	private static final long SEED = 0;
+	private static final String SIGNED = "SIGNED";
+
+	public enum HashFunction {
+		JAVA, XXHASH64;
+
+		public static HashFunction parse(String name) {
+			return (name == null) ? JAVA : valueOf(name.trim().toUpperCase());
+		}
+	}
+
 	private long _K;
+	private HashFunction _hashFunction;
+	private boolean _signed;
 
 	/*
 	 * public EncoderFeatureHash(JSONObject parsedSpec, String[] colnames, int clen, int minCol, int maxCol) throws
@@ -47,18 +79,39 @@ public class ColumnEncoderFeatureHash extends ColumnEncoder {
 	 * 
 	 */
 	public ColumnEncoderFeatureHash(int colID, long K) {
+		this(colID, K, HashFunction.parse(ConfigurationManager.getFeatureHashFunction()),
+			ConfigurationManager.isSignedFeatureHashing());
+	}
+
+	public ColumnEncoderFeatureHash(int colID, long K, HashFunction hashFunction, boolean signed) {
 		super(colID);
 		_K = K;
+		_hashFunction = hashFunction;
+		_signed = signed && hashFunction == HashFunction.XXHASH64;
 	}
 
 	public ColumnEncoderFeatureHash() {
 		super(-1);
 		_K = 0;
+		_hashFunction = HashFunction.JAVA;
 	}
 	public long getK(){
 		return _K;
 	}
 
+	public HashFunction getHashFunction() {
+		return _hashFunction;
+	}
+
+	/**
+	 * Indicates if the codes of this encoder carry a sign, i.e., are in [-K,-1] or [1,K].
+	 * 
+	 * @return true if signed hashing is enabled
+	 */
+	public boolean isSigned() {
+		return _signed;
+	}
+
 	@Override
 	protected TransformType getTransformType() {
 		return TransformType.FEATURE_HASH;
@@ -67,30 +120,161 @@ public class ColumnEncoderFeatureHash extends ColumnEncoder {
 	@Override
 	protected double getCode(CacheBlock<?> in, int row) {
 		// hash a single row
-		String key = in.getString(row, _colID - 1);
-		if(key == null)
-			return Double.NaN;
-		return (key.hashCode() % _K) + 1;
+		return getCodeCol(in, row, 1)[0];
 	}
 
 	protected double[] getCodeCol(CacheBlock<?> in, int startInd, int blkSize) {
 		// hash a block of rows
 		int endInd = getEndIndex(in.getNumRows(), startInd, blkSize);
 		double codes[] = new double[endInd-startInd];
-		for (int i=startInd; i<endInd; i++) {
-			String key = in.getString(i, _colID - 1);
+		long[] hashes = DMLScript.STATISTICS ? new long[codes.length] : null;
+		if(_hashFunction == HashFunction.JAVA) {
+			for (int i=startInd; i<endInd; i++) {
+				String key = in.getString(i, _colID - 1);
+				if(key == null || key.isEmpty())
+					codes[i-startInd] = Double.NaN;
+				else
+					codes[i-startInd] = getCode(key.hashCode(), hashes, i-startInd);
+			}
+		}
+		else if(in instanceof FrameBlock) {
+			Array<?> a = ((FrameBlock) in).getColumn(_colID - 1);
+			ValueType vt = a.getValueType();
+			if(vt == ValueType.STRING || vt == ValueType.CHARACTER)
+				hashStrings(a, startInd, endInd, codes, hashes);
+			else if(a instanceof DoubleArray) {
+				double[] vals = ((DoubleArray) a).get();
+				for(int i=startInd; i<endInd; i++)
+					codes[i-startInd] = getCode(vals[i], hashes, i-startInd);
+			}
+			else {
+				boolean optional = a instanceof OptionalArray;
+				for(int i=startInd; i<endInd; i++)
+					codes[i-startInd] = (optional && a.get(i) == null) ? Double.NaN :
+						getCode(a.getAsDouble(i), hashes, i-startInd);
+			}
+		}
+		else {
+			for(int i=startInd; i<endInd; i++)
+				codes[i-startInd] = getCode(in.getDoubleNaN(i, _colID - 1), hashes, i-startInd);
+		}
+		if(hashes != null)
+			countCollisions(hashes, codes);
+		return codes;
+	}
+
+	private void hashStrings(Array<?> a, int startInd, int endInd, double[] codes, long[] hashes) {
+		if(a instanceof UTF8Array) {
+			hashUTF8((UTF8Array) a, startInd, endInd, codes, hashes);
+			return;
+		}
+		String[] vals = (a instanceof StringArray) ? ((StringArray) a).get() : null;
+		byte[] buff = new byte[64];
+		for(int i=startInd; i<endInd; i++) {
+			String key = (vals != null) ? vals[i] : (a.get(i) == null) ? null : a.get(i).toString();
 			if(key == null || key.isEmpty())
 				codes[i-startInd] = Double.NaN;
 			else {
-				// Calculate non-negative modulo
-				//double mod = key.hashCode() % _K > 0 ? key.hashCode() % _K : _K + key.hashCode() % _K;
-				double mod = (key.hashCode() % _K) + 1;
-				if (mod < 0)
-					mod += _K;
-				codes[i - startInd] = mod;
+				if(buff.length < 3 * key.length())
+					buff = new byte[3 * key.length()];
+				int len = encodeUTF8(key, buff);
+				codes[i-startInd] = getCode(Hash.xxHash64(buff, 0, len, SEED), hashes, i-startInd);
 			}
 		}
-		return codes;
+	}
+
+	private void hashUTF8(UTF8Array a, int startInd, int endInd, double[] codes, long[] hashes) {
+		// hash the stored UTF-8 bytes without decoding into strings
+		byte[] buff = new byte[64];
+		for(int i=startInd; i<endInd; i++) {
+			int len = a.getUTF8Length(i);
+			if(len <= 0)
+				codes[i-startInd] = Double.NaN;
+			else {
+				if(buff.length < len)
+					buff = new byte[2 * len];
+				a.getUTF8(i, buff);
+				codes[i-startInd] = getCode(Hash.xxHash64(buff, 0, len, SEED), hashes, i-startInd);
+			}
+		}
+	}
+
+	private double getCode(double val, long[] hashes, int pos) {
+		if(Double.isNaN(val))
+			return Double.NaN;
+		// normalize -0.0 to 0.0 to get consistent codes for equal values
+		long bits = Double.doubleToLongBits(val == 0 ? 0 : val);
+		return getCode(Hash.xxHash64(bits, SEED), hashes, pos);
+	}
+
+	private double getCode(long hash, long[] hashes, int pos) {
+		if(hashes != null)
+			hashes[pos] = hash;
+		if(_hashFunction == HashFunction.JAVA)
+			return Math.floorMod(hash, _K) + 1; // non-negative modulo
+		long code = Long.remainderUnsigned(hash, _K) + 1;
+		return (_signed && hash < 0) ? -code : code;
+	}
+
+	private static void countCollisions(long[] hashes, double[] codes) {
+		// collisions per block: distinct keys (by 64-bit hash) of the block mapped to the same bucket,
+		// aggregated over all blocks (i.e., keys in multiple blocks are counted multiple times)
+		long[] h = new long[codes.length];
+		long[] c = new long[codes.length];
+		int n = 0;
+		for(int i = 0; i < codes.length; i++) {
+			if(Double.isNaN(codes[i]))
+				continue;
+			h[n] = hashes[i];
+			c[n++] = (long) Math.abs(codes[i]);
+		}
+		long distinctKeys = countDistinct(h, n);
+		long distinctCodes = countDistinct(c, n);
+		TransformStatistics.incFeatureHashingKeys(distinctKeys, distinctKeys - distinctCodes);
+	}
+
+	private static long countDistinct(long[] vals, int n) {
+		Arrays.sort(vals, 0, n);
+		long ret = 0;
+		for(int i = 0; i < n; i++)
+			if(i == 0 || vals[i] != vals[i - 1])
+				ret++;
+		return ret;
+	}
+
+	/**
+	 * Encodes the given string as UTF-8 into the given buffer, which needs to provide at least 3 bytes per char.
+	 * Unpaired surrogates are replaced by '?' as done by String.getBytes.
+	 */
+	private static int encodeUTF8(String s, byte[] buff) {
+		int len = s.length();
+		int pos = 0;
+		for(int i = 0; i < len; i++) {
+			char c = s.charAt(i);
+			if(c < 0x80)
+				buff[pos++] = (byte) c;
+			else if(c < 0x800) {
+				buff[pos++] = (byte) (0xC0 | (c >> 6));
+				buff[pos++] = (byte) (0x80 | (c & 0x3F));
+			}
+			else if(Character.isSurrogate(c)) {
+				if(Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+					int cp = Character.toCodePoint(c, s.charAt(++i));
+					buff[pos++] = (byte) (0xF0 | (cp >> 18));
+					buff[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+					buff[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+					buff[pos++] = (byte) (0x80 | (cp & 0x3F));
+				}
+				else
+					buff[pos++] = (byte) '?';
+			}
+			else {
+				buff[pos++] = (byte) (0xE0 | (c >> 12));
+				buff[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				buff[pos++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		return pos;
 	}
 
 	@Override
@@ -113,8 +297,12 @@ public class ColumnEncoderFeatureHash extends ColumnEncoder {
 	public void mergeAt(ColumnEncoder other) {
 		if(other instanceof ColumnEncoderFeatureHash) {
 			assert other._colID == _colID;
-			if(((ColumnEncoderFeatureHash) other)._K != 0 && _K == 0)
-				_K = ((ColumnEncoderFeatureHash) other)._K;
+			ColumnEncoderFeatureHash otherHash = (ColumnEncoderFeatureHash) other;
+			if(otherHash._K != 0 && _K == 0) {
+				_K = otherHash._K;
+				_hashFunction = otherHash._hashFunction;
+				_signed = otherHash._signed;
+			}
 			return;
 		}
 		super.mergeAt(other);
@@ -132,7 +320,11 @@ public class ColumnEncoderFeatureHash extends ColumnEncoder {
 			return meta;
 
 		meta.ensureAllocatedColumns(1);
-		meta.set(0, _colID - 1, String.valueOf(_K));
+		// plain K for the default hash function (compatible with existing meta data)
+		String sb = String.valueOf(_K);
+		if(_hashFunction != HashFunction.JAVA)
+			sb += Lop.DATATYPE_PREFIX + _hashFunction.name() + (_signed ? Lop.DATATYPE_PREFIX + SIGNED : "");
+		meta.set(0, _colID - 1, sb);
 		return meta;
 	}
 
@@ -140,19 +332,28 @@ public class ColumnEncoderFeatureHash extends ColumnEncoder {
 	public void initMetaData(FrameBlock meta) {
 		if(meta == null || meta.getNumRows() <= 0)
 			return;
-		_K = UtilFunctions.parseToLong(meta.get(0, _colID - 1).toString());
+		String[] parts = meta.get(0, _colID - 1).toString().split(Lop.DATATYPE_PREFIX);
+		_K = UtilFunctions.parseToLong(parts[0]);
+		_hashFunction = (parts.length > 1) ? HashFunction.parse(parts[1]) : HashFunction.JAVA;
+		_signed = parts.length > 2 && parts[2].equals(SIGNED);
+		if(parts.length > 3 || (parts.length > 2 && !_signed))
+			throw new DMLRuntimeException("Invalid feature hashing meta data: " + meta.get(0, _colID - 1));
 	}
 
 	@Override
 	public void writeExternal(ObjectOutput out) throws IOException {
 		super.writeExternal(out);
 		out.writeLong(_K);
+		out.writeInt(_hashFunction.ordinal());
+		out.writeBoolean(_signed);
 	}
 
 	@Override
 	public void readExternal(ObjectInput in) throws IOException {
 		super.readExternal(in);
 		_K = in.readLong();
+		_hashFunction = HashFunction.values()[in.readInt()];
+		_signed = in.readBoolean();
 	}
 
 	@Override
@@ -282,6 +282,29 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		}
 	}
 
+	/**
+	 * Extends the recode map by all tokens of the given input that are not yet contained. New tokens are assigned
+	 * consecutive codes after the largest existing code in order of their first occurrence, which keeps the codes of
+	 * existing tokens stable (independent of sorted recode maps).
+	 *
+	 * @param in input data
+	 */
+	public void extendRcdMap(CacheBlock<?> in) {
+		if(!isApplicable())
+			return;
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		long maxCode = 0;
+		for(Long code : _rcdMap.values())
+			maxCode = Math.max(maxCode, code);
+		for(int row = 0; row < in.getNumRows(); row++) {
+			String key = in.getString(row, _colID - 1);
+			if(key != null && !key.isEmpty() && !_rcdMap.containsKey(key))
+				_rcdMap.put(key, ++maxCode);
+		}
+		if(DMLScript.STATISTICS)
+			TransformStatistics.incRecodeBuildTime(System.nanoTime() - t0);
+	}
+
 	public int getNumDistinctValues() {
 		return _rcdMap.size();
 	}
@@ -27,7 +27,6 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
-import org.apache.commons.lang.NotImplementedException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types.ValueType;
@@ -37,6 +36,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
@@ -56,15 +56,20 @@ public class CompressedEncode {
 
 	/** The encoding scheme plan */
 	private final MultiColumnEncoder enc;
-	/** The Input FrameBlock */
-	private final FrameBlock in;
+	/** The Input FrameBlock, with missing values imputed if the plan contains an impute encoder */
+	private FrameBlock in;
 	/** The thread count of the instruction */
 	private final int k;
+	/** The rows removed by an omit encoder, or null if no rows are removed */
+	private boolean[] rmRows;
+	/** The number of output rows */
+	private int rows;
 
 	private CompressedEncode(MultiColumnEncoder enc, FrameBlock in, int k) {
 		this.enc = enc;
 		this.in = in;
 		this.k = k;
+		this.rows = in.getNumRows();
 	}
 
 	public static MatrixBlock encode(MultiColumnEncoder enc, FrameBlock in, int k) {
@@ -72,15 +77,66 @@ public class CompressedEncode {
 	}
 
 	private MatrixBlock apply() {
+		prepareLegacy();
 		final List<ColumnEncoderComposite> encoders = enc.getColumnEncoders();
 		final List<AColGroup> groups = isParallel() ? multiThread(encoders) : singleThread(encoders);
 		final int cols = shiftGroups(groups);
-		final MatrixBlock mb = new CompressedMatrixBlock(in.getNumRows(), cols, -1, false, groups);
+		final MatrixBlock mb = new CompressedMatrixBlock(rows, cols, -1, false, groups);
 		mb.recomputeNonZeros();
 		logging(mb);
 		return mb;
 	}
 
+	/**
+	 * Build the omit and impute encoders, determine the removed rows and impute the missing values of the input
+	 * columns, such that the column encoders directly produce the final column groups.
+	 */
+	private void prepareLegacy() {
+		if(!enc.hasLegacyEncoder())
+			return;
+		enc.legacyBuild(in);
+		final EncoderOmit omit = enc.getLegacyEncoder(EncoderOmit.class);
+		if(omit != null) {
+			rmRows = omit.computeRmRows(in);
+			rows = in.getNumRows() - omit.getNumRemovedRows(rmRows);
+		}
+		final EncoderMVImpute impute = enc.getLegacyEncoder(EncoderMVImpute.class);
+		if(impute != null)
+			in = imputeColumns(impute);
+	}
+
+	private FrameBlock imputeColumns(EncoderMVImpute impute) {
+		// shallow copy of the input frame, only the imputed columns are copied
+		final Array<?>[] columns = in.getColumns().clone();
+		final int[] colList = impute.getColList();
+		final String[] replacements = impute.getReplacements();
+		for(int j = 0; j < colList.length; j++) {
+			final Array<?> a = columns[colList[j] - 1];
+			// missing values are nulls, or NaNs in numeric columns
+			final boolean numeric = isFloatingPoint(a);
+			if(replacements[j] == null || !(a.containsNull() || (numeric && containsNaN(a))))
+				continue;
+			final Array<?> c = a.clone();
+			for(int i = 0; i < c.size(); i++)
+				if(c.get(i) == null || (numeric && Double.isNaN(c.getAsDouble(i))))
+					c.set(i, replacements[j]);
+			columns[colList[j] - 1] = c;
+		}
+		return new FrameBlock(in.getSchema(), in.getColumnNames(false), in.getColumnMetadata(), columns);
+	}
+
+	private static boolean isFloatingPoint(Array<?> a) {
+		final ValueType vt = a.getValueType();
+		return vt == ValueType.FP64 || vt == ValueType.FP32;
+	}
+
+	private static boolean containsNaN(Array<?> a) {
+		for(int i = 0; i < a.size(); i++)
+			if(a.get(i) != null && Double.isNaN(a.getAsDouble(i)))
+				return true;
+		return false;
+	}
+
 	private boolean isParallel() {
 		return k > 1 && enc.getEncoders().size() > 1;
 	}
@@ -136,8 +192,10 @@ public class CompressedEncode {
 			return recode(c);
 		else if(c.isPassThrough())
 			return passThrough(c);
+		else if(isCodeColumn(c))
+			return codeColumn(c);
 		else
-			throw new NotImplementedException("Not supporting : " + c);
+			return uncompressed(c);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -146,12 +204,14 @@ public class CompressedEncode {
 		Array<?> a = in.getColumn(colId - 1);
 		HashMap<?, Long> map = a.getRecodeMap();
 		int domain = map.size();
+		boolean nulls = a.containsNull();
 
 		IColIndex colIndexes = ColIndexFactory.create(0, domain);
 
-		ADictionary d = new IdentityDictionary(colIndexes.size());
+		// missing values are encoded as empty rows
+		ADictionary d = nulls ? identityWithEmptyRow(domain) : new IdentityDictionary(colIndexes.size());
 
-		AMapToData m = createMappingAMapToData(a, map);
+		AMapToData m = createMappingAMapToData(a, map, domain + (nulls ? 1 : 0));
 
 		List<ColumnEncoder> r = c.getEncoders();
 		r.set(0, new ColumnEncoderRecode(colId, (HashMap<Object, Long>) map));
@@ -166,16 +226,19 @@ public class CompressedEncode {
 		Array<?> a = in.getColumn(colId - 1);
 		HashMap<?, Long> map = a.getRecodeMap();
 		int domain = map.size();
+		boolean nulls = a.containsNull();
 
 		// int domain = c.getDomainSize();
 		IColIndex colIndexes = ColIndexFactory.create(1);
-		MatrixBlock incrementing = new MatrixBlock(domain, 1, false);
+		MatrixBlock incrementing = new MatrixBlock(domain + (nulls ? 1 : 0), 1, false);
 		for(int i = 0; i < domain; i++)
 			incrementing.quickSetValue(i, 0, i + 1);
+		if(nulls) // missing values are encoded as NaN
+			incrementing.quickSetValue(domain, 0, Double.NaN);
 
 		ADictionary d = MatrixBlockDictionary.create(incrementing);
 
-		AMapToData m = createMappingAMapToData(a, map);
+		AMapToData m = createMappingAMapToData(a, map, incrementing.getNumRows());
 
 		List<ColumnEncoder> r = c.getEncoders();
 		r.set(0, new ColumnEncoderRecode(colId, (HashMap<Object, Long>) map));
@@ -184,47 +247,198 @@ public class CompressedEncode {
 
 	}
 
-	@SuppressWarnings("unchecked")
 	private AColGroup passThrough(ColumnEncoderComposite c) {
 		IColIndex colIndexes = ColIndexFactory.create(1);
 		int colId = c._colID;
 		Array<?> a = in.getColumn(colId - 1);
-		HashMap<Object, Long> map = (HashMap<Object, Long>) a.getRecodeMap();
+		HashMap<?, Long> map = a.getRecodeMap();
 		final int blockSz = ConfigurationManager.getDMLConfig().getIntValue(DMLConfig.DEFAULT_BLOCK_SIZE);
 		if(map.size() >= blockSz) {
 			double[] vals = (double[]) a.changeType(ValueType.FP64).get();
-			MatrixBlock col = new MatrixBlock(a.size(), 1, vals);
+			MatrixBlock col = filterRows(new MatrixBlock(a.size(), 1, vals));
 			col.recomputeNonZeros();
 			// lets make it an uncompressed column group.
 			return ColGroupUncompressed.create(colIndexes, col, false);
 		}
 		else {
-			double[] vals = new double[map.size() + (a.containsNull() ? 1 : 0)];
+			// note: the recode map is cached in the array and thus not modified,
+			// missing values are encoded as NaN in the last dictionary entry
+			final int nVals = map.size() + (a.containsNull() ? 1 : 0);
+			double[] vals = new double[nVals];
+			if(nVals > map.size())
+				vals[map.size()] = Double.NaN;
 			for(int i = 0; i < a.size(); i++) {
 				Object v = a.get(i);
-				if(map.containsKey(v)) {
+				if(v != null)
 					vals[map.get(v).intValue()] = a.getAsDouble(i);
-				}
-				else {
-					map.put(null, (long) map.size());
-					vals[map.get(v).intValue()] = a.getAsDouble(i);
-				}
 			}
 
 			ADictionary d = Dictionary.create(vals);
-			AMapToData m = createMappingAMapToData(a, map);
+			AMapToData m = createMappingAMapToData(a, map, nVals);
 			return ColGroupDDC.create(colIndexes, d, m, null);
 		}
 
 	}
 
-	private AMapToData createMappingAMapToData(Array<?> a, HashMap<?, Long> map) {
-		AMapToData m = MapToFactory.create(in.getNumRows(), map.size());
-		Array<?>.ArrayIterator it = a.getIterator();
-		while(it.hasNext()) {
-			Object v = it.next();
-			if(v != null)
-				m.set(it.getIndex(), map.get(v).intValue());
+	/**
+	 * Indicate if the composite encoder derives its output from integer codes of the first encoder, i.e., binning or
+	 * feature hashing, optionally followed by dummy coding.
+	 * 
+	 * @param c The composite encoder
+	 * @return If the column can be encoded from its codes
+	 */
+	private static boolean isCodeColumn(ColumnEncoderComposite c) {
+		final List<ColumnEncoder> e = c.getEncoders();
+		if(e.size() < 1 || e.size() > 2)
+			return false;
+		if(!(e.get(0) instanceof ColumnEncoderBin || e.get(0) instanceof ColumnEncoderFeatureHash))
+			return false;
+		return e.size() == 1 || e.get(1) instanceof ColumnEncoderDummycode;
+	}
+
+	private AColGroup codeColumn(ColumnEncoderComposite c) {
+		final ColumnEncoder e = c.getEncoders().get(0);
+		e.build(in);
+		c.updateAllDCEncoders();
+		final double[] codes = e.getCodeCol(in, 0, -1);
+		final ColumnEncoderDummycode dc = c.getEncoder(ColumnEncoderDummycode.class);
+		return dc != null ? dummyCodes(codes, dc.getDomainSize()) : codes(codes);
+	}
+
+	/**
+	 * Create a single column group over the codes of a binning or feature hashing encoder, with a dictionary of the
+	 * distinct codes (including NaN for missing or out-of-range values).
+	 */
+	private AColGroup codes(double[] codes) {
+		final IColIndex colIndexes = ColIndexFactory.create(1);
+		final int maxCode = maxAbsCode(codes);
+		final int[] lookup = new int[2 * maxCode + 2];
+		final AMapToData m = mapCodes(codes, maxCode, lookup);
+		if(m == null)
+			return new ColGroupEmpty(colIndexes);
+		final double[] vals = new double[m.getUnique()];
+		for(int s = 0; s < lookup.length; s++)
+			if(lookup[s] > 0)
+				vals[lookup[s] - 1] = (s == lookup.length - 1) ? Double.NaN : s - maxCode;
+		return ColGroupDDC.create(colIndexes, Dictionary.create(vals), m, null);
+	}
+
+	/**
+	 * Create a dummy coded column group over the codes of a binning or feature hashing encoder. If all codes are
+	 * positive, the rows of an identity dictionary are directly addressed by the codes, otherwise the dictionary
+	 * contains the one-hot rows of all distinct codes, where signed codes keep their sign and NaN results in an empty
+	 * row.
+	 */
+	private AColGroup dummyCodes(double[] codes, int domain) {
+		final int maxCode = maxAbsCode(codes);
+		final int nCol = Math.max(domain, maxCode);
+		final IColIndex colIndexes = ColIndexFactory.create(0, nCol);
+		if(isPositive(codes)) {
+			final AMapToData m = MapToFactory.create(rows, nCol);
+			for(int i = 0, r = 0; i < codes.length; i++)
+				if(rmRows == null || !rmRows[i])
+					m.set(r++, (int) codes[i] - 1);
+			return ColGroupDDC.create(colIndexes, new IdentityDictionary(nCol), m, null);
+		}
+		final int[] lookup = new int[2 * maxCode + 2];
+		final AMapToData m = mapCodes(codes, maxCode, lookup);
+		if(m == null)
+			return new ColGroupEmpty(colIndexes);
+		final MatrixBlock oneHot = new MatrixBlock(m.getUnique(), nCol, true);
+		for(int s = 0; s < lookup.length - 1; s++)
+			if(lookup[s] > 0 && s != maxCode)
+				oneHot.quickSetValue(lookup[s] - 1, Math.abs(s - maxCode) - 1, Math.signum(s - maxCode));
+		return ColGroupDDC.create(colIndexes, MatrixBlockDictionary.create(oneHot), m, null);
+	}
+
+	/**
+	 * Map the codes of all kept rows to dense ids in order of first occurrence. The lookup is indexed by code + maxCode,
+	 * with NaN in the last slot, and contains the id + 1 of the assigned codes.
+	 * 
+	 * @return The mapping, or null if there are no output rows
+	 */
+	private AMapToData mapCodes(double[] codes, int maxCode, int[] lookup) {
+		int nUnique = 0;
+		final int[] ids = new int[rows];
+		for(int i = 0, r = 0; i < codes.length; i++) {
+			if(rmRows != null && rmRows[i])
+				continue;
+			final int s = Double.isNaN(codes[i]) ? lookup.length - 1 : (int) codes[i] + maxCode;
+			if(lookup[s] == 0)
+				lookup[s] = ++nUnique;
+			ids[r++] = lookup[s] - 1;
+		}
+		if(nUnique == 0)
+			return null;
+		final AMapToData m = MapToFactory.create(rows, nUnique);
+		for(int r = 0; r < rows; r++)
+			m.set(r, ids[r]);
+		return m;
+	}
+
+	private static int maxAbsCode(double[] codes) {
+		int max = 0;
+		for(double v : codes)
+			if(!Double.isNaN(v))
+				max = Math.max(max, (int) Math.abs(v));
+		return max;
+	}
+
+	private boolean isPositive(double[] codes) {
+		for(int i = 0; i < codes.length; i++)
+			if((rmRows == null || !rmRows[i]) && !(codes[i] >= 1))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Fallback for composite encoders without a direct compressed encoding (e.g., user-defined functions), which
+	 * encodes the column into a temporary dense block of the column's output width.
+	 */
+	private AColGroup uncompressed(ColumnEncoderComposite c) {
+		c.build(in);
+		c.updateAllDCEncoders();
+		final int nCol = c.getDomainSize();
+		final MatrixBlock tmp = new MatrixBlock(in.getNumRows(), nCol, false);
+		tmp.allocateDenseBlock();
+		c.apply(in, tmp, 0);
+		final MatrixBlock col = filterRows(tmp);
+		col.recomputeNonZeros();
+		return ColGroupUncompressed.create(ColIndexFactory.create(nCol), col, false);
+	}
+
+	private MatrixBlock filterRows(MatrixBlock mb) {
+		if(rmRows == null)
+			return mb;
+		final int nCol = mb.getNumColumns();
+		final MatrixBlock ret = new MatrixBlock(rows, nCol, false);
+		for(int i = 0, r = 0; i < rmRows.length; i++) {
+			if(rmRows[i])
+				continue;
+			for(int j = 0; j < nCol; j++)
+				ret.quickSetValue(r, j, mb.quickGetValue(i, j));
+			r++;
+		}
+		return ret;
+	}
+
+	private static ADictionary identityWithEmptyRow(int domain) {
+		MatrixBlock mb = new MatrixBlock(domain + 1, domain, true);
+		for(int i = 0; i < domain; i++)
+			mb.quickSetValue(i, i, 1);
+		return MatrixBlockDictionary.create(mb);
+	}
+
+	/**
+	 * Map the values of all kept rows to their recode ids, missing values map to the last id.
+	 */
+	private AMapToData createMappingAMapToData(Array<?> a, HashMap<?, Long> map, int nUnique) {
+		AMapToData m = MapToFactory.create(rows, nUnique);
+		for(int i = 0, r = 0; i < a.size(); i++) {
+			if(rmRows != null && rmRows[i])
+				continue;
+			Object v = a.get(i);
+			m.set(r++, v != null ? map.get(v).intValue() : nUnique - 1);
 		}
 		return m;
 	}
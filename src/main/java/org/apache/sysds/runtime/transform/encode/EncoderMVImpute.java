@@ -184,7 +184,7 @@ public class EncoderMVImpute extends LegacyEncoder {
 					long off = _countList[j];
 					for(int i = 0; i < in.getNumRows(); i++) {
 						Object key = in.get(i, colID - 1);
-						if(key == null) {
+						if(isMissing(key)) {
 							off--;
 							continue;
 						}
@@ -199,8 +199,9 @@ public class EncoderMVImpute extends LegacyEncoder {
 					// compute global column mode (categorical), i.e., most frequent category
 					HashMap<String, Long> hist = _hist.containsKey(colID) ? _hist.get(colID) : new HashMap<>();
 					for(int i = 0; i < in.getNumRows(); i++) {
-						String key = String.valueOf(in.get(i, colID - 1));
-						if(!key.equals("null") && !key.isEmpty()) {
+						Object obj = in.get(i, colID - 1);
+						String key = String.valueOf(obj);
+						if(!isMissing(obj) && !key.equals("null") && !key.isEmpty()) {
 							Long val = hist.get(key);
 							hist.put(key, (val != null) ? val + 1 : 1);
 						}
@@ -222,6 +223,12 @@ public class EncoderMVImpute extends LegacyEncoder {
 			TransformStatistics.incImputeBuildTime(System.nanoTime()-t0);
 	}
 
+	private static boolean isMissing(Object key) {
+		// nulls and NaNs of numeric columns (imputed on apply)
+		return key == null || (key instanceof Double && ((Double) key).isNaN())
+			|| (key instanceof Float && ((Float) key).isNaN());
+	}
+
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
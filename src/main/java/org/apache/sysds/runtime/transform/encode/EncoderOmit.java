@@ -156,7 +156,7 @@ public class EncoderOmit extends LegacyEncoder {
 		return ret;
 	}
 
-	private boolean[] computeRmRows(FrameBlock in) {
+	protected boolean[] computeRmRows(FrameBlock in) {
 		boolean[] rmRows = new boolean[in.getNumRows()];
 		ValueType[] schema = in.getSchema();
 		// TODO perf evaluate if column-wise scan more efficient
@@ -47,12 +47,15 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.estim.ComEstSample;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseRowVector;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.runtime.util.DependencyTask;
 import org.apache.sysds.runtime.util.DependencyThreadPool;
 import org.apache.sysds.runtime.util.DependencyWrapperTask;
@@ -70,6 +73,9 @@ public class MultiColumnEncoder implements Encoder {
 	// before the next will start.
 	public static boolean APPLY_ENCODER_SEPARATE_STAGES = false; 
 
+	// row block size of the fused transformapply and matrix multiplication
+	private static final int APPLY_MATMULT_BLOCKSIZE = 1024;
+
 	private List<ColumnEncoderComposite> _columnEncoders;
 	// These encoders are deprecated and will be phased out soon.
 	private EncoderMVImpute _legacyMVImpute = null;
@@ -402,6 +408,133 @@ public class MultiColumnEncoder implements Encoder {
 		pool.shutdown();
 	}
 
+	/**
+	 * Indicates if {@link #applyMatMult(CacheBlock, MatrixBlock, int)} supports the encoders of this
+	 * multi-column encoder, i.e., if every column is encoded by a single pass-through, recode, bin, or
+	 * feature hash encoder, where the latter three might be followed by dummy coding.
+	 *
+	 * @return true if the fused transformapply and matrix multiplication is supported
+	 */
+	public boolean isApplyMatMultSupported() {
+		if(hasLegacyEncoder())
+			return false;
+		for(ColumnEncoderComposite e : _columnEncoders)
+			if(getMatMultCodeEncoder(e) == null)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Fused transformapply and matrix multiplication transformapply(in) %*% W, which avoids
+	 * materializing the encoded (and potentially very wide) intermediate. Pass-through, recode,
+	 * bin, and hash codes scale the corresponding row of W, while dummy coded columns reduce to a
+	 * gather of the row of W that corresponds to the one-hot position.
+	 *
+	 * @param in input frame or matrix
+	 * @param W  weight matrix with one row per encoded output column
+	 * @param k  degree of parallelism
+	 * @return dense output matrix of nrow(in) x ncol(W)
+	 */
+	public MatrixBlock applyMatMult(CacheBlock<?> in, MatrixBlock W, int k) {
+		if(!isApplyMatMultSupported())
+			throw new DMLRuntimeException("Unsupported encoders for fused transformapply and matrix multiplication.");
+		// domain sizes are not updated if called from transformapply
+		for(ColumnEncoderComposite columnEncoder : _columnEncoders)
+			columnEncoder.updateAllDCEncoders();
+		int numEncoders = getFromAll(ColumnEncoderComposite.class, ColumnEncoder::getColID).size();
+		if(in.getNumColumns() != numEncoders)
+			throw new DMLRuntimeException("Not every column in has a CompositeEncoder. Please make sure every column "
+				+ "has a encoder or slice the input accordingly");
+		if(W.getNumRows() != getNumOutCols())
+			throw new DMLRuntimeException("Invalid weights for fused transformapply and matrix multiplication: "
+				+ W.getNumRows() + " rows but " + getNumOutCols() + " encoded columns.");
+
+		// prepare code encoders and output column offsets (w/ dummy coding)
+		int nenc = _columnEncoders.size();
+		ColumnEncoder[] encoders = new ColumnEncoder[nenc];
+		int[] offsets = new int[nenc];
+		boolean[] dummy = new boolean[nenc];
+		int offset = 0;
+		for(int j = 0; j < nenc; j++) {
+			ColumnEncoderComposite e = _columnEncoders.get(j);
+			encoders[j] = getMatMultCodeEncoder(e);
+			offsets[j] = e._colID - 1 + offset;
+			dummy[j] = e.hasEncoder(ColumnEncoderDummycode.class);
+			if(dummy[j])
+				offset += e.getEncoder(ColumnEncoderDummycode.class)._domainSize - 1;
+		}
+
+		final int m = in.getNumRows();
+		final int n = W.getNumColumns();
+		MatrixBlock out = new MatrixBlock(m, n, false);
+		if(m == 0 || W.isEmptyBlock(false))
+			return out;
+		out.allocateDenseBlock();
+		double[] w = (!W.isInSparseFormat() && W.getDenseBlock().isContiguous()) ?
+			W.getDenseBlockValues() : DataConverter.convertToDoubleVector(W, false);
+		DenseBlock c = out.getDenseBlock();
+
+		if(k <= 1 || m <= APPLY_MATMULT_BLOCKSIZE)
+			applyMatMult(in, encoders, offsets, dummy, w, n, c, 0, m);
+		else {
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				int blklen = (int) Math.ceil((double) m / k / APPLY_MATMULT_BLOCKSIZE) * APPLY_MATMULT_BLOCKSIZE;
+				List<Future<?>> tasks = new ArrayList<>();
+				for(int rl = 0; rl < m; rl += blklen) {
+					final int lrl = rl, lru = Math.min(m, rl + blklen);
+					tasks.add(pool.submit(() -> applyMatMult(in, encoders, offsets, dummy, w, n, c, lrl, lru)));
+				}
+				for(Future<?> task : tasks)
+					task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		out.recomputeNonZeros();
+		out.examSparsity();
+		return out;
+	}
+
+	private static void applyMatMult(CacheBlock<?> in, ColumnEncoder[] encoders, int[] offsets,
+		boolean[] dummy, double[] w, int n, DenseBlock c, int rl, int ru)
+	{
+		// column-wise code computation per row block to exploit CPU caches,
+		// row-wise accumulation of scaled or gathered rows of W into the output
+		for(int bi = rl; bi < ru; bi += APPLY_MATMULT_BLOCKSIZE) {
+			int bimin = Math.min(ru, bi + APPLY_MATMULT_BLOCKSIZE);
+			for(int j = 0; j < encoders.length; j++) {
+				double[] codes = encoders[j].getCodeCol(in, bi, bimin - bi);
+				for(int i = bi; i < bimin; i++) {
+					double code = codes[i - bi];
+					if(code == 0 || (dummy[j] && Double.isNaN(code)))
+						continue; //empty output (missing values or zero codes)
+					if(dummy[j])
+						LibMatrixMult.vectAdd(w, c.values(i), (offsets[j] + (int) code - 1) * n, c.pos(i), n);
+					else
+						LibMatrixMult.vectMultiplyAdd(code, w, c.values(i), offsets[j] * n, c.pos(i), n);
+				}
+			}
+		}
+	}
+
+	private static ColumnEncoder getMatMultCodeEncoder(ColumnEncoderComposite e) {
+		boolean dummy = e.hasEncoder(ColumnEncoderDummycode.class);
+		if(e.getEncoders().size() != (dummy ? 2 : 1))
+			return null;
+		for(ColumnEncoder enc : e.getEncoders()) {
+			if(enc instanceof ColumnEncoderRecode || enc instanceof ColumnEncoderBin
+				|| (enc instanceof ColumnEncoderFeatureHash && !((ColumnEncoderFeatureHash) enc).isSigned())
+				|| (enc instanceof ColumnEncoderPassThrough && !dummy))
+				return enc;
+		}
+		return null;
+	}
+
 	private void deriveNumRowPartitions(CacheBlock<?> in, int k) {
 		int[] numBlocks = new int[2];
 		if (k == 1) { //single-threaded
@@ -699,6 +832,20 @@ public class MultiColumnEncoder implements Encoder {
 			_legacyMVImpute.initMetaData(meta);
 	}
 
+	/**
+	 * Incremental metadata update for encoders initialized from existing metadata: extends the recode maps by all
+	 * unseen categories of the given input (with stable codes of existing categories) and the dummycode domains
+	 * accordingly. Binning boundaries, feature hashing, and imputation values remain unchanged. Note that grown
+	 * dummycode domains append columns to the respective dummycoded block, which shifts all subsequent columns
+	 * compared to the previously encoded outputs.
+	 *
+	 * @param in new input data
+	 */
+	public void extendMetaData(CacheBlock<?> in) {
+		for(ColumnEncoderComposite columnEncoder : _columnEncoders)
+			columnEncoder.extendMetaData(in);
+	}
+
 	@Override
 	public void prepareBuildPartial() {
 		for(Encoder encoder : _columnEncoders)
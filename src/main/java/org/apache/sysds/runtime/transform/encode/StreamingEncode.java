@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile.Writer;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FrameReader;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.transform.TfUtils.TfMethod;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.JSONObject;
+
+/**
+ * Local out-of-core transformencode of frames that exceed the available memory. The input frame is read twice in row
+ * batches (splits of CSV files or blocks of binary files). The first pass builds an encoder per batch and merges it
+ * into the overall encoder, which relies on the mergeable partial builds of the column encoders (e.g., recode maps and
+ * quantile sketches of equi-height binning). The second pass applies the overall encoder batch by batch and directly
+ * writes the encoded rows as binary blocks to disk. Hence, only a single batch and the encoder meta data are held in
+ * memory at a time.
+ */
+public class StreamingEncode {
+	protected static final Log LOG = LogFactory.getLog(StreamingEncode.class.getName());
+
+	private final String _spec;
+	private final int _blen;
+	private final int _k;
+	private MultiColumnEncoder _encoder;
+	private String[] _colnames;
+
+	public StreamingEncode(String spec, int blen, int k) {
+		_spec = spec;
+		_blen = blen;
+		_k = k;
+	}
+
+	/**
+	 * Indicates if the given frame should be encoded in a streaming manner, which is the case if streaming encode is
+	 * enabled, the frame is not in memory but in a CSV or binary file, and the spec has no encoders that change the
+	 * number of rows or require global aggregates (omit, impute).
+	 * 
+	 * @param fo   input frame
+	 * @param spec transform specification
+	 * @return true if streaming encode is applicable
+	 */
+	public static boolean isApplicable(FrameObject fo, String spec) {
+		if(!ConfigurationManager.isStreamingEncode() || fo.isCached(true) || fo.isDirty() || fo.isFederated()
+			|| fo.getRDDHandle() != null || fo.getFileName() == null || !(fo.getMetaData() instanceof MetaDataFormat))
+			return false;
+		FileFormat fmt = ((MetaDataFormat) fo.getMetaData()).getFileFormat();
+		if(fmt != FileFormat.CSV && fmt != FileFormat.BINARY)
+			return false;
+		try {
+			JSONObject jSpec = new JSONObject(spec);
+			return !jSpec.containsKey(TfMethod.OMIT.toString()) && !jSpec.containsKey(TfMethod.IMPUTE.toString())
+				&& HDFSTool.existsFileOnHDFS(fo.getFileName());
+		}
+		catch(JSONException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Encodes the file of the given frame and writes the output matrix in binary block format.
+	 * 
+	 * @param fo     input frame
+	 * @param fname  output file name
+	 * @return data characteristics of the output matrix
+	 */
+	public DataCharacteristics encode(FrameObject fo, String fname) {
+		MetaDataFormat iimd = (MetaDataFormat) fo.getMetaData();
+		long clen = iimd.getDataCharacteristics().getCols();
+		ValueType[] schema = (fo.getSchema() != null) ? fo.getSchema() :
+			UtilFunctions.nCopies(clen >= 1 ? (int) clen : 1, ValueType.STRING);
+		FrameReader reader = FrameReaderFactory.createFrameReader(iimd.getFileFormat(), fo.getFileFormatProperties());
+		return encode(reader, fo.getFileName(), schema, clen, fname);
+	}
+
+	/**
+	 * Encodes the given input file and writes the output matrix in binary block format.
+	 * 
+	 * @param reader frame reader for the input format
+	 * @param input  input file name
+	 * @param schema input schema
+	 * @param clen   number of input columns, or -1 if unknown
+	 * @param output output file name
+	 * @return data characteristics of the output matrix
+	 */
+	public DataCharacteristics encode(FrameReader reader, String input, ValueType[] schema, long clen, String output) {
+		try {
+			long t0 = System.nanoTime();
+			build(reader, input, schema, clen);
+			long t1 = System.nanoTime();
+			LOG.debug("Elapsed time for streaming build phase: " + ((double) t1 - t0) / 1000000 + " ms");
+			DataCharacteristics ret = apply(reader, input, schema, clen, output);
+			LOG.debug("Elapsed time for streaming apply phase: " + ((double) System.nanoTime() - t1) / 1000000 + " ms");
+			return ret;
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed streaming transform-encode of " + input, ex);
+		}
+	}
+
+	public MultiColumnEncoder getEncoder() {
+		return _encoder;
+	}
+
+	/**
+	 * Gets the meta data frame of the built encoder.
+	 * 
+	 * @return meta data frame
+	 */
+	public FrameBlock getMetaData() {
+		FrameBlock meta = _encoder.getMetaData(new FrameBlock(_colnames.length, ValueType.STRING), _k);
+		meta.setColumnNames(_colnames);
+		return meta;
+	}
+
+	private void build(FrameReader reader, String input, ValueType[] schema, long clen) throws IOException {
+		reader.readFrameBatchesFromHDFS(input, schema, null, clen, (batch, rowOffset) -> {
+			if(_colnames == null)
+				_colnames = batch.getColumnNames();
+			MultiColumnEncoder encoder = EncoderFactory.createEncoder(_spec, _colnames, batch.getNumColumns(), null);
+			encoder.build(batch, _k);
+			if(_encoder == null)
+				_encoder = encoder;
+			else
+				_encoder.mergeAt(encoder, 0, 0);
+		});
+		if(_encoder == null)
+			throw new DMLRuntimeException("Streaming transform-encode of empty input " + input);
+	}
+
+	private DataCharacteristics apply(FrameReader reader, String input, ValueType[] schema, long clen, String output)
+		throws IOException {
+		try(BlockStreamWriter writer = new BlockStreamWriter(output, _blen)) {
+			reader.readFrameBatchesFromHDFS(input, schema, null, clen,
+				(batch, rowOffset) -> writer.append(_encoder.apply(batch, _k), rowOffset));
+			writer.flush();
+			return new MatrixCharacteristics(writer.getNumRows(), _encoder.getNumOutCols(), _blen, writer.getNonZeros());
+		}
+	}
+
+	/**
+	 * Writer of consecutive row batches into binary blocks of a single sequence file. Rows of batches that are not
+	 * aligned with the block size are buffered until the row block is complete.
+	 */
+	private static class BlockStreamWriter implements Closeable {
+		private final FileSystem _fs;
+		private final Path _path;
+		private final Writer _writer;
+		private final int _blen;
+		private final MatrixIndexes _ix = new MatrixIndexes();
+		private MatrixBlock _pending;
+		private long _pendingOffset;
+		private long _nextRow;
+		private long _nrow;
+		private long _nnz;
+
+		public BlockStreamWriter(String fname, int blen) throws IOException {
+			JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+			if(HDFSTool.USE_BINARYBLOCK_SERIALIZATION)
+				HDFSTool.addBinaryBlockSerializationFramework(job);
+			_path = new Path(fname);
+			_fs = IOUtilFunctions.getFileSystem(_path, job);
+			_writer = IOUtilFunctions.getSeqWriter(_path, job, 1);
+			_blen = blen;
+		}
+
+		public void append(MatrixBlock batch, long rowOffset) throws IOException {
+			if(rowOffset != _nextRow) {
+				// out-of-order batches are only supported if aligned with the blocks
+				if(_pending != null || rowOffset % _blen != 0)
+					throw new IOException("Unaligned row batch at offset " + rowOffset + " (expected " + _nextRow + ").");
+				_nextRow = rowOffset;
+			}
+			int rows = batch.getNumRows();
+			int pos = 0;
+			if(_pending != null) {
+				pos = Math.min(_blen - _pending.getNumRows(), rows);
+				_pending = _pending.append(batch.slice(0, pos - 1), new MatrixBlock(), false);
+				if(_pending.getNumRows() == _blen)
+					flush();
+			}
+			for(; pos + _blen <= rows; pos += _blen)
+				writeRowBlock(batch.slice(pos, pos + _blen - 1), _nextRow + pos);
+			if(pos < rows) {
+				_pending = batch.slice(pos, rows - 1, true);
+				_pendingOffset = _nextRow + pos;
+			}
+			_nextRow += rows;
+			_nrow = Math.max(_nrow, _nextRow);
+		}
+
+		public void flush() throws IOException {
+			if(_pending != null)
+				writeRowBlock(_pending, _pendingOffset);
+			_pending = null;
+		}
+
+		public long getNumRows() {
+			return _nrow;
+		}
+
+		public long getNonZeros() {
+			return _nnz;
+		}
+
+		private void writeRowBlock(MatrixBlock block, long rowOffset) throws IOException {
+			int ncol = block.getNumColumns();
+			for(int cl = 0; cl < ncol; cl += _blen) {
+				int cu = Math.min(cl + _blen, ncol) - 1;
+				MatrixBlock tmp = (cl == 0 && cu == ncol - 1) ? block : block.slice(0, block.getNumRows() - 1, cl, cu);
+				_nnz += tmp.recomputeNonZeros();
+				_ix.setIndexes(rowOffset / _blen + 1, cl / _blen + 1);
+				_writer.append(_ix, tmp);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			IOUtilFunctions.closeSilently(_writer);
+			IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(_fs, _path);
+		}
+	}
+}
@@ -29,20 +29,48 @@ public class Token {
 	public static final String EMPTY_TOKEN = "";
 
 	public static class SubToken {
-		private final String text;
+		// token text as range [start, end) of the document, materialized on demand
+		private final String doc;
+		private final int start;
+		private final int end;
+		private String text;
 		private final long startIndex;
 		private final long endIndex;
 
 		public SubToken(String token, long startIndex) {
+			this.doc = token;
+			this.start = 0;
+			this.end = token.length();
 			this.text = token;
 			this.startIndex = startIndex;
 			this.endIndex = startIndex + token.length();
 		}
 
+		public SubToken(String doc, int start, int end) {
+			this.doc = doc;
+			this.start = start;
+			this.end = end;
+			this.startIndex = start;
+			this.endIndex = end;
+		}
+
+		public String getText() {
+			if(text == null)
+				text = doc.substring(start, end);
+			return text;
+		}
+
+		private int hash(int h) {
+			// incremental String.hashCode over the token range
+			for(int i = start; i < end; i++)
+				h = 31 * h + doc.charAt(i);
+			return h;
+		}
+
 		@Override
 		public String toString() {
 			return "SubToken{" +
-					"textToken='" + text + '\'' +
+					"textToken='" + getText() + '\'' +
 					", startIndex=" + startIndex +
 					", endIndex=" + endIndex +
 					'}';
@@ -60,6 +88,19 @@ public class Token {
 		subTokens.add(new SubToken(token, startIndex));
 	}
 
+	/**
+	 * Creates a token of the character range [start, end) of the given document, without copying the characters
+	 * into a separate string unless the token text is requested.
+	 *
+	 * @param doc   the document
+	 * @param start the start index of the token in the document (inclusive)
+	 * @param end   the end index of the token in the document (exclusive)
+	 */
+	public Token(String doc, int start, int end) {
+		this(1);
+		subTokens.add(new SubToken(doc, start, end));
+	}
+
 	public Token(List<String> tokens, List<Long> startIndex){
 		this(tokens.size());
 		if(tokens.size() != startIndex.size())
@@ -94,7 +135,25 @@ public class Token {
 
 	@Override
 	public int hashCode() {
-		return toString().hashCode();
+		// equivalent to toString().hashCode() but without materializing n-gram strings
+		if(subTokens.size() == 1)
+			return subTokens.get(0).hash(0);
+		if(subTokens.size() == 0)
+			return EMPTY_TOKEN.hashCode();
+		int h = hash(0, "\"('");
+		for(int i = 0; i < subTokens.size(); i++){
+			h = subTokens.get(i).hash(h);
+			if(i < subTokens.size()-1)
+				h = hash(h, "', '");
+		}
+		return hash(h, "')\"");
+	}
+
+	private static int hash(int h, String s) {
+		// incremental String.hashCode over a concatenation
+		for(int i = 0; i < s.length(); i++)
+			h = 31 * h + s.charAt(i);
+		return h;
 	}
 
 	@Override
@@ -103,11 +162,11 @@ public class Token {
 			return EMPTY_TOKEN;
 		}
 		if(subTokens.size() == 1){
-			return subTokens.get(0).text;
+			return subTokens.get(0).getText();
 		}
 		StringBuilder sb = new StringBuilder().append("\"('");
 		for(int i = 0; i < subTokens.size(); i++){
-			sb.append(subTokens.get(i).text);
+			sb.append(subTokens.get(i).getText());
 			if(i < subTokens.size()-1)
 				sb.append("', '");
 		}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.transform.tokenize;
+
+import java.io.Serializable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pre-compiled splitter that scans a character sequence and passes the non-empty
+ * tokens between delimiter matches as index ranges to a consumer, which avoids
+ * the regex compilation and String array allocation of String.split per document.
+ * Common delimiters (whitespace, non-word characters, and single characters) are
+ * matched by a hand-written scan, all other regexes by a pre-compiled pattern.
+ * The produced tokens are equivalent to String.split(regex) with empty tokens removed.
+ */
+public class TokenSplitter implements Serializable {
+	private static final long serialVersionUID = -3260281612916474380L;
+
+	public interface TokenConsumer {
+		/**
+		 * Consumes a non-empty token text[start, end).
+		 *
+		 * @param text  character sequence
+		 * @param start start index (inclusive)
+		 * @param end   end index (exclusive)
+		 */
+		void accept(CharSequence text, int start, int end);
+	}
+
+	private enum SplitType {
+		WHITESPACE, NON_WORD, CHAR, REGEX
+	}
+
+	private final String _regex;
+	private final SplitType _type;
+	private final char _delim;
+	private transient Pattern _pattern;
+
+	private TokenSplitter(String regex, SplitType type, char delim) {
+		_regex = regex;
+		_type = type;
+		_delim = delim;
+	}
+
+	public static TokenSplitter compile(String regex) {
+		// note: since empty tokens are dropped, X and X+ are equivalent
+		String base = (regex.length() > 1 && regex.endsWith("+")) ?
+			regex.substring(0, regex.length() - 1) : regex;
+		switch(base) {
+			case "\\s":
+				return new TokenSplitter(regex, SplitType.WHITESPACE, ' ');
+			case "\\W":
+				return new TokenSplitter(regex, SplitType.NON_WORD, ' ');
+			default:
+				if(base.length() == 1 && ".$|()[{^?*+\\".indexOf(base.charAt(0)) < 0)
+					return new TokenSplitter(regex, SplitType.CHAR, base.charAt(0));
+				if(base.length() == 2 && base.charAt(0) == '\\' && !Character.isLetterOrDigit(base.charAt(1)))
+					return new TokenSplitter(regex, SplitType.CHAR, base.charAt(1));
+				TokenSplitter ret = new TokenSplitter(regex, SplitType.REGEX, ' ');
+				ret._pattern = Pattern.compile(regex);
+				return ret;
+		}
+	}
+
+	public String getRegex() {
+		return _regex;
+	}
+
+	/**
+	 * Splits the given text and passes all non-empty tokens to the consumer.
+	 *
+	 * @param text     character sequence
+	 * @param consumer token consumer
+	 * @return number of tokens
+	 */
+	public int split(CharSequence text, TokenConsumer consumer) {
+		if(text == null)
+			return 0;
+		if(_type == SplitType.REGEX)
+			return splitRegex(text, consumer);
+		int len = text.length();
+		int count = 0;
+		int start = -1;
+		for(int i = 0; i < len; i++) {
+			if(isDelimiter(text.charAt(i))) {
+				if(start >= 0) {
+					consumer.accept(text, start, i);
+					count++;
+					start = -1;
+				}
+			}
+			else if(start < 0)
+				start = i;
+		}
+		if(start >= 0) {
+			consumer.accept(text, start, len);
+			count++;
+		}
+		return count;
+	}
+
+	private int splitRegex(CharSequence text, TokenConsumer consumer) {
+		if(_pattern == null) // after deserialization
+			_pattern = Pattern.compile(_regex);
+		Matcher m = _pattern.matcher(text);
+		int count = 0;
+		int start = 0;
+		while(m.find()) {
+			if(m.start() > start) {
+				consumer.accept(text, start, m.start());
+				count++;
+			}
+			start = Math.max(start, m.end());
+		}
+		if(start < text.length()) {
+			consumer.accept(text, start, text.length());
+			count++;
+		}
+		return count;
+	}
+
+	private boolean isDelimiter(char c) {
+		switch(_type) {
+			case WHITESPACE: // [ \t\n\x0B\f\r]
+				return c == ' ' || (c >= '\t' && c <= '\r');
+			case NON_WORD: // [^a-zA-Z_0-9]
+				return !((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_');
+			default:
+				return c == _delim;
+		}
+	}
+}
@@ -31,8 +31,8 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.function.IntUnaryOperator;
 
 import static org.apache.sysds.runtime.transform.tokenize.Tokenizer.TOKENIZE_NUM_BLOCKS;
 import static org.apache.sysds.runtime.util.UtilFunctions.getBlockSizes;
@@ -137,12 +137,15 @@ public abstract class TokenizerApplier implements Serializable {
 	}
 	public abstract int getNumRows(DocumentRepresentation[] internalRepresentation);
 
-	public <T, E> int getOutputRow(int inputRowStart, List<Map<T, E>> internalData){
+	public int getOutputRow(int inputRowStart, IntUnaryOperator numDistinctTokens){
 		if(wideFormat)
 			return inputRowStart;
 		if(applyPadding)
 			return maxTokens * inputRowStart;
-		return internalData.stream().limit(inputRowStart).mapToInt(hashMap -> Math.min(hashMap.size(), maxTokens)).sum();
+		int row = 0;
+		for(int i = 0; i < inputRowStart; i++)
+			row += Math.min(numDistinctTokens.applyAsInt(i), maxTokens);
+		return row;
 	}
 
 	public int getOutputRow(int inputRowStart, DocumentRepresentation[] internalData){
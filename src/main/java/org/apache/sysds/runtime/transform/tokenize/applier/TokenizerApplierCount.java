@@ -27,13 +27,9 @@ import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeSet;
 
 import static org.apache.sysds.runtime.util.UtilFunctions.getEndIndex;
 
@@ -42,7 +38,9 @@ public class TokenizerApplierCount extends TokenizerApplier {
 	private static final long serialVersionUID = 6382000606237705019L;
 	public boolean sort_alpha = false;
 
-	private List<Map<String, Integer>> counts;
+	// distinct tokens (in order of first occurrence or sorted) and their counts per document
+	private String[][] tokens;
+	private int[][] counts;
 
 	public TokenizerApplierCount(int numIdCols, int maxTokens, boolean wideFormat, boolean applyPadding, JSONObject params) throws JSONException {
 		super(numIdCols, maxTokens, wideFormat, applyPadding);
@@ -57,58 +55,73 @@ public class TokenizerApplierCount extends TokenizerApplier {
 			return internalRepresentation.length;
 		if(applyPadding)
 			return maxTokens * internalRepresentation.length;
-		return counts.stream().mapToInt(hashMap -> Math.min(hashMap.size(), maxTokens)).sum();
+		return getOutputRow(tokens.length, i -> tokens[i].length);
 	}
 
 	@Override
 	public void allocateInternalMeta(int numDocuments) {
-		counts = new ArrayList<>(Collections.nCopies(numDocuments,null));
+		tokens = new String[numDocuments][];
+		counts = new int[numDocuments][];
 	}
 
 	@Override
 	public void build(DocumentRepresentation[] internalRepresentation, int inputRowStart, int blk){
 		int endIndex = getEndIndex(internalRepresentation.length, inputRowStart, blk);
+		// count map and buffers reused across all documents of this task,
+		// where the map assigns each distinct token its position in the buffers
+		HashMap<String, Integer> tokenPos = new HashMap<>();
+		String[] tokenBuff = new String[16];
+		int[] countBuff = new int[16];
 		for(int i = inputRowStart; i < endIndex; i++){
-			Map<String, Integer> tokenCounts = new HashMap<>();
+			int numDistinct = 0;
 			for(Token token: internalRepresentation[i].tokens){
 				String txt = token.toString();
-				Integer count = tokenCounts.getOrDefault(txt, null);
-				if(count != null)
-					tokenCounts.put(txt, count + 1);
-				else
-					tokenCounts.put(txt, 1);
+				Integer pos = tokenPos.putIfAbsent(txt, numDistinct);
+				if(pos != null) {
+					countBuff[pos]++;
+					continue;
+				}
+				if(numDistinct == tokenBuff.length) {
+					tokenBuff = Arrays.copyOf(tokenBuff, 2 * numDistinct);
+					countBuff = Arrays.copyOf(countBuff, 2 * numDistinct);
+				}
+				tokenBuff[numDistinct] = txt;
+				countBuff[numDistinct++] = 1;
+			}
+			String[] distinct = Arrays.copyOf(tokenBuff, numDistinct);
+			int[] tokenCounts = new int[numDistinct];
+			if(sort_alpha) {
+				// sort alphabetically, and look up the counts by token
+				Arrays.sort(distinct);
+				for(int j = 0; j < numDistinct; j++)
+					tokenCounts[j] = countBuff[tokenPos.get(distinct[j])];
 			}
-			counts.set(i, tokenCounts);
+			else
+				System.arraycopy(countBuff, 0, tokenCounts, 0, numDistinct);
+			tokens[i] = distinct;
+			counts[i] = tokenCounts;
+			tokenPos.clear();
+			Arrays.fill(tokenBuff, 0, numDistinct, null);
 		}
 	}
 
 	@Override
 	public int applyInternalRepresentation(DocumentRepresentation[] internalRepresentation, FrameBlock out, int inputRowStart, int blk) {
 		int endIndex = getEndIndex(internalRepresentation.length, inputRowStart, blk);
-		int outputRow = getOutputRow(inputRowStart, counts);
+		int outputRow = getOutputRow(inputRowStart, i -> tokens[i].length);
 		for(int i = inputRowStart; i < endIndex; i++) {
 			List<Object> keys = internalRepresentation[i].keys;
-			// Creating the counts for BoW
-			Map<String, Integer> tokenCounts = counts.get(i);
-			// Remove duplicate strings
-			Collection<String> distinctTokens = tokenCounts.keySet();
-			if (this.sort_alpha) {
-				// Sort alphabetically
-				distinctTokens = new TreeSet<>(distinctTokens);
-			}
+			// distinct tokens and counts for BoW
+			String[] distinctTokens = tokens[i];
+			int[] tokenCounts = counts[i];
 
-			int numTokens = 0;
-			for (String token: distinctTokens) {
-				if (numTokens >= maxTokens) {
-					break;
-				}
+			int numTokens = Math.min(distinctTokens.length, maxTokens);
+			for (int j = 0; j < numTokens; j++) {
 				int col = setKeys(outputRow, keys, out);
 				// Create a row per token
-				long count = tokenCounts.get(token);
-				out.set(outputRow, col, token);
-				out.set(outputRow, col+1, count);
+				out.set(outputRow, col, distinctTokens[j]);
+				out.set(outputRow, col+1, (long) tokenCounts[j]);
 				outputRow++;
-				numTokens++;
 			}
 			if(applyPadding){
 				outputRow = applyPaddingLong(outputRow, numTokens, keys, out, PADDING_STRING, -1);
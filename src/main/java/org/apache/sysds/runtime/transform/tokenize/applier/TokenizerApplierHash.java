@@ -22,17 +22,13 @@ package org.apache.sysds.runtime.transform.tokenize.applier;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.transform.tokenize.DocumentRepresentation;
+import org.apache.sysds.runtime.transform.tokenize.Token;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import static org.apache.sysds.runtime.util.UtilFunctions.getEndIndex;
 
@@ -42,7 +38,9 @@ public class TokenizerApplierHash extends TokenizerApplier {
 
 	public int num_features = 1048576;  // 2^20
 
-	private List<Map<Integer, Long>> hashes;
+	// sorted distinct hash buckets and their counts per document
+	private int[][] hashes;
+	private long[][] counts;
 
 	public TokenizerApplierHash( int numIdCols, int maxTokens, boolean wideFormat, boolean applyPadding, JSONObject params) throws JSONException {
 		super(numIdCols, maxTokens, wideFormat, applyPadding);
@@ -61,63 +59,70 @@ public class TokenizerApplierHash extends TokenizerApplier {
 			return internalRepresentation.length;
 		if(applyPadding)
 			return maxTokens * internalRepresentation.length;
-		return hashes.stream().mapToInt(hashMap -> Math.min(hashMap.size(), maxTokens)).sum();
+		return getOutputRow(hashes.length, i -> hashes[i].length);
 	}
 
 	@Override
 	public void allocateInternalMeta(int numDocuments) {
-		hashes = new ArrayList<>(Collections.nCopies(numDocuments,null));
+		hashes = new int[numDocuments][];
+		counts = new long[numDocuments][];
 	}
 
 	@Override
 	public void build(DocumentRepresentation[] internalRepresentation, int inputRowStart, int blk){
 		int endIndex = getEndIndex(internalRepresentation.length, inputRowStart, blk);
+		// hash buffer reused across all documents of this task
+		int[] buff = new int[64];
 		for(int i = inputRowStart; i < endIndex; i++){
-			List<Integer> hashList = internalRepresentation[i].tokens.stream().map(token -> {
+			List<Token> tokens = internalRepresentation[i].tokens;
+			if(tokens.size() > buff.length)
+				buff = new int[Math.max(tokens.size(), 2 * buff.length)];
+			int len = 0;
+			for(Token token : tokens) {
 				int mod = (token.hashCode() % this.num_features);
-				if(mod < 0)
-					mod += this.num_features;
-				return mod;
-			}).collect(Collectors.toList());
-			Map<Integer, Long> hashCounts = hashList.stream().collect(Collectors.groupingBy(Function.identity(),
-					Collectors.counting()));
-			hashes.set(i, new TreeMap<>(hashCounts));
+				buff[len++] = (mod < 0) ? mod + this.num_features : mod;
+			}
+			// sort and count runs of equal hashes
+			Arrays.sort(buff, 0, len);
+			int numDistinct = 0;
+			for(int j = 0; j < len; j++)
+				if(j == 0 || buff[j] != buff[j-1])
+					numDistinct++;
+			int[] distinct = new int[numDistinct];
+			long[] hashCounts = new long[numDistinct];
+			for(int j = 0, pos = -1; j < len; j++) {
+				if(j == 0 || buff[j] != buff[j-1])
+					distinct[++pos] = buff[j];
+				hashCounts[pos]++;
+			}
+			hashes[i] = distinct;
+			counts[i] = hashCounts;
 		}
 	}
 
-
-
-
 	@Override
 	public int applyInternalRepresentation(DocumentRepresentation[] internalRepresentation, FrameBlock out, int inputRowStart, int blk) {
 		int endIndex = getEndIndex(internalRepresentation.length, inputRowStart, blk);
-		int outputRow = getOutputRow(inputRowStart, hashes);
+		int outputRow = getOutputRow(inputRowStart, i -> hashes[i].length);
 		for(int i = inputRowStart; i < endIndex; i++) {
 			List<Object> keys = internalRepresentation[i].keys;
-			Map<Integer, Long> sortedHashes = hashes.get(i);
 			if (wideFormat) {
-				outputRow = this.setTokensWide(outputRow, keys, sortedHashes, out);
+				outputRow = this.setTokensWide(outputRow, keys, hashes[i], counts[i], out);
 			} else {
-				outputRow = this.setTokensLong(outputRow, keys, sortedHashes, out);
+				outputRow = this.setTokensLong(outputRow, keys, hashes[i], counts[i], out);
 			}
 		}
 		return outputRow;
 	}
 
 
-	private int setTokensLong(int row, List<Object> keys, Map<Integer, Long> sortedHashes, FrameBlock out) {
-		int numTokens = 0;
-		for (Map.Entry<Integer, Long> hashCount: sortedHashes.entrySet()) {
-			if (numTokens >= maxTokens) {
-				break;
-			}
+	private int setTokensLong(int row, List<Object> keys, int[] sortedHashes, long[] hashCounts, FrameBlock out) {
+		int numTokens = Math.min(sortedHashes.length, maxTokens);
+		for (int j = 0; j < numTokens; j++) {
 			int col = setKeys(row, keys, out);
 			// Create a row per token
-			int hash = hashCount.getKey() + 1;
-			long count = hashCount.getValue();
-			out.set(row, col, (long)hash);
-			out.set(row, col + 1, count);
-			numTokens++;
+			out.set(row, col, (long) sortedHashes[j] + 1);
+			out.set(row, col + 1, hashCounts[j]);
 			row++;
 		}
 		if(applyPadding){
@@ -126,11 +131,14 @@ public class TokenizerApplierHash extends TokenizerApplier {
 		return row;
 	}
 
-	private int setTokensWide(int row, List<Object> keys, Map<Integer, Long> sortedHashes, FrameBlock out) {
+	private int setTokensWide(int row, List<Object> keys, int[] sortedHashes, long[] hashCounts, FrameBlock out) {
 		// Create one row with keys as prefix
 		int numKeys = setKeys(row, keys, out);
-		for (int tokenPos = 0; tokenPos < maxTokens; tokenPos++) {
-			long positionHash = sortedHashes.getOrDefault(tokenPos, 0L);
+		for (int tokenPos = 0, j = 0; tokenPos < maxTokens; tokenPos++) {
+			// merge-join of token positions and sorted hashes
+			while(j < sortedHashes.length && sortedHashes[j] < tokenPos)
+				j++;
+			long positionHash = (j < sortedHashes.length && sortedHashes[j] == tokenPos) ? hashCounts[j] : 0L;
 			out.set(row, numKeys + tokenPos, positionHash);
 		}
 		return ++row;
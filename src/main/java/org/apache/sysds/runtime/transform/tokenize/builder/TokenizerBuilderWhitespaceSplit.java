@@ -22,12 +22,12 @@ package org.apache.sysds.runtime.transform.tokenize.builder;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.transform.tokenize.DocumentRepresentation;
 import org.apache.sysds.runtime.transform.tokenize.Token;
+import org.apache.sysds.runtime.transform.tokenize.TokenSplitter;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 import static org.apache.sysds.runtime.util.UtilFunctions.getEndIndex;
 
@@ -39,6 +39,7 @@ public class TokenizerBuilderWhitespaceSplit extends TokenizerBuilder {
 	private final int tokenizeCol;
 
 	public String regex = "\\s+"; // whitespace
+	private final TokenSplitter splitter;
 
 	public TokenizerBuilderWhitespaceSplit(int[] idCols, int tokenizeCol, JSONObject params) throws JSONException {
 		if (params != null && params.has("regex")) {
@@ -46,22 +47,16 @@ public class TokenizerBuilderWhitespaceSplit extends TokenizerBuilder {
 		}
 		this.idCols = idCols;
 		this.tokenizeCol = tokenizeCol;
+		// compile the splitter once instead of per document
+		this.splitter = TokenSplitter.compile(this.regex);
 	}
 
 	public List<Token> splitToTokens(String text) {
 		List<Token> tokenList = new ArrayList<>();
 		if(text == null)
 			return tokenList;
-		String[] textTokens = text.split(this.regex);
-		int curIndex = 0;
-		for(String textToken: textTokens) {
-			if(Objects.equals(textToken, "")){
-				continue;
-			}
-			int tokenIndex = text.indexOf(textToken, curIndex);
-			curIndex = tokenIndex;
-			tokenList.add(new Token(textToken, tokenIndex));
-		}
+		// tokens reference ranges of the document, the hash applier never materializes their text
+		splitter.split(text, (seq, start, end) -> tokenList.add(new Token(text, start, end)));
 		return tokenList;
 	}
 
@@ -71,12 +66,10 @@ public class TokenizerBuilderWhitespaceSplit extends TokenizerBuilder {
 		for (int i = rowStart; i < endIndex; i++) {
 			String text = in.getString(i, tokenizeCol - 1);
 			List<Token> tokenList = splitToTokens(text);
-			List<Object> keys = new ArrayList<>();
-			for (Integer idCol : idCols) {
-				Object key = in.get(i, idCol - 1);
-				keys.add(key);
-				internalRepresentation[i] = new DocumentRepresentation(keys, tokenList);
-			}
+			List<Object> keys = new ArrayList<>(idCols.length);
+			for (int idCol : idCols)
+				keys.add(in.get(i, idCol - 1));
+			internalRepresentation[i] = new DocumentRepresentation(keys, tokenList);
 		}
 	}
 }
@@ -123,9 +123,12 @@ public class ByteBufferDataInput implements DataInput, MatrixBlockDataInput
 	
 	@Override
 	public long readDoubleArray(int len, double[] varr) throws IOException  {
+		//bulk copy via double view (in the byte order of the buffer)
+		_buff.asDoubleBuffer().get(varr, 0, len);
+		_buff.position(_buff.position() + len * 8);
 		long nnz = 0;
 		for( int i=0; i<len; i++ )
-			nnz += (varr[i] = _buff.getDouble()) != 0 ? 1 : 0;
+			nnz += varr[i] != 0 ? 1 : 0;
 		return nnz;
 	}
 
@@ -144,7 +144,7 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 			flushBuffer();
 		int tmp = Float.floatToIntBits(v);
 		intToBa(tmp, _buff, _count);
-		_count += 8;
+		_count += 4;
 	}
 
 	@Override
@@ -236,6 +236,28 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 		}
 	}
 
+	@Override
+	public void writeFloatArray(int len, float[] varr) 
+		throws IOException
+	{
+		//initial flush
+		flushBuffer();
+		
+		//write array block-wise to underlying stream
+		int blen = _bufflen/4;
+		for( int i=0; i<len; i+=Math.min(len-i, blen) )
+		{
+			int lblen = Math.min(len-i, blen);
+			for( int j=0; j<lblen; j++ ) {
+				intToBa(Float.floatToRawIntBits(varr[i+j]), _buff, _count);
+				_count += 4;
+			}
+			
+			//flush buffer for current block
+			flushBuffer(); //based on count
+		}
+	}
+
 	@Override
 	public void writeSparseRows(int rlen, SparseBlock rows) 
 		throws IOException
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.util;
+
+/**
+ * Allocation-free parser for decimal floating point numbers in text formats.
+ *
+ * The parser scans a character range in place (without substring or trim) and
+ * accumulates the significand as a long. If the significand fits into 53 bits and
+ * the decimal exponent is within [-22, 22], the result is exactly rounded by a single
+ * multiplication or division with an exact power of ten (Clinger's fast path). All
+ * other inputs (long significands, large exponents, NaN, Infinity, hex literals,
+ * type suffixes) fall back to Double.parseDouble, which retains its exact semantics.
+ */
+public class FastDoubleParser
+{
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+	private static final int MAX_EXACT_EXPONENT = 22;
+	private static final int MAX_DIGITS = 18;
+
+	private static final double[] POW10 = new double[MAX_EXACT_EXPONENT+1];
+	static {
+		POW10[0] = 1;
+		for( int i=1; i<POW10.length; i++ )
+			POW10[i] = POW10[i-1] * 10;
+	}
+
+	private FastDoubleParser() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Parses the given string into a double, ignoring leading and trailing whitespace.
+	 *
+	 * @param str input string
+	 * @return parsed double value
+	 * @throws NumberFormatException if the string is not a valid number
+	 */
+	public static double parseDouble(String str) {
+		return parseDouble(str, 0, str.length());
+	}
+
+	/**
+	 * Parses the character range [start, end) of the given sequence into a double,
+	 * ignoring leading and trailing whitespace (same semantics as String.trim).
+	 *
+	 * @param str input character sequence
+	 * @param start start position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return parsed double value
+	 * @throws NumberFormatException if the range is not a valid number
+	 */
+	public static double parseDouble(CharSequence str, int start, int end) {
+		//trim leading and trailing whitespace
+		while( start < end && str.charAt(start) <= ' ' )
+			start++;
+		while( end > start && str.charAt(end-1) <= ' ' )
+			end--;
+		if( start >= end )
+			throw new NumberFormatException("empty String");
+
+		int pos = start;
+		boolean neg = false;
+		char c = str.charAt(pos);
+		if( c == '-' || c == '+' ) {
+			neg = (c == '-');
+			pos++;
+		}
+
+		//parse significand (integer and fractional digits)
+		long mant = 0;
+		int ndigits = 0;  //significant digits
+		int exp10 = 0;    //implied decimal exponent
+		int nchars = 0;   //digit characters incl leading zeros
+		boolean dot = false;
+		for( ; pos < end; pos++ ) {
+			c = str.charAt(pos);
+			if( c >= '0' && c <= '9' ) {
+				nchars++;
+				if( mant != 0 || c != '0' ) {
+					if( ++ndigits > MAX_DIGITS )
+						return fallback(str, start, end);
+					mant = mant * 10 + (c - '0');
+				}
+				if( dot )
+					exp10--;
+			}
+			else if( c == '.' && !dot )
+				dot = true;
+			else
+				break;
+		}
+		if( nchars == 0 )
+			return fallback(str, start, end);
+
+		//parse optional exponent
+		if( pos < end && (c == 'e' || c == 'E') ) {
+			pos++;
+			boolean eneg = false;
+			if( pos < end && (str.charAt(pos) == '-' || str.charAt(pos) == '+') )
+				eneg = (str.charAt(pos++) == '-');
+			int e = 0, edigits = 0;
+			for( ; pos < end; pos++ ) {
+				c = str.charAt(pos);
+				if( c < '0' || c > '9' || ++edigits > 4 )
+					return fallback(str, start, end);
+				e = e * 10 + (c - '0');
+			}
+			if( edigits == 0 )
+				return fallback(str, start, end);
+			exp10 += eneg ? -e : e;
+		}
+
+		//unconsumed characters (e.g., NaN, Infinity, 0x.., 1.0d)
+		if( pos < end )
+			return fallback(str, start, end);
+
+		//fast path with exactly representable mantissa and power of ten
+		double ret;
+		if( mant == 0 )
+			ret = 0;
+		else if( mant <= MAX_EXACT_MANTISSA && exp10 >= -MAX_EXACT_EXPONENT && exp10 <= MAX_EXACT_EXPONENT )
+			ret = (exp10 < 0) ? mant / POW10[-exp10] : mant * POW10[exp10];
+		else
+			return fallback(str, start, end);
+		return neg ? -ret : ret;
+	}
+
+	private static double fallback(CharSequence str, int start, int end) {
+		return Double.parseDouble(str.subSequence(start, end).toString());
+	}
+}
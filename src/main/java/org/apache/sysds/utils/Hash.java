@@ -130,4 +130,101 @@ public class Hash {
 		}
 		return (byte) a.length;
 	}
+
+	private static final long XXH_P1 = 0x9E3779B185EBCA87L;
+	private static final long XXH_P2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long XXH_P3 = 0x165667B19E3779F9L;
+	private static final long XXH_P4 = 0x85EBCA77C2B2AE63L;
+	private static final long XXH_P5 = 0x27D4EB2F165667C5L;
+
+	/**
+	 * Compute the 64-bit xxHash (XXH64) of a byte sequence.
+	 * 
+	 * @param buf  The byte buffer.
+	 * @param off  The offset of the first byte.
+	 * @param len  The number of bytes to hash.
+	 * @param seed The seed.
+	 * @return The 64-bit hash.
+	 */
+	public static long xxHash64(byte[] buf, int off, int len, long seed) {
+		final int end = off + len;
+		long h;
+		if(len >= 32) {
+			long v1 = seed + XXH_P1 + XXH_P2, v2 = seed + XXH_P2;
+			long v3 = seed, v4 = seed - XXH_P1;
+			final int limit = end - 32;
+			do {
+				v1 = xxhRound(v1, getLongLE(buf, off));
+				v2 = xxhRound(v2, getLongLE(buf, off + 8));
+				v3 = xxhRound(v3, getLongLE(buf, off + 16));
+				v4 = xxhRound(v4, getLongLE(buf, off + 24));
+				off += 32;
+			}
+			while(off <= limit);
+			h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+			h = xxhMergeRound(h, v1);
+			h = xxhMergeRound(h, v2);
+			h = xxhMergeRound(h, v3);
+			h = xxhMergeRound(h, v4);
+		}
+		else
+			h = seed + XXH_P5;
+		h += len;
+		for(; off + 8 <= end; off += 8) {
+			h ^= xxhRound(0, getLongLE(buf, off));
+			h = Long.rotateLeft(h, 27) * XXH_P1 + XXH_P4;
+		}
+		if(off + 4 <= end) {
+			h ^= (getIntLE(buf, off) & 0xFFFFFFFFL) * XXH_P1;
+			h = Long.rotateLeft(h, 23) * XXH_P2 + XXH_P3;
+			off += 4;
+		}
+		for(; off < end; off++) {
+			h ^= (buf[off] & 0xFF) * XXH_P5;
+			h = Long.rotateLeft(h, 11) * XXH_P1;
+		}
+		return xxhAvalanche(h);
+	}
+
+	/**
+	 * Compute the 64-bit xxHash (XXH64) of a long value, equivalent to hashing its 8 bytes in little-endian order.
+	 * 
+	 * @param v    The value to hash.
+	 * @param seed The seed.
+	 * @return The 64-bit hash.
+	 */
+	public static long xxHash64(long v, long seed) {
+		long h = seed + XXH_P5 + 8;
+		h ^= xxhRound(0, v);
+		h = Long.rotateLeft(h, 27) * XXH_P1 + XXH_P4;
+		return xxhAvalanche(h);
+	}
+
+	private static long xxhRound(long acc, long input) {
+		acc += input * XXH_P2;
+		return Long.rotateLeft(acc, 31) * XXH_P1;
+	}
+
+	private static long xxhMergeRound(long acc, long val) {
+		acc ^= xxhRound(0, val);
+		return acc * XXH_P1 + XXH_P4;
+	}
+
+	private static long xxhAvalanche(long h) {
+		h ^= h >>> 33;
+		h *= XXH_P2;
+		h ^= h >>> 29;
+		h *= XXH_P3;
+		return h ^ (h >>> 32);
+	}
+
+	private static long getLongLE(byte[] buf, int off) {
+		return (buf[off] & 0xFFL) | (buf[off + 1] & 0xFFL) << 8 | (buf[off + 2] & 0xFFL) << 16
+			| (buf[off + 3] & 0xFFL) << 24 | (buf[off + 4] & 0xFFL) << 32 | (buf[off + 5] & 0xFFL) << 40
+			| (buf[off + 6] & 0xFFL) << 48 | (buf[off + 7] & 0xFFL) << 56;
+	}
+
+	private static int getIntLE(byte[] buf, int off) {
+		return (buf[off] & 0xFF) | (buf[off + 1] & 0xFF) << 8 | (buf[off + 2] & 0xFF) << 16 | (buf[off + 3] & 0xFF) << 24;
+	}
 }
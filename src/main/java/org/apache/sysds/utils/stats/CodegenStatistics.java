@@ -27,6 +27,7 @@ public class CodegenStatistics {
 	private static final LongAdder hopCompile = new LongAdder(); //count
 	private static final LongAdder cPlanCompile = new LongAdder(); //count
 	private static final LongAdder classCompile = new LongAdder(); //count
+	private static final LongAdder classCacheHits = new LongAdder(); //count
 	private static final LongAdder enumAll = new LongAdder(); //count
 	private static final LongAdder enumAllP = new LongAdder(); //count
 	private static final LongAdder enumEval = new LongAdder(); //count
@@ -62,6 +63,10 @@ public class CodegenStatistics {
 		classCompile.increment();
 	}
 
+	public static void incrementClassCacheHits() {
+		classCacheHits.increment();
+	}
+
 	public static void incrementCompileTime(long delta) {
 		compileTime.add(delta);
 	}
@@ -114,6 +119,10 @@ public class CodegenStatistics {
 		return classCompile.longValue();
 	}
 
+	public static long getClassCacheHits() {
+		return classCacheHits.longValue();
+	}
+
 	public static long getCompileTime() {
 		return compileTime.longValue();
 	}
@@ -142,6 +151,7 @@ public class CodegenStatistics {
 		hopCompile.reset();
 		cPlanCompile.reset();
 		classCompile.reset();
+		classCacheHits.reset();
 		enumAll.reset();
 		enumAllP.reset();
 		enumEval.reset();
@@ -164,6 +174,8 @@ public class CodegenStatistics {
 				String.format("%.3f", (double)getClassCompileTime()/1000000000)  + " sec.\n");
 		sb.append("Codegen enum plan cache hits:\t" + getPlanCacheHits() + "/" + getPlanCacheTotal() + ".\n");
 		sb.append("Codegen op plan cache hits:\t" + getOpCacheHits() + "/" + getOpCacheTotal() + ".\n");
+		if( getClassCacheHits() > 0 )
+			sb.append("Codegen class cache hits:\t" + getClassCacheHits() + ".\n");
 		return sb.toString();
 	}
 }
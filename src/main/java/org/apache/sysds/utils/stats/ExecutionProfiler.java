@@ -0,0 +1,417 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils.stats;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.ProgramBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+
+/**
+ * Low-overhead execution profiler that records individual instruction executions
+ * and dynamic recompilations as spans (thread, program block, DML line, input and
+ * output sizes, sparsity, buffer pool acquire time) in contrast to the aggregated
+ * heavy hitters maintained by {@link org.apache.sysds.utils.Statistics}.
+ *
+ * Spans are appended to preallocated per-thread ring buffers (overwriting the oldest
+ * spans on overflow), which avoids synchronization and allocations on the hot path.
+ * At the end of a run, the collected spans are exported as Chrome trace JSON (viewable
+ * in chrome://tracing or Perfetto) and/or collapsed stacks for flame graph tools.
+ */
+public class ExecutionProfiler {
+	private static final Log LOG = LogFactory.getLog(ExecutionProfiler.class.getName());
+
+	public enum SpanType {
+		INST, RECOMPILE
+	}
+
+	private static volatile boolean _enabled = false;
+	private static volatile int _generation = 0;
+	private static int _capacity = 65536;
+	private static long _startTime = 0;
+
+	//registry of all thread-local buffers of the current generation
+	private static final Queue<SpanBuffer> _buffers = new ConcurrentLinkedQueue<>();
+	private static final ThreadLocal<SpanBuffer> _local = new ThreadLocal<>();
+
+	private ExecutionProfiler() {
+		//prevent instantiation via private constructor
+	}
+
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+
+	/**
+	 * Enables the profiler if a trace or flame graph output file is configured.
+	 */
+	public static void startFromConfig() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		if( StringUtils.isEmpty(conf.getTextValue(DMLConfig.PROFILE_TRACE))
+			&& StringUtils.isEmpty(conf.getTextValue(DMLConfig.PROFILE_FLAMEGRAPH)) )
+			return;
+		start(conf.getIntValue(DMLConfig.PROFILE_BUFFER_SIZE));
+	}
+
+	/**
+	 * Discards all previously recorded spans and enables the profiler.
+	 *
+	 * @param capacity maximum number of retained spans per thread
+	 */
+	public static synchronized void start(int capacity) {
+		_capacity = Math.max(capacity, 1);
+		_buffers.clear();
+		_generation++;
+		_startTime = System.nanoTime();
+		_enabled = true;
+	}
+
+	public static synchronized void stop() {
+		_enabled = false;
+	}
+
+	/**
+	 * Disables the profiler and writes the configured trace and flame graph files.
+	 */
+	public static void stopAndExportFromConfig() {
+		if( !_enabled )
+			return;
+		stop();
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		String trace = conf.getTextValue(DMLConfig.PROFILE_TRACE);
+		String flame = conf.getTextValue(DMLConfig.PROFILE_FLAMEGRAPH);
+		try {
+			if( !StringUtils.isEmpty(trace) )
+				writeChromeTrace(trace);
+			if( !StringUtils.isEmpty(flame) )
+				writeFlameGraph(flame);
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to export execution profile.", ex);
+		}
+	}
+
+	/**
+	 * Obtains the start time of an instruction span, 0 if the profiler is disabled.
+	 *
+	 * @return current time in nanoseconds or 0
+	 */
+	public static long beginInstruction() {
+		if( !_enabled )
+			return 0;
+		getBuffer().acquireTime = 0;
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records an executed instruction, including the sizes of its inputs and output.
+	 *
+	 * @param inst executed instruction
+	 * @param pb enclosing program block
+	 * @param ec execution context
+	 * @param t0 start time obtained from {@link #beginInstruction()}
+	 */
+	public static void endInstruction(Instruction inst, ProgramBlock pb, ExecutionContext ec, long t0) {
+		if( !_enabled || t0 == 0 )
+			return;
+		long t1 = System.nanoTime();
+		SpanBuffer buff = getBuffer();
+		int ix = buff.next(SpanType.INST, inst, pb, t0, t1 - t0);
+		if( inst instanceof ComputationCPInstruction ) {
+			ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+			long incells = 0;
+			for( CPOperand in : cinst.getInputs() ) {
+				DataCharacteristics dc = getDataCharacteristics(ec, in);
+				if( dc != null && dc.dimsKnown() )
+					incells += dc.getLength();
+			}
+			buff.incells[ix] = incells;
+			DataCharacteristics dc = getDataCharacteristics(ec, cinst.getOutput());
+			if( dc != null ) {
+				buff.rows[ix] = dc.getRows();
+				buff.cols[ix] = dc.getCols();
+				buff.nnz[ix] = dc.getNonZeros();
+			}
+		}
+		buff.waits[ix] = buff.acquireTime;
+	}
+
+	/**
+	 * Records a dynamic recompilation of the given program block.
+	 *
+	 * @param pb recompiled program block
+	 * @param t0 start time in nanoseconds
+	 * @param t1 end time in nanoseconds
+	 */
+	public static void recordRecompile(ProgramBlock pb, long t0, long t1) {
+		if( !_enabled )
+			return;
+		getBuffer().next(SpanType.RECOMPILE, null, pb, t0, t1 - t0);
+	}
+
+	/**
+	 * Attributes buffer pool acquire time to the currently executed instruction.
+	 *
+	 * @param delta acquire time in nanoseconds
+	 */
+	public static void addBufferPoolWait(long delta) {
+		if( !_enabled )
+			return;
+		getBuffer().acquireTime += delta;
+	}
+
+	public static long getNumSpans() {
+		long ret = 0;
+		for( SpanBuffer buff : _buffers )
+			ret += buff.size();
+		return ret;
+	}
+
+	public static long getNumDroppedSpans() {
+		long ret = 0;
+		for( SpanBuffer buff : _buffers )
+			ret += Math.max(buff.count - buff.capacity(), 0);
+		return ret;
+	}
+
+	/**
+	 * Writes all recorded spans as Chrome trace JSON (complete events with
+	 * timestamps and durations in microseconds).
+	 *
+	 * @param fname output file name
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeChromeTrace(String fname) throws IOException {
+		try( Writer out = createWriter(fname) ) {
+			writeChromeTrace(out);
+		}
+	}
+
+	public static void writeChromeTrace(Writer out) throws IOException {
+		out.write("{\"traceEvents\":[\n");
+		boolean first = true;
+		for( SpanBuffer buff : _buffers ) {
+			out.write(first ? "" : ",\n");
+			first = false;
+			out.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + buff.tid
+				+ ",\"args\":{\"name\":\"" + escape(buff.tname) + "\"}}");
+			int size = buff.size();
+			for( int i = 0; i < size; i++ ) {
+				int ix = buff.index(i);
+				StringBuilder sb = new StringBuilder(256);
+				sb.append(",\n{\"name\":\"").append(escape(getName(buff, ix)));
+				sb.append("\",\"cat\":\"").append(buff.types[ix].name().toLowerCase());
+				sb.append("\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(buff.tid);
+				sb.append(",\"ts\":").append(toMicros(buff.starts[ix] - _startTime));
+				sb.append(",\"dur\":").append(toMicros(buff.durations[ix]));
+				sb.append(",\"args\":{\"block\":\"").append(escape(getBlockName(buff.blocks[ix])));
+				sb.append("\",\"line\":").append(getLine(buff, ix));
+				if( buff.types[ix] == SpanType.INST ) {
+					sb.append(",\"inCells\":").append(buff.incells[ix]);
+					sb.append(",\"outRows\":").append(buff.rows[ix]);
+					sb.append(",\"outCols\":").append(buff.cols[ix]);
+					sb.append(",\"outNnz\":").append(buff.nnz[ix]);
+					sb.append(",\"outSparsity\":").append(getSparsity(buff, ix));
+					sb.append(",\"bufferPoolMs\":").append(buff.waits[ix] / 1e6);
+				}
+				sb.append("}}");
+				out.write(sb.toString());
+			}
+		}
+		out.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+	}
+
+	/**
+	 * Writes all recorded spans as collapsed stacks (thread;program block;instruction)
+	 * with the aggregated time in microseconds, as consumed by flame graph tools.
+	 *
+	 * @param fname output file name
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeFlameGraph(String fname) throws IOException {
+		try( Writer out = createWriter(fname) ) {
+			writeFlameGraph(out);
+		}
+	}
+
+	public static void writeFlameGraph(Writer out) throws IOException {
+		Map<String, Long> stacks = new TreeMap<>();
+		for( SpanBuffer buff : _buffers ) {
+			String tname = buff.tname.replace(';', '_').replace(' ', '_');
+			int size = buff.size();
+			for( int i = 0; i < size; i++ ) {
+				int ix = buff.index(i);
+				String stack = tname + ";" + getBlockName(buff.blocks[ix]).replace(' ', '_')
+					+ ";" + getName(buff, ix).replace(' ', '_') + "(l." + getLine(buff, ix) + ")";
+				stacks.merge(stack, toMicros(buff.durations[ix]), Long::sum);
+			}
+		}
+		for( Map.Entry<String, Long> e : stacks.entrySet() )
+			out.write(e.getKey() + " " + e.getValue() + "\n");
+	}
+
+	private static SpanBuffer getBuffer() {
+		SpanBuffer buff = _local.get();
+		if( buff == null || buff.generation != _generation ) {
+			buff = new SpanBuffer(_capacity, _generation);
+			_local.set(buff);
+			_buffers.add(buff);
+		}
+		return buff;
+	}
+
+	private static DataCharacteristics getDataCharacteristics(ExecutionContext ec, CPOperand op) {
+		if( op == null || op.isLiteral() || op.getName() == null )
+			return null;
+		Data dat = ec.getVariables().get(op.getName());
+		return (dat instanceof CacheableData) ?
+			((CacheableData<?>) dat).getDataCharacteristics() : null;
+	}
+
+	private static String getName(SpanBuffer buff, int ix) {
+		return buff.types[ix] == SpanType.RECOMPILE ?
+			"recompile" : buff.insts[ix].getExtendedOpcode();
+	}
+
+	private static int getLine(SpanBuffer buff, int ix) {
+		return buff.types[ix] == SpanType.RECOMPILE ?
+			getBlockLine(buff.blocks[ix]) : buff.insts[ix].getBeginLine();
+	}
+
+	private static int getBlockLine(ProgramBlock pb) {
+		return (pb != null) ? pb.getBeginLine() : 0;
+	}
+
+	private static String getBlockName(ProgramBlock pb) {
+		if( pb == null )
+			return "unknown";
+		String name = pb.getClass().getSimpleName().replace("ProgramBlock", "");
+		return (name.isEmpty() ? "Program" : name) + " (l." + pb.getBeginLine() + "-" + pb.getEndLine() + ")";
+	}
+
+	private static double getSparsity(SpanBuffer buff, int ix) {
+		long cells = buff.rows[ix] * buff.cols[ix];
+		return (cells > 0 && buff.nnz[ix] >= 0) ? (double) buff.nnz[ix] / cells : -1;
+	}
+
+	private static long toMicros(long nanos) {
+		return nanos / 1000;
+	}
+
+	private static String escape(String str) {
+		return str.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+
+	private static Writer createWriter(String fname) throws IOException {
+		Path path = Paths.get(fname);
+		if( path.getParent() != null )
+			Files.createDirectories(path.getParent());
+		return new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Preallocated ring buffer of spans in struct-of-arrays layout, only
+	 * appended by its owning thread.
+	 */
+	private static class SpanBuffer {
+		private final int generation;
+		private final long tid;
+		private final String tname;
+		private final SpanType[] types;
+		private final Instruction[] insts;
+		private final ProgramBlock[] blocks;
+		private final long[] starts;
+		private final long[] durations;
+		private final long[] incells;
+		private final long[] rows;
+		private final long[] cols;
+		private final long[] nnz;
+		private final long[] waits;
+		private volatile long count = 0;
+		private long acquireTime = 0;
+
+		private SpanBuffer(int capacity, int generation) {
+			this.generation = generation;
+			tid = Thread.currentThread().getId();
+			tname = Thread.currentThread().getName();
+			types = new SpanType[capacity];
+			insts = new Instruction[capacity];
+			blocks = new ProgramBlock[capacity];
+			starts = new long[capacity];
+			durations = new long[capacity];
+			incells = new long[capacity];
+			rows = new long[capacity];
+			cols = new long[capacity];
+			nnz = new long[capacity];
+			waits = new long[capacity];
+		}
+
+		private int capacity() {
+			return types.length;
+		}
+
+		private int size() {
+			return (int) Math.min(count, capacity());
+		}
+
+		private int index(int i) {
+			//oldest retained span first
+			long first = Math.max(count - capacity(), 0);
+			return (int) ((first + i) % capacity());
+		}
+
+		private int next(SpanType type, Instruction inst, ProgramBlock pb, long start, long duration) {
+			int ix = (int) (count % capacity());
+			types[ix] = type;
+			insts[ix] = inst;
+			blocks[ix] = pb;
+			starts[ix] = start;
+			durations[ix] = duration;
+			incells[ix] = 0;
+			rows[ix] = -1;
+			cols[ix] = -1;
+			nnz[ix] = -1;
+			waits[ix] = 0;
+			count++;
+			return ix;
+		}
+	}
+}
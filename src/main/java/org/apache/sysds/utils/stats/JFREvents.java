@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils.stats;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Custom JDK Flight Recorder events for SystemDS runtime internals, which allow
+ * correlating instruction execution, buffer pool evictions and restores, lineage
+ * cache probes, dynamic recompilation, and federated requests with GC pauses and
+ * other JVM events of a recording.
+ *
+ * Callers guard event creation with the static isActive() checks, which only read
+ * the enabled state of the registered event type, so there are no allocations and
+ * only negligible overhead if no recording is active.
+ */
+public class JFREvents {
+	private static final Log LOG = LogFactory.getLog(JFREvents.class.getName());
+
+	public static final String CATEGORY = "SystemDS";
+
+	private JFREvents() {
+		//prevent instantiation via private constructor
+	}
+
+	private static EventType getEventType(Class<? extends Event> clazz) {
+		try {
+			return EventType.getEventType(clazz);
+		}
+		catch(Throwable ex) {
+			//e.g., JVM without flight recorder support
+			LOG.debug("Flight recorder events not available: " + ex.getMessage());
+			return null;
+		}
+	}
+
+	@Name("org.apache.sysds.Instruction")
+	@Label("Instruction")
+	@Category({CATEGORY, "Runtime"})
+	@Description("Execution of a single runtime instruction")
+	@StackTrace(false)
+	public static class InstructionEvent extends Event {
+		private static final EventType TYPE = getEventType(InstructionEvent.class);
+
+		@Label("Opcode")
+		public String opcode;
+
+		@Label("Line")
+		@Description("Begin line of the instruction in the DML script")
+		public int line;
+
+		@Label("Lineage Reuse")
+		@Description("Result was reused from the lineage cache")
+		public boolean reused;
+
+		public static boolean isActive() {
+			return TYPE != null && TYPE.isEnabled();
+		}
+	}
+
+	@Name("org.apache.sysds.BufferPool")
+	@Label("Buffer Pool Eviction/Restore")
+	@Category({CATEGORY, "Buffer Pool"})
+	@Description("Eviction of a cache block into the buffer pool or restore from it")
+	@StackTrace(false)
+	public static class BufferPoolEvent extends Event {
+		private static final EventType TYPE = getEventType(BufferPoolEvent.class);
+
+		public static final String EVICT = "evict";
+		public static final String RESTORE = "restore";
+
+		@Label("Operation")
+		public String operation;
+
+		@Label("File Name")
+		public String fname;
+
+		@Label("Size")
+		@DataAmount
+		public long size;
+
+		@Label("Evicted Blocks")
+		@Description("Number of blocks written to the local file system to make room")
+		public int numEvicted;
+
+		@Label("Local File System")
+		@Description("Block was directly written to or read from the local file system")
+		public boolean localFS;
+
+		public BufferPoolEvent(String operation, String fname) {
+			this.operation = operation;
+			this.fname = fname;
+		}
+
+		public static boolean isActive() {
+			return TYPE != null && TYPE.isEnabled();
+		}
+	}
+
+	@Name("org.apache.sysds.LineageCache")
+	@Label("Lineage Cache Probe")
+	@Category({CATEGORY, "Lineage"})
+	@Description("Lookup of a reusable instruction in the lineage cache")
+	@StackTrace(false)
+	public static class LineageCacheEvent extends Event {
+		private static final EventType TYPE = getEventType(LineageCacheEvent.class);
+
+		@Label("Opcode")
+		public String opcode;
+
+		@Label("Hit")
+		public boolean hit;
+
+		public LineageCacheEvent(String opcode) {
+			this.opcode = opcode;
+		}
+
+		public static boolean isActive() {
+			return TYPE != null && TYPE.isEnabled();
+		}
+	}
+
+	@Name("org.apache.sysds.Recompile")
+	@Label("Dynamic Recompilation")
+	@Category({CATEGORY, "Compiler"})
+	@Description("Dynamic recompilation of a HOP DAG")
+	@StackTrace(false)
+	public static class RecompileEvent extends Event {
+		private static final EventType TYPE = getEventType(RecompileEvent.class);
+
+		@Label("Begin Line")
+		public int beginLine;
+
+		@Label("End Line")
+		public int endLine;
+
+		@Label("Predicate")
+		@Description("Recompilation of a predicate DAG")
+		public boolean predicate;
+
+		@Label("Instructions")
+		@Description("Number of generated instructions")
+		public int numInstructions;
+
+		public static boolean isActive() {
+			return TYPE != null && TYPE.isEnabled();
+		}
+	}
+
+	@Name("org.apache.sysds.FederatedRequest")
+	@Label("Federated Request")
+	@Category({CATEGORY, "Federated"})
+	@Description("Round trip of a federated request batch to a federated worker")
+	@StackTrace(false)
+	public static class FederatedRequestEvent extends Event {
+		private static final EventType TYPE = getEventType(FederatedRequestEvent.class);
+
+		@Label("Address")
+		public String address;
+
+		@Label("Request Type")
+		@Description("Type of the first request of the batch")
+		public String type;
+
+		@Label("Requests")
+		public int numRequests;
+
+		@Label("Success")
+		public boolean success;
+
+		public static boolean isActive() {
+			return TYPE != null && TYPE.isEnabled();
+		}
+	}
+}
@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils.stats;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleSupplier;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteService;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.utils.Statistics;
+
+/**
+ * Registry of named runtime metrics, which exposes the static runtime counters
+ * (Statistics, CacheStatistics, LineageCacheStatistics, ParForStatistics,
+ * CodegenStatistics, etc) as well as buffer pool occupancy and thread pool queue
+ * depths while the process is running. The metrics are read on demand (no sampling
+ * thread) and rendered in Prometheus text exposition format or exposed via JMX.
+ *
+ * Note that most counters are only maintained if statistics are enabled (-stats),
+ * except for the buffer pool and lineage cache counters, which are also maintained
+ * while metrics are exposed (see {@link #setEnabled(boolean)}).
+ */
+public class MetricsRegistry {
+	private static final Log LOG = LogFactory.getLog(MetricsRegistry.class.getName());
+
+	public static final String JMX_NAME = "org.apache.sysds:type=Metrics";
+
+	public enum MetricType {
+		COUNTER, GAUGE;
+		public String toPrometheus() {
+			return name().toLowerCase();
+		}
+	}
+
+	private static final Map<String, Metric> _metrics = new ConcurrentSkipListMap<>();
+	private static boolean _jmxRegistered = false;
+	private static volatile boolean _enabled = false;
+
+	static {
+		registerDefaultMetrics();
+	}
+
+	private MetricsRegistry() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Registers (or replaces) a metric, which is evaluated on every scrape.
+	 *
+	 * @param name metric name, following Prometheus naming conventions
+	 * @param help short description
+	 * @param type counter or gauge
+	 * @param value supplier of the current value
+	 */
+	public static void register(String name, String help, MetricType type, DoubleSupplier value) {
+		_metrics.put(name, new Metric(name, help, type, value));
+	}
+
+	public static void unregister(String name) {
+		_metrics.remove(name);
+	}
+
+	/**
+	 * Indicates if metrics are exposed (via HTTP endpoint or JMX), in which case
+	 * the buffer pool and lineage cache counters are maintained independent of -stats.
+	 *
+	 * @return true if metrics are exposed
+	 */
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+
+	public static void setEnabled(boolean flag) {
+		_enabled = flag;
+	}
+
+	public static List<String> getMetricNames() {
+		return new ArrayList<>(_metrics.keySet());
+	}
+
+	/**
+	 * Gets the current value of the given metric.
+	 *
+	 * @param name metric name
+	 * @return current value, or NaN if the metric does not exist
+	 */
+	public static double getValue(String name) {
+		Metric m = _metrics.get(name);
+		return (m != null) ? m.getValue() : Double.NaN;
+	}
+
+	/**
+	 * Renders all metrics in Prometheus text exposition format (version 0.0.4).
+	 *
+	 * @return metrics text
+	 */
+	public static String toPrometheusText() {
+		StringBuilder sb = new StringBuilder(8192);
+		for( Metric m : _metrics.values() ) {
+			sb.append("# HELP ").append(m.name).append(' ').append(m.help).append('\n');
+			sb.append("# TYPE ").append(m.name).append(' ').append(m.type.toPrometheus()).append('\n');
+			sb.append(m.name).append(' ').append(formatValue(m.getValue())).append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Registers all metrics as attributes of a dynamic MBean with the
+	 * platform MBean server (idempotent).
+	 */
+	public static synchronized void registerJMX() {
+		if( _jmxRegistered )
+			return;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(JMX_NAME);
+			if( !server.isRegistered(name) )
+				server.registerMBean(new MetricsMBean(), name);
+			_jmxRegistered = true;
+			_enabled = true;
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to register metrics MBean.", ex);
+		}
+	}
+
+	public static synchronized boolean isJMXRegistered() {
+		return _jmxRegistered;
+	}
+
+	private static void registerDefaultMetrics() {
+		//runtime and compilation
+		register("sysds_compile_seconds", "Compilation time of the last script",
+			MetricType.GAUGE, () -> toSeconds(Statistics.getCompileTime()));
+		register("sysds_recompile_seconds_total", "Dynamic recompilation time",
+			MetricType.COUNTER, () -> toSeconds(RecompileStatistics.getRecompileTime()));
+		register("sysds_recompile_blocks_total", "Number of recompiled program blocks",
+			MetricType.COUNTER, () -> RecompileStatistics.getRecompiledSBDAGs());
+		register("sysds_recompile_predicates_total", "Number of recompiled predicates",
+			MetricType.COUNTER, () -> RecompileStatistics.getRecompiledPredDAGs());
+		register("sysds_function_recompiles_total", "Number of recompiled functions",
+			MetricType.COUNTER, () -> Statistics.getFunRecompiles());
+		register("sysds_spark_instructions_executed_total", "Number of executed Spark instructions",
+			MetricType.COUNTER, () -> Statistics.getNoOfExecutedSPInst());
+
+		//buffer pool hits, writes (evictions), and occupancy
+		register("sysds_bufferpool_mem_hits_total", "Buffer pool hits in memory",
+			MetricType.COUNTER, () -> CacheStatistics.getMemHits());
+		register("sysds_bufferpool_fsbuff_hits_total", "Buffer pool hits in the write buffer",
+			MetricType.COUNTER, () -> CacheStatistics.getFSBuffHits());
+		register("sysds_bufferpool_fs_hits_total", "Buffer pool hits on local file system",
+			MetricType.COUNTER, () -> CacheStatistics.getFSHits());
+		register("sysds_bufferpool_hdfs_hits_total", "Buffer pool hits on HDFS",
+			MetricType.COUNTER, () -> CacheStatistics.getHDFSHits());
+		register("sysds_bufferpool_lineage_hits_total", "Buffer pool hits via lineage recomputation",
+			MetricType.COUNTER, () -> CacheStatistics.getLinHits());
+		register("sysds_bufferpool_fsbuff_writes_total", "Buffer pool evictions into the write buffer",
+			MetricType.COUNTER, () -> CacheStatistics.getFSBuffWrites());
+		register("sysds_bufferpool_fs_writes_total", "Buffer pool evictions to local file system",
+			MetricType.COUNTER, () -> CacheStatistics.getFSWrites());
+		register("sysds_bufferpool_hdfs_writes_total", "Buffer pool exports to HDFS",
+			MetricType.COUNTER, () -> CacheStatistics.getHDFSWrites());
+		register("sysds_bufferpool_acquire_read_seconds_total", "Buffer pool acquire read time",
+			MetricType.COUNTER, () -> toSeconds(CacheStatistics.getAcquireRTime()));
+		register("sysds_bufferpool_acquire_modify_seconds_total", "Buffer pool acquire modify time",
+			MetricType.COUNTER, () -> toSeconds(CacheStatistics.getAcquireMTime()));
+		register("sysds_bufferpool_release_seconds_total", "Buffer pool release time",
+			MetricType.COUNTER, () -> toSeconds(CacheStatistics.getReleaseTime()));
+		register("sysds_bufferpool_export_seconds_total", "Buffer pool export time",
+			MetricType.COUNTER, () -> toSeconds(CacheStatistics.getExportTime()));
+		register("sysds_bufferpool_writebuffer_bytes", "Size of evicted blocks in the write buffer",
+			MetricType.GAUGE, () -> LazyWriteBuffer.getWriteBufferSize());
+		register("sysds_bufferpool_writebuffer_limit_bytes", "Size limit of the write buffer",
+			MetricType.GAUGE, () -> LazyWriteBuffer.getWriteBufferLimit());
+		register("sysds_bufferpool_writebuffer_blocks", "Number of evicted blocks in the write buffer",
+			MetricType.GAUGE, () -> LazyWriteBuffer.getQueueSize());
+
+		//lineage cache
+		register("sysds_lineage_mem_hits_total", "Lineage cache hits in memory",
+			MetricType.COUNTER, () -> LineageCacheStatistics.getMemHits());
+		register("sysds_lineage_fs_hits_total", "Lineage cache hits on local file system",
+			MetricType.COUNTER, () -> LineageCacheStatistics.getFSHits());
+		register("sysds_lineage_mem_writes_total", "Lineage cache writes to memory",
+			MetricType.COUNTER, () -> LineageCacheStatistics.getMemWrites());
+		register("sysds_lineage_fs_writes_total", "Lineage cache spills to local file system",
+			MetricType.COUNTER, () -> LineageCacheStatistics.getFSWrites());
+		register("sysds_lineage_mem_deletes_total", "Lineage cache evictions from memory",
+			MetricType.COUNTER, () -> LineageCacheStatistics.getMemDeletes());
+
+		//parfor and codegen
+		register("sysds_parfor_optimizations_total", "Number of parfor optimizations",
+			MetricType.COUNTER, () -> ParForStatistics.getOptCount());
+		register("sysds_parfor_optimize_seconds_total", "Parfor optimization time",
+			MetricType.COUNTER, () -> toSeconds(ParForStatistics.getOptTime()));
+		register("sysds_parfor_init_seconds_total", "Parfor initialization time",
+			MetricType.COUNTER, () -> toSeconds(ParForStatistics.getInitTime()));
+		register("sysds_parfor_merge_seconds_total", "Parfor result merge time",
+			MetricType.COUNTER, () -> toSeconds(ParForStatistics.getMergeTime()));
+		register("sysds_codegen_dag_compiles_total", "Number of DAGs optimized by codegen",
+			MetricType.COUNTER, () -> CodegenStatistics.getDAGCompile());
+		register("sysds_codegen_class_compiles_total", "Number of compiled codegen classes",
+			MetricType.COUNTER, () -> CodegenStatistics.getClassCompile());
+		register("sysds_codegen_class_compile_seconds_total", "Codegen class compilation time",
+			MetricType.COUNTER, () -> toSeconds(CodegenStatistics.getClassCompileTime()));
+		register("sysds_codegen_plancache_hits_total", "Codegen plan cache hits",
+			MetricType.COUNTER, () -> CodegenStatistics.getPlanCacheHits());
+		register("sysds_codegen_plancache_lookups_total", "Codegen plan cache lookups",
+			MetricType.COUNTER, () -> CodegenStatistics.getPlanCacheTotal());
+
+		//thread pools
+		register("sysds_threadpool_active_threads", "Active threads of the shared thread pool",
+			MetricType.GAUGE, () -> ForkJoinPool.commonPool().getActiveThreadCount());
+		register("sysds_threadpool_queued_tasks", "Queued tasks of the shared thread pool",
+			MetricType.GAUGE, () -> ForkJoinPool.commonPool().getQueuedTaskCount()
+				+ ForkJoinPool.commonPool().getQueuedSubmissionCount());
+		register("sysds_async_writes_pending", "Pending asynchronous writes",
+			MetricType.GAUGE, () -> AsyncWriteService.getNumPending());
+
+		//jvm
+		register("sysds_jvm_heap_used_bytes", "Used JVM heap memory",
+			MetricType.GAUGE, () -> ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+		register("sysds_jvm_heap_max_bytes", "Maximum JVM heap memory",
+			MetricType.GAUGE, () -> Runtime.getRuntime().maxMemory());
+		register("sysds_jvm_gc_seconds_total", "JVM garbage collection time",
+			MetricType.COUNTER, () -> Statistics.getJVMgcTime() / 1000d);
+		register("sysds_jvm_gc_collections_total", "JVM garbage collections",
+			MetricType.COUNTER, () -> Statistics.getJVMgcCount());
+	}
+
+	private static double toSeconds(long nanos) {
+		return nanos / 1e9;
+	}
+
+	private static String formatValue(double value) {
+		if( Double.isNaN(value) )
+			return "NaN";
+		if( Double.isInfinite(value) )
+			return value > 0 ? "+Inf" : "-Inf";
+		return (value == Math.rint(value) && Math.abs(value) < 1e15) ?
+			String.valueOf((long) value) : String.valueOf(value);
+	}
+
+	private static class Metric {
+		private final String name;
+		private final String help;
+		private final MetricType type;
+		private final DoubleSupplier value;
+
+		private Metric(String name, String help, MetricType type, DoubleSupplier value) {
+			this.name = name;
+			this.help = help;
+			this.type = type;
+			this.value = value;
+		}
+
+		private double getValue() {
+			try {
+				return value.getAsDouble();
+			}
+			catch(Exception ex) {
+				//e.g., uninitialized buffer pool
+				return Double.NaN;
+			}
+		}
+	}
+
+	/**
+	 * Dynamic MBean with one read-only attribute per registered metric.
+	 */
+	private static class MetricsMBean implements DynamicMBean {
+		@Override
+		public Object getAttribute(String attribute) throws AttributeNotFoundException {
+			Metric m = _metrics.get(attribute);
+			if( m == null )
+				throw new AttributeNotFoundException(attribute);
+			return m.getValue();
+		}
+
+		@Override
+		public void setAttribute(Attribute attribute) {
+			throw new UnsupportedOperationException("Metrics are read-only.");
+		}
+
+		@Override
+		public AttributeList getAttributes(String[] attributes) {
+			AttributeList ret = new AttributeList();
+			for( String name : attributes ) {
+				Metric m = _metrics.get(name);
+				if( m != null )
+					ret.add(new Attribute(name, m.getValue()));
+			}
+			return ret;
+		}
+
+		@Override
+		public AttributeList setAttributes(AttributeList attributes) {
+			return new AttributeList();
+		}
+
+		@Override
+		public Object invoke(String actionName, Object[] params, String[] signature) {
+			throw new UnsupportedOperationException("Metrics do not support operations.");
+		}
+
+		@Override
+		public MBeanInfo getMBeanInfo() {
+			List<MBeanAttributeInfo> attrs = new ArrayList<>();
+			for( Metric m : _metrics.values() )
+				attrs.add(new MBeanAttributeInfo(m.name, Double.class.getName(), m.help, true, false, false));
+			return new MBeanInfo(MetricsRegistry.class.getName(), "SystemDS runtime metrics",
+				attrs.toArray(new MBeanAttributeInfo[0]), null, null, null);
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils.stats;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.DMLConfig;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Lightweight HTTP endpoint that serves the {@link MetricsRegistry} in Prometheus
+ * text format under /metrics. In contrast to the federated monitoring backend, the
+ * server does not block the caller and runs on a single daemon event loop, so it can
+ * be embedded into federated workers and JMLC deployments.
+ */
+public class MetricsServer {
+	private static final Log LOG = LogFactory.getLog(MetricsServer.class.getName());
+
+	public static final String PATH = "/metrics";
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private static MetricsServer _server = null;
+
+	private final EventLoopGroup _group;
+	private final Channel _channel;
+
+	/**
+	 * Starts a metrics server on the given port (0 for an ephemeral port),
+	 * bound to the loopback interface.
+	 *
+	 * @param port port number
+	 * @throws InterruptedException if interrupted while binding
+	 */
+	public MetricsServer(int port) throws InterruptedException {
+		this(InetAddress.getLoopbackAddress().getHostAddress(), port);
+	}
+
+	/**
+	 * Starts a metrics server on the given bind address and port (0 for an
+	 * ephemeral port).
+	 *
+	 * @param host bind address (e.g., 127.0.0.1, or 0.0.0.0 for all interfaces)
+	 * @param port port number
+	 * @throws InterruptedException if interrupted while binding
+	 */
+	public MetricsServer(String host, int port) throws InterruptedException {
+		_group = new NioEventLoopGroup(1, new DefaultThreadFactory("MetricsServer", true));
+		try {
+			ServerBootstrap b = new ServerBootstrap();
+			b.group(_group)
+				.channel(NioServerSocketChannel.class)
+				.childHandler(new ChannelInitializer<Channel>() {
+					@Override
+					protected void initChannel(Channel ch) {
+						ChannelPipeline pipeline = ch.pipeline();
+						pipeline.addLast(new HttpServerCodec());
+						pipeline.addLast(new HttpObjectAggregator(64 * 1024));
+						pipeline.addLast(new MetricsHandler());
+					}
+				});
+			_channel = b.bind(host, port).sync().channel();
+		}
+		catch(InterruptedException | RuntimeException ex) {
+			_group.shutdownGracefully();
+			throw ex;
+		}
+	}
+
+	public String getHost() {
+		return ((InetSocketAddress) _channel.localAddress()).getAddress().getHostAddress();
+	}
+
+	public int getPort() {
+		return ((InetSocketAddress) _channel.localAddress()).getPort();
+	}
+
+	public void close() {
+		_channel.close().syncUninterruptibly();
+		_group.shutdownGracefully();
+	}
+
+	/**
+	 * Starts the process-wide metrics server and JMX registration according to the
+	 * given configuration, if enabled and not yet started. Exposing metrics also
+	 * enables the maintenance of buffer pool and lineage cache counters, which are
+	 * otherwise only maintained with statistics enabled (-stats).
+	 *
+	 * @param conf dml configuration
+	 */
+	public static synchronized void startFromConfig(DMLConfig conf) {
+		if( conf.getBooleanValue(DMLConfig.METRICS_JMX) )
+			MetricsRegistry.registerJMX();
+		int port = conf.getIntValue(DMLConfig.METRICS_PORT);
+		if( port < 0 || _server != null )
+			return;
+		String host = conf.getTextValue(DMLConfig.METRICS_HOST);
+		try {
+			_server = new MetricsServer(host, port);
+			MetricsRegistry.setEnabled(true);
+			LOG.info("Started metrics endpoint at " + host + ":" + _server.getPort() + PATH);
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to start metrics endpoint at " + host + ":" + port + ".", ex);
+		}
+	}
+
+	public static synchronized MetricsServer getServer() {
+		return _server;
+	}
+
+	public static synchronized void shutdown() {
+		if( _server != null ) {
+			_server.close();
+			_server = null;
+			MetricsRegistry.setEnabled(MetricsRegistry.isJMXRegistered());
+		}
+	}
+
+	private static class MetricsHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+		@Override
+		protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+			String path = request.uri();
+			int pos = path.indexOf('?');
+			path = (pos >= 0) ? path.substring(0, pos) : path;
+
+			FullHttpResponse response;
+			if( !request.method().equals(HttpMethod.GET) )
+				response = createResponse(HttpResponseStatus.METHOD_NOT_ALLOWED, "");
+			else if( !path.equals(PATH) && !path.equals("/") )
+				response = createResponse(HttpResponseStatus.NOT_FOUND, "");
+			else
+				response = createResponse(HttpResponseStatus.OK, MetricsRegistry.toPrometheusText());
+			ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+		}
+
+		@Override
+		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+			LOG.warn("Failed to serve metrics request.", cause);
+			ctx.close();
+		}
+
+		private static FullHttpResponse createResponse(HttpResponseStatus status, String body) {
+			ByteBuf content = Unpooled.copiedBuffer(body, CharsetUtil.UTF_8);
+			FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, content);
+			response.headers().set(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE);
+			response.headers().set(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
+			return response;
+		}
+	}
+}
@@ -23,6 +23,7 @@ import java.util.concurrent.atomic.LongAdder;
 
 public class TransformStatistics {
 	private static final LongAdder encoderCount = new LongAdder();
+	private static final LongAdder streamingEncodeCount = new LongAdder();
 
 	//private static final LongAdder buildTime = new LongAdder();
 	private static final LongAdder recodeBuildTime = new LongAdder();
@@ -39,6 +40,9 @@ public class TransformStatistics {
 	private static final LongAdder omitApplyTime = new LongAdder();
 	private static final LongAdder imputeApplyTime = new LongAdder();
 
+	private static final LongAdder featureHashingKeys = new LongAdder();
+	private static final LongAdder featureHashingCollisions = new LongAdder();
+
 	private static final LongAdder outMatrixPreProcessingTime = new LongAdder();
 	private static final LongAdder outMatrixPostProcessingTime = new LongAdder();
 	private static final LongAdder mapSizeEstimationTime = new LongAdder();
@@ -47,6 +51,14 @@ public class TransformStatistics {
 		encoderCount.add(encoders);
 	}
 
+	public static void incStreamingEncodeCount() {
+		streamingEncodeCount.increment();
+	}
+
+	public static long getStreamingEncodeCount() {
+		return streamingEncodeCount.longValue();
+	}
+
 	public static void incRecodeApplyTime(long t) {
 		recodeApplyTime.add(t);
 	}
@@ -71,6 +83,12 @@ public class TransformStatistics {
 		featureHashingApplyTime.add(t);
 	}
 
+	// distinct keys and collisions of a single block (keys in multiple blocks are counted per block)
+	public static void incFeatureHashingKeys(long keys, long collisions) {
+		featureHashingKeys.add(keys);
+		featureHashingCollisions.add(collisions);
+	}
+
 	public static void incOmitApplyTime(long t) {
 		omitApplyTime.add(t);
 	}
@@ -117,6 +135,7 @@ public class TransformStatistics {
 
 	public static void reset() {
 		encoderCount.reset();
+		streamingEncodeCount.reset();
 		// buildTime.reset();
 		recodeBuildTime.reset();
 		binningBuildTime.reset();
@@ -126,6 +145,8 @@ public class TransformStatistics {
 		dummyCodeApplyTime.reset();
 		passThroughApplyTime.reset();
 		featureHashingApplyTime.reset();
+		featureHashingKeys.reset();
+		featureHashingCollisions.reset();
 		binningApplyTime.reset();
 		UDFApplyTime.reset();
 		omitApplyTime.reset();
@@ -140,6 +161,8 @@ public class TransformStatistics {
 			//TODO: Cleanup and condense
 			StringBuilder sb = new StringBuilder();
 			sb.append("TransformEncode num. encoders:\t").append(encoderCount.longValue()).append("\n");
+			if(streamingEncodeCount.longValue() > 0)
+				sb.append("TransformEncode num. streaming:\t").append(streamingEncodeCount.longValue()).append("\n");
 			sb.append("TransformEncode build time:\t").append(String.format("%.3f",
 				getEncodeBuildTime()*1e-9)).append(" sec.\n");
 			if(recodeBuildTime.longValue() > 0)
@@ -166,6 +189,10 @@ public class TransformStatistics {
 			if(featureHashingApplyTime.longValue() > 0)
 				sb.append("\tHashing apply time:\t").append(String.format("%.3f",
 					featureHashingApplyTime.longValue()*1e-9)).append(" sec.\n");
+			if(featureHashingKeys.longValue() > 0)
+				sb.append("\tHashing collisions (per block):\t").append(featureHashingCollisions.longValue()).append("/")
+					.append(featureHashingKeys.longValue()).append(String.format(" (%.2f%%) keys.\n",
+					100d * featureHashingCollisions.longValue() / featureHashingKeys.longValue()));
 			if(passThroughApplyTime.longValue() > 0)
 				sb.append("\tPassThrough apply time:\t").append(String.format("%.3f",
 					passThroughApplyTime.longValue()*1e-9)).append(" sec.\n");
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.function.IntSupplier;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.codegen.SpoofCompiler;
+import org.apache.sysds.hops.codegen.SpoofCompiler.CompilerType;
+import org.apache.sysds.runtime.codegen.CodegenClassCache;
+import org.apache.sysds.runtime.codegen.CodegenUtils;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CodegenClassCacheTest {
+	private static final String DIR = "target/testTemp/component/codegen/" + CodegenClassCacheTest.class.getSimpleName() + "/";
+
+	private static final String SRC = "package codegen;\n"
+		+ "public final class %TMP% implements java.util.function.IntSupplier {\n"
+		+ "  public %TMP%() {}\n"
+		+ "  public int getAsInt() { return %VAL%; }\n"
+		+ "}\n";
+
+	private CompilerType _compiler;
+
+	@Before
+	public void setup() throws Exception {
+		FileUtils.deleteDirectory(new File(DIR));
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.CODEGEN_CLASSCACHE, "true");
+		conf.setTextValue(DMLConfig.CODEGEN_CLASSCACHE_DIR, DIR);
+		ConfigurationManager.setLocalConfig(conf);
+		_compiler = SpoofCompiler.JAVA_COMPILER;
+		CodegenUtils.clearClassCache();
+	}
+
+	@After
+	public void reset() {
+		SpoofCompiler.JAVA_COMPILER = _compiler;
+		CodegenUtils.clearClassCache();
+		ConfigurationManager.clearLocalConfigs();
+	}
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(DIR));
+	}
+
+	@Test
+	public void testJanino() throws Exception {
+		runCacheTest(CompilerType.JANINO);
+	}
+
+	@Test
+	public void testJavac() throws Exception {
+		runCacheTest(CompilerType.JAVAC);
+	}
+
+	@Test
+	public void testDistinctPlans() throws Exception {
+		SpoofCompiler.JAVA_COMPILER = CompilerType.JANINO;
+		Class<?> c1 = CodegenUtils.compileClass("codegen.TMP3", createSource("TMP3", 3));
+		Class<?> c2 = CodegenUtils.compileClass("codegen.TMP4", createSource("TMP4", 4));
+		assertNotEquals(c1.getName(), c2.getName());
+		assertEquals(3, getValue(c1));
+		assertEquals(4, getValue(c2));
+		assertEquals(2, new File(DIR).list().length);
+	}
+
+	@Test
+	public void testRenameClass() {
+		String src = CodegenClassCache.renameClass(createSource("TMP1", 1), "codegen.TMP1", "codegen.TMPCabc");
+		assertTrue(src.contains("class TMPCabc "));
+		assertTrue(src.contains("public TMPCabc()"));
+		assertEquals(CodegenClassCache.createKey("codegen.TMP1", createSource("TMP1", 1)),
+			CodegenClassCache.createKey("codegen.TMP15", createSource("TMP15", 1)));
+	}
+
+	private static void runCacheTest(CompilerType compiler) throws Exception {
+		SpoofCompiler.JAVA_COMPILER = compiler;
+
+		//first run: compile and write to persistent cache
+		Class<?> c1 = CodegenUtils.compileClass("codegen.TMP7", createSource("TMP7", 7));
+		assertTrue(c1.getSimpleName().startsWith(CodegenClassCache.CLASS_PREFIX));
+		assertEquals(7, getValue(c1));
+		String key = c1.getSimpleName().substring(CodegenClassCache.CLASS_PREFIX.length());
+		assertTrue(CodegenClassCache.getFile(key).isFile());
+		assertSame(c1, CodegenUtils.getClass(c1.getName()));
+
+		//class data shipped as bytecode, independent of the compiler
+		byte[] bytes = CodegenUtils.getClassData(c1.getName());
+		assertTrue(CodegenClassCache.isClassFile(bytes));
+
+		//second run (emulated new JVM): same plan w/ different generated name
+		CodegenUtils.clearClassCache();
+		long mtime = CodegenClassCache.getFile(key).lastModified();
+		Class<?> c2 = CodegenUtils.compileClass("codegen.TMP12", createSource("TMP12", 7));
+		assertNotEquals(c1, c2);
+		assertEquals(c1.getName(), c2.getName());
+		assertEquals(7, getValue(c2));
+		assertEquals(mtime, CodegenClassCache.getFile(key).lastModified());
+		assertEquals(1, new File(DIR).list().length);
+
+		//executor-side loading from shipped bytecode
+		CodegenUtils.clearClassCache();
+		Class<?> c3 = CodegenUtils.getClass(c1.getName(), bytes);
+		assertEquals(7, getValue(c3));
+	}
+
+	private static String createSource(String name, int val) {
+		return SRC.replace("%TMP%", name).replace("%VAL%", String.valueOf(val));
+	}
+
+	private static int getValue(Class<?> cla) throws Exception {
+		return ((IntSupplier) cla.getDeclaredConstructor().newInstance()).getAsInt();
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.array;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory.FrameArrayType;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibCompress;
+import org.apache.sysds.runtime.functionobjects.Equals;
+import org.apache.sysds.runtime.functionobjects.LessThan;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.junit.Test;
+
+public class DDCArrayTests {
+
+	@Test
+	public void compressLowCardinality() {
+		StringArray s = ArrayFactory.create(generate(1000, 10, 3));
+		Array<String> d = DDCArray.compressToDDC(s);
+		assertTrue(d instanceof DDCArray);
+		assertEquals(FrameArrayType.DDC, d.getFrameArrayType());
+		assertTrue(((DDCArray) d).getDictionary().size() <= 11);
+		FrameArrayTests.compare(s, d);
+		assertTrue(d.getInMemorySize() < s.getInMemorySize());
+	}
+
+	@Test
+	public void compressHighCardinality() {
+		StringArray s = ArrayFactory.create(FrameArrayTests.generateRandomString(100, 3));
+		assertTrue(DDCArray.compressToDDC(s) == s);
+	}
+
+	@Test
+	public void setAndWiden() {
+		StringArray s = ArrayFactory.create(generate(500, 3, 7));
+		DDCArray d = (DDCArray) DDCArray.compressToDDC(s);
+		for(int i = 0; i < 500; i += 2) {
+			String v = "new" + i;
+			d.set(i, v);
+			s.set(i, v);
+		}
+		d.set(1, (String) null);
+		s.set(1, null);
+		FrameArrayTests.compare(s, d);
+		assertNull(d.get(1));
+	}
+
+	@Test
+	public void setRange() {
+		StringArray s = ArrayFactory.create(generate(200, 4, 1));
+		DDCArray d = (DDCArray) DDCArray.compressToDDC(s);
+		StringArray s2 = ArrayFactory.create(generate(200, 6, 2));
+		Array<String> d2 = DDCArray.compressToDDC(s2);
+		d.set(10, 59, d2, 100);
+		s.set(10, 59, s2, 100);
+		FrameArrayTests.compare(s, d);
+		// set into an uncompressed array
+		StringArray s3 = ArrayFactory.create(new String[200]);
+		s3.set(0, 199, d);
+		FrameArrayTests.compare(s, s3);
+	}
+
+	@Test
+	public void sliceSelectClone() {
+		StringArray s = ArrayFactory.create(generate(300, 5, 4));
+		Array<String> d = DDCArray.compressToDDC(s);
+		FrameArrayTests.compare(d.slice(13, 200), s, 13);
+		FrameArrayTests.compare(d.clone(), s);
+		int[] ix = new int[] {3, 1, 299, 42};
+		Array<String> sel = d.select(ix);
+		for(int i = 0; i < ix.length; i++)
+			assertEquals(s.get(ix[i]), sel.get(i));
+	}
+
+	@Test
+	public void appendAndSerialize() {
+		StringArray s = ArrayFactory.create(generate(100, 5, 5));
+		DDCArray d = (DDCArray) DDCArray.compressToDDC(s);
+		d.append("other");
+		s.append("other");
+		FrameArrayTests.compare(s, d);
+		Array<?> r = FrameArrayTests.serializeAndBack(d);
+		assertTrue(r instanceof DDCArray);
+		FrameArrayTests.compare(s, r);
+	}
+
+	@Test
+	public void serializedSize() {
+		Array<String> d = DDCArray.compressToDDC(ArrayFactory.create(generate(1000, 8, 6)));
+		assertTrue(d.getExactSerializedSize() < ArrayFactory.create((String[]) d.get()).getExactSerializedSize());
+	}
+
+	@Test
+	public void recodeMap() {
+		StringArray s = ArrayFactory.create(generate(1000, 20, 8));
+		Array<String> d = DDCArray.compressToDDC(s);
+		assertEquals(s.getRecodeMap(), d.getRecodeMap());
+	}
+
+	@Test
+	public void recodeMapEmpty() {
+		DDCArray d = (DDCArray) DDCArray.compressToDDC(ArrayFactory.create(generate(100, 3, 8)));
+		d.reset(0);
+		assertTrue(d.getRecodeMap().isEmpty());
+	}
+
+	@Test
+	public void setIntoSlice() {
+		// slices of bit codes might use a smaller map than the shared dictionary requires
+		String[] vals = new String[80];
+		for(int i = 0; i < vals.length; i++)
+			vals[i] = i < 40 ? "a" : "b";
+		DDCArray d = (DDCArray) DDCArray.compressToDDC(ArrayFactory.create(vals)).slice(0, 40);
+		assertEquals(1, d.getMap().getUnique());
+		d.set(0, "b");
+		d.set(1, "c");
+		assertEquals("b", d.get(0));
+		assertEquals("c", d.get(1));
+		assertEquals("a", d.get(2));
+	}
+
+	@Test
+	public void changeType() {
+		String[] vals = new String[200];
+		Random r = new Random(9);
+		for(int i = 0; i < vals.length; i++)
+			vals[i] = r.nextInt(5) == 0 ? null : Integer.toString(r.nextInt(7));
+		StringArray s = ArrayFactory.create(vals);
+		Array<String> d = DDCArray.compressToDDC(s);
+		for(ValueType vt : new ValueType[] {ValueType.FP64, ValueType.FP32, ValueType.INT64, ValueType.INT32})
+			FrameArrayTests.compare(s.changeType(vt), d.changeType(vt));
+		assertEquals(s.analyzeValueType().getKey(), d.analyzeValueType().getKey());
+	}
+
+	@Test
+	public void frameCompare() {
+		FrameBlock a = createFrame(400, 11);
+		FrameBlock b = createFrame(400, 12);
+		FrameBlock ac = FrameLibCompress.compress(a, 2).getLeft();
+		FrameBlock bc = FrameLibCompress.compress(b, 1).getLeft();
+		assertTrue(ac.getColumn(0) instanceof DDCArray);
+		for(BinaryOperator op : new BinaryOperator[] {new BinaryOperator(Equals.getEqualsFnObject()),
+			new BinaryOperator(LessThan.getLessThanFnObject())}) {
+			FrameBlock exp = a.binaryOperations(op, b, null);
+			FrameBlock act = ac.binaryOperations(op, bc, null);
+			for(int i = 0; i < exp.getNumRows(); i++)
+				for(int j = 0; j < exp.getNumColumns(); j++)
+					assertEquals(exp.get(i, j), act.get(i, j));
+		}
+	}
+
+	private static FrameBlock createFrame(int rows, int seed) {
+		String[] c1 = generate(rows, 4, seed);
+		String[] c2 = generate(rows, 3, seed + 1);
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.STRING});
+		for(int i = 0; i < rows; i++)
+			fb.appendRow(new Object[] {c1[i], c2[i]});
+		return fb;
+	}
+
+	private static String[] generate(int size, int nDistinct, int seed) {
+		Random r = new Random(seed);
+		String[] ret = new String[size];
+		for(int i = 0; i < size; i++) {
+			int v = r.nextInt(nDistinct + 1);
+			ret[i] = v == nDistinct ? null : "v" + v;
+		}
+		return ret;
+	}
+}
@@ -44,12 +44,14 @@ import org.apache.sysds.runtime.frame.data.columns.ArrayFactory.FrameArrayType;
 import org.apache.sysds.runtime.frame.data.columns.BitSetArray;
 import org.apache.sysds.runtime.frame.data.columns.BooleanArray;
 import org.apache.sysds.runtime.frame.data.columns.CharArray;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
 import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
 import org.apache.sysds.runtime.frame.data.columns.FloatArray;
 import org.apache.sysds.runtime.frame.data.columns.IntegerArray;
 import org.apache.sysds.runtime.frame.data.columns.LongArray;
 import org.apache.sysds.runtime.frame.data.columns.OptionalArray;
 import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.frame.data.columns.UTF8Array;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibRemoveEmpty;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.junit.Test;
@@ -79,13 +81,13 @@ public class FrameArrayTests {
 					tests.add(new Object[] {create(t, 124, s), t});
 					tests.add(new Object[] {create(t, 130, s), t});
 					tests.add(new Object[] {create(t, 200, s), t});
-					if(t != FrameArrayType.STRING) {
+					if(t != FrameArrayType.STRING && t != FrameArrayType.DDC && t != FrameArrayType.UTF8) {
 						tests.add(new Object[] {createOptional(t, 13, s), FrameArrayType.OPTIONAL});
 						tests.add(new Object[] {createOptional(t, 321, s), FrameArrayType.OPTIONAL});
 					}
 					else {
-						tests.add(new Object[] {createOptional(t, 13, s), FrameArrayType.STRING});
-						tests.add(new Object[] {createOptional(t, 312, s), FrameArrayType.STRING});
+						tests.add(new Object[] {createOptional(t, 13, s), t});
+						tests.add(new Object[] {createOptional(t, 312, s), t});
 					}
 				}
 			}
@@ -194,6 +196,13 @@ public class FrameArrayTests {
 					estSize = BitSetArray.estimateInMemorySize(a.size());
 				else
 					estSize = BooleanArray.estimateInMemorySize(a.size());
+				break;
+			case STRING:
+				if(a instanceof DDCArray)
+					estSize = DDCArray.estimateInMemorySize(a.size(), ((DDCArray) a).getDictionary().size());
+				else if(a instanceof UTF8Array)
+					estSize = UTF8Array.estimateInMemorySize(a.size());
+				break;
 			default: // nothing
 		}
 		if(memSize > estSize)
@@ -319,6 +328,8 @@ public class FrameArrayTests {
 				x = (BitSet) a.get();
 				return;
 			case STRING:
+			case DDC:
+			case UTF8:
 				x = (String[]) a.get();
 				return;
 			case CHARACTER:
@@ -1565,6 +1576,11 @@ public class FrameArrayTests {
 		switch(t) {
 			case STRING:
 				return ArrayFactory.create(generateRandomStringOpt(size, seed));
+			case DDC:
+				return DDCArray.compressToDDC(ArrayFactory.create(generateRandomStringLowCardinalityOpt(size, seed)),
+					Integer.MAX_VALUE);
+			case UTF8:
+				return new UTF8Array(generateRandomStringOpt(size, seed), seed % 2 == 0);
 			case BITSET:
 				// return ArrayFactory.create(generateRandomBitSet(size, seed), size);
 			case BOOLEAN:
@@ -1605,6 +1621,11 @@ public class FrameArrayTests {
 		switch(t) {
 			case STRING:
 				return ArrayFactory.create(generateRandomString(size, seed));
+			case DDC:
+				return DDCArray.compressToDDC(ArrayFactory.create(generateRandomStringLowCardinality(size, seed)),
+					Integer.MAX_VALUE);
+			case UTF8:
+				return new UTF8Array(generateRandomString(size, seed), seed % 2 == 0);
 			case BITSET:
 				return ArrayFactory.create(generateRandomBitSet(size, seed), size);
 			case BOOLEAN:
@@ -1668,6 +1689,24 @@ public class FrameArrayTests {
 		return ret;
 	}
 
+	public static String[] generateRandomStringLowCardinality(int size, int seed) {
+		Random r = new Random(seed);
+		String[] ret = new String[size];
+		for(int i = 0; i < size; i++)
+			ret[i] = r.nextInt(12) + "ad";
+		return ret;
+	}
+
+	public static String[] generateRandomStringLowCardinalityOpt(int size, int seed) {
+		Random r = new Random(seed);
+		String[] ret = new String[size];
+		for(int i = 0; i < size; i++) {
+			if(r.nextBoolean())
+				ret[i] = r.nextInt(12) + "ad";
+		}
+		return ret;
+	}
+
 	public static String[] generateRandom01String(int size, int seed) {
 		Random r = new Random(seed);
 		String[] ret = new String[size];
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.array;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory.FrameArrayType;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.frame.data.columns.UTF8Array;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.FrameWriterTextCSV;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class UTF8ArrayTests {
+	private static final String DIR = "target/testTemp/component/frame/" + UTF8ArrayTests.class.getSimpleName() + "/";
+
+	private final boolean offHeap;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] {{false}, {true}});
+	}
+
+	public UTF8ArrayTests(boolean offHeap) {
+		this.offHeap = offHeap;
+	}
+
+	@Test
+	public void getSet() {
+		String[] vals = generate(500, 1);
+		UTF8Array a = new UTF8Array(vals, offHeap);
+		assertEquals(FrameArrayType.UTF8, a.getFrameArrayType());
+		FrameArrayTests.compare(ArrayFactory.create(vals), a);
+		assertEquals(Arrays.asList(vals).contains(null), a.containsNull());
+	}
+
+	@Test
+	public void emptyAndNull() {
+		UTF8Array a = new UTF8Array(new String[] {"", null, "0", "x"}, offHeap);
+		assertEquals("", a.get(0));
+		assertNull(a.get(1));
+		assertTrue(a.containsNull());
+		assertEquals(-1, a.getUTF8Length(1));
+		assertEquals(0, a.getUTF8Length(0));
+		assertTrue(!a.isNotEmpty(2) && a.isNotEmpty(3));
+	}
+
+	@Test
+	public void outOfOrderSet() {
+		String[] vals = generate(200, 2);
+		StringArray s = ArrayFactory.create(vals.clone());
+		UTF8Array a = new UTF8Array(vals, offHeap);
+		Random r = new Random(3);
+		for(int k = 0; k < 300; k++) {
+			int i = r.nextInt(vals.length);
+			String v = r.nextInt(10) == 0 ? null : "ä€" + r.nextInt(100000);
+			s.set(i, v);
+			a.set(i, v);
+		}
+		assertFalse(a.isCompact());
+		FrameArrayTests.compare(s, a);
+		FrameArrayTests.compare(s, a.slice(0, 200));
+		Array<?> back = FrameArrayTests.serializeAndBack(a);
+		assertTrue(((UTF8Array) back).isCompact());
+		FrameArrayTests.compare(s, back);
+		a.append("x");
+		assertEquals("x", a.get(200));
+	}
+
+	@Test
+	public void sameLengthSetInPlace() {
+		UTF8Array a = new UTF8Array(new String[] {"aa", "bb", "cc"}, offHeap);
+		a.set(1, "xy");
+		a.set(0, (String) null);
+		assertTrue(a.isCompact());
+		assertNull(a.get(0));
+		assertEquals("xy", a.get(1));
+		assertEquals("cc", a.get(2));
+	}
+
+	@Test
+	public void parallelDisjointSet() throws Exception {
+		final int n = 1000;
+		final String[] vals = generate(n, 11);
+		final UTF8Array a = new UTF8Array(n, offHeap);
+		final Random r = new Random(12);
+		// overwrite the first half with values of different length to force the fallback while writing
+		for(int i = 0; i < n / 2; i++)
+			a.set(i, "v" + r.nextInt(10));
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int k = 0; k < 4; k++) {
+				final int off = k;
+				tasks.add(pool.submit(() -> {
+					for(int i = off; i < n; i += 4)
+						a.set(i, vals[i]);
+				}));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+		FrameArrayTests.compare(ArrayFactory.create(vals), a);
+	}
+
+	@Test
+	public void sparseSet() {
+		UTF8Array a = new UTF8Array(100, offHeap);
+		a.set(10, "a");
+		a.set(50, "bb");
+		assertNull(a.get(0));
+		assertNull(a.get(30));
+		assertNull(a.get(99));
+		assertEquals("a", a.get(10));
+		assertEquals("bb", a.get(50));
+		a.set(5, "ccc");
+		assertEquals("ccc", a.get(5));
+		assertEquals("a", a.get(10));
+		assertEquals("bb", a.get(50));
+	}
+
+	@Test
+	public void appendSliceSelect() {
+		String[] vals = generate(300, 4);
+		StringArray s = ArrayFactory.create(vals);
+		UTF8Array a = new UTF8Array(vals, offHeap);
+		assertEquals(237, a.slice(13, 250).size());
+		FrameArrayTests.compare(a.slice(13, 250), s, 13);
+		FrameArrayTests.compare(a.clone(), s);
+		int[] ix = new int[] {3, 1, 299, 42};
+		Array<String> sel = a.select(ix);
+		for(int i = 0; i < ix.length; i++)
+			assertEquals(s.get(ix[i]), sel.get(i));
+
+		Array<String> app = a.append(new UTF8Array(generate(50, 5), offHeap));
+		FrameArrayTests.compare(ArrayFactory.append(s, ArrayFactory.create(generate(50, 5))), app);
+		for(int i = 0; i < 10; i++)
+			a.append("v" + i);
+		assertEquals(310, a.size());
+		assertEquals("v9", a.get(309));
+	}
+
+	@Test
+	public void serialize() throws Exception {
+		UTF8Array a = new UTF8Array(generate(1000, 6), offHeap);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream fos = new DataOutputStream(bos);
+		a.write(fos);
+		assertEquals(a.getExactSerializedSize(), fos.size());
+		Array<?> r = FrameArrayTests.serializeAndBack(a);
+		assertTrue(r instanceof UTF8Array);
+		assertEquals(offHeap, ((UTF8Array) r).isOffHeap());
+		FrameArrayTests.compare(a, r);
+	}
+
+	@Test
+	public void serializeFrame() throws Exception {
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.FP64});
+		fb.ensureAllocatedColumns(100);
+		fb.setColumn(0, new UTF8Array(generate(100, 7), offHeap));
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		fb.write(new DataOutputStream(bos));
+		FrameBlock fb2 = new FrameBlock();
+		fb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		assertTrue(fb2.getColumn(0) instanceof UTF8Array);
+		FrameArrayTests.compare(fb.getColumn(0), fb2.getColumn(0));
+	}
+
+	@Test
+	public void recodeMapAndChangeType() {
+		String[] vals = new String[300];
+		Random r = new Random(8);
+		for(int i = 0; i < vals.length; i++)
+			vals[i] = r.nextInt(10) == 0 ? null : Integer.toString(r.nextInt(50));
+		StringArray s = ArrayFactory.create(vals);
+		UTF8Array a = new UTF8Array(vals, offHeap);
+		assertEquals(s.getRecodeMap(), a.getRecodeMap());
+		FrameArrayTests.compare(s.changeType(ValueType.FP64), a.changeType(ValueType.FP64));
+		FrameArrayTests.compare(s.changeType(ValueType.INT64), a.changeType(ValueType.INT64));
+		assertEquals(s.analyzeValueType().getKey(), a.analyzeValueType().getKey());
+		assertEquals(s.getMinMaxLength().getValue(), a.getMinMaxLength().getValue());
+	}
+
+	@Test
+	public void readCSV() throws Exception {
+		String fname = DIR + "csv_" + offHeap;
+		int rows = 3000;
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.INT64, ValueType.STRING});
+		String[] c1 = generate(rows, 9);
+		String[] c3 = generate(rows, 10);
+		for(int i = 0; i < rows; i++)
+			fb.appendRow(new Object[] {c1[i], (long) i, c3[i]});
+		try {
+			new File(DIR).mkdirs();
+			FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(true, ",", false);
+			new FrameWriterTextCSV(props).writeFrameToHDFS(fb, fname, rows, 3);
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.FRAME_STRING_STORAGE, offHeap ? "utf8_offheap" : "utf8");
+			ConfigurationManager.setLocalConfig(conf);
+			FrameBlock ret = new FrameReaderTextCSVParallel(props).readFrameFromHDFS(fname, fb.getSchema(), rows, 3);
+			assertTrue(ret.getColumn(0) instanceof UTF8Array);
+			for(int j = 0; j < 3; j++)
+				FrameArrayTests.compare(fb.getColumn(j), ret.getColumn(j));
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+			FileUtils.deleteDirectory(new File(DIR));
+		}
+	}
+
+	private static String[] generate(int size, int seed) {
+		Random r = new Random(seed);
+		String[] ret = new String[size];
+		for(int i = 0; i < size; i++) {
+			int v = r.nextInt(20);
+			ret[i] = v == 0 ? null : (v == 1 ? "üß" : "") + "s" + r.nextInt(1000) + "_" + v;
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.sketch.quantile.KLLSketch;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderBin;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderBin.BinMethod;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class EquiHeightSketchTest {
+
+	@Test
+	public void testSketchExactSmall() {
+		KLLSketch sketch = new KLLSketch(200);
+		for(int i = 100; i > 0; i--)
+			sketch.update(i);
+		sketch.update(Double.NaN);
+		assertTrue(sketch.isExact());
+		assertEquals(100, sketch.getN());
+		assertEquals(1, sketch.getMin(), 0);
+		assertEquals(100, sketch.getMax(), 0);
+		for(int r = 1; r <= 100; r++)
+			assertEquals(r, sketch.getQuantileByRank(r), 0);
+	}
+
+	@Test
+	public void testSketchRankError() {
+		int n = 200000, k = 1000;
+		double[] vals = new double[n];
+		Random rand = new Random(7);
+		KLLSketch sketch = new KLLSketch(k);
+		KLLSketch[] parts = new KLLSketch[7];
+		for(int j = 0; j < parts.length; j++)
+			parts[j] = new KLLSketch(k);
+		for(int i = 0; i < n; i++) {
+			vals[i] = rand.nextGaussian();
+			sketch.update(vals[i]);
+			parts[i % parts.length].update(vals[i]);
+		}
+		KLLSketch merged = new KLLSketch(k);
+		for(KLLSketch part : parts)
+			merged.merge(part);
+		assertFalse(sketch.isExact());
+		assertTrue(sketch.getNumRetained() < 4 * k);
+		assertEquals(n, merged.getN());
+
+		Arrays.sort(vals);
+		checkRankError(sketch, vals, 3.0 / k);
+		checkRankError(merged, vals, 3.0 / k);
+	}
+
+	@Test
+	public void testSketchSerialization() throws Exception {
+		KLLSketch sketch = new KLLSketch(100);
+		Random rand = new Random(3);
+		for(int i = 0; i < 10000; i++)
+			sketch.update(rand.nextDouble());
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(sketch);
+		}
+		KLLSketch sketch2;
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			sketch2 = (KLLSketch) ois.readObject();
+		}
+		assertEquals(sketch.getN(), sketch2.getN());
+		assertEquals(sketch.getNumRetained(), sketch2.getNumRetained());
+		for(double q = 0.05; q < 1; q += 0.05)
+			assertEquals(sketch.getQuantile(q), sketch2.getQuantile(q), 0);
+	}
+
+	@Test
+	public void testBinBoundariesExact() {
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(1000, 1, 0, 100, 1.0, 7);
+		ColumnEncoderBin bin = new ColumnEncoderBin(1, 7, BinMethod.EQUI_HEIGHT);
+		bin.build(in);
+
+		double[] sorted = in.getDenseBlockValues().clone();
+		Arrays.sort(sorted);
+		double[] expected = new double[7];
+		for(int i = 0; i < 7; i++)
+			expected[i] = sorted[(int) Math.ceil(1000 * (i + 1d) / 7) - 1];
+		assertArrayEquals(expected, bin.getBinMaxs(), 0);
+		assertEquals(sorted[0], bin.getBinMins()[0], 0);
+	}
+
+	@Test
+	public void testBinBoundariesIgnoreNaN() {
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(500, 1, 0, 100, 1.0, 7);
+		MatrixBlock inNaN = new MatrixBlock(1000, 1, false).allocateBlock();
+		for(int i = 0; i < 500; i++) {
+			inNaN.quickSetValue(2 * i, 0, in.quickGetValue(i, 0));
+			inNaN.quickSetValue(2 * i + 1, 0, Double.NaN);
+		}
+		ColumnEncoderBin bin = new ColumnEncoderBin(1, 5, BinMethod.EQUI_HEIGHT);
+		bin.build(in);
+		ColumnEncoderBin binNaN = new ColumnEncoderBin(1, 5, BinMethod.EQUI_HEIGHT);
+		binNaN.build(inNaN);
+		assertArrayEquals(bin.getBinMins(), binNaN.getBinMins(), 0);
+		assertArrayEquals(bin.getBinMaxs(), binNaN.getBinMaxs(), 0);
+	}
+
+	@Test
+	public void testBinPartialBuildAndMerge() throws Exception {
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(1000, 1, -10, 10, 1.0, 11);
+		ColumnEncoderBin bin = new ColumnEncoderBin(1, 10, BinMethod.EQUI_HEIGHT);
+		bin.build(in);
+
+		// multi-threaded partial build over row blocks
+		ColumnEncoderBin binPart = new ColumnEncoderBin(1, 10, BinMethod.EQUI_HEIGHT);
+		HashMap<Integer, Object> partials = new HashMap<>();
+		for(int i = 0; i < 1000; i += 300)
+			binPart.getPartialBuildTask(in, i, 300, partials).call();
+		binPart.getPartialMergeBuildTask(partials).call();
+		assertArrayEquals(bin.getBinMaxs(), binPart.getBinMaxs(), 0);
+		assertNull(binPart.getSketch());
+
+		// merge of encoders partially built over row partitions
+		ColumnEncoderBin bin1 = new ColumnEncoderBin(1, 10, BinMethod.EQUI_HEIGHT);
+		bin1.prepareBuildPartial();
+		bin1.buildPartial(DataConverter.convertToFrameBlock(in.slice(0, 399)));
+		ColumnEncoderBin bin2 = new ColumnEncoderBin(1, 10, BinMethod.EQUI_HEIGHT);
+		bin2.prepareBuildPartial();
+		bin2.buildPartial(DataConverter.convertToFrameBlock(in.slice(400, 999)));
+		bin1.mergeAt(bin2);
+		assertArrayEquals(bin.getBinMins(), bin1.getBinMins(), 0);
+		assertArrayEquals(bin.getBinMaxs(), bin1.getBinMaxs(), 0);
+	}
+
+	@Test
+	public void testSketchDroppedAfterBuild() throws Exception {
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(10000, 1, 0, 100, 1.0, 13);
+		ColumnEncoderBin bin = new ColumnEncoderBin(1, 10, BinMethod.EQUI_HEIGHT);
+		bin.build(in);
+		assertNull(bin.getSketch());
+		ColumnEncoderBin binPart = new ColumnEncoderBin(1, 10, BinMethod.EQUI_HEIGHT);
+		binPart.prepareBuildPartial();
+		binPart.buildPartial(DataConverter.convertToFrameBlock(in));
+		assertNotNull(binPart.getSketch());
+		// serialized encoders only carry the sketch during partial builds
+		assertTrue(serializedSize(bin) < serializedSize(binPart));
+	}
+
+	@Test
+	public void testBinBoundariesAllNaN() {
+		MatrixBlock in = new MatrixBlock(100, 1, Double.NaN);
+		for(BinMethod method : new BinMethod[] {BinMethod.EQUI_HEIGHT, BinMethod.EQUI_WIDTH}) {
+			ColumnEncoderBin bin = new ColumnEncoderBin(1, 4, method);
+			bin.build(in);
+			assertArrayEquals(new double[4], bin.getBinMins(), 0);
+			assertArrayEquals(new double[4], bin.getBinMaxs(), 0);
+			MatrixBlock out = bin.apply(in, new MatrixBlock(100, 1, false).allocateBlock(), 0);
+			for(int i = 0; i < 100; i++)
+				assertTrue(Double.isNaN(out.quickGetValue(i, 0)));
+		}
+	}
+
+	private static int serializedSize(ColumnEncoderBin bin) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			bin.writeExternal(oos);
+		}
+		return bos.size();
+	}
+
+	private static void checkRankError(KLLSketch sketch, double[] sorted, double eps) {
+		int n = sorted.length;
+		for(int q = 1; q < 100; q++) {
+			double rank = Math.ceil(n * q / 100.0);
+			double v = sketch.getQuantileByRank(rank);
+			int trueRank = Arrays.binarySearch(sorted, v) + 1;
+			assertTrue("rank error at q=" + q, Math.abs(trueRank - rank) / n <= eps);
+		}
+	}
+}
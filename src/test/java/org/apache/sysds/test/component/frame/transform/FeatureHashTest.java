@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderComposite;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderDummycode;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderFeatureHash;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderFeatureHash.HashFunction;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Hash;
+import org.junit.Test;
+
+public class FeatureHashTest {
+	private static final int K = 17;
+
+	@Test
+	public void testXXHash64Vectors() {
+		assertEquals(0xEF46DB3751D8E999L, xxHash64(""));
+		assertEquals(0xD24EC4F1A98C6E5BL, xxHash64("a"));
+		assertEquals(0x44BC2CF5AD770999L, xxHash64("abc"));
+		assertEquals(0x0A351B1E2D0183AFL, xxHash64("0123456789012345678901234567890123456789abcdefghij"));
+		byte[] buff = new byte[8];
+		long v = 0x0123456789ABCDEFL;
+		for(int i = 0; i < 8; i++)
+			buff[i] = (byte) (v >>> (8 * i));
+		assertEquals(Hash.xxHash64(buff, 0, 8, 7), Hash.xxHash64(v, 7));
+	}
+
+	@Test
+	public void testJavaHashNonNegative() {
+		FrameBlock in = createStrings(1000);
+		MatrixBlock out = encode(in, new ColumnEncoderFeatureHash(1, K, HashFunction.JAVA, false));
+		for(int i = 0; i < in.getNumRows(); i++) {
+			double code = out.quickGetValue(i, 0);
+			assertEquals(Math.floorMod(in.get(i, 0).hashCode(), K) + 1, code, 0);
+		}
+	}
+
+	@Test
+	public void testXXHashStrings() {
+		FrameBlock in = createStrings(1000);
+		MatrixBlock out = encode(in, new ColumnEncoderFeatureHash(1, K, HashFunction.XXHASH64, false));
+		for(int i = 0; i < in.getNumRows(); i++) {
+			long h = xxHash64((String) in.get(i, 0));
+			assertEquals(Long.remainderUnsigned(h, K) + 1, out.quickGetValue(i, 0), 0);
+		}
+	}
+
+	@Test
+	public void testXXHashNumeric() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 1, -50, 50, 1.0, 7));
+		mb.quickSetValue(0, 0, -0.0);
+		mb.quickSetValue(1, 0, 0.0);
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.FP64});
+		for(int i = 0; i < mb.getNumRows(); i++)
+			fb.appendRow(new Object[] {mb.quickGetValue(i, 0)});
+		ColumnEncoderFeatureHash enc = new ColumnEncoderFeatureHash(1, K, HashFunction.XXHASH64, false);
+		MatrixBlock out1 = encode(mb, enc);
+		MatrixBlock out2 = encode(fb, new ColumnEncoderFeatureHash(1, K, HashFunction.XXHASH64, false));
+		TestUtils.compareMatrices(out1, out2, 0, "Not equal matrix and frame codes");
+		assertEquals(out1.quickGetValue(0, 0), out1.quickGetValue(1, 0), 0);
+		for(int i = 0; i < mb.getNumRows(); i++) {
+			double code = out1.quickGetValue(i, 0);
+			assertTrue(code >= 1 && code <= K);
+		}
+	}
+
+	@Test
+	public void testSignedDummycode() {
+		FrameBlock in = createStrings(2000);
+		MatrixBlock codes = encode(in, new ColumnEncoderFeatureHash(1, K, HashFunction.XXHASH64, true));
+		MultiColumnEncoder encoder = new MultiColumnEncoder(Arrays.asList(new ColumnEncoderComposite(
+			Arrays.asList(new ColumnEncoderFeatureHash(1, K, HashFunction.XXHASH64, true), new ColumnEncoderDummycode(1)))));
+		MatrixBlock out = encoder.encode(in, 1);
+		MatrixBlock out2 = encoder.apply(in, 4);
+		TestUtils.compareMatrices(out, out2, 0, "Not equal after multi-threaded apply");
+		assertEquals(K, out.getNumColumns());
+		int numNeg = 0;
+		for(int i = 0; i < in.getNumRows(); i++) {
+			double code = codes.quickGetValue(i, 0);
+			assertTrue(code != 0 && Math.abs(code) <= K);
+			for(int j = 0; j < K; j++)
+				assertEquals(j == (int) Math.abs(code) - 1 ? Math.signum(code) : 0, out.quickGetValue(i, j), 0);
+			numNeg += code < 0 ? 1 : 0;
+		}
+		// both signs occur with roughly equal probability
+		assertTrue(numNeg > 800 && numNeg < 1200);
+	}
+
+	@Test
+	public void testMetaDataRoundTrip() {
+		FrameBlock in = createStrings(500);
+		ColumnEncoderFeatureHash enc = new ColumnEncoderFeatureHash(1, K, HashFunction.XXHASH64, true);
+		MatrixBlock out = encode(in, enc);
+		FrameBlock meta = enc.getMetaData(new FrameBlock(1, ValueType.STRING));
+
+		// apply with meta data restores the hash function and sign independent of the encoder defaults
+		ColumnEncoderFeatureHash enc2 = new ColumnEncoderFeatureHash(1, 3, HashFunction.JAVA, false);
+		enc2.initMetaData(meta);
+		assertEquals(K, enc2.getK());
+		assertEquals(HashFunction.XXHASH64, enc2.getHashFunction());
+		assertTrue(enc2.isSigned());
+		MultiColumnEncoder encoder = new MultiColumnEncoder(Arrays.asList(new ColumnEncoderComposite(enc2)));
+		TestUtils.compareMatrices(out, encoder.apply(in), 0, "Not equal codes after meta data round trip");
+
+		// plain K of existing meta data uses the default hash function
+		FrameBlock meta2 = new FrameBlock(1, ValueType.STRING);
+		meta2.ensureAllocatedColumns(1);
+		meta2.set(0, 0, String.valueOf(K));
+		enc2.initMetaData(meta2);
+		assertEquals(HashFunction.JAVA, enc2.getHashFunction());
+		assertTrue(!enc2.isSigned());
+	}
+
+	private static MatrixBlock encode(Object in, ColumnEncoder enc) {
+		MultiColumnEncoder encoder = new MultiColumnEncoder(Arrays.asList(new ColumnEncoderComposite(enc)));
+		return (in instanceof FrameBlock) ? encoder.encode((FrameBlock) in) : encoder.encode((MatrixBlock) in);
+	}
+
+	private static FrameBlock createStrings(int rows) {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.STRING});
+		Random rand = new Random(13);
+		String alphabet = "abcdefghijXYZ019_äß€😀";
+		for(int i = 0; i < rows; i++) {
+			StringBuilder sb = new StringBuilder();
+			int len = 1 + rand.nextInt(40);
+			for(int j = 0; j < len; j++) {
+				char c = alphabet.charAt(rand.nextInt(alphabet.length()));
+				if(Character.isHighSurrogate(c))
+					sb.append(c).append('\ude00');
+				else if(!Character.isLowSurrogate(c))
+					sb.append(c);
+			}
+			in.appendRow(new Object[] {sb.toString()});
+		}
+		return in;
+	}
+
+	private static long xxHash64(String s) {
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		return Hash.xxHash64(b, 0, b.length, 0);
+	}
+}
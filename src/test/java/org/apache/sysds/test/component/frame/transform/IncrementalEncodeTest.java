@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class IncrementalEncodeTest {
+	private static final ValueType[] SCHEMA = {ValueType.STRING, ValueType.STRING, ValueType.FP64};
+	private static final String[][] DAY1 = {{"a", "x", "1"}, {"b", "y", "2"}, {"a", "z", "3"}, {"c", "x", "4"}};
+	private static final String[][] DAY2 = {{"d", "y", "5"}, {"a", "w", "6"}, {"e", "x", "7"}, {"d", "x", "8"}};
+
+	@Test
+	public void testStableRecodeExtension() {
+		FrameBlock meta1 = encode(DAY1, "{ids:true, recode:[1,2]}", null).getMetaData(null);
+		MultiColumnEncoder encoder = encode(DAY2, "{ids:true, recode:[1,2]}", meta1);
+		FrameBlock meta2 = encoder.getMetaData(null);
+
+		HashMap<Object, Long> map1 = meta1.getRecodeMap(0);
+		HashMap<Object, Long> map2 = meta2.getRecodeMap(0);
+		assertEquals(3, map1.size());
+		assertEquals(5, map2.size());
+		for(Object key : map1.keySet())
+			assertEquals(map1.get(key), map2.get(key));
+		// new categories in order of first occurrence
+		assertEquals(Long.valueOf(4), map2.get("d"));
+		assertEquals(Long.valueOf(5), map2.get("e"));
+		assertEquals(Long.valueOf(4), meta2.getRecodeMap(1).get("w"));
+	}
+
+	@Test
+	public void testDummycodeDomainUpdate() {
+		String spec = "{ids:true, recode:[1], dummycode:[1]}";
+		FrameBlock meta1 = encode(DAY1, spec, null).getMetaData(null);
+		MultiColumnEncoder encoder = createEncoder(spec, meta1);
+		FrameBlock in = new FrameBlock(SCHEMA, DAY2);
+		encoder.extendMetaData(in);
+		MatrixBlock out = encoder.apply(in);
+		assertEquals(5 + 2, out.getNumColumns());
+
+		// one-hot positions given by the stable codes
+		HashMap<Object, Long> map = encoder.getMetaData(null).getRecodeMap(0);
+		for(int i = 0; i < DAY2.length; i++)
+			assertEquals(1, out.quickGetValue(i, map.get(DAY2[i][0]).intValue() - 1), 0);
+
+		// equivalent to transformapply with the updated metadata
+		MatrixBlock out2 = createEncoder(spec, encoder.getMetaData(null)).apply(in);
+		TestUtils.compareMatrices(out2, out, 0, "Not equal to transformapply");
+	}
+
+	@Test
+	public void testUnchangedMetadata() {
+		String spec = "{ids:true, recode:[1,2], bin:[{id:3, method:equi-width, numbins:3}]}";
+		MultiColumnEncoder encoder1 = encode(DAY1, spec, null);
+		FrameBlock in = new FrameBlock(SCHEMA, DAY1);
+		MatrixBlock out1 = encoder1.apply(in);
+		MultiColumnEncoder encoder2 = createEncoder(spec, encoder1.getMetaData(null));
+		encoder2.extendMetaData(in);
+		TestUtils.compareMatrices(out1, encoder2.apply(in), 0, "Not equal without new categories");
+		FrameBlock meta1 = encoder1.getMetaData(null);
+		FrameBlock meta2 = encoder2.getMetaData(null);
+		assertEquals(meta1.getRecodeMap(0), meta2.getRecodeMap(0));
+		assertEquals(meta1.getRecodeMap(1), meta2.getRecodeMap(1));
+	}
+
+	private static MultiColumnEncoder encode(String[][] data, String spec, FrameBlock meta) {
+		FrameBlock in = new FrameBlock(SCHEMA, data);
+		MultiColumnEncoder encoder = createEncoder(spec, meta);
+		if(meta == null)
+			encoder.encode(in);
+		else {
+			encoder.extendMetaData(in);
+			encoder.apply(in);
+		}
+		return encoder;
+	}
+
+	private static MultiColumnEncoder createEncoder(String spec, FrameBlock meta) {
+		return EncoderFactory.createEncoder(spec, new FrameBlock(SCHEMA).getColumnNames(), SCHEMA.length, meta);
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderRecode;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.StreamingEncode;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class StreamingEncodeTest {
+	private static final String DIR = "target/testTemp/component/frame/transform/" + StreamingEncodeTest.class.getSimpleName() + "/";
+	private static final String SPEC = "{ids:true, recode:[1], dummycode:[1], bin:[{id:2, method:equi-width, numbins:4}]}";
+	private static final ValueType[] SCHEMA = {ValueType.STRING, ValueType.FP64, ValueType.FP64};
+	private static final int ROWS = 3500;
+	private static final int DISTINCT = 53;
+
+	@BeforeClass
+	public static void setup() {
+		new File(DIR).mkdirs();
+	}
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(DIR));
+	}
+
+	@Test
+	public void testBinaryBlocksAligned() throws Exception {
+		runStreamingEncode(FileFormat.BINARY, 1000, 4);
+	}
+
+	@Test
+	public void testBinaryBlocksUnaligned() throws Exception {
+		// input blocks of 1000 rows buffered into output blocks of 300 rows
+		runStreamingEncode(FileFormat.BINARY, 300, 1);
+	}
+
+	@Test
+	public void testCSV() throws Exception {
+		runStreamingEncode(FileFormat.CSV, 700, 1);
+	}
+
+	private static void runStreamingEncode(FileFormat fmt, int blen, int k) throws Exception {
+		FrameBlock in = createInput();
+		String input = DIR + "in_" + fmt + "_" + blen;
+		String output = DIR + "out_" + fmt + "_" + blen;
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(true, ",", false);
+		FrameWriterFactory.createFrameWriter(fmt, props).writeFrameToHDFS(in, input, ROWS, SCHEMA.length);
+
+		StreamingEncode encode = new StreamingEncode(SPEC, blen, k);
+		DataCharacteristics dc = encode.encode(FrameReaderFactory.createFrameReader(fmt, props),
+			input, SCHEMA, SCHEMA.length, output);
+		MatrixBlock out = DataConverter.readMatrixFromHDFS(output, FileFormat.BINARY, dc.getRows(), dc.getCols(), blen);
+
+		MultiColumnEncoder encoder = EncoderFactory.createEncoder(SPEC, in.getColumnNames(), SCHEMA.length, null);
+		MatrixBlock expected = encoder.encode(in);
+		assertEquals(ROWS, dc.getRows());
+		assertEquals(expected.getNumColumns(), dc.getCols());
+		assertEquals(expected.recomputeNonZeros(), dc.getNonZeros());
+
+		// recode codes depend on the merge order, so check the one-hot columns against the merged recode map
+		HashMap<Object, Long> rcdMap = encode.getEncoder().getColumnEncoder(1, ColumnEncoderRecode.class).getRcdMap();
+		assertEquals(DISTINCT, rcdMap.size());
+		for(int i = 0; i < ROWS; i++) {
+			long code = rcdMap.get(in.get(i, 0));
+			for(int j = 0; j < DISTINCT; j++)
+				assertEquals(j == code - 1 ? 1 : 0, out.quickGetValue(i, j), 0);
+		}
+		TestUtils.compareMatrices(expected.slice(0, ROWS - 1, DISTINCT, DISTINCT + 1),
+			out.slice(0, ROWS - 1, DISTINCT, DISTINCT + 1), 0, "Not equal binned and pass-through columns");
+		assertEquals(DISTINCT, encode.getMetaData().getNumRows());
+	}
+
+	private static FrameBlock createInput() {
+		FrameBlock in = new FrameBlock(SCHEMA);
+		Random rand = new Random(7);
+		for(int i = 0; i < ROWS; i++)
+			in.appendRow(new Object[] {"c" + (i * 7 % DISTINCT), rand.nextDouble() * 100, (double) rand.nextInt(10)});
+		return in;
+	}
+}
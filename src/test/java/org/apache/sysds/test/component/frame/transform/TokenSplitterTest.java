@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.transform.tokenize.Token;
+import org.apache.sysds.runtime.transform.tokenize.TokenSplitter;
+import org.apache.sysds.runtime.transform.tokenize.Tokenizer;
+import org.apache.sysds.runtime.transform.tokenize.TokenizerFactory;
+import org.junit.Test;
+
+public class TokenSplitterTest {
+	private static final String[] REGEX = {"\\s+", "\\W+", "\\s", ",", "\\.", "[,;]+", "a+", "-"};
+
+	@Test
+	public void testSplitEquivalence() {
+		Random rand = new Random(7);
+		String alphabet = "ab c\t\n,._-xyZ09 \r;;";
+		for(String regex : REGEX) {
+			TokenSplitter splitter = TokenSplitter.compile(regex);
+			for(int t = 0; t < 500; t++) {
+				StringBuilder sb = new StringBuilder();
+				int len = rand.nextInt(40);
+				for(int i = 0; i < len; i++)
+					sb.append(alphabet.charAt(rand.nextInt(alphabet.length())));
+				String text = sb.toString();
+				List<String> expected = new ArrayList<>();
+				for(String token : text.split(regex))
+					if(!token.isEmpty())
+						expected.add(token);
+				List<String> actual = new ArrayList<>();
+				int num = splitter.split(text, (seq, start, end) -> actual.add(text.substring(start, end)));
+				assertEquals(regex + ": '" + text + "'", expected, actual);
+				assertEquals(expected.size(), num);
+			}
+		}
+	}
+
+	@Test
+	public void testTokenHashCode() {
+		List<Token> tokens = Arrays.asList(new Token("ab", 0), new Token("c", 3), new Token("xyz", 5));
+		for(int n = 1; n <= tokens.size(); n++) {
+			Token ngram = new Token(tokens.subList(0, n));
+			assertEquals(ngram.toString().hashCode(), ngram.hashCode());
+		}
+		// tokens of document ranges are equivalent to tokens of substrings
+		String doc = "ab c  xyz";
+		List<Token> ranges = Arrays.asList(new Token(doc, 0, 2), new Token(doc, 3, 4), new Token(doc, 6, 9));
+		for(int n = 1; n <= tokens.size(); n++) {
+			Token ngram = new Token(ranges.subList(0, n));
+			assertEquals(new Token(tokens.subList(0, n)).toString(), ngram.toString());
+			assertEquals(ngram.toString().hashCode(), ngram.hashCode());
+		}
+		assertEquals(3, ranges.get(1).getStartIndex(0));
+	}
+
+	@Test
+	public void testTokenizeCount() {
+		FrameBlock in = createInput();
+		Tokenizer tokenizer = TokenizerFactory.createTokenizer(
+			"{\"algo\": \"split\", \"out\": \"count\", \"out_params\": {\"sort_alpha\": true}, "
+			+ "\"id_cols\": [1], \"tokenize_col\": 2}", 10);
+		FrameBlock out = tokenizer.tokenize(in);
+		String[][] expected = {{"1", "a", "2"}, {"1", "b", "1"}, {"1", "c", "1"}, {"2", "x", "3"}};
+		assertEquals(expected.length, out.getNumRows());
+		for(int i = 0; i < expected.length; i++)
+			for(int j = 0; j < 3; j++)
+				assertEquals(expected[i][j], String.valueOf(out.get(i, j)));
+	}
+
+	@Test
+	public void testTokenizeHash() {
+		FrameBlock in = createInput();
+		Tokenizer tokenizer = TokenizerFactory.createTokenizer(
+			"{\"algo\": \"split\", \"out\": \"hash\", \"out_params\": {\"num_features\": 1}, "
+			+ "\"id_cols\": [1], \"tokenize_col\": 2}", 10);
+		FrameBlock out = tokenizer.tokenize(in);
+		// all tokens map to the single hash bucket
+		assertEquals(2, out.getNumRows());
+		assertEquals(1L, out.get(0, 1));
+		assertEquals(4L, out.get(0, 2));
+		assertEquals(3L, out.get(1, 2));
+	}
+
+	private static FrameBlock createInput() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.STRING});
+		in.appendRow(new Object[] {"1", "a b\ta  c"});
+		in.appendRow(new Object[] {"2", " x x x "});
+		return in;
+	}
+}
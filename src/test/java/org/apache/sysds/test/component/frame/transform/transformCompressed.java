@@ -19,6 +19,7 @@
 
 package org.apache.sysds.test.component.frame.transform;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 
 import org.apache.commons.logging.Log;
@@ -59,42 +60,93 @@ public class transformCompressed {
 		test("{dummycode:[C1]}");
 	}
 
-	// @Test
-	// public void testBin() {
-	// test("{ids:true, bin:[{id:1, method:equi-width, numbins:4}]}");
-	// }
+	@Test
+	public void testBin() {
+		test("{ids:true, bin:[{id:1, method:equi-width, numbins:4}]}");
+	}
+
+	@Test
+	public void testBin2() {
+		test("{ids:true, bin:[{id:1, method:equi-width, numbins:100}]}");
+	}
+
+	@Test
+	public void testBin3() {
+		test("{ids:true, bin:[{id:1, method:equi-width, numbins:2}]}");
+	}
+
+	@Test
+	public void testBin4() {
+		test("{ids:true, bin:[{id:1, method:equi-height, numbins:2}]}");
+	}
+
+	@Test
+	public void testBin5() {
+		test("{ids:true, bin:[{id:1, method:equi-height, numbins:10}]}");
+	}
+
+	@Test
+	public void testBinToDummy() {
+		test("{ids:true, bin:[{id:1, method:equi-width, numbins:4}], dummycode:[1]}");
+	}
+
+	@Test
+	public void testHash() {
+		test("{ids:true, hash:[1], K:5}");
+	}
+
+	@Test
+	public void testHashToDummy() {
+		test("{ids:true, hash:[1], K:5, dummycode:[1]}");
+	}
+
+	@Test
+	public void testPassThroughMissing() {
+		test(createMissing(), "{ids:true}");
+	}
 
-	// @Test
-	// public void testBin2() {
-	// test("{ids:true, bin:[{id:1, method:equi-width, numbins:100}]}");
-	// }
+	@Test
+	public void testImpute() {
+		test(createMissing(), "{ids:true, impute:[{id:1, method:global_mean}]}");
+	}
+
+	@Test
+	public void testImputeFP64() {
+		MatrixBlock out = test(createMissingFP(ValueType.FP64), "{ids:true, impute:[{id:1, method:global_mean}]}");
+		assertFalse(out.slice(0, out.getNumRows() - 1, 0, 0).containsValue(Double.NaN));
+	}
+
+	@Test
+	public void testImputeModeFP32() {
+		MatrixBlock out = test(createMissingFP(ValueType.FP32), "{ids:true, impute:[{id:1, method:global_mode}]}");
+		assertFalse(out.slice(0, out.getNumRows() - 1, 0, 0).containsValue(Double.NaN));
+	}
 
-	// @Test
-	// public void testBin3() {
-	// test("{ids:true, bin:[{id:1, method:equi-width, numbins:2}]}");
-	// }
+	@Test
+	public void testOmitBin() {
+		test(createMissing(), "{ids:true, omit:[2], bin:[{id:1, method:equi-width, numbins:4}]}");
+	}
 
-	// @Test
-	// public void testBin4() {
-	// test("{ids:true, bin:[{id:1, method:equi-height, numbins:2}]}");
-	// }
+	@Test
+	public void testOmitRecodeToDummy() {
+		test(createMissing(), "{ids:true, omit:[1], recode:[2], dummycode:[2]}");
+	}
 
-	// @Test
-	// public void testBin5() {
-	// test("{ids:true, bin:[{id:1, method:equi-height, numbins:10}]}");
-	// }
+	public MatrixBlock test(String spec) {
+		return test(data, spec);
+	}
 
-	public void test(String spec) {
+	public MatrixBlock test(FrameBlock in, String spec) {
 		try {
 
 			FrameBlock meta = null;
-			MultiColumnEncoder encoderCompressed = EncoderFactory.createEncoder(spec, data.getColumnNames(),
-				data.getNumColumns(), meta);
-			MatrixBlock outCompressed = encoderCompressed.encode(data, true);
+			MultiColumnEncoder encoderCompressed = EncoderFactory.createEncoder(spec, in.getColumnNames(),
+				in.getNumColumns(), meta);
+			MatrixBlock outCompressed = encoderCompressed.encode(in, true);
 			FrameBlock outCompressedMD = encoderCompressed.getMetaData(null);
-			MultiColumnEncoder encoderNormal = EncoderFactory.createEncoder(spec, data.getColumnNames(),
-				data.getNumColumns(), meta);
-			MatrixBlock outNormal = encoderNormal.encode(data);
+			MultiColumnEncoder encoderNormal = EncoderFactory.createEncoder(spec, in.getColumnNames(),
+				in.getNumColumns(), meta);
+			MatrixBlock outNormal = encoderNormal.encode(in);
 			FrameBlock outNormalMD = encoderNormal.getMetaData(null);
 			
 			
@@ -105,10 +157,30 @@ public class transformCompressed {
 
 			TestUtils.compareMatrices(outNormal, outCompressed, 0, "Not Equal after apply");
 			TestUtils.compareFrames(outNormalMD, outCompressedMD, true);
+			return outCompressed;
 		}
 		catch(Exception e) {
 			e.printStackTrace();
 			fail(e.getMessage());
+			return null;
+		}
+	}
+
+	private static FrameBlock createMissing() {
+		String[][] rows = new String[50][];
+		for(int i = 0; i < rows.length; i++)
+			rows[i] = new String[] {(i % 7 == 3) ? null : String.valueOf(i % 9), //
+				(i % 5 == 1) ? null : String.valueOf(i % 4)};
+		return new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.STRING}, rows);
+	}
+
+	private static FrameBlock createMissingFP(ValueType vt) {
+		FrameBlock ret = new FrameBlock(new ValueType[] {vt, vt});
+		for(int i = 0; i < 50; i++) {
+			double v1 = (i % 7 == 3) ? Double.NaN : i % 9;
+			double v2 = (i % 5 == 1) ? Double.NaN : i % 4;
+			ret.appendRow(vt == ValueType.FP64 ? new Object[] {v1, v2} : new Object[] {(float) v1, (float) v2});
 		}
+		return ret;
 	}
 }
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FileFormatPropertiesParquet;
+import org.apache.sysds.runtime.io.FrameReaderParquet;
+import org.apache.sysds.runtime.io.FrameReaderParquetParallel;
+import org.apache.sysds.runtime.io.FrameWriterParquet;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.ReaderParquet;
+import org.apache.sysds.runtime.io.ReaderParquetParallel;
+import org.apache.sysds.runtime.io.WriterParquet;
+import org.apache.sysds.runtime.io.parquet.ParquetFilter;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParquetReadWriteTest {
+	private static final String DIR = "target/testTemp/component/io/" + ParquetReadWriteTest.class.getSimpleName() + "/";
+
+	private static final ValueType[] SCHEMA = new ValueType[] {ValueType.FP64, ValueType.INT64, ValueType.INT32,
+		ValueType.FP32, ValueType.BOOLEAN, ValueType.STRING};
+
+	@BeforeClass
+	public static void setup() {
+		new File(DIR).mkdirs();
+	}
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(DIR));
+	}
+
+	@Test
+	public void testFrame() throws Exception {
+		runFrameTest("frame", 1000, false);
+	}
+
+	@Test
+	public void testFrameParallel() throws Exception {
+		runFrameTest("frame_par", 1000, true);
+	}
+
+	@Test
+	public void testFrameProjection() throws Exception {
+		String fname = DIR + "frame_proj";
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, SCHEMA, 3);
+		new FrameWriterParquet(null).writeFrameToHDFS(fb, fname, fb.getNumRows(), fb.getNumColumns());
+
+		String[] names = fb.getColumnNames();
+		FileFormatPropertiesParquet props = new FileFormatPropertiesParquet(new String[] {names[5], names[1]});
+		FrameBlock ret = new FrameReaderParquet(props).readFrameFromHDFS(fname, -1, -1);
+		assertEquals(2, ret.getNumColumns());
+		assertArrayEquals(new ValueType[] {ValueType.STRING, ValueType.INT64}, ret.getSchema());
+		for(int i = 0; i < fb.getNumRows(); i++) {
+			assertEquals(fb.get(i, 5), ret.get(i, 0));
+			assertEquals(fb.get(i, 1), ret.get(i, 1));
+		}
+	}
+
+	@Test
+	public void testMatrixDense() throws Exception {
+		runMatrixTest("dense", 1000, 7, 1.0, false);
+	}
+
+	@Test
+	public void testMatrixSparseParallel() throws Exception {
+		runMatrixTest("sparse_par", 2000, 50, 0.05, true);
+	}
+
+	@Test
+	public void testMatrixEmpty() throws Exception {
+		runMatrixTest("empty", 100, 10, 0.0, false);
+	}
+
+	@Test
+	public void testMatrixCompression() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(500, 4, -10, 10, 0.7, 3);
+		for(String codec : new String[] {"uncompressed", "gzip", "snappy"}) {
+			String fname = DIR + "codec_" + codec;
+			new WriterParquet(new FileFormatPropertiesParquet(null, codec))
+				.writeMatrixToHDFS(mb, fname, 500, 4, 1000, mb.getNonZeros());
+			JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+			assertEquals(CompressionCodecName.fromConf(codec.toUpperCase()), ParquetUtils.readFooter(job, new Path(fname))
+				.getBlocks().get(0).getColumns().get(0).getCodec());
+			TestUtils.compareMatrices(mb, new ReaderParquet(null).readMatrixFromHDFS(fname, 500, 4, 1000, -1), 0);
+		}
+	}
+
+	@Test
+	public void testReadProperties() {
+		FileFormatPropertiesParquet props = FileFormatPropertiesParquet.createReadProperties("C2, C5", "C1 < 300");
+		assertArrayEquals(new String[] {"C2", "C5"}, props.getColumns());
+		assertTrue(props.hasFilter());
+		assertArrayEquals(new String[] {"C1"}, props.getFilter().getColumns());
+		props = FileFormatPropertiesParquet.createReadProperties("*", "*");
+		assertFalse(props.hasColumnProjection() || props.hasFilter());
+		assertNull(props.getFilter());
+		assertEquals("gzip", FileFormatPropertiesParquet.createWriteProperties("gzip").getCompression());
+		assertEquals(FileFormatPropertiesParquet.DEFAULT_COMPRESSION,
+			FileFormatPropertiesParquet.createWriteProperties("*").getCompression());
+	}
+
+	@Test
+	public void testFrameFilter() throws Exception {
+		runFrameFilterTest("frame_filter", false);
+	}
+
+	@Test
+	public void testFrameFilterParallel() throws Exception {
+		runFrameFilterTest("frame_filter_par", true);
+	}
+
+	@Test
+	public void testMatrixFilter() throws Exception {
+		runMatrixFilterTest("matrix_filter", false);
+	}
+
+	@Test
+	public void testMatrixFilterParallel() throws Exception {
+		runMatrixFilterTest("matrix_filter_par", true);
+	}
+
+	private static void runFrameFilterTest(String name, boolean par) throws Exception {
+		// four part files (row groups) with ids [0,250), [250,500), [500,750), [750,1000)
+		String fname = DIR + name;
+		ValueType[] schema = new ValueType[] {ValueType.INT64, ValueType.FP64, ValueType.STRING};
+		String[] names = new String[] {"id", "x", "s"};
+		String[] vals = new String[] {"a", "b", null};
+		List<Object[]> expected = new ArrayList<>();
+		for(int k = 0; k < 4; k++) {
+			FrameBlock fb = new FrameBlock(schema, names);
+			for(long i = k * 250; i < (k + 1) * 250; i++) {
+				Object[] row = new Object[] {i, i * 0.5, vals[(int) (i % 3)]};
+				fb.appendRow(row);
+				if(i >= 600 && row[2] != null && !row[2].equals("b"))
+					expected.add(row);
+			}
+			new FrameWriterParquet(null).writeFrameToHDFS(fb, fname + "/" + IOUtilFunctions.getPartFileName(k),
+				fb.getNumRows(), fb.getNumColumns());
+		}
+
+		// row groups pruned by the statistics of id
+		ParquetFilter filter = ParquetFilter.parse("id >= 600 & s != 'b'");
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		assertEquals(2, ParquetUtils.readDataset(job, IOUtilFunctions.getFileSystem(path, job), path, filter)
+			.rowGroups.size());
+
+		// qualifying rows of the projected columns (incl. a filter-only column)
+		FileFormatPropertiesParquet props = new FileFormatPropertiesParquet(new String[] {"s", "x"},
+			FileFormatPropertiesParquet.DEFAULT_COMPRESSION, filter);
+		FrameReaderParquet reader = par ? new FrameReaderParquetParallel(props) : new FrameReaderParquet(props);
+		FrameBlock ret = reader.readFrameFromHDFS(fname, -1, -1);
+		assertEquals(expected.size(), ret.getNumRows());
+		assertEquals(2, ret.getNumColumns());
+		for(int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i)[2], ret.get(i, 0));
+			assertEquals(expected.get(i)[1], ret.get(i, 1));
+		}
+	}
+
+	private static void runMatrixFilterTest(String name, boolean par) throws Exception {
+		// four part files (row groups), where C1 is the row index
+		String fname = DIR + name;
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 5, -10, 10, 0.8, 5);
+		for(int i = 0; i < 1000; i++)
+			mb.quickSetValue(i, 0, i);
+		for(int k = 0; k < 4; k++) {
+			MatrixBlock part = mb.slice(k * 250, (k + 1) * 250 - 1);
+			new WriterParquet(null).writeMatrixToHDFS(part, fname + "/" + IOUtilFunctions.getPartFileName(k),
+				250, 5, 1000, part.getNonZeros());
+		}
+
+		// qualifying rows of the projected columns C2 and C5 (filter-only columns C1 and C3)
+		FileFormatPropertiesParquet props = FileFormatPropertiesParquet.createReadProperties("C2,C5", "C1 < 300 & C3 > 0");
+		ReaderParquet reader = par ? new ReaderParquetParallel(props) : new ReaderParquet(props);
+		MatrixBlock ret = reader.readMatrixFromHDFS(fname, -1, 2, 1000, -1);
+		List<Integer> rows = new ArrayList<>();
+		for(int i = 0; i < 300; i++)
+			if(mb.quickGetValue(i, 2) > 0)
+				rows.add(i);
+		assertEquals(rows.size(), ret.getNumRows());
+		assertEquals(2, ret.getNumColumns());
+		for(int i = 0; i < rows.size(); i++) {
+			assertEquals(mb.quickGetValue(rows.get(i), 1), ret.quickGetValue(i, 0), 0);
+			assertEquals(mb.quickGetValue(rows.get(i), 4), ret.quickGetValue(i, 1), 0);
+		}
+		ret.recomputeNonZeros();
+		assertTrue(ret.getNonZeros() > 0);
+	}
+
+	private static void runFrameTest(String name, int rows, boolean par) throws Exception {
+		String fname = DIR + name;
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(rows, SCHEMA, 7);
+		new FrameWriterParquet(null).writeFrameToHDFS(fb, fname, rows, SCHEMA.length);
+		FrameReaderParquet reader = par ? new FrameReaderParquetParallel(null) : new FrameReaderParquet(null);
+		FrameBlock ret = reader.readFrameFromHDFS(fname, rows, SCHEMA.length);
+		assertArrayEquals(SCHEMA, ret.getSchema());
+		assertArrayEquals(fb.getColumnNames(), ret.getColumnNames());
+		TestUtils.compareFrames(fb, ret, false);
+	}
+
+	private static void runMatrixTest(String name, int rows, int cols, double sparsity, boolean par) throws Exception {
+		String fname = DIR + name;
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, sparsity, 7);
+		new WriterParquet(null).writeMatrixToHDFS(mb, fname, rows, cols, 1000, mb.getNonZeros());
+		ReaderParquet reader = par ? new ReaderParquetParallel(null) : new ReaderParquet(null);
+		MatrixBlock ret = reader.readMatrixFromHDFS(fname, rows, cols, 1000, mb.getNonZeros());
+		TestUtils.compareMatrices(mb, ret, 0);
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.io.MappedBinaryBlockFile;
+import org.apache.sysds.runtime.io.MappedBinaryBlockFile.BlockRecord;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.ByteBufferDataInput;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ReaderBinaryBlockMMapTest {
+	private static final String DIR = "target/testTemp/component/io/" + ReaderBinaryBlockMMapTest.class.getSimpleName() + "/";
+
+	@BeforeClass
+	public static void setup() {
+		new File(DIR).mkdirs();
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.CP_PARALLEL_IO_BINARY_MMAP, "true");
+		ConfigurationManager.setLocalConfig(conf);
+	}
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		ConfigurationManager.clearLocalConfigs();
+		FileUtils.deleteDirectory(new File(DIR));
+	}
+
+	@Test
+	public void testDense() throws Exception {
+		runReadTest("dense", 1500, 700, 1.0, 500);
+	}
+
+	@Test
+	public void testSparse() throws Exception {
+		runReadTest("sparse", 3000, 1200, 0.05, 1000);
+	}
+
+	@Test
+	public void testUltraSparse() throws Exception {
+		runReadTest("ultrasparse", 3000, 3000, 0.0001, 1000);
+	}
+
+	@Test
+	public void testMixed() throws Exception {
+		// dense matrix with empty column blocks
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 300, -10, 10, 1.0, 7);
+		mb = mb.append(new MatrixBlock(1000, 300, true));
+		runReadTest("mixed", mb, 100);
+	}
+
+	@Test
+	public void testSegmentedMapping() throws Exception {
+		// small segments to enforce remapping at record boundaries and sync markers
+		String fname = DIR + "segmented";
+		int blen = 100;
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 450, -10, 10, 1.0, 3);
+		new WriterBinaryBlock(1).writeMatrixToHDFS(mb, fname, 1000, 450, blen, mb.getNonZeros());
+
+		MappedBinaryBlockFile file = MappedBinaryBlockFile.open(new File(fname), 256 * 1024);
+		assertNotNull(file);
+		assertEquals(10 * 5, file.getRecords().size());
+		for(BlockRecord rec : file.getRecords()) {
+			MatrixBlock block = new MatrixBlock();
+			block.readFields(new ByteBufferDataInput(rec.getValue()));
+			int rl = (int) (rec.getRowIndex() - 1) * blen;
+			int cl = (int) (rec.getColumnIndex() - 1) * blen;
+			MatrixBlock expected = mb.slice(rl, rl + block.getNumRows() - 1, cl, cl + block.getNumColumns() - 1);
+			TestUtils.compareMatrices(expected, block, 0);
+		}
+	}
+
+	private static void runReadTest(String name, int rows, int cols, double sparsity, int blen) throws Exception {
+		runReadTest(name, TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, sparsity, 7), blen);
+	}
+
+	private static void runReadTest(String name, MatrixBlock mb, int blen) throws Exception {
+		String fname = DIR + name;
+		int rows = mb.getNumRows(), cols = mb.getNumColumns();
+		new WriterBinaryBlock(1).writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+		MatrixBlock ret = new ReaderBinaryBlockParallel(false)
+			.readMatrixFromHDFS(fname, rows, cols, blen, mb.getNonZeros());
+		TestUtils.compareMatrices(mb, ret, 0);
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+	}
+}
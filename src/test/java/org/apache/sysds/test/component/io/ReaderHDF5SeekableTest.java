@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5Parallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ReaderHDF5SeekableTest {
+	private static final String DIR = "target/testTemp/component/io/" + ReaderHDF5SeekableTest.class.getSimpleName() + "/";
+	private static final String INPUT_DIR = "src/test/scripts/functions/io/hdf5/in/";
+	private static final String DATASET = "DATASET_1";
+
+	// chunked_1.h5 (uncompressed) and chunked_2.h5 (deflate) hold a 100x30 matrix in 16x8 chunks
+	private static final int ROWS = 100;
+	private static final int COLS = 30;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		// directory of two files, stacked by rows
+		new File(DIR + "multi").mkdirs();
+		FileUtils.copyFile(new File(INPUT_DIR + "chunked_1.h5"), new File(DIR + "multi/0-chunked.h5"));
+		FileUtils.copyFile(new File(INPUT_DIR + "chunked_2.h5"), new File(DIR + "multi/1-chunked.h5"));
+	}
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(DIR));
+	}
+
+	@Test
+	public void testChunked() throws Exception {
+		runReadTest(INPUT_DIR + "chunked_1.h5", getChunkedData(), null, false);
+	}
+
+	@Test
+	public void testChunkedDeflate() throws Exception {
+		runReadTest(INPUT_DIR + "chunked_2.h5", getChunkedData(), null, false);
+	}
+
+	@Test
+	public void testChunkedDeflateParallel() throws Exception {
+		runReadTest(INPUT_DIR + "chunked_2.h5", getChunkedData(), null, true);
+	}
+
+	@Test
+	public void testChunkedDeflateSlice() throws Exception {
+		runReadTest(INPUT_DIR + "chunked_2.h5", getChunkedData(), new IndexRange(17, 70, 5, 20), false);
+	}
+
+	@Test
+	public void testChunkedDeflateSliceParallel() throws Exception {
+		runReadTest(INPUT_DIR + "chunked_2.h5", getChunkedData(), new IndexRange(17, 70, 5, 20), true);
+	}
+
+	@Test
+	public void testChunkedSingleCell() throws Exception {
+		runReadTest(INPUT_DIR + "chunked_1.h5", getChunkedData(), new IndexRange(99, 99, 29, 29), true);
+	}
+
+	@Test
+	public void testMultiFileParallel() throws Exception {
+		MatrixBlock mb = getChunkedData();
+		runReadTest(DIR + "multi", mb.append(mb, false), null, true);
+	}
+
+	@Test
+	public void testMultiFileSliceParallel() throws Exception {
+		MatrixBlock mb = getChunkedData();
+		runReadTest(DIR + "multi", mb.append(mb, false), new IndexRange(90, 120, 0, 29), true);
+	}
+
+	@Test
+	public void testContiguousSlice() throws Exception {
+		String fname = INPUT_DIR + "transfusion_1.h5";
+		MatrixBlock full = new ReaderHDF5(new FileFormatPropertiesHDF5(DATASET))
+			.readMatrixFromHDFS(fname, -1, -1, -1, -1);
+		assertEquals(50, full.getNumRows());
+		assertEquals(50, full.getNumColumns());
+		// narrow slice (row-wise reads) and wide slice (batched reads of full rows)
+		runReadTest(fname, full, new IndexRange(3, 41, 10, 12), false);
+		runReadTest(fname, full, new IndexRange(3, 41, 2, 49), true);
+	}
+
+	@Test
+	public void testChunkedInputStream() throws Exception {
+		try(InputStream is = new FileInputStream(INPUT_DIR + "chunked_2.h5")) {
+			MatrixBlock ret = new ReaderHDF5(new FileFormatPropertiesHDF5(DATASET))
+				.readMatrixFromInputStream(is, ROWS, COLS, -1, -1);
+			TestUtils.compareMatrices(getChunkedData(), ret, 0);
+		}
+	}
+
+	private static void runReadTest(String fname, MatrixBlock expected, IndexRange slice, boolean parallel)
+		throws Exception {
+		FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5(DATASET, slice);
+		ReaderHDF5 reader = parallel ? new ReaderHDF5Parallel(props) : new ReaderHDF5(props);
+		MatrixBlock ret = reader.readMatrixFromHDFS(fname, -1, -1, -1, -1);
+		if(slice != null)
+			expected = expected.slice((int) slice.rowStart, (int) slice.rowEnd, (int) slice.colStart, (int) slice.colEnd);
+		assertEquals(expected.getNumRows(), ret.getNumRows());
+		assertEquals(expected.getNumColumns(), ret.getNumColumns());
+		assertEquals(expected.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(expected, ret, 0);
+	}
+
+	private static MatrixBlock getChunkedData() {
+		MatrixBlock mb = new MatrixBlock(ROWS, COLS, false);
+		for(int i = 0; i < ROWS; i++)
+			for(int j = 0; j < COLS; j++)
+				mb.quickSetValue(i, j, (i * COLS + j) % 7 == 0 ? 0 : i + j / 100.0);
+		mb.recomputeNonZeros();
+		return mb;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.WriterTextCSV;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ReaderTextCSVSinglePassTest {
+	private static final String DIR = "target/testTemp/component/io/" + ReaderTextCSVSinglePassTest.class.getSimpleName() + "/";
+
+	@BeforeClass
+	public static void setup() {
+		new File(DIR).mkdirs();
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.CP_PARALLEL_IO_CSV_SINGLEPASS, "true");
+		ConfigurationManager.setLocalConfig(conf);
+	}
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		ConfigurationManager.clearLocalConfigs();
+		FileUtils.deleteDirectory(new File(DIR));
+	}
+
+	@Test
+	public void testDense() throws Exception {
+		runReadTest("dense", 1000, 7, 1.0, false, -1, -1);
+	}
+
+	@Test
+	public void testDenseHeader() throws Exception {
+		runReadTest("dense_header", 1000, 7, 1.0, true, 1000, 7);
+	}
+
+	@Test
+	public void testSparse() throws Exception {
+		runReadTest("sparse", 2000, 100, 0.05, false, 2000, 100);
+	}
+
+	@Test
+	public void testSparseUnknownDims() throws Exception {
+		runReadTest("sparse_unknown", 2000, 100, 0.05, false, -1, -1);
+	}
+
+	@Test
+	public void testEmpty() throws Exception {
+		runReadTest("empty", 100, 10, 0.0, false, 100, 10);
+	}
+
+	private static void runReadTest(String name, int rows, int cols, double sparsity, boolean header, long rlen,
+		long clen) throws Exception {
+		String fname = DIR + name;
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, sparsity, 7);
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(header, ",", sparsity < 1);
+		new WriterTextCSV(props).writeMatrixToHDFS(mb, fname, rows, cols, 1000, mb.getNonZeros());
+		long estnnz = (rlen > 0) ? mb.getNonZeros() : -1;
+		MatrixBlock ret = new ReaderTextCSVParallel(props).readMatrixFromHDFS(fname, rlen, clen, 1000, estnnz);
+		TestUtils.compareMatrices(mb, ret, 0);
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteService;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.io.WriterBinaryBlockPipelined;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class WriterBinaryBlockPipelinedTest {
+	private static final String DIR = "target/testTemp/component/io/" + WriterBinaryBlockPipelinedTest.class.getSimpleName() + "/";
+
+	@BeforeClass
+	public static void setup() {
+		new File(DIR).mkdirs();
+	}
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(DIR));
+	}
+
+	@Test
+	public void testDense() throws Exception {
+		runWriteTest("dense", 1500, 700, 1.0, 500, null);
+	}
+
+	@Test
+	public void testSparse() throws Exception {
+		runWriteTest("sparse", 3000, 1200, 0.05, 1000, null);
+	}
+
+	@Test
+	public void testSingleBlock() throws Exception {
+		runWriteTest("single", 300, 200, 0.5, 1000, null);
+	}
+
+	@Test
+	public void testDenseDeflate() throws Exception {
+		runWriteTest("dense_deflate", 1500, 700, 1.0, 500, "deflate");
+	}
+
+	@Test
+	public void testSparseSnappy() throws Exception {
+		runWriteTest("sparse_snappy", 3000, 1200, 0.05, 1000, "snappy");
+	}
+
+	@Test
+	public void testDenseLz4() throws Exception {
+		runWriteTest("dense_lz4", 1500, 700, 1.0, 500, "lz4");
+	}
+
+	@Test(expected = IOException.class)
+	public void testUnknownCodec() throws Exception {
+		runWriteTest("unknown", 10, 10, 1.0, 1000, "unknown-codec");
+	}
+
+	@Test
+	public void testAsyncWrite() throws Exception {
+		String fname = DIR + "async";
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1200, 300, -10, 10, 0.7, 3);
+		AsyncWriteService.submit(fname, () -> {
+			Thread.sleep(200);
+			new WriterBinaryBlock(1).writeMatrixToHDFS(mb, fname, 1200, 300, 1000, mb.getNonZeros());
+			return null;
+		});
+		assertTrue(AsyncWriteService.isPending(fname));
+
+		// read waits for the pending write
+		MatrixBlock ret = DataConverter.readMatrixFromHDFS(fname, FileFormat.BINARY, 1200, 300, 1000);
+		assertFalse(AsyncWriteService.isPending(fname));
+		TestUtils.compareMatrices(mb, ret, 0);
+	}
+
+	@Test
+	public void testAsyncWriteFrameRead() throws Exception {
+		// frame readers share the barrier, also for non-normalized file names
+		String fname = DIR + "async_frame";
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, new ValueType[] {ValueType.FP64, ValueType.STRING}, 7);
+		AsyncWriteService.submit(DIR + "/async_frame/", () -> {
+			Thread.sleep(200);
+			FrameWriterFactory.createFrameWriter(FileFormat.BINARY).writeFrameToHDFS(fb, fname, 500, 2);
+			return null;
+		});
+		assertTrue(AsyncWriteService.isPending(fname));
+		FrameBlock ret = FrameReaderFactory.createFrameReader(FileFormat.BINARY)
+			.readFrameFromHDFS(fname, fb.getSchema(), 500, 2);
+		assertFalse(AsyncWriteService.isPending(fname));
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void testAsyncWriteInPlaceUpdate() throws Exception {
+		String fname = DIR + "async_inplace";
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1200, 300, -10, 10, 0.7, 5);
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.CP_ASYNC_WRITE, "true");
+		ConfigurationManager.setLocalConfig(conf);
+		try {
+			CacheableData.initCaching("tmp_async_write_test");
+			MatrixObject mo = new MatrixObject(ValueType.FP64, DIR + "async_inplace_src",
+				new MetaDataFormat(new MatrixCharacteristics(1200, 300, 1000, mb.getNonZeros()), FileFormat.BINARY));
+			mo.acquireModify(new MatrixBlock(mb));
+			mo.release();
+			mo.exportData(fname, "binary");
+			// pinning for in-place updates waits for the pending write
+			mo.setUpdateType(UpdateType.INPLACE_PINNED);
+			assertFalse(AsyncWriteService.isPending(fname));
+			MatrixBlock ret = DataConverter.readMatrixFromHDFS(fname, FileFormat.BINARY, 1200, 300, 1000);
+			TestUtils.compareMatrices(mb, ret, 0);
+			mo.clearData();
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+			CacheableData.cleanupCacheDir();
+		}
+	}
+
+	@Test
+	public void testAsyncWriteFailure() {
+		String fname = DIR + "async_failure";
+		AsyncWriteService.submit(fname, () -> {
+			throw new IOException("injected failure");
+		});
+		try {
+			AsyncWriteService.waitForAll();
+			fail("Asynchronous write failure not surfaced.");
+		}
+		catch(DMLRuntimeException ex) {
+			assertFalse(AsyncWriteService.isPending(fname));
+		}
+	}
+
+	private static void runWriteTest(String name, int rows, int cols, double sparsity, int blen, String codec)
+		throws Exception {
+		String fname = DIR + name;
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, sparsity, 7);
+		new WriterBinaryBlockPipelined(1, codec).writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+		MatrixBlock ret = new ReaderBinaryBlock(false).readMatrixFromHDFS(fname, rows, cols, blen, mb.getNonZeros());
+		TestUtils.compareMatrices(mb, ret, 0);
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+	}
+}
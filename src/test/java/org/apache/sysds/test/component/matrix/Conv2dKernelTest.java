@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.runtime.matrix.data.DnnParameters;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNNConv2d;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNNConv2d.ConvKernel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class Conv2dKernelTest {
+	private static final double EPS = 1e-9;
+
+	@Parameterized.Parameter
+	public ConvKernel kernel;
+	@Parameterized.Parameter(1)
+	public int[] conf; //N, C, H, W, K, R, S, stride, pad
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		tests.add(new Object[] {ConvKernel.WINOGRAD_F4, new int[] {3, 8, 14, 11, 9, 3, 3, 1, 1}});
+		tests.add(new Object[] {ConvKernel.WINOGRAD_F4, new int[] {2, 16, 12, 12, 8, 3, 3, 1, 0}});
+		tests.add(new Object[] {ConvKernel.WINOGRAD_F4, new int[] {2, 8, 10, 12, 8, 3, 3, 1, 2}});
+		tests.add(new Object[] {ConvKernel.WINOGRAD_F2, new int[] {4, 8, 5, 7, 10, 3, 3, 1, 1}});
+		tests.add(new Object[] {ConvKernel.DIRECT, new int[] {3, 3, 12, 10, 6, 3, 3, 1, 1}});
+		tests.add(new Object[] {ConvKernel.DIRECT, new int[] {2, 4, 10, 10, 3, 4, 4, 2, 1}});
+		tests.add(new Object[] {ConvKernel.DIRECT, new int[] {2, 1, 16, 16, 5, 5, 3, 3, 2}});
+		tests.add(new Object[] {ConvKernel.DIRECT, new int[] {5, 2, 8, 8, 3, 3, 3, 1, 2}});
+		tests.add(new Object[] {ConvKernel.IM2COL, new int[] {2, 4, 8, 8, 32, 1, 1, 1, 0}});
+		return tests;
+	}
+
+	@Test
+	public void testConv2d() {
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(conf[0], conf[1]*conf[2]*conf[3], -1, 1, 1.0, 7);
+		MatrixBlock filter = TestUtils.generateTestMatrixBlock(conf[4], conf[1]*conf[5]*conf[6], -1, 1, 1.0, 3);
+		MatrixBlock bias = TestUtils.generateTestMatrixBlock(conf[4], 1, -1, 1, 1.0, 5);
+
+		DnnParameters params = createParams(4);
+		params.bias = bias;
+		MatrixBlock out = new MatrixBlock(conf[0], conf[4]*params.P*params.Q, false).allocateBlock();
+		LibMatrixDNN.conv2d(in, filter, out, params);
+		assertEquals(kernel, LibMatrixDNNConv2d.getConvKernel(params, false));
+		//outputs w/o contiguous dense block fall back to im2col
+		params.output = new MatrixBlock(out.getNumRows(), out.getNumColumns(), false);
+		assertEquals(ConvKernel.IM2COL, LibMatrixDNNConv2d.getConvKernel(params, false));
+
+		DnnParameters params2 = createParams(1);
+		params2.bias = bias;
+		MatrixBlock expected = new MatrixBlock(conf[0], conf[4]*params.P*params.Q, false).allocateBlock();
+		runIm2Col(() -> LibMatrixDNN.conv2d(in, filter, expected, params2));
+		TestUtils.compareMatrices(expected, out, EPS);
+	}
+
+	@Test
+	public void testConv2dBackwardData() {
+		DnnParameters params = createParams(4);
+		MatrixBlock filter = TestUtils.generateTestMatrixBlock(conf[4], conf[1]*conf[5]*conf[6], -1, 1, 1.0, 3);
+		MatrixBlock dout = TestUtils.generateTestMatrixBlock(conf[0], conf[4]*params.P*params.Q, -1, 1, 1.0, 11);
+
+		MatrixBlock out = new MatrixBlock(conf[0], conf[1]*conf[2]*conf[3], false).allocateBlock();
+		LibMatrixDNN.conv2dBackwardData(filter, dout, out, params);
+
+		DnnParameters params2 = createParams(1);
+		MatrixBlock expected = new MatrixBlock(conf[0], conf[1]*conf[2]*conf[3], false).allocateBlock();
+		runIm2Col(() -> LibMatrixDNN.conv2dBackwardData(filter, dout, expected, params2));
+		TestUtils.compareMatrices(expected, out, EPS);
+	}
+
+	private DnnParameters createParams(int k) {
+		return new DnnParameters(conf[0], conf[1], conf[2], conf[3], conf[4],
+			conf[5], conf[6], conf[7], conf[7], conf[8], conf[8], k);
+	}
+
+	private static void runIm2Col(Runnable r) {
+		boolean direct = LibMatrixDNNConv2d.ALLOW_DIRECT_CONV;
+		boolean winograd = LibMatrixDNNConv2d.ALLOW_WINOGRAD_CONV;
+		try {
+			LibMatrixDNNConv2d.ALLOW_DIRECT_CONV = false;
+			LibMatrixDNNConv2d.ALLOW_WINOGRAD_CONV = false;
+			r.run();
+		}
+		finally {
+			LibMatrixDNNConv2d.ALLOW_DIRECT_CONV = direct;
+			LibMatrixDNNConv2d.ALLOW_WINOGRAD_CONV = winograd;
+		}
+	}
+}
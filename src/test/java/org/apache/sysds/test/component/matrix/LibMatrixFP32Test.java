@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.matrix.data.DnnParameters;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysds.runtime.matrix.data.LibMatrixFP32;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class LibMatrixFP32Test {
+	private static final double EPS = 1e-3;
+	private static final String DIR = "target/testTemp/component/matrix/" + LibMatrixFP32Test.class.getSimpleName() + "/";
+
+	private final MatrixBlock _a = TestUtils.generateTestMatrixBlock(123, 71, -1, 1, 1.0, 7);
+	private final MatrixBlock _b = TestUtils.generateTestMatrixBlock(71, 45, -1, 1, 1.0, 3);
+	private final MatrixBlock _c = TestUtils.generateTestMatrixBlock(123, 71, -1, 1, 1.0, 11);
+
+	@Test
+	public void testConversion() {
+		MatrixBlock a32 = LibMatrixFP32.toFP32(_a);
+		assertTrue(LibMatrixFP32.isFP32(a32));
+		assertEquals(_a.getNonZeros(), a32.getNonZeros());
+		assertTrue(a32.getInMemorySize() < _a.getInMemorySize());
+		MatrixBlock a64 = LibMatrixFP32.toFP64(a32);
+		assertFalse(LibMatrixFP32.isFP32(a64));
+		TestUtils.compareMatrices(_a, a64, 1e-6);
+	}
+
+	@Test
+	public void testNoConversionSparseOrTiny() {
+		MatrixBlock sp = TestUtils.generateTestMatrixBlock(200, 100, -1, 1, 0.01, 7);
+		assertFalse(LibMatrixFP32.isFP32(LibMatrixFP32.toFP32(sp)));
+		MatrixBlock tiny = TestUtils.generateTestMatrixBlock(3, 3, -1, 1, 1.0, 7);
+		assertFalse(LibMatrixFP32.isFP32(LibMatrixFP32.toFP32(tiny)));
+	}
+
+	@Test
+	public void testNoConversionIntegerValued() {
+		MatrixBlock ix = new MatrixBlock(200, 10, false);
+		ix.allocateDenseBlock();
+		for(int i = 0; i < 200; i++)
+			for(int j = 0; j < 10; j++)
+				ix.quickSetValue(i, j, (1 << 25) + i * 10 + j);
+		ix.recomputeNonZeros();
+		assertSame(ix, LibMatrixFP32.toFP32(ix));
+	}
+
+	@Test
+	public void testMatrixMult() {
+		testMatrixMult(1);
+	}
+
+	@Test
+	public void testMatrixMultParallel() {
+		testMatrixMult(4);
+	}
+
+	@Test
+	public void testBinaryMatrixMatrix() {
+		BinaryOperator op = new BinaryOperator(Plus.getPlusFnObject(), 4);
+		MatrixBlock expected = _a.binaryOperations(op, _c, new MatrixBlock());
+		MatrixBlock ret = LibMatrixFP32.binaryOperations(
+			LibMatrixFP32.toFP32(_a), LibMatrixFP32.toFP32(_c), op);
+		assertTrue(LibMatrixFP32.isFP32(ret));
+		TestUtils.compareMatrices(expected, LibMatrixFP32.toFP64(ret), EPS);
+	}
+
+	@Test
+	public void testBinaryMatrixRowVector() {
+		BinaryOperator op = new BinaryOperator(Multiply.getMultiplyFnObject());
+		MatrixBlock v = TestUtils.generateTestMatrixBlock(1, 71, -1, 1, 1.0, 5);
+		MatrixBlock a32 = LibMatrixFP32.toFP32(_a);
+		assertTrue(LibMatrixFP32.isSupportedBinary(a32, v));
+		MatrixBlock expected = _a.binaryOperations(op, v, new MatrixBlock());
+		MatrixBlock ret = LibMatrixFP32.binaryOperations(a32, v, op);
+		TestUtils.compareMatrices(expected, LibMatrixFP32.toFP64(ret), EPS);
+	}
+
+	@Test
+	public void testScalar() {
+		ScalarOperator op = new RightScalarOperator(Multiply.getMultiplyFnObject(), 3.5, 4);
+		MatrixBlock expected = _a.scalarOperations(op, new MatrixBlock());
+		MatrixBlock ret = LibMatrixFP32.scalarOperations(LibMatrixFP32.toFP32(_a), op);
+		TestUtils.compareMatrices(expected, LibMatrixFP32.toFP64(ret), EPS);
+	}
+
+	@Test
+	public void testUnary() {
+		UnaryOperator op = new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.EXP), 4);
+		MatrixBlock a32 = LibMatrixFP32.toFP32(_a);
+		assertTrue(LibMatrixFP32.isSupportedUnary(a32, op));
+		MatrixBlock expected = _a.unaryOperations(op, new MatrixBlock());
+		MatrixBlock ret = LibMatrixFP32.unaryOperations(a32, op);
+		TestUtils.compareMatrices(expected, LibMatrixFP32.toFP64(ret), EPS);
+	}
+
+	@Test
+	public void testAggregates() {
+		MatrixBlock a32 = LibMatrixFP32.toFP32(_a);
+		for(String opcode : new String[] {"uak+", "uark+", "uack+", "uasqk+", "uarsqk+", "uacsqk+"}) {
+			AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode, 4);
+			assertTrue(opcode, LibMatrixFP32.isSupportedAggregate(a32, op));
+			MatrixBlock expected = _a.aggregateUnaryOperations(op, new MatrixBlock(),
+				_a.getNumRows(), new MatrixIndexes(1, 1), true);
+			MatrixBlock ret = LibMatrixFP32.aggregateUnaryOperations(a32, op);
+			TestUtils.compareMatrices(expected, ret, EPS, opcode);
+		}
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		MatrixBlock a32 = LibMatrixFP32.toFP32(_a);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(DataOutputStream dos = new DataOutputStream(bos)) {
+			a32.write(dos);
+		}
+		assertEquals(a32.getExactSizeOnDisk(), bos.size());
+		MatrixBlock ret = new MatrixBlock();
+		try(DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			ret.readFields(dis);
+		}
+		assertFalse(LibMatrixFP32.isFP32(ret));
+		assertEquals(a32.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(_a, ret, 1e-6);
+	}
+
+	@Test
+	public void testConv2d() {
+		testConv2d(false, 1);
+	}
+
+	@Test
+	public void testConv2dBiasParallel() {
+		testConv2d(true, 4);
+	}
+
+	@Test
+	public void testBinaryWriteRead() throws IOException {
+		String fname = DIR + "binary";
+		boolean old = DMLScript.CP_FP32;
+		try {
+			DMLScript.CP_FP32 = true;
+			//persistent binary blocks remain in FP64 (lossless)
+			MatrixWriterFactory.createMatrixWriter(FileFormat.BINARY)
+				.writeMatrixToHDFS(_a, fname, 123, 71, 50, _a.getNonZeros());
+			MatrixBlock ret = DataConverter.readMatrixFromHDFS(fname, FileFormat.BINARY, 123, 71, 50);
+			assertFalse(LibMatrixFP32.isFP32(ret));
+			TestUtils.compareMatrices(_a, ret, 0);
+		}
+		finally {
+			DMLScript.CP_FP32 = old;
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	@Test
+	public void testEvictionAndRestore() throws Exception {
+		boolean old = DMLScript.CP_FP32;
+		try {
+			DMLScript.CP_FP32 = true;
+			CacheableData.initCaching("tmp_fp32_eviction_test");
+			MatrixBlock a = TestUtils.generateTestMatrixBlock(500, 500, -1, 1, 1.0, 13);
+			MatrixObject mo = new MatrixObject(ValueType.FP64, DIR + "A",
+				new MetaDataFormat(new MatrixCharacteristics(500, 500, 1000, -1), FileFormat.BINARY));
+			mo.acquireModify(LibMatrixFP32.toFP32(a));
+			mo.release();
+
+			//evict to local disk and clear the in-memory reference
+			LazyWriteBuffer.forceEviction();
+			Method clear = CacheableData.class.getDeclaredMethod("clearCache");
+			clear.setAccessible(true);
+			clear.invoke(mo);
+
+			//restore in single precision, and reuse the FP64 copy across reads
+			MatrixBlock a32 = mo.acquireReadFP32();
+			mo.release();
+			assertTrue(LibMatrixFP32.isFP32(a32));
+			MatrixBlock a64 = mo.acquireRead();
+			mo.release();
+			assertFalse(LibMatrixFP32.isFP32(a64));
+			assertSame(a64, mo.acquireRead());
+			mo.release();
+			TestUtils.compareMatrices(a, a64, 1e-6);
+
+			//modifications invalidate the shared FP64 copy
+			mo.acquireModify(LibMatrixFP32.toFP32(a));
+			mo.release();
+			assertNotSame(a64, mo.acquireRead());
+			mo.release();
+
+			//objects updated in-place obtain a private FP64 copy
+			mo.setUpdateType(UpdateType.INPLACE);
+			MatrixBlock p1 = mo.acquireRead();
+			mo.release();
+			assertNotSame(p1, mo.acquireRead());
+			mo.release();
+			mo.setUpdateType(UpdateType.COPY);
+			mo.clearData();
+		}
+		finally {
+			DMLScript.CP_FP32 = old;
+			CacheableData.cleanupCacheDir();
+		}
+	}
+
+	private static void testConv2d(boolean bias, int k) {
+		DnnParameters params = new DnnParameters(8, 3, 12, 12, 5, 3, 3, 2, 2, 1, 1, k);
+		MatrixBlock image = TestUtils.generateTestMatrixBlock(8, 3 * 12 * 12, -1, 1, 1.0, 13);
+		MatrixBlock filter = TestUtils.generateTestMatrixBlock(5, 3 * 3 * 3, -1, 1, 1.0, 14);
+		MatrixBlock b = bias ? TestUtils.generateTestMatrixBlock(5, 1, -1, 1, 1.0, 15) : null;
+		MatrixBlock expected = new MatrixBlock(8, 5 * params.P * params.Q, false).allocateBlock();
+		params.bias = b;
+		LibMatrixDNN.conv2d(image, filter, expected, params);
+		MatrixBlock image32 = LibMatrixFP32.toFP32(image);
+		assertTrue(LibMatrixFP32.isSupportedConv2d(image32, filter, params));
+		MatrixBlock ret = LibMatrixFP32.conv2d(image32, filter, b, params);
+		assertTrue(LibMatrixFP32.isFP32(ret));
+		TestUtils.compareMatrices(expected, LibMatrixFP32.toFP64(ret), EPS);
+	}
+
+	private void testMatrixMult(int k) {
+		MatrixBlock a32 = LibMatrixFP32.toFP32(_a);
+		MatrixBlock b32 = LibMatrixFP32.toFP32(_b);
+		assertTrue(LibMatrixFP32.isSupportedMatrixMult(a32, b32));
+		MatrixBlock expected = _a.aggregateBinaryOperations(_a, _b,
+			new MatrixBlock(), InstructionUtils.getMatMultOperator(k));
+		MatrixBlock ret = LibMatrixFP32.matrixMult(a32, b32, k);
+		assertTrue(LibMatrixFP32.isFP32(ret));
+		TestUtils.compareMatrices(expected, LibMatrixFP32.toFP64(ret), EPS);
+	}
+}
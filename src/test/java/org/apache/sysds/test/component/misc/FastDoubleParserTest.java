@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.apache.sysds.runtime.util.FastDoubleParser;
+import org.junit.Test;
+
+public class FastDoubleParserTest {
+
+	@Test
+	public void parseSimple() {
+		compare("0", "-0", "1", "1.", ".5", "+3", "007", "3.14159", "-2.5", "  42.25  ");
+	}
+
+	@Test
+	public void parseExponent() {
+		compare("1e5", "1E-5", "-2.5e+10", "6.02214076e23", "1e-22", "1e22", "1e400", "4.9e-324");
+	}
+
+	@Test
+	public void parseFallback() {
+		compare("NaN", "-Infinity", "1.0d", "0x1p3", "123456789012345678901", "9007199254740993",
+			"0.000000000000000000001234");
+	}
+
+	@Test
+	public void parseRange() {
+		String line = "1.5,-2.25,   3e2 ";
+		assertEquals(1.5, FastDoubleParser.parseDouble(line, 0, 3), 0);
+		assertEquals(-2.25, FastDoubleParser.parseDouble(line, 4, 9), 0);
+		assertEquals(300, FastDoubleParser.parseDouble(line, 10, line.length()), 0);
+	}
+
+	@Test
+	public void parseRandom() {
+		Random rand = new Random(7);
+		for(int i = 0; i < 100000; i++) {
+			double v = (i % 2 == 0) ? rand.nextGaussian() * 1e6 : Double.longBitsToDouble(rand.nextLong());
+			compare(Double.toString(v), Float.toString((float) v));
+		}
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void parseEmpty() {
+		FastDoubleParser.parseDouble("   ");
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void parseInvalid() {
+		FastDoubleParser.parseDouble("1.2.3");
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void parseInvalidExponent() {
+		FastDoubleParser.parseDouble("1e");
+	}
+
+	private static void compare(String... vals) {
+		for(String s : vals) {
+			double expected = Double.parseDouble(s.trim());
+			double actual = FastDoubleParser.parseDouble(s);
+			assertEquals(s, Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.cost.FederatedCostEstimator;
+import org.apache.sysds.hops.cost.HardwareProfile;
+import org.junit.Test;
+
+public class HardwareProfileTest {
+
+	@Test
+	public void testDefaultProfile() {
+		HardwareProfile hw = HardwareProfile.get();
+		assertFalse(hw.isCalibrated());
+		assertEquals(HardwareProfile.DEFAULT_FLOPS, hw.getDenseFlops(1), 0);
+		assertEquals(4 * HardwareProfile.DEFAULT_FLOPS, hw.getDenseFlops(4), 0);
+		assertEquals(HardwareProfile.DEFAULT_FLOPS, hw.getSparseFlops(1), 0);
+		assertEquals(1, hw.getFSReadScale(), 0);
+		assertEquals(1, hw.getFSWriteScale(), 0);
+	}
+
+	@Test
+	public void testCalibrateWriteRead() throws Exception {
+		File dir = Files.createTempDirectory("hwprofile").toFile();
+		try {
+			HardwareProfile hw = HardwareProfile.calibrate(dir);
+			assertTrue(hw.isCalibrated());
+			assertTrue(hw.getMemReadBandwidth() > 0 && hw.getMemWriteBandwidth() > 0);
+			assertTrue(hw.getFSWriteBandwidth() > 0);
+			//reads of the just-written file would only measure the OS buffer cache
+			assertEquals(1, hw.getFSReadScale(), 0);
+			for( int k=1; k<=8; k++ )
+				assertTrue(hw.getDenseFlops(k) > 0 && hw.getSparseFlops(k) > 0);
+			//benchmark file removed
+			assertEquals(0, dir.list().length);
+			
+			String fname = new File(dir, "hw.properties").getPath();
+			hw.write(fname);
+			HardwareProfile hw2 = HardwareProfile.read(fname);
+			assertEquals(hw.getMemReadBandwidth(), hw2.getMemReadBandwidth(), 0);
+			assertEquals(hw.getFSWriteBandwidth(), hw2.getFSWriteBandwidth(), 0);
+			assertEquals(hw.getDenseFlops(3), hw2.getDenseFlops(3), 0);
+			assertEquals(hw.getSparseFlops(1), hw2.getSparseFlops(1), 0);
+		}
+		finally {
+			FileUtils.deleteDirectory(dir);
+		}
+	}
+
+	@Test
+	public void testInitFromConfig() throws Exception {
+		File dir = Files.createTempDirectory("hwprofile").toFile();
+		try {
+			File file = new File(dir, "hw.properties");
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.COST_HWPROFILE, file.getPath());
+			//first initialization calibrates and persists the profile
+			HardwareProfile.initFromConfig(conf);
+			assertTrue(file.exists());
+			HardwareProfile hw = HardwareProfile.get();
+			assertTrue(hw.isCalibrated());
+			assertEquals(hw.getDenseFlops(1), FederatedCostEstimator.WORKER_COMPUTE_BANDWIDTH_FLOPS, 0);
+			//second initialization reads the persisted profile
+			HardwareProfile.initFromConfig(conf);
+			assertEquals(hw.getMemWriteBandwidth(), HardwareProfile.get().getMemWriteBandwidth(), 0);
+		}
+		finally {
+			HardwareProfile.set(null);
+			FileUtils.deleteDirectory(dir);
+		}
+		//reset restores the default characteristics
+		assertFalse(HardwareProfile.get().isCalibrated());
+		assertEquals(FederatedCostEstimator.DEFAULT_WORKER_COMPUTE_BANDWIDTH_FLOPS,
+			FederatedCostEstimator.WORKER_COMPUTE_BANDWIDTH_FLOPS, 0);
+		assertEquals(FederatedCostEstimator.DEFAULT_WORKER_READ_BANDWIDTH_BYTES_PS,
+			FederatedCostEstimator.WORKER_READ_BANDWIDTH_BYTES_PS, 0);
+	}
+
+	@Test
+	public void testNoProfileConfigured() {
+		HardwareProfile hw = HardwareProfile.get();
+		HardwareProfile.initFromConfig(new DMLConfig());
+		assertSame(hw, HardwareProfile.get());
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.api.jmlc.ResultVariables;
+import org.apache.sysds.utils.stats.JFREvents.BufferPoolEvent;
+import org.apache.sysds.utils.stats.JFREvents.InstructionEvent;
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class JFREventsTest {
+
+	@Test
+	public void testInactiveWithoutRecording() {
+		assertFalse(InstructionEvent.isActive());
+		assertFalse(BufferPoolEvent.isActive());
+	}
+
+	@Test
+	public void testInstructionEvents() throws Exception {
+		String script = "X = matrix(seq(1,100), rows=10, cols=10);\n"
+			+ "Y = X %*% t(X);\n"
+			+ "s = sum(Y);\n";
+		Path file = File.createTempFile("systemds", ".jfr").toPath();
+		try( Connection conn = new Connection() ) {
+			PreparedScript ps = conn.prepareScript(script, new String[0], new String[] {"s", "Y"});
+			try( Recording rec = new Recording() ) {
+				rec.enable("org.apache.sysds.Instruction");
+				rec.start();
+				assertTrue(InstructionEvent.isActive());
+				assertFalse(BufferPoolEvent.isActive());
+				ResultVariables res = ps.executeScript();
+				assertEquals(2558500d, res.getDouble("s"), 1e-8);
+				rec.stop();
+				rec.dump(file);
+			}
+			assertFalse(InstructionEvent.isActive());
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			boolean matmult = false;
+			for( RecordedEvent event : events ) {
+				assertEquals("org.apache.sysds.Instruction", event.getEventType().getName());
+				String opcode = event.getString("opcode");
+				matmult |= (opcode.equals("ba+*") || opcode.equals("tsmm")) && event.getInt("line") == 2;
+			}
+			assertTrue(matmult);
+		}
+		finally {
+			file.toFile().delete();
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import javax.management.ObjectName;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.MetricsRegistry;
+import org.apache.sysds.utils.stats.MetricsRegistry.MetricType;
+import org.apache.sysds.utils.stats.MetricsServer;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+	@Test
+	public void testPrometheusFormat() {
+		MetricsRegistry.register("sysds_test_gauge", "Test gauge", MetricType.GAUGE, () -> 2.5);
+		try {
+			String text = MetricsRegistry.toPrometheusText();
+			assertTrue(text.contains("# HELP sysds_test_gauge Test gauge\n"));
+			assertTrue(text.contains("# TYPE sysds_test_gauge gauge\nsysds_test_gauge 2.5\n"));
+			assertTrue(text.contains("# TYPE sysds_bufferpool_mem_hits_total counter\n"));
+			//every sample line is a name followed by a numeric value
+			for( String line : text.split("\n") ) {
+				if( line.startsWith("#") )
+					continue;
+				String[] parts = line.split(" ");
+				assertEquals(line, 2, parts.length);
+				assertTrue(line, parts[0].matches("[a-zA-Z_:][a-zA-Z0-9_:]*"));
+				Double.parseDouble(parts[1]);
+			}
+		}
+		finally {
+			MetricsRegistry.unregister("sysds_test_gauge");
+		}
+		assertFalse(MetricsRegistry.getMetricNames().contains("sysds_test_gauge"));
+	}
+
+	@Test
+	public void testLiveCounters() {
+		long before = (long) MetricsRegistry.getValue("sysds_bufferpool_mem_hits_total");
+		CacheStatistics.incrementMemHits();
+		assertEquals(before + 1, (long) MetricsRegistry.getValue("sysds_bufferpool_mem_hits_total"));
+		assertTrue(Double.isNaN(MetricsRegistry.getValue("sysds_non_existing")));
+	}
+
+	@Test
+	public void testHttpEndpoint() throws Exception {
+		MetricsServer server = new MetricsServer(0);
+		try {
+			URL url = new URL("http://" + server.getHost() + ":" + server.getPort() + MetricsServer.PATH);
+			HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+			assertEquals(200, conn.getResponseCode());
+			assertTrue(conn.getContentType().startsWith("text/plain"));
+			try( InputStream in = conn.getInputStream() ) {
+				String text = IOUtils.toString(in, StandardCharsets.UTF_8);
+				assertTrue(text.contains("sysds_jvm_heap_used_bytes "));
+			}
+			HttpURLConnection conn2 = (HttpURLConnection)
+				new URL("http://" + server.getHost() + ":" + server.getPort() + "/other").openConnection();
+			assertEquals(404, conn2.getResponseCode());
+		}
+		finally {
+			server.close();
+		}
+	}
+
+	@Test
+	public void testScrapeAfterScriptWithoutStats() throws Exception {
+		boolean stats = DMLScript.STATISTICS;
+		MetricsServer.shutdown();
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.METRICS_PORT, "0");
+		try( Connection conn = new Connection(conf) ) {
+			DMLScript.STATISTICS = false;
+			MetricsServer server = MetricsServer.getServer();
+			assertEquals("127.0.0.1", server.getHost());
+			String name = "sysds_bufferpool_mem_hits_total";
+			double before = scrape(server, name);
+			PreparedScript ps = conn.prepareScript(
+				"X = read(\"tmp/X\", data_type=\"matrix\"); Y = X %*% t(X) + sum(X); write(Y, \"tmp/Y\");",
+				new String[] {"X"}, new String[] {"Y"});
+			ps.setMatrix("X", TestUtils.generateTestMatrixBlock(10, 7, -1, 1, 1.0, 7), false);
+			ps.executeScript();
+			assertTrue(scrape(server, name) > before);
+		}
+		finally {
+			MetricsServer.shutdown();
+			DMLScript.STATISTICS = stats;
+		}
+	}
+
+	@Test
+	public void testJMX() throws Exception {
+		MetricsRegistry.registerJMX();
+		Object value = ManagementFactory.getPlatformMBeanServer().getAttribute(
+			new ObjectName(MetricsRegistry.JMX_NAME), "sysds_jvm_heap_max_bytes");
+		assertEquals(Runtime.getRuntime().maxMemory(), ((Double) value).longValue());
+	}
+
+	private static double scrape(MetricsServer server, String name) throws Exception {
+		URL url = new URL("http://" + server.getHost() + ":" + server.getPort() + MetricsServer.PATH);
+		try( InputStream in = url.openStream() ) {
+			for( String line : IOUtils.toString(in, StandardCharsets.UTF_8).split("\n") )
+				if( line.startsWith(name + " ") )
+					return Double.parseDouble(line.substring(name.length() + 1));
+		}
+		throw new AssertionError("Missing metric " + name);
+	}
+}
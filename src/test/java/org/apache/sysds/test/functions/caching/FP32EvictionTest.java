@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.caching;
+
+import java.io.File;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FP32EvictionTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "FP32Eviction";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FP32EvictionTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemDS-config-fp32.xml");
+
+	private final static int rows = 100;
+	private final static int cols = 2 * 16 * 16;
+
+	private boolean _fp32 = false;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"X", "I"}));
+	}
+
+	@Test
+	public void testEvictionAndRestoreFP32() {
+		ExecMode rtold = setExecMode(ExecMode.SINGLE_NODE);
+		try {
+			getAndLoadTestConfiguration(TEST_NAME);
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+
+			//single-precision run with a minimal buffer pool (all cached intermediates evicted to local disk)
+			_fp32 = true;
+			OptimizerUtils.BUFFER_POOL_SIZE = 1;
+			runScript("X32", "I32");
+			long fsWrites = CacheStatistics.getFSWrites();
+			Assert.assertTrue("Missing buffer pool evictions", fsWrites > 0);
+
+			//double-precision baseline with default buffer pool
+			_fp32 = false;
+			OptimizerUtils.BUFFER_POOL_SIZE = 0;
+			runScript("X64", "I64");
+
+			MatrixBlock X32 = DataConverter.readMatrixFromHDFS(output("X32"), FileFormat.BINARY, rows, cols, 1000);
+			MatrixBlock X64 = DataConverter.readMatrixFromHDFS(output("X64"), FileFormat.BINARY, rows, cols, 1000);
+			TestUtils.compareMatrices(X64, X32, 1e-3, "FP64 vs FP32");
+			//persistent binary blocks are written in double precision
+			Assert.assertEquals(HDFSTool.getFilesizeOnHDFS(new Path(output("X64"))),
+				HDFSTool.getFilesizeOnHDFS(new Path(output("X32"))));
+
+			//integer-valued outputs are exempt from the single-precision conversion
+			MatrixBlock I32 = DataConverter.readMatrixFromHDFS(output("I32"), FileFormat.BINARY, rows, cols, 1000);
+			MatrixBlock I64 = DataConverter.readMatrixFromHDFS(output("I64"), FileFormat.BINARY, rows, cols, 1000);
+			TestUtils.compareMatrices(I64, I32, 0, "FP64 vs FP32");
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			OptimizerUtils.BUFFER_POOL_SIZE = 0;
+			DMLScript.CP_FP32 = false;
+			resetExecMode(rtold);
+		}
+	}
+
+	private void runScript(String xname, String iname) {
+		programArgs = new String[] {"-stats", "-args", String.valueOf(rows), output(xname), output(iname)};
+		runTest(true, false, null, -1);
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return _fp32 ? TEST_CONF_FILE : super.getConfigTemplateFile();
+	}
+}
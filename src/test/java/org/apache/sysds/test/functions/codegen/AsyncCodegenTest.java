@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.codegen;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.ExecType;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsyncCodegenTest extends AutomatedTestBase
+{
+	private static final Log LOG = LogFactory.getLog(AsyncCodegenTest.class.getName());
+
+	private static final String TEST_NAME1 = "AsyncCodegen";
+	private static final String TEST_DIR = "functions/codegen/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + AsyncCodegenTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemDS-config-codegen-async.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+
+	private static final int rows = 1191;
+	private static final int cols = 73;
+	private static final double eps = Math.pow(10, -8);
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration( TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testAsyncCodegenDenseFewIterations() {
+		testAsyncCodegen(0.9, 2);
+	}
+
+	@Test
+	public void testAsyncCodegenDenseManyIterations() {
+		testAsyncCodegen(0.9, 200);
+	}
+
+	@Test
+	public void testAsyncCodegenSparseManyIterations() {
+		testAsyncCodegen(0.05, 200);
+	}
+
+	private void testAsyncCodegen(double sparsity, int iterations)
+	{
+		ExecMode platformOld = setExecMode(ExecType.CP);
+
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME1);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-stats", "-args",
+				input("X"), output("R"), String.valueOf(iterations) };
+
+			//generate input data
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+
+			//run test (unfused until background compilation finished)
+			runTest(true, false, null, -1);
+
+			//compare with expected result
+			double sumSq = 0, sum = 0;
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					sumSq += X[i][j] * X[i][j];
+					sum += X[i][j];
+				}
+			double expected = 0;
+			for( int k=1; k<=iterations; k++ )
+				expected += sumSq * k + 7 * sum;
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromOutputDir("R");
+			Assert.assertEquals(expected, dmlfile.get(new CellIndex(1,1)), eps * Math.abs(expected));
+		}
+		finally {
+			resetExecMode(platformOld);
+		}
+	}
+
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		LOG.debug("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
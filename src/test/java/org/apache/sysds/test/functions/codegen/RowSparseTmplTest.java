@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.codegen;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.ExecType;
+import org.apache.sysds.hops.codegen.cplan.CNodeRow;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RowSparseTmplTest extends AutomatedTestBase 
+{
+	private static final Log LOG = LogFactory.getLog(RowSparseTmplTest.class.getName());
+	
+	private static final String TEST_NAME = "RowSparseTmpl";
+	private static final String TEST_NAME1 = TEST_NAME+"1"; //rowSums(abs(X)*3) + ((X*2)^2) %*% v
+	private static final String TEST_NAME2 = TEST_NAME+"2"; //sqrt(abs(X)*3) %*% W
+	private static final String TEST_NAME3 = TEST_NAME+"3"; //(abs(X)*2) * (X %*% v)
+	
+	private static final String TEST_DIR = "functions/codegen/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + RowSparseTmplTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemDS-config-codegen.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	private static final int rows = 1322;
+	private static final int cols = 247;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.03;
+	private static final double eps = Math.pow(10, -10);
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		for(int i=1; i<=3; i++)
+			addTestConfiguration( TEST_NAME+i, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME+i, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testRowSparseTmpl1Dense() {
+		testRowSparseTmpl( TEST_NAME1, false, true );
+	}
+	
+	@Test
+	public void testRowSparseTmpl1Sparse() {
+		testRowSparseTmpl( TEST_NAME1, true, true );
+	}
+	
+	@Test
+	public void testRowSparseTmpl1SparseNoIntermediates() {
+		testRowSparseTmpl( TEST_NAME1, true, false );
+	}
+	
+	@Test
+	public void testRowSparseTmpl2Dense() {
+		testRowSparseTmpl( TEST_NAME2, false, true );
+	}
+	
+	@Test
+	public void testRowSparseTmpl2Sparse() {
+		testRowSparseTmpl( TEST_NAME2, true, true );
+	}
+	
+	@Test
+	public void testRowSparseTmpl2SparseNoIntermediates() {
+		testRowSparseTmpl( TEST_NAME2, true, false );
+	}
+	
+	@Test
+	public void testRowSparseTmpl3Dense() {
+		testRowSparseTmpl( TEST_NAME3, false, true );
+	}
+	
+	@Test
+	public void testRowSparseTmpl3Sparse() {
+		testRowSparseTmpl( TEST_NAME3, true, true );
+	}
+	
+	@Test
+	public void testRowSparseTmpl3SparseNoIntermediates() {
+		testRowSparseTmpl( TEST_NAME3, true, false );
+	}
+	
+	private void testRowSparseTmpl(String testname, boolean sparse, boolean intermediates)
+	{
+		boolean oldFlag = CNodeRow.SPARSE_ROW_INTERMEDIATES;
+		ExecMode platformOld = setExecMode(ExecType.CP);
+		
+		try
+		{
+			CNodeRow.SPARSE_ROW_INTERMEDIATES = intermediates;
+			
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			//side input W w/ multiple columns for pattern 2, otherwise vector v
+			String yname = testname.equals(TEST_NAME2) ? "W" : "v";
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), input(yname), output("R") };
+			
+			fullRScriptName = HOME + testname + ".R";
+			rCmd = getRCmd(inputDir(), expectedDir());
+			
+			//generate input data
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparse ? sparsity2 : sparsity1, 7);
+			double[][] Y = getRandomMatrix(cols, yname.equals("W") ? 5 : 1, -1, 1, 1.0, 3);
+			writeInputMatrixWithMTD("X", X, true);
+			writeInputMatrixWithMTD(yname, Y, true);
+			
+			//run tests
+			runTest(true, false, null, -1);
+			runRScript(true);
+			
+			//compare matrices
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromOutputDir("R");
+			HashMap<CellIndex, Double> rfile  = readRMatrixFromExpectedDir("R");
+			TestUtils.compareMatrices(dmlfile, rfile, eps, "Stat-DML", "Stat-R");
+			Assert.assertTrue(heavyHittersContainsSubString("spoofRA"));
+		}
+		finally {
+			resetExecMode(platformOld);
+			CNodeRow.SPARSE_ROW_INTERMEDIATES = oldFlag;
+		}
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		LOG.debug("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
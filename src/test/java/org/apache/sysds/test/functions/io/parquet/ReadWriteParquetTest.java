@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.io.parquet;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.parquet.ParquetUtils;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of the parquet parameters of read and write statements, i.e., write(compression) and
+ * read(columns, filter), which are compared against the projection and row selection in DML.
+ */
+public class ReadWriteParquetTest extends AutomatedTestBase {
+	private final static String TEST_NAME1 = "WriteParquet";
+	private final static String TEST_NAME2 = "ReadParquetFilter";
+	private final static String TEST_DIR = "functions/io/parquet/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadWriteParquetTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1000;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"X"}));
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] {"R1", "R2"}));
+	}
+
+	@Test
+	public void testReadWriteParquetSinglenode() {
+		runReadWriteParquetTest(ExecMode.SINGLE_NODE);
+	}
+
+	@Test
+	public void testReadWriteParquetHybrid() {
+		runReadWriteParquetTest(ExecMode.HYBRID);
+	}
+
+	private void runReadWriteParquetTest(ExecMode mode) {
+		ExecMode modeOld = setExecMode(mode);
+		try {
+			loadTestConfiguration(getTestConfiguration(TEST_NAME1));
+			String HOME = SCRIPT_DIR + TEST_DIR;
+
+			//run write w/ compression
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[] {"-args", String.valueOf(rows), output("X")};
+			runTest(true, false, null, -1);
+
+			JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+			Path path = new Path(output("X"));
+			Path file = ParquetUtils.getFilePaths(IOUtilFunctions.getFileSystem(path, job), path)[0];
+			Assert.assertEquals(CompressionCodecName.GZIP,
+				ParquetUtils.readFooter(job, file).getBlocks().get(0).getColumns().get(0).getCodec());
+
+			//run read w/ column projection and row filter
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[] {"-args", output("X"), output("R1"), output("R2")};
+			runTest(true, false, null, -1);
+
+			double nrow = HDFSTool.readDoubleFromHDFSFile(output("R1"));
+			Assert.assertTrue(nrow > 0 && nrow < 100);
+			Assert.assertEquals(0, HDFSTool.readDoubleFromHDFSFile(output("R2")), 0);
+		}
+		catch(IOException e) {
+			throw new RuntimeException(e);
+		}
+		finally {
+			resetExecMode(modeOld);
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.jmlc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.api.DMLException;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.api.jmlc.ScoringService;
+import org.apache.sysds.conf.CompilerConfig.ConfigType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.RecompileStatistics;
+
+public class JMLCScoringServiceTest extends AutomatedTestBase
+{
+	//row-wise scoring script with reused model
+	private static final String SCRIPT =
+		  "X = read(\"tmp/X\", data_type=\"matrix\");"
+		+ "W = read(\"tmp/W\", data_type=\"matrix\");"
+		+ "Y = X %*% W + 1;"
+		+ "write(Y, \"tmp/Y\");";
+
+	//scoring script that fails for rows with marker values
+	private static final String SCRIPT_CHECKED =
+		  "X = read(\"tmp/X\", data_type=\"matrix\");"
+		+ "W = read(\"tmp/W\", data_type=\"matrix\");"
+		+ "if( sum(X == -999) > 0 ) stop(\"Invalid input row.\");"
+		+ "Y = X %*% W + 1;"
+		+ "write(Y, \"tmp/Y\");";
+
+	private static final int cols = 17;
+	private static final int classes = 3;
+
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+
+	@Test
+	public void testScoringSingleInstanceNoBatching() throws Exception {
+		runScoringTest(1, 1, 0, 200);
+	}
+
+	@Test
+	public void testScoringSingleInstanceBatching() throws Exception {
+		runScoringTest(1, 64, 2000, 1000);
+	}
+
+	@Test
+	public void testScoringMultiInstanceBatching() throws Exception {
+		runScoringTest(4, 32, 1000, 2000);
+	}
+
+	@Test(expected = DMLException.class)
+	public void testScoringInvalidLength() throws Exception {
+		try( Connection conn = new Connection();
+			ScoringService service = new ScoringService(createScript(conn, null), "X", "Y", cols, 1, 8, 100) ) {
+			service.submit(new double[cols+1]);
+		}
+	}
+
+	@Test(expected = DMLException.class)
+	public void testScoringNullRow() throws Exception {
+		try( Connection conn = new Connection();
+			ScoringService service = new ScoringService(createScript(conn, null), "X", "Y", cols, 1, 8, 100) ) {
+			service.submit(null);
+		}
+	}
+
+	@Test
+	public void testScoringFailureIsolation() throws Exception {
+		MatrixBlock W = MatrixBlock.randOperations(cols, classes, 1.0, -1, 1, "uniform", 7);
+		MatrixBlock X = MatrixBlock.randOperations(8, cols, 1.0, -1, 1, "uniform", 3);
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(SCRIPT_CHECKED,
+				new String[]{"X", "W"}, new String[]{"Y"});
+			pscript.setMatrix("W", W, true);
+			pscript.setMatrix("X", X, false);
+			double[][] expected = pscript.executeScript().getMatrix("Y");
+
+			//one batch (large latency budget) with a single invalid row
+			try( ScoringService service = new ScoringService(pscript, "X", "Y", cols, 1, 8, 1000000) ) {
+				List<Future<double[]>> rets = new ArrayList<>();
+				for( int i=0; i<8; i++ ) {
+					double[] row = new double[cols];
+					for( int j=0; j<cols; j++ )
+						row[j] = (i == 3) ? -999 : X.quickGetValue(i, j);
+					rets.add(service.submit(row));
+				}
+				for( int i=0; i<8; i++ ) {
+					if( i == 3 ) {
+						try {
+							rets.get(i).get();
+							Assert.fail("Scoring of invalid row should fail.");
+						}
+						catch(ExecutionException ex) {
+							//expected
+						}
+					}
+					else
+						TestUtils.compareMatrices(expected[i], rets.get(i).get(), 1e-10);
+				}
+				Assert.assertEquals(7, service.getNumRequests());
+			}
+		}
+	}
+
+	@Test
+	public void testScoringWithoutRecompile() throws Exception {
+		boolean stats = DMLScript.STATISTICS;
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = createScript(conn, null);
+			DMLScript.STATISTICS = true;
+			RecompileStatistics.reset();
+			try( ScoringService service = new ScoringService(pscript, "X", "Y", cols, 2, 8, 100) ) {
+				for( int i=0; i<16; i++ )
+					Assert.assertEquals(classes, service.score(new double[cols]).length);
+			}
+			//no recompilation of shared program blocks, original script unchanged
+			Assert.assertEquals(0, RecompileStatistics.getRecompiledSBDAGs());
+			Assert.assertTrue(pscript.getCompilerConfig().getBool(ConfigType.ALLOW_DYN_RECOMPILATION));
+		}
+		finally {
+			DMLScript.STATISTICS = stats;
+		}
+	}
+
+	@Test(expected = DMLException.class)
+	public void testScoringClosed() throws Exception {
+		try( Connection conn = new Connection() ) {
+			ScoringService service = new ScoringService(createScript(conn, null), "X", "Y", cols, 2, 8, 100);
+			service.close();
+			service.submit(new double[cols]);
+		}
+	}
+
+	private static void runScoringTest(int instances, int batchSize, long latency, int num) throws Exception {
+		MatrixBlock W = MatrixBlock.randOperations(cols, classes, 1.0, -1, 1, "uniform", 7);
+		MatrixBlock X = MatrixBlock.randOperations(num, cols, 0.7, -1, 1, "uniform", 3);
+
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = createScript(conn, W);
+
+			//reference results via regular script execution
+			pscript.setMatrix("X", X, false);
+			double[][] expected = pscript.executeScript().getMatrix("Y");
+
+			//concurrent single-row requests
+			ExecutorService pool = Executors.newFixedThreadPool(8);
+			try( ScoringService service = new ScoringService(pscript, "X", "Y", cols, instances, batchSize, latency) ) {
+				List<Future<double[]>> rets = new ArrayList<>();
+				for( int i=0; i<num; i++ ) {
+					final double[] row = new double[cols];
+					for( int j=0; j<cols; j++ )
+						row[j] = X.quickGetValue(i, j);
+					rets.add(pool.submit(() -> service.score(row)));
+				}
+				for( int i=0; i<num; i++ )
+					TestUtils.compareMatrices(expected[i], rets.get(i).get(), 1e-10);
+				Assert.assertEquals(num, service.getNumRequests());
+				Assert.assertTrue(service.getNumBatches() <= num);
+				if( batchSize == 1 )
+					Assert.assertEquals(num, service.getNumBatches());
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	private static PreparedScript createScript(Connection conn, MatrixBlock W) {
+		PreparedScript pscript = conn.prepareScript(SCRIPT,
+			new String[]{"X", "W"}, new String[]{"Y"});
+		pscript.setMatrix("W", (W != null) ? W :
+			MatrixBlock.randOperations(cols, classes, 1.0, -1, 1, "uniform", 7), true);
+		return pscript;
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.jmlc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.api.DMLException;
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.api.jmlc.ResultVariables;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+
+public class JMLCZeroCopyInputOutputTest extends AutomatedTestBase
+{
+	private static final String SCRIPT_MATRIX =
+		  "X = read(\"tmp/X\", data_type=\"matrix\");"
+		+ "Y = X * 2 + 1;"
+		+ "write(Y, \"tmp/Y\");";
+
+	private static final String SCRIPT_FRAME =
+		  "F = read(\"tmp/F\", data_type=\"frame\");"
+		+ "G = F[2:nrow(F),];"
+		+ "write(G, \"tmp/G\");";
+
+	private static final int rows = 37;
+	private static final int cols = 11;
+
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+
+	@Test
+	public void testMatrixFP64() {
+		double[] X = TestUtils.generateTestMatrix(1, rows*cols, -1, 1, 0.9, 7)[0];
+		double[] X2 = X.clone();
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(SCRIPT_MATRIX, new String[]{"X"}, new String[]{"Y"});
+			pscript.setMatrix("X", X, rows, cols, false);
+			ResultVariables rvars = pscript.executeScript();
+			double[] Y = rvars.getMatrixValues("Y");
+			Assert.assertSame(Y, rvars.getMatrixBlock("Y").getDenseBlockValues());
+			for( int i=0; i<X.length; i++ )
+				Assert.assertEquals(X[i] * 2 + 1, Y[i], 1e-14);
+			TestUtils.compareMatrices(X2, X, 0); //unmodified input
+		}
+	}
+
+	@Test
+	public void testMatrixFP32() {
+		float[] X = new float[rows*cols];
+		for( int i=0; i<X.length; i++ )
+			X[i] = (i % 3 == 0) ? 0 : i / 7f;
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(SCRIPT_MATRIX, new String[]{"X"}, new String[]{"Y"});
+			pscript.setMatrix("X", X, rows, cols, false);
+			double[] Y = pscript.executeScript().getMatrixValues("Y");
+			for( int i=0; i<X.length; i++ )
+				Assert.assertEquals((double)X[i] * 2 + 1, Y[i], 1e-14);
+		}
+	}
+
+	@Test
+	public void testMatrixReuse() {
+		double[] X = TestUtils.generateTestMatrix(1, rows*cols, -1, 1, 0.9, 3)[0];
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(SCRIPT_MATRIX, new String[]{"X"}, new String[]{"Y"});
+			pscript.setMatrix("X", X, rows, cols, true);
+			for( int k=0; k<3; k++ ) {
+				double[] Y = pscript.executeScript().getMatrixValues("Y");
+				Assert.assertEquals(X[5] * 2 + 1, Y[5], 1e-14);
+			}
+		}
+	}
+
+	@Test(expected = DMLException.class)
+	public void testMatrixInvalidLength() {
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(SCRIPT_MATRIX, new String[]{"X"}, new String[]{"Y"});
+			pscript.setMatrix("X", new double[rows*cols-1], rows, cols, false);
+		}
+	}
+
+	@Test
+	public void testFrameColumns() {
+		double[] c1 = new double[rows];
+		long[] c2 = new long[rows];
+		String[] c3 = new String[rows];
+		boolean[] c4 = new boolean[rows];
+		for( int i=0; i<rows; i++ ) {
+			c1[i] = i * 0.5;
+			c2[i] = i * 3L;
+			c3[i] = "s" + i;
+			c4[i] = i % 2 == 0;
+		}
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(SCRIPT_FRAME, new String[]{"F"}, new String[]{"G"});
+			pscript.setFrame("F", new Object[]{c1, c2, c3, c4}, new String[]{"a", "b", "c", "d"}, false);
+			ResultVariables rvars = pscript.executeScript();
+			FrameBlock G = rvars.getFrameBlock("G");
+			Assert.assertEquals(rows-1, G.getNumRows());
+			Assert.assertArrayEquals(new ValueType[]{ValueType.FP64, ValueType.INT64,
+				ValueType.STRING, ValueType.BOOLEAN}, G.getSchema());
+			double[] g1 = (double[]) rvars.getFrameColumn("G", 0);
+			long[] g2 = (long[]) rvars.getFrameColumn("G", 1);
+			String[] g3 = (String[]) rvars.getFrameColumn("G", 2);
+			boolean[] g4 = (boolean[]) rvars.getFrameColumn("G", 3);
+			for( int i=1; i<rows; i++ ) {
+				Assert.assertEquals(c1[i], g1[i-1], 0);
+				Assert.assertEquals(c2[i], g2[i-1]);
+				Assert.assertEquals(c3[i], g3[i-1]);
+				Assert.assertEquals(c4[i], g4[i-1]);
+			}
+		}
+	}
+
+	@Test(expected = DMLException.class)
+	public void testFrameInconsistentColumns() {
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(SCRIPT_FRAME, new String[]{"F"}, new String[]{"G"});
+			pscript.setFrame("F", new Object[]{new double[rows], new long[rows-1]}, null, false);
+		}
+	}
+}
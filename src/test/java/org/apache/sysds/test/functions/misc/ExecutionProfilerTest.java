@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.misc;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.ExecType;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.ExecutionProfiler;
+import org.apache.wink.json4j.JSONArray;
+import org.apache.wink.json4j.JSONObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExecutionProfilerTest extends AutomatedTestBase
+{
+	private static final Log LOG = LogFactory.getLog(ExecutionProfilerTest.class.getName());
+
+	private static final String TEST_NAME1 = "ExecutionProfiler";
+	private static final String TEST_DIR = "functions/misc/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + ExecutionProfilerTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemDS-config-profile.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	private final static File   TRACE_FILE = new File("target/testTemp/" + TEST_CLASS_DIR, "trace.json");
+	private final static File   STACKS_FILE = new File("target/testTemp/" + TEST_CLASS_DIR, "stacks.txt");
+
+	private static final int rows = 117;
+	private static final int cols = 31;
+	private static final int iterations = 20;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration( TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testProfileDense() throws Exception {
+		runProfilerTest(0.9);
+	}
+
+	@Test
+	public void testProfileSparse() throws Exception {
+		runProfilerTest(0.05);
+	}
+
+	private void runProfilerTest(double sparsity) throws Exception
+	{
+		ExecMode platformOld = setExecMode(ExecType.CP);
+
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME1);
+			loadTestConfiguration(config);
+			FileUtils.deleteQuietly(TRACE_FILE);
+			FileUtils.deleteQuietly(STACKS_FILE);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-args", input("X"), output("R"), String.valueOf(iterations) };
+
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromOutputDir("R");
+			Assert.assertEquals(1, dmlfile.size());
+			Assert.assertFalse(ExecutionProfiler.isEnabled());
+
+			//check chrome trace: one span per loop iteration for the matrix multiply (line 25)
+			Assert.assertTrue(TRACE_FILE.exists());
+			JSONObject trace = new JSONObject(FileUtils.readFileToString(TRACE_FILE, StandardCharsets.UTF_8));
+			JSONArray events = trace.getJSONArray("traceEvents");
+			int numLine25 = 0;
+			for( int i=0; i<events.length(); i++ ) {
+				JSONObject event = events.getJSONObject(i);
+				if( !event.getString("ph").equals("X") )
+					continue;
+				Assert.assertTrue(event.getLong("dur") >= 0);
+				JSONObject args = event.getJSONObject("args");
+				if( args.getInt("line") == 25 && args.getLong("outRows") == rows && args.getLong("outCols") == rows ) {
+					Assert.assertTrue(args.getLong("inCells") >= rows * cols);
+					numLine25++;
+				}
+			}
+			Assert.assertEquals(iterations, numLine25);
+
+			//check collapsed stacks (thread;block;instruction time)
+			Assert.assertTrue(STACKS_FILE.exists());
+			List<String> stacks = Files.readAllLines(STACKS_FILE.toPath(), StandardCharsets.UTF_8);
+			Assert.assertFalse(stacks.isEmpty());
+			boolean line25 = false;
+			for( String stack : stacks ) {
+				String[] parts = stack.split(" ");
+				Assert.assertEquals(2, parts.length);
+				Assert.assertEquals(3, parts[0].split(";").length);
+				Assert.assertTrue(Long.parseLong(parts[1]) >= 0);
+				line25 |= parts[0].endsWith("(l.25)");
+			}
+			Assert.assertTrue(line25);
+		}
+		finally {
+			resetExecMode(platformOld);
+		}
+	}
+
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		LOG.debug("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
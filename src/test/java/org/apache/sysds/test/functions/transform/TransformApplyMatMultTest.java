@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.transform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+
+public class TransformApplyMatMultTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "TransformApplyMatMult";
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformApplyMatMultTest.class.getSimpleName() + "/";
+	
+	//dataset without missing values
+	private final static String DATASET1 = DATASET_DIR +"homes3/homes.csv";
+	
+	private final static String SPEC_RECODE = "{ids: false, recode: [ zipcode, district, view ]}";
+	private final static String SPEC_DUMMY = "{ids: false, recode: [ zipcode, district, view ], "
+		+ "dummycode: [ zipcode, district, view ]}";
+	private final static String SPEC_BIN = "{ids: false, recode: [ district, view ], "
+		+ "bin: [ {name: sqft, method: equi-width, numbins: 5}, {name: saleprice, method: equi-width, numbins: 3} ], "
+		+ "dummycode: [ district, sqft, saleprice ]}";
+	private final static String SPEC_HASH = "{ids: false, hash: [ zipcode, district ], K: 7, "
+		+ "recode: [ view ], dummycode: [ zipcode, view ]}";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testHomesRecode() {
+		runTransformApplyMatMultTest(SPEC_RECODE);
+	}
+	
+	@Test
+	public void testHomesRecodeDummycode() {
+		runTransformApplyMatMultTest(SPEC_DUMMY);
+	}
+	
+	@Test
+	public void testHomesBinDummycode() {
+		runTransformApplyMatMultTest(SPEC_BIN);
+	}
+	
+	@Test
+	public void testHomesHashDummycode() {
+		runTransformApplyMatMultTest(SPEC_HASH);
+	}
+	
+	private void runTransformApplyMatMultTest(String spec)
+	{
+		ExecMode rtold = setExecMode(ExecMode.SINGLE_NODE);
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-stats", "-args", DATASET1, spec, output("R") };
+			
+			runTest(true, false, null, -1);
+			
+			//check equivalence with materialized encoding and matrix multiplication
+			Assert.assertEquals(Double.valueOf(0),
+				readDMLMatrixFromOutputDir("R").getOrDefault(new CellIndex(1,1), 0d));
+			//check that the second matrix multiplication was fused into transformapply
+			Assert.assertEquals(1, Statistics.getCPHeavyHitterCount("ba+*"));
+		}
+		finally {
+			resetExecMode(rtold);
+		}
+	}
+}
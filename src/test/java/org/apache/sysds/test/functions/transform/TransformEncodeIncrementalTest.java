@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.transform;
+
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformEncodeIncrementalTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME1 = "TransformEncodeIncremental";
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformEncodeIncrementalTest.class.getSimpleName() + "/";
+
+	private final static ValueType[] SCHEMA = {ValueType.STRING, ValueType.STRING, ValueType.FP64};
+	private final static String[][] DAY1 = {{"a", "x", "1"}, {"b", "y", "2"}, {"a", "z", "3"}, {"c", "x", "4"}};
+	//second batch with new categories d, e (column 1) and w (column 2)
+	private final static String[][] DAY2 = {{"d", "y", "5"}, {"a", "w", "6"}, {"e", "x", "7"}, {"d", "x", "8"}};
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"X1", "X2", "X1b"}));
+	}
+
+	@Test
+	public void testIncrementalSingleNode() {
+		runTransformTest(ExecMode.SINGLE_NODE);
+	}
+
+	@Test
+	public void testIncrementalHybrid() {
+		runTransformTest(ExecMode.HYBRID);
+	}
+
+	private void runTransformTest(ExecMode rt) {
+		ExecMode rtold = setExecMode(rt);
+		try {
+			getAndLoadTestConfiguration(TEST_NAME1);
+			writeFrame(DAY1, input("F1"));
+			writeFrame(DAY2, input("F2"));
+
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME1 + ".dml";
+			programArgs = new String[] {"-nvargs", "F1=" + input("F1"), "F2=" + input("F2"),
+				"X1=" + output("X1"), "X2=" + output("X2"), "X1b=" + output("X1b")};
+			runTest(true, false, null, -1);
+
+			//output columns: recode codes, dummycoded column 2, pass-through column 3
+			double[][] X1 = TestUtils.convertHashMapToDoubleArray(readDMLMatrixFromOutputDir("X1"), 4, 5);
+			double[][] X2 = TestUtils.convertHashMapToDoubleArray(readDMLMatrixFromOutputDir("X2"), 4, 6);
+			double[][] X1b = TestUtils.convertHashMapToDoubleArray(readDMLMatrixFromOutputDir("X1b"), 4, 6);
+
+			//stable codes: a=1, b=2, c=3, new categories in order of first occurrence
+			double[] codes2 = {4, 1, 5, 4};
+			for(int i = 0; i < 4; i++) {
+				Assert.assertEquals(codes2[i], X2[i][0], 0);
+				//dummycode width grows from 3 to 4 (new category w), existing positions unchanged
+				Assert.assertEquals(X1[i][0], X1b[i][0], 0);
+				for(int j = 1; j < 4; j++)
+					Assert.assertEquals(X1[i][j], X1b[i][j], 0);
+				Assert.assertEquals(0, X1b[i][4], 0);
+				Assert.assertEquals(X1[i][4], X1b[i][5], 0);
+				Assert.assertEquals(Double.parseDouble(DAY2[i][2]), X2[i][5], 0);
+			}
+			//new category w gets the last dummy column
+			Assert.assertEquals(1, X2[1][4], 0);
+			Assert.assertEquals(1, X2[0][2], 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			resetExecMode(rtold);
+		}
+	}
+
+	private static void writeFrame(String[][] data, String fname) throws Exception {
+		FrameBlock fb = new FrameBlock(SCHEMA, data);
+		FrameWriterFactory.createFrameWriter(FileFormat.CSV)
+			.writeFrameToHDFS(fb, fname, data.length, SCHEMA.length);
+		HDFSTool.writeMetaDataFileFrame(fname + ".mtd", SCHEMA,
+			new MatrixCharacteristics(data.length, SCHEMA.length), FileFormat.CSV);
+	}
+}
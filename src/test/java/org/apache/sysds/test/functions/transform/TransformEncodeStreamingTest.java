@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.transform;
+
+import java.io.File;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameWriterTextCSV;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.TransformStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformEncodeStreamingTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME1 = "TransformEncodeStreaming";
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformEncodeStreamingTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemDS-config-streaming.xml");
+
+	private final static String SPEC = "{ids:true, recode:[1], dummycode:[1], bin:[{id:2, method:equi-width, numbins:4}]}";
+	private final static ValueType[] SCHEMA = {ValueType.STRING, ValueType.FP64, ValueType.FP64};
+	//part files of the CSV input, not aligned with the block size of 1000 rows
+	private final static int[] SPLITS = {0, 1200, 1900, 3000};
+	private final static int DISTINCT = 37;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"X", "R", "D"}));
+	}
+
+	@Test
+	public void testStreamingSingleNode() {
+		runTransformTest(ExecMode.SINGLE_NODE, false);
+	}
+
+	@Test
+	public void testStreamingHybrid() {
+		runTransformTest(ExecMode.HYBRID, false);
+	}
+
+	@Test
+	public void testInMemoryFrameSingleNode() {
+		runTransformTest(ExecMode.SINGLE_NODE, true);
+	}
+
+	private void runTransformTest(ExecMode rt, boolean dirty) {
+		ExecMode rtold = setExecMode(rt);
+		try {
+			getAndLoadTestConfiguration(TEST_NAME1);
+			FrameBlock in = createInput();
+			writeMultiSplitCSV(in, input("F"));
+
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME1 + ".dml";
+			programArgs = new String[] {"-stats", "-nvargs", "F=" + input("F"), "dirty=" + (dirty ? "TRUE" : "FALSE"),
+				"X=" + output("X"), "R=" + output("R"), "D=" + output("D")};
+			runTest(true, false, null, -1);
+			Assert.assertEquals(dirty ? 0 : 1, TransformStatistics.getStreamingEncodeCount());
+
+			//compare with the in-memory encode, where recode codes may differ due to the split-wise merge
+			MultiColumnEncoder encoder = EncoderFactory.createEncoder(SPEC, in.getColumnNames(), SCHEMA.length, null);
+			MatrixBlock expected = encoder.encode(in);
+			int rows = in.getNumRows();
+			int cols = expected.getNumColumns();
+			double[][] R = TestUtils.convertHashMapToDoubleArray(readDMLMatrixFromOutputDir("R"), 1, 3);
+			Assert.assertEquals(rows, R[0][0], 0);
+			Assert.assertEquals(cols, R[0][1], 0);
+			Assert.assertEquals(expected.sum(), R[0][2], 1e-8);
+
+			double[][] X = TestUtils.convertHashMapToDoubleArray(readDMLMatrixFromOutputDir("X"), rows, cols);
+			TestUtils.compareMatrices(expected.slice(0, rows - 1, DISTINCT, cols - 1),
+				DataConverter.convertToMatrixBlock(X).slice(0, rows - 1, DISTINCT, cols - 1),
+				0, "Not equal binned and pass-through columns");
+			FrameBlock D = readDMLFrameFromHDFS("D", FileFormat.CSV);
+			for(int i = 0; i < rows; i++)
+				Assert.assertEquals(in.get(i, 0), D.get(i, 0));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			resetExecMode(rtold);
+		}
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return TEST_CONF_FILE;
+	}
+
+	private static FrameBlock createInput() {
+		FrameBlock in = new FrameBlock(SCHEMA);
+		Random rand = new Random(7);
+		for(int i = 0; i < SPLITS[SPLITS.length - 1]; i++)
+			in.appendRow(new Object[] {"c" + (i * 7 % DISTINCT), rand.nextDouble() * 100, (double) rand.nextInt(10)});
+		return in;
+	}
+
+	private static void writeMultiSplitCSV(FrameBlock in, String fname) throws Exception {
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+		new File(fname).mkdirs();
+		FrameWriterTextCSV writer = new FrameWriterTextCSV(new FileFormatPropertiesCSV(false, ",", false));
+		for(int i = 0; i < SPLITS.length - 1; i++) {
+			FrameBlock part = in.slice(SPLITS[i], SPLITS[i + 1] - 1);
+			writer.writeFrameToHDFS(part, fname + "/" + String.format("part-%05d", i), part.getNumRows(), SCHEMA.length);
+		}
+		HDFSTool.writeMetaDataFileFrame(fname + ".mtd", SCHEMA,
+			new MatrixCharacteristics(in.getNumRows(), SCHEMA.length), FileFormat.CSV);
+	}
+}